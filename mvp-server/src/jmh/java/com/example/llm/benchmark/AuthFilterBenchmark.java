@@ -0,0 +1,138 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.entity.Team;
+import com.example.llm.entity.TeamMember;
+import com.example.llm.entity.User;
+import com.example.llm.repository.TeamMemberRepository;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.repository.UserRepository;
+import com.example.llm.security.JwtAuthenticationFilter;
+import com.example.llm.security.MembershipCache;
+import com.example.llm.security.TeamAccessPolicy;
+import com.example.llm.util.TokenUtil;
+import com.example.llm.util.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게이트웨이 요청 한 건의 인증/팀 접근 검사 비용 비교.
+ * claimsOnly는 토큰 클레임만 사용하는 무상태 경로, claimsWithMembershipCache는 소속 TTL 캐시 재확인을 더한 경로,
+ * dbLookupPerRequest는 요청마다 사용자와 소속 팀을 DB에서 조회하는 기존 방식이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthFilterBenchmark {
+
+    // 활성 사용자 수 (사용자마다 팀 하나에 소속)
+    @Param({"1000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private TeamMemberRepository teamMemberRepository;
+    private TokenUtil tokenUtil;
+    private JwtAuthenticationFilter filter;
+    private TeamAccessPolicy claimsOnlyPolicy;
+    private TeamAccessPolicy membershipPolicy;
+    private String[] tokens;
+    private Long[] teamIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 측정 중 TTL 만료로 재적재되지 않도록 해 캐시 적중 경로만 잰다
+        context = BenchmarkApplication.start("auth-filter-" + users, "security.membership-cache.ttl=10m");
+        userRepository = context.getBean(UserRepository.class);
+        teamMemberRepository = context.getBean(TeamMemberRepository.class);
+        tokenUtil = context.getBean(TokenUtil.class);
+        MembershipCache membershipCache = context.getBean(MembershipCache.class);
+        filter = new JwtAuthenticationFilter(tokenUtil);
+        claimsOnlyPolicy = new TeamAccessPolicy(membershipCache, false);
+        membershipPolicy = new TeamAccessPolicy(membershipCache, true);
+
+        TeamRepository teamRepository = context.getBean(TeamRepository.class);
+        List<TeamMember> members = new ArrayList<>();
+        tokens = new String[users];
+        teamIds = new Long[users];
+        for (int i = 0; i < users; i++) {
+            Team team = teamRepository.save(Team.builder().name("team-" + i).quota(1_000_000L).usage(0L).build());
+            User user = userRepository.save(User.builder()
+                    .username("user-" + i)
+                    .password("encoded")
+                    .email("user-" + i + "@example.com")
+                    .role("USER")
+                    .build());
+            members.add(TeamMember.builder().team(team).user(user).role("MEMBER").build());
+            tokens[i] = tokenUtil.generateToken(user.getUsername(), user.getRole(), List.of(team.getId()));
+            teamIds[i] = team.getId();
+        }
+        teamMemberRepository.saveAll(members);
+        for (int i = 0; i < users; i++) {
+            membershipCache.get("user-" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private VerifiedToken authenticate(int index) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/chat/completions");
+        request.addHeader("Authorization", "Bearer " + tokens[index]);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return (VerifiedToken) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (next + 1) % users;
+        return index;
+    }
+
+    @Benchmark
+    public VerifiedToken claimsOnly() throws Exception {
+        int index = nextIndex();
+        VerifiedToken principal = authenticate(index);
+        claimsOnlyPolicy.checkAccess(principal, teamIds[index]);
+        return principal;
+    }
+
+    @Benchmark
+    public VerifiedToken claimsWithMembershipCache() throws Exception {
+        int index = nextIndex();
+        VerifiedToken principal = authenticate(index);
+        membershipPolicy.checkAccess(principal, teamIds[index]);
+        return principal;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 10, time = 2)
+    public Set<Long> dbLookupPerRequest() {
+        int index = nextIndex();
+        VerifiedToken token = tokenUtil.verify(tokens[index]).orElseThrow();
+        User user = userRepository.findByUsername(token.getUsername()).orElseThrow();
+        Set<Long> memberTeamIds = Set.copyOf(teamMemberRepository.findTeamIdsByUserId(user.getId()));
+        if (!memberTeamIds.contains(teamIds[index])) {
+            throw new IllegalStateException("not a member");
+        }
+        return memberTeamIds;
+    }
+}
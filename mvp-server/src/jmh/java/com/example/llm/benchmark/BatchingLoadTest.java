@@ -0,0 +1,186 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.config.GatewayProperties;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.Team;
+import com.example.llm.repository.ModelRepository;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.support.StubProviderServer;
+import com.example.llm.util.TokenUtil;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 임베딩 micro-batching 부하 테스트.
+ * 호출마다 고정 지연이 있고 동시 호출 수가 제한된 로컬 스텁 제공자에 N개의 클라이언트가 입력 하나짜리 /v1/embeddings 요청을 쉬지 않고 보내며,
+ * 대기 시간(maxWindow)마다 처리량, 지연시간 분위수, 제공자 호출 수와 평균 배치 크기를 출력한다. windowMs=0은 배치를 끈 기준값이다.
+ * 실행: ./gradlew batchingLoadTest -PloadTestArgs="clients=64 seconds=10 providerDelayMs=20 providerConcurrency=8 windowsMs=0,1,2,5,10"
+ */
+public final class BatchingLoadTest {
+    
+    private static final int WARMUP_REQUESTS = 200;
+    
+    private BatchingLoadTest() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int clients = intOption(args, "clients", 64);
+        int seconds = intOption(args, "seconds", 10);
+        int providerDelayMs = intOption(args, "providerDelayMs", 20);
+        int providerConcurrency = intOption(args, "providerConcurrency", 8);
+        int[] windowsMs = Arrays.stream(stringOption(args, "windowsMs", "0,1,2,5,10").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        
+        try (StubProviderServer provider = new StubProviderServer()) {
+            ConfigurableApplicationContext context = BenchmarkApplication.start(
+                    WebApplicationType.SERVLET,
+                    new Class<?>[0],
+                    "batching-load",
+                    "server.port=0",
+                    "gateway.providers.stub.base-url=" + provider.baseUrl(),
+                    "gateway.providers.stub.max-concurrent-calls=" + providerConcurrency,
+                    "gateway.connect-timeout=60s");
+            try {
+                run(context, provider, clients, seconds, providerDelayMs, windowsMs);
+            } finally {
+                context.close();
+            }
+        }
+    }
+    
+    private static void run(ConfigurableApplicationContext context, StubProviderServer provider, int clients,
+                            int seconds, int providerDelayMs, int[] windowsMs) throws Exception {
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        Team team = context.getBean(TeamRepository.class).save(Team.builder()
+                .name("Batching Load Team")
+                .quota(Long.MAX_VALUE / 2)
+                .usage(0L)
+                .build());
+        context.getBean(ModelRepository.class).save(LLMModel.builder()
+                .name("stub-model")
+                .provider("Stub")
+                .costPerToken(0.0001)
+                .isActive(true)
+                .build());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/v1/embeddings"))
+                .timeout(Duration.ofMinutes(1))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + context.getBean(TokenUtil.class).generateToken("loadtest", "ADMIN"))
+                .header("X-Team-Id", String.valueOf(team.getId()))
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"model":"stub-model","input":"the quick brown fox jumps over the lazy dog"}
+                        """))
+                .build();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(60))
+                .build();
+        GatewayProperties.Batching batching = context.getBean(GatewayProperties.class).getBatching();
+        
+        // 워밍업 (JIT, 커넥션 풀)
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+        provider.setDelay(Duration.ofMillis(providerDelayMs));
+        
+        System.out.printf("%nclients=%d, seconds=%d, provider delay=%dms%n", clients, seconds, providerDelayMs);
+        System.out.printf("%8s %10s %8s %8s %8s %8s %8s %8s%n",
+                "windowMs", "req/s", "p50 ms", "p99 ms", "max ms", "calls", "batch", "errors");
+        for (int windowMs : windowsMs) {
+            batching.setEnabled(windowMs > 0);
+            batching.setMaxWindow(Duration.ofMillis(windowMs));
+            provider.reset();
+            provider.setDelay(Duration.ofMillis(providerDelayMs));
+            
+            Result result = measure(client, request, clients, seconds);
+            long[] sorted = result.latencyNanos();
+            double calls = provider.getRequestCount();
+            System.out.printf("%8d %10.0f %8.1f %8.1f %8.1f %8.0f %8.1f %8d%n",
+                    windowMs,
+                    sorted.length / (double) seconds,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99),
+                    percentile(sorted, 1.0),
+                    calls,
+                    calls > 0 ? provider.getEmbeddingInputs() / calls : 0,
+                    result.errors());
+        }
+    }
+    
+    // clients개의 클라이언트가 응답을 받자마자 다음 요청을 보낸다 (closed loop)
+    private static Result measure(HttpClient client, HttpRequest request, int clients, int seconds)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        AtomicInteger errors = new AtomicInteger();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(executor.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        executor.shutdown();
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+    
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+    
+    private static int intOption(String[] args, String name, int defaultValue) {
+        return Integer.parseInt(stringOption(args, name, String.valueOf(defaultValue)));
+    }
+    
+    private static String stringOption(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return arg.substring(name.length() + 1);
+            }
+        }
+        return defaultValue;
+    }
+    
+    private record Result(long[] latencyNanos, int errors) {
+    }
+}
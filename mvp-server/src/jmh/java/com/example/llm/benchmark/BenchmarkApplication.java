@@ -0,0 +1,56 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.MvpServerApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트를 띄운다.
+ * SQL 로그를 끄고 벤치마크마다 독립된 인메모리 DB를 사용한다 (스키마는 애플리케이션과 같이 Flyway 마이그레이션으로 생성).
+ * 추가 속성은 같은 키의 기본값을 대체한다.
+ */
+public final class BenchmarkApplication {
+    
+    private BenchmarkApplication() {
+    }
+    
+    public static ConfigurableApplicationContext start(String databaseName, String... extraProperties) {
+        return start(WebApplicationType.NONE, new Class<?>[0], databaseName, extraProperties);
+    }
+    
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, Class<?>[] extraSources,
+                                                       String databaseName, String... extraProperties) {
+        List<String> defaults = Arrays.asList(
+                "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "spring.sql.init.mode=never",
+                // 마이그레이션 도입 전 ddl-auto로 만든 벤치마크 DB 파일은 V1 스키마로 보고 재사용
+                "spring.flyway.baseline-on-migrate=true",
+                "spring.h2.console.enabled=false",
+                "logging.level.root=WARN",
+                "logging.level.com.example.llm=WARN",
+                "logging.level.org.hibernate.SQL=WARN"
+        );
+        // 같은 키를 두 번 넘기면 값이 쉼표로 합쳐지므로 추가 속성이 기본값을 대체하도록 키 단위로 병합
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String property : defaults) {
+            properties.put(property.substring(0, property.indexOf('=')), property);
+        }
+        for (String property : extraProperties) {
+            properties.put(property.substring(0, property.indexOf('=')), property);
+        }
+        
+        return new SpringApplicationBuilder(MvpServerApplication.class)
+                .sources(extraSources)
+                .web(webApplicationType)
+                // 명령행 인자로 넘겨 application.properties보다 우선 적용
+                .run(properties.values().stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+}
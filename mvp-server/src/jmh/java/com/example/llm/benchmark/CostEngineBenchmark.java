@@ -0,0 +1,129 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.ModelPriceTier;
+import com.example.llm.repository.ModelRepository;
+import com.example.llm.service.CostEngine;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용 이력 1,024건의 비용 계산과 합산 처리량.
+ * <ul>
+ *   <li>boxedDouble: 기존 방식. 토큰 수 × costPerToken을 Double로 저장하고 double로 합산</li>
+ *   <li>bigDecimal: BigDecimal로 입력/출력·구간 단가를 계산하고 반올림</li>
+ *   <li>fixedPoint: CostEngine (레지스트리에 캐시된 단가표, long micro 계산과 합산)</li>
+ * </ul>
+ * fixedPoint는 호출당 할당이 없어야 한다. -PjmhProfilers=gc 로 gc.alloc.rate.norm을 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CostEngineBenchmark {
+    
+    private static final int RECORDS = 1_024;
+    private static final BigDecimal TOKENS_PER_PRICE = BigDecimal.valueOf(1_000_000L);
+    
+    @Param({"8"})
+    public int models;
+    
+    private ConfigurableApplicationContext context;
+    private CostEngine costEngine;
+    private Long[] modelIds;
+    private double[] costPerToken;
+    private int[] recordModels;
+    private long[] inputTokens;
+    private long[] outputTokens;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("cost-engine-" + models);
+        ModelRepository modelRepository = context.getBean(ModelRepository.class);
+        costEngine = context.getBean(CostEngine.class);
+        modelIds = new Long[models];
+        costPerToken = new double[models];
+        for (int i = 0; i < models; i++) {
+            LLMModel model = modelRepository.save(LLMModel.builder()
+                    .name("cost-model-" + i)
+                    .provider("bench")
+                    .costPerToken(0.0000025 * (i + 1))
+                    .inputMicrosPerMillion(2_500_000L * (i + 1))
+                    .outputMicrosPerMillion(10_000_000L * (i + 1))
+                    .priceTiers(new ArrayList<>(List.of(ModelPriceTier.builder()
+                            .minInputTokens(200_000L)
+                            .inputMicrosPerMillion(5_000_000L * (i + 1))
+                            .outputMicrosPerMillion(15_000_000L * (i + 1))
+                            .build())))
+                    .isActive(true)
+                    .build());
+            modelIds[i] = model.getId();
+            costPerToken[i] = model.getCostPerToken();
+        }
+        
+        SplittableRandom random = new SplittableRandom(42);
+        recordModels = new int[RECORDS];
+        inputTokens = new long[RECORDS];
+        outputTokens = new long[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            recordModels[i] = random.nextInt(models);
+            inputTokens[i] = random.nextInt(300_000);
+            outputTokens[i] = random.nextInt(4_096);
+        }
+        // 단가표 캐시 적재는 측정에서 제외
+        for (Long modelId : modelIds) {
+            costEngine.costMicros(modelId, 1, 1);
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public double boxedDouble() {
+        double total = 0.0;
+        for (int i = 0; i < RECORDS; i++) {
+            Double cost = (inputTokens[i] + outputTokens[i]) * costPerToken[recordModels[i]];
+            total += cost;
+        }
+        return total;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < RECORDS; i++) {
+            int model = recordModels[i];
+            boolean upper = inputTokens[i] >= 200_000L;
+            BigDecimal inputPrice = BigDecimal.valueOf((upper ? 5_000_000L : 2_500_000L) * (model + 1));
+            BigDecimal outputPrice = BigDecimal.valueOf((upper ? 15_000_000L : 10_000_000L) * (model + 1));
+            total = total.add(BigDecimal.valueOf(inputTokens[i]).multiply(inputPrice)
+                    .add(BigDecimal.valueOf(outputTokens[i]).multiply(outputPrice))
+                    .divide(TOKENS_PER_PRICE, 0, RoundingMode.HALF_UP));
+        }
+        return total;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public long fixedPoint() {
+        long total = 0L;
+        for (int i = 0; i < RECORDS; i++) {
+            total += costEngine.costMicros(modelIds[recordModels[i]], inputTokens[i], outputTokens[i]);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.dto.response.DashboardResponse;
+import com.example.llm.service.DashboardService;
+import com.example.llm.service.UsageRollupService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용 이력 행 수에 따른 대시보드 조회 지연시간 회귀 벤치마크.
+ * 팀 수는 고정하고 usage 행 수만 늘려 조회 비용이 원본 행 수에 비례해 커지지 않는지 확인한다.
+ * 대시보드는 집계 테이블을 읽으므로 팀 수 x 모델 수 x 일 수에만 비례해야 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardBenchmark {
+    
+    @Param({"10000", "100000", "1000000"})
+    public int usageRows;
+    
+    @Param({"300"})
+    public int teams;
+    
+    private ConfigurableApplicationContext context;
+    private DashboardService dashboardService;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("dashboard-" + usageRows);
+        UsageDataSeeder seeder = new UsageDataSeeder(context.getBean(JdbcTemplate.class));
+        List<Long> teamIds = seeder.seedTeams(teams);
+        List<Long> modelIds = seeder.seedModels(4);
+        seeder.seedUsage(teamIds, modelIds, usageRows, 90);
+        // JDBC로 직접 적재했으므로 집계 테이블을 다시 계산한다
+        context.getBean(UsageRollupService.class).rebuild();
+        dashboardService = context.getBean(DashboardService.class);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public DashboardResponse getDashboard() {
+        return dashboardService.getDashboard();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.dto.response.DashboardResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 팀 수에 따른 대시보드 응답의 JSON 직렬화 비용.
+ * 애플리케이션과 같은 기본 설정(Jackson2ObjectMapperBuilder)의 ObjectMapper를 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardSerializationBenchmark {
+    
+    @Param({"10", "300", "3000"})
+    public int teams;
+    
+    private ObjectMapper objectMapper;
+    private DashboardResponse response;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<DashboardResponse.TeamUsageSummary> summaries = new ArrayList<>(teams);
+        for (int i = 0; i < teams; i++) {
+            summaries.add(DashboardResponse.TeamUsageSummary.builder()
+                    .teamId((long) i)
+                    .teamName("team-" + i)
+                    .quota(1_000_000L)
+                    .usage((long) i * 37)
+                    .usagePercentage(i * 37 / 10_000.0)
+                    .modelCount(4)
+                    .totalTokens((long) i * 37)
+                    .totalCost(i * 0.0037)
+                    .build());
+        }
+        response = DashboardResponse.builder()
+                .totalTeams(teams)
+                .totalQuota(teams * 1_000_000L)
+                .totalUsage(summaries.stream().mapToLong(DashboardResponse.TeamUsageSummary::getUsage).sum())
+                .totalCost(summaries.stream().mapToDouble(DashboardResponse.TeamUsageSummary::getTotalCost).sum())
+                .totalModels(4)
+                .activeModels(3)
+                .teamUsageSummaries(summaries)
+                .build();
+    }
+    
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.dto.response.ModelResponse;
+import com.example.llm.dto.response.TeamResponse;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.Team;
+import com.example.llm.repository.ModelRepository;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.service.ModelService;
+import com.example.llm.service.TeamService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 → 응답 DTO 변환 비용 (목록 API 한 번에 해당하는 건수 단위).
+ * 서비스의 목록 조회 메서드를 메모리의 엔티티 목록을 돌려주는 저장소 스텁 위에서 호출한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+    
+    @Param({"1", "100", "1000"})
+    public int size;
+    
+    private TeamService teamService;
+    private ModelService modelService;
+    private List<Team> teams;
+    private List<LLMModel> models;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        teams = new ArrayList<>(size);
+        models = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            teams.add(Team.builder()
+                    .id((long) i)
+                    .name("team-" + i)
+                    .quota(1_000_000L)
+                    .usage((long) i * 10)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            models.add(LLMModel.builder()
+                    .id((long) i)
+                    .name("model-" + i)
+                    .provider("OpenAI")
+                    .costPerToken(0.0001)
+                    .isActive(i % 2 == 0)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        // 목록 조회는 findAll 외의 의존성을 사용하지 않는다
+        teamService = new TeamService(findAllStub(TeamRepository.class, teams), null, null, null);
+        modelService = new ModelService(findAllStub(ModelRepository.class, models), null, null);
+    }
+    
+    @Benchmark
+    public void mapToTeamResponse(Blackhole blackhole) {
+        for (TeamResponse response : teamService.getAllTeams()) {
+            blackhole.consume(response);
+        }
+    }
+    
+    @Benchmark
+    public void mapToModelResponse(Blackhole blackhole) {
+        for (ModelResponse response : modelService.getAllModels()) {
+            blackhole.consume(response);
+        }
+    }
+    
+    private static <R> R findAllStub(Class<R> repositoryType, List<?> rows) {
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType}, (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                        return rows;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.entity.Team;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.repository.UsageRepository;
+import com.example.llm.repository.projection.UsageRollupSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 페이지 하나의 조회 비용을 페이지 깊이(앞에서 건너뛴 행 수)별로 비교한다.
+ * *Offset은 같은 쿼리를 OFFSET으로 넘기는 방식, *Keyset은 직전 페이지 마지막 행의 정렬 키 이후부터 읽는 방식이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class KeysetPaginationBenchmark {
+    
+    private static final int PAGE_SIZE = 50;
+    
+    @Param({"1000000"})
+    public int rows;
+    
+    @Param({"0", "100000", "900000"})
+    public int depth;
+    
+    private ConfigurableApplicationContext context;
+    private TeamRepository teamRepository;
+    private UsageRepository usageRepository;
+    private Long teamId;
+    private Long teamCursor;
+    private UsageRollupSource usageCursor;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("keyset-pagination");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO teams (name, quota, usage, created_at, updated_at) " +
+                "SELECT 'bench-team-' || X, 1000000000, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, ?)", rows);
+        UsageDataSeeder seeder = new UsageDataSeeder(jdbcTemplate);
+        List<Long> modelIds = seeder.seedModels(4);
+        teamId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM teams", Long.class);
+        seeder.seedUsageInDatabase(List.of(teamId), modelIds, rows, 90);
+        
+        teamRepository = context.getBean(TeamRepository.class);
+        usageRepository = context.getBean(UsageRepository.class);
+        // 직전 페이지의 마지막 행 = 커서
+        if (depth == 0) {
+            teamCursor = 0L;
+        } else {
+            List<Team> previous = teamRepository.findPageAfter(0L, PageRequest.of(depth / PAGE_SIZE - 1, PAGE_SIZE));
+            teamCursor = previous.get(previous.size() - 1).getId();
+            List<UsageRollupSource> previousUsage = usageRepository.findTeamPage(teamId,
+                    PageRequest.of(depth / PAGE_SIZE - 1, PAGE_SIZE));
+            usageCursor = previousUsage.get(previousUsage.size() - 1);
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<Team> teamsOffset() {
+        return teamRepository.findPageAfter(0L, PageRequest.of(depth / PAGE_SIZE, PAGE_SIZE));
+    }
+    
+    @Benchmark
+    public List<Team> teamsKeyset() {
+        return teamRepository.findPageAfter(teamCursor, PageRequest.of(0, PAGE_SIZE));
+    }
+    
+    @Benchmark
+    public List<UsageRollupSource> usageOffset() {
+        return usageRepository.findTeamPage(teamId, PageRequest.of(depth / PAGE_SIZE, PAGE_SIZE));
+    }
+    
+    @Benchmark
+    public List<UsageRollupSource> usageKeyset() {
+        if (usageCursor == null) {
+            return usageRepository.findTeamPage(teamId, PageRequest.of(0, PAGE_SIZE));
+        }
+        return usageRepository.findTeamPageBefore(teamId, usageCursor.getUsedAt(), usageCursor.getId(),
+                PageRequest.of(0, PAGE_SIZE));
+    }
+}
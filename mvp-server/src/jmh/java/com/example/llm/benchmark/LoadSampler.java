@@ -0,0 +1,67 @@
+package com.example.llm.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 부하 구간 동안 스레드 수와 메모리의 최댓값을 주기적으로 기록한다.
+ */
+class LoadSampler extends Thread {
+    
+    private volatile boolean running = true;
+    private volatile Snapshot peak = Snapshot.take();
+    
+    LoadSampler() {
+        super("load-test-sampler");
+        setDaemon(true);
+    }
+    
+    @Override
+    public void run() {
+        while (running) {
+            peak = peak.max(Snapshot.take());
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+    
+    Snapshot finish() throws InterruptedException {
+        running = false;
+        join();
+        return peak;
+    }
+    
+    record Snapshot(int threads, long heapBytes, long rssBytes) {
+        
+        static Snapshot take() {
+            return new Snapshot(
+                    ManagementFactory.getThreadMXBean().getThreadCount(),
+                    ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                    readRss());
+        }
+        
+        Snapshot max(Snapshot other) {
+            return new Snapshot(Math.max(threads, other.threads), Math.max(heapBytes, other.heapBytes),
+                    Math.max(rssBytes, other.rssBytes));
+        }
+        
+        // 플랫폼 스레드 스택은 힙 밖(네이티브)에 잡히므로 RSS도 함께 본다 (Linux 전용, 그 외 0)
+        private static long readRss() {
+            try {
+                for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                    if (line.startsWith("VmRSS:")) {
+                        return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // 지원하지 않는 플랫폼
+            }
+            return 0;
+        }
+    }
+}
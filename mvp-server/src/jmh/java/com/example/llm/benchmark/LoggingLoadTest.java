@@ -0,0 +1,148 @@
+package com.example.llm.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 로깅 설정에 따른 초당 처리 요청 수 비교 부하 테스트.
+ * <ul>
+ *   <li>verbose: 기존 개발 설정 (show-sql, format_sql, org.hibernate.SQL/com.example.llm DEBUG, 동기 콘솔 출력)</li>
+ *   <li>prod: prod 프로파일 (SQL 출력 없음, INFO 레벨, 비동기 JSON appender)</li>
+ * </ul>
+ * 고정된 수의 클라이언트가 응답을 받는 즉시 다음 요청을 보내며(closed loop) 정해진 시간 동안 완료한 요청 수를 센다.
+ * verbose 모드는 SQL 로그가 표준 출력으로 쏟아지므로 결과 표는 마지막에 출력한다.
+ * 실행: ./gradlew loggingLoadTest -PloadTestArgs="clients=32 seconds=20 path=/api/teams/page?size=20"
+ */
+public final class LoggingLoadTest {
+    
+    private LoggingLoadTest() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "32"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "20"));
+        String path = options.getOrDefault("path", "/api/teams/page?size=20");
+        String mode = options.getOrDefault("mode", "all");
+        
+        List<Result> results = new ArrayList<>();
+        for (String name : List.of("verbose", "prod")) {
+            if (mode.equals("all") || mode.equals(name)) {
+                results.add(run(name, clients, seconds, path));
+            }
+        }
+        
+        System.out.printf("%nclients=%d, duration=%ds, path=%s%n", clients, seconds, path);
+        System.out.printf("%-8s %10s %10s %8s%n", "mode", "requests", "req/s", "errors");
+        for (Result result : results) {
+            System.out.printf("%-8s %10d %10.1f %8d%n",
+                    result.mode, result.requests, result.requests / (double) seconds, result.errors);
+        }
+    }
+    
+    private static Result run(String mode, int clients, int seconds, String path) throws Exception {
+        ConfigurableApplicationContext context = BenchmarkApplication.start(
+                WebApplicationType.SERVLET,
+                new Class<?>[0],
+                "logging-" + mode,
+                modeProperties(mode));
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            new UsageDataSeeder(context.getBean(JdbcTemplate.class)).seedTeams(200);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            
+            // 워밍업 (JIT, 커넥션 풀)
+            long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(1, seconds / 4));
+            while (System.nanoTime() < warmupEnd) {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+            
+            AtomicInteger completed = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            List<Future<?>> workers = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                workers.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                completed.incrementAndGet();
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return new Result(mode, completed.get(), errors.get());
+        } finally {
+            executor.shutdownNow();
+            context.close();
+        }
+    }
+    
+    private static String[] modeProperties(String mode) {
+        if (mode.equals("verbose")) {
+            return new String[]{
+                    "server.port=0",
+                    "spring.jpa.show-sql=true",
+                    "spring.jpa.properties.hibernate.format_sql=true",
+                    "logging.level.root=INFO",
+                    "logging.level.com.example.llm=DEBUG",
+                    "logging.level.org.hibernate.SQL=DEBUG"
+            };
+        }
+        // 벤치마크 기본값(WARN)이 프로파일 설정보다 우선하므로 prod 프로파일과 같은 레벨을 직접 넘긴다
+        return new String[]{
+                "server.port=0",
+                "spring.profiles.active=prod",
+                "logging.level.root=INFO",
+                "logging.level.com.example.llm=INFO",
+                "logging.level.org.hibernate.SQL=WARN"
+        };
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+    
+    private record Result(String mode, int requests, int errors) {
+    }
+}
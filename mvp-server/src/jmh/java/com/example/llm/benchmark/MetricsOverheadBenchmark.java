@@ -0,0 +1,90 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.service.UsageMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지표 기록 경로의 호출당 비용과 할당량.
+ * baseline은 계측 없이 LongAdder만 증가, cachedCounter는 UsageMetrics(팀·모델별 카운터를 맵에 보관),
+ * registryLookup은 호출마다 meterRegistry.counter(이름, 태그)로 조회하는 방식이다.
+ * 할당량은 -PjmhProfilers=gc 로 실행해 gc.alloc.rate.norm(호출당 바이트)으로 확인한다 (cachedCounter는 0이어야 한다).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+    
+    @Param({"300"})
+    public int teams;
+    
+    @Param({"4"})
+    public int models;
+    
+    private final LongAdder baseline = new LongAdder();
+    private MeterRegistry meterRegistry;
+    private UsageMetrics usageMetrics;
+    private Long[] teamIds;
+    private Long[] modelIds;
+    private String[] teamTags;
+    private String[] modelTags;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        usageMetrics = new UsageMetrics(meterRegistry);
+        teamIds = new Long[teams];
+        teamTags = new String[teams];
+        for (int i = 0; i < teams; i++) {
+            teamIds[i] = 1_000L + i;
+            teamTags[i] = String.valueOf(teamIds[i]);
+        }
+        modelIds = new Long[models];
+        modelTags = new String[models];
+        for (int i = 0; i < models; i++) {
+            modelIds[i] = 1_000L + i;
+            modelTags[i] = String.valueOf(modelIds[i]);
+        }
+        // 카운터 등록 비용은 측정에서 제외
+        for (Long teamId : teamIds) {
+            for (Long modelId : modelIds) {
+                usageMetrics.recordTokens(teamId, modelId, 1);
+            }
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        meterRegistry.close();
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void baseline() {
+        baseline.add(100);
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void cachedCounter() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        usageMetrics.recordTokens(teamIds[random.nextInt(teams)], modelIds[random.nextInt(models)], 100);
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void registryLookup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        meterRegistry.counter(UsageMetrics.TOKENS_CONSUMED,
+                "team", teamTags[random.nextInt(teams)], "model", modelTags[random.nextInt(models)]).increment(100);
+    }
+}
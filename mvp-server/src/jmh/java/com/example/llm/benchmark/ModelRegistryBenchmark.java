@@ -0,0 +1,71 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.entity.LLMModel;
+import com.example.llm.repository.ModelRepository;
+import com.example.llm.service.ModelRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게이트웨이 요청마다 수행하는 모델 조회 비용 비교.
+ * repositoryLookup은 기존의 findFirstByNameAndIsActiveTrue 쿼리, registryLookup은 모델 레지스트리 캐시 적중 경로다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelRegistryBenchmark {
+    
+    @Param({"20"})
+    public int models;
+    
+    private ConfigurableApplicationContext context;
+    private ModelRepository modelRepository;
+    private ModelRegistry modelRegistry;
+    private String[] names;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("model-registry-" + models);
+        modelRepository = context.getBean(ModelRepository.class);
+        modelRegistry = context.getBean(ModelRegistry.class);
+        names = new String[models];
+        for (int i = 0; i < models; i++) {
+            names[i] = "model-" + i;
+            modelRepository.save(LLMModel.builder()
+                    .name(names[i])
+                    .provider("OpenAI")
+                    .costPerToken(0.0001)
+                    .isActive(true)
+                    .build());
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    private String nextName() {
+        String name = names[next];
+        next = (next + 1) % names.length;
+        return name;
+    }
+    
+    @Benchmark
+    @Warmup(iterations = 10, time = 2)
+    public Optional<LLMModel> repositoryLookup() {
+        return modelRepository.findFirstByNameAndIsActiveTrue(nextName());
+    }
+    
+    @Benchmark
+    public Optional<LLMModel> registryLookup() {
+        return modelRegistry.findActiveByName(nextName());
+    }
+}
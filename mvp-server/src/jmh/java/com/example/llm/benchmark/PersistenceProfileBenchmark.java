@@ -0,0 +1,102 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.dto.response.DashboardResponse;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.Team;
+import com.example.llm.entity.Usage;
+import com.example.llm.repository.UsageRepository;
+import com.example.llm.service.DashboardService;
+import com.example.llm.service.UsageRollupService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장소 프로파일별 사용 이력 저장 처리량과 대시보드 조회 지연시간.
+ * memory는 기본 인메모리 H2, persistent는 persistent 프로파일(파일 기반 H2)이다.
+ * insertUsageBatch는 수집 flush와 같은 크기(500건)를 한 트랜잭션으로 저장하며, 집계 테이블 갱신까지 포함한다.
+ * 파일 DB는 매 실행마다 새로 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceProfileBenchmark {
+    
+    private static final int INSERT_BATCH_SIZE = 500;
+    
+    @Param({"memory", "persistent"})
+    public String storage;
+    
+    @Param({"100000"})
+    public int usageRows;
+    
+    @Param({"300"})
+    public int teams;
+    
+    private ConfigurableApplicationContext context;
+    private DashboardService dashboardService;
+    private UsageRepository usageRepository;
+    private List<Long> teamIds;
+    private List<Long> modelIds;
+    private final SplittableRandom random = new SplittableRandom(42);
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if ("persistent".equals(storage)) {
+            Path directory = Path.of(System.getProperty("java.io.tmpdir"), "llm-bench");
+            Files.deleteIfExists(directory.resolve("persistence-profile.mv.db"));
+            Files.deleteIfExists(directory.resolve("persistence-profile.trace.db"));
+            context = BenchmarkApplication.start("persistence-profile",
+                    "spring.profiles.active=persistent",
+                    "spring.datasource.url=jdbc:h2:file:" + directory.resolve("persistence-profile").toAbsolutePath());
+        } else {
+            context = BenchmarkApplication.start("persistence-profile");
+        }
+        UsageDataSeeder seeder = new UsageDataSeeder(context.getBean(JdbcTemplate.class));
+        teamIds = seeder.seedTeams(teams);
+        modelIds = seeder.seedModels(4);
+        seeder.seedUsage(teamIds, modelIds, usageRows, 90);
+        // JDBC로 직접 적재했으므로 집계 테이블을 다시 계산한다
+        context.getBean(UsageRollupService.class).rebuild();
+        dashboardService = context.getBean(DashboardService.class);
+        usageRepository = context.getBean(UsageRepository.class);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<Usage> insertUsageBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Usage> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < INSERT_BATCH_SIZE; i++) {
+            int tokens = 10 + random.nextInt(4_000);
+            batch.add(Usage.builder()
+                    .team(Team.builder().id(teamIds.get(random.nextInt(teamIds.size()))).build())
+                    .model(LLMModel.builder().id(modelIds.get(random.nextInt(modelIds.size()))).build())
+                    .tokens(tokens)
+                    .costMicros(tokens * 10L)
+                    .usedAt(now.minusMinutes(random.nextInt(60 * 24)))
+                    .build());
+        }
+        return usageRepository.saveAll(batch);
+    }
+    
+    @Benchmark
+    public DashboardResponse getDashboard() {
+        return dashboardService.getDashboard();
+    }
+}
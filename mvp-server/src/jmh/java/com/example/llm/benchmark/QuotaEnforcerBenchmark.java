@@ -0,0 +1,62 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.service.QuotaEnforcer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 할당량 검사(reserve → commit) 처리량.
+ * teams=1이면 모든 스레드가 한 팀의 카운터를 두고 경합하고, teams가 클수록 경합이 분산된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuotaEnforcerBenchmark {
+    
+    @Param({"1", "64", "1024"})
+    public int teams;
+    
+    private QuotaEnforcer quotaEnforcer;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 카운터를 모두 미리 등록하므로 저장소는 사용되지 않는다
+        quotaEnforcer = new QuotaEnforcer(null);
+        for (long teamId = 1; teamId <= teams; teamId++) {
+            quotaEnforcer.register(teamId, Long.MAX_VALUE / 2, 0L);
+        }
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public boolean reserveAndCommit_1Thread() {
+        return reserveAndCommit();
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean reserveAndCommit_AllCores() {
+        return reserveAndCommit();
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean tryReserveOnly_AllCores() {
+        long teamId = 1 + ThreadLocalRandom.current().nextInt(teams);
+        return quotaEnforcer.tryReserve(teamId, 1L);
+    }
+    
+    private boolean reserveAndCommit() {
+        long teamId = 1 + ThreadLocalRandom.current().nextInt(teams);
+        boolean reserved = quotaEnforcer.tryReserve(teamId, 100L);
+        if (reserved) {
+            quotaEnforcer.commit(teamId, 100L, 80L);
+        }
+        return reserved;
+    }
+}
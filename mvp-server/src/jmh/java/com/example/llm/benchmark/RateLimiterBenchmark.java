@@ -0,0 +1,138 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.entity.LLMModel;
+import com.example.llm.service.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 속도 제한 판정(acquire → settle) 비용을 64개 스레드 경합에서 측정한다.
+ * 모든 요청이 한도가 걸린 모델 하나를 쓰므로 모델 버킷은 항상 경합하고, teams=1이면 팀 버킷까지 한 곳에 몰린다.
+ * 한도는 측정 중 거절이 나지 않을 만큼 크게 잡아 판정 자체의 비용만 비교한다.
+ * synchronized_64Threads는 같은 GCRA 계산을 버킷마다 락으로 보호한 기준선이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+    
+    private static final long REQUESTS_PER_MINUTE = 1_000_000_000_000L;
+    private static final long TOKENS_PER_MINUTE = 100_000_000_000_000L;
+    private static final long RESERVED_TOKENS = 100L;
+    private static final long ACTUAL_TOKENS = 80L;
+    
+    @Param({"1", "300"})
+    public int teams;
+    
+    private RateLimiter rateLimiter;
+    private LLMModel model;
+    private Map<Long, SynchronizedLimits> synchronizedTeams;
+    private SynchronizedLimits synchronizedModel;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 팀 한도를 모두 미리 등록하므로 저장소는 사용되지 않는다
+        rateLimiter = new RateLimiter(null);
+        model = LLMModel.builder()
+                .id(1L)
+                .name("bench-model")
+                .requestsPerMinute(REQUESTS_PER_MINUTE)
+                .tokensPerMinute(TOKENS_PER_MINUTE)
+                .build();
+        synchronizedTeams = new ConcurrentHashMap<>();
+        for (long teamId = 1; teamId <= teams; teamId++) {
+            rateLimiter.updateTeamLimits(teamId, REQUESTS_PER_MINUTE, TOKENS_PER_MINUTE);
+            synchronizedTeams.put(teamId, new SynchronizedLimits(REQUESTS_PER_MINUTE, TOKENS_PER_MINUTE));
+        }
+        synchronizedModel = new SynchronizedLimits(REQUESTS_PER_MINUTE, TOKENS_PER_MINUTE);
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public void acquireAndSettle_1Thread() {
+        acquireAndSettle();
+    }
+    
+    @Benchmark
+    @Threads(64)
+    public void acquireAndSettle_64Threads() {
+        acquireAndSettle();
+    }
+    
+    @Benchmark
+    @Threads(64)
+    public void acquireOnly_64Threads() {
+        long teamId = 1 + ThreadLocalRandom.current().nextInt(teams);
+        rateLimiter.acquire(teamId, model, RESERVED_TOKENS);
+    }
+    
+    @Benchmark
+    @Threads(64)
+    public boolean synchronized_64Threads() {
+        long teamId = 1 + ThreadLocalRandom.current().nextInt(teams);
+        long now = System.nanoTime();
+        SynchronizedLimits team = synchronizedTeams.get(teamId);
+        if (!team.tryAcquire(RESERVED_TOKENS, now)) {
+            return false;
+        }
+        if (!synchronizedModel.tryAcquire(RESERVED_TOKENS, now)) {
+            team.refund(RESERVED_TOKENS);
+            return false;
+        }
+        team.refundTokens(RESERVED_TOKENS - ACTUAL_TOKENS);
+        synchronizedModel.refundTokens(RESERVED_TOKENS - ACTUAL_TOKENS);
+        return true;
+    }
+    
+    private void acquireAndSettle() {
+        long teamId = 1 + ThreadLocalRandom.current().nextInt(teams);
+        rateLimiter.acquire(teamId, model, RESERVED_TOKENS);
+        rateLimiter.settle(teamId, model, RESERVED_TOKENS, ACTUAL_TOKENS);
+    }
+    
+    // RateLimiter와 같은 GCRA 계산(RPM, TPM)을 주체마다 락 하나로 보호한 기준선
+    private static final class SynchronizedLimits {
+        
+        private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+        
+        private final double nanosPerRequest;
+        
+        private final double nanosPerToken;
+        
+        private long requestArrival = System.nanoTime();
+        
+        private long tokenArrival = requestArrival;
+        
+        private SynchronizedLimits(long requestsPerMinute, long tokensPerMinute) {
+            this.nanosPerRequest = (double) WINDOW_NANOS / requestsPerMinute;
+            this.nanosPerToken = (double) WINDOW_NANOS / tokensPerMinute;
+        }
+        
+        private synchronized boolean tryAcquire(long tokens, long now) {
+            long nextRequest = Math.max(requestArrival, now) + (long) nanosPerRequest;
+            long nextToken = Math.max(tokenArrival, now) + (long) (tokens * nanosPerToken);
+            if (nextRequest - now > WINDOW_NANOS || nextToken - now > WINDOW_NANOS) {
+                return false;
+            }
+            requestArrival = nextRequest;
+            tokenArrival = nextToken;
+            return true;
+        }
+        
+        private synchronized void refundTokens(long tokens) {
+            tokenArrival -= (long) (tokens * nanosPerToken);
+        }
+        
+        private synchronized void refund(long tokens) {
+            requestArrival -= (long) nanosPerRequest;
+            refundTokens(tokens);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.Team;
+import com.example.llm.repository.ModelRepository;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.repository.UsageRepository;
+import com.example.llm.support.StubProviderServer;
+import com.example.llm.util.TokenUtil;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE 스트리밍 프록시 부하 테스트.
+ * 로컬 스텁 제공자가 청크를 간격을 두고 보내는 동안 N개의 스트림을 동시에 열어
+ * 첫 이벤트까지의 시간(TTFB)과 동시 스트림당 힙 사용량, 스트림 종료 후 기록된 사용량을 확인한다.
+ * 실행: ./gradlew streamingLoadTest -PloadTestArgs="streams=1000 chunks=50 intervalMs=20"
+ */
+public final class StreamingLoadTest {
+    
+    private static final int WARMUP_REQUESTS = 200;
+    
+    private StreamingLoadTest() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int streams = intOption(args, "streams", 1000);
+        int chunks = intOption(args, "chunks", 50);
+        int intervalMs = intOption(args, "intervalMs", 20);
+        
+        try (StubProviderServer provider = new StubProviderServer()) {
+            ConfigurableApplicationContext context = BenchmarkApplication.start(
+                    WebApplicationType.SERVLET,
+                    new Class<?>[0],
+                    "streaming-load",
+                    "server.port=0",
+                    "gateway.providers.stub.base-url=" + provider.baseUrl(),
+                    "gateway.connect-timeout=60s");
+            try {
+                run(context, provider, streams, chunks, intervalMs);
+            } finally {
+                context.close();
+            }
+        }
+    }
+    
+    private static void run(ConfigurableApplicationContext context, StubProviderServer provider,
+                            int streams, int chunks, int intervalMs) throws Exception {
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        Team team = context.getBean(TeamRepository.class).save(Team.builder()
+                .name("Streaming Load Team")
+                .quota(Long.MAX_VALUE / 2)
+                .usage(0L)
+                .build());
+        context.getBean(ModelRepository.class).save(LLMModel.builder()
+                .name("stub-model")
+                .provider("Stub")
+                .costPerToken(0.0001)
+                .isActive(true)
+                .build());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/v1/chat/completions"))
+                .timeout(Duration.ofMinutes(5))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + context.getBean(TokenUtil.class).generateToken("loadtest", "ADMIN"))
+                .header("X-Team-Id", String.valueOf(team.getId()))
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"model":"stub-model","max_tokens":256,"stream":true,"messages":[{"role":"user","content":"hi"}]}
+                        """))
+                .build();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(60))
+                .build();
+        
+        // 워밍업 (JIT, 커넥션 풀)
+        provider.setStream(1, Duration.ZERO, true);
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+        provider.reset();
+        provider.setStream(chunks, Duration.ofMillis(intervalMs), true);
+        
+        System.gc();
+        Thread.sleep(200);
+        LoadSampler.Snapshot baseline = LoadSampler.Snapshot.take();
+        LoadSampler sampler = new LoadSampler();
+        sampler.start();
+        
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger peakOpen = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long[] ttfbNanos = new long[streams];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[streams];
+        long start = System.nanoTime();
+        for (int i = 0; i < streams; i++) {
+            StreamSubscriber subscriber = new StreamSubscriber(i, System.nanoTime(), ttfbNanos, open, peakOpen);
+            futures[i] = client.sendAsync(request, HttpResponse.BodyHandlers.fromSubscriber(subscriber))
+                    .whenComplete((response, failure) -> {
+                        if (failure != null || response.statusCode() != 200 || !subscriber.sawDone) {
+                            errors.incrementAndGet();
+                        }
+                    });
+        }
+        CompletableFuture.allOf(futures).exceptionally(e -> null).join();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        LoadSampler.Snapshot peak = sampler.finish();
+        
+        // 사용 이력은 수집 대기열을 거쳐 비동기로 저장된다
+        UsageRepository usageRepository = context.getBean(UsageRepository.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (usageRepository.count() < streams + WARMUP_REQUESTS && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        
+        long[] sorted = Arrays.stream(ttfbNanos).filter(t -> t > 0).sorted().toArray();
+        int concurrent = Math.max(1, peakOpen.get());
+        System.out.printf("%nstreams=%d, chunks=%d x %dms, elapsed=%dms, errors=%d%n",
+                streams, chunks, intervalMs, elapsedMs, errors.get());
+        System.out.printf("TTFB ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        System.out.printf("peak concurrent streams=%d, provider peak=%d, extra threads=%d%n",
+                peakOpen.get(), provider.getPeakInFlight(), peak.threads() - baseline.threads());
+        System.out.printf("heap per stream=%.1f KB, rss per stream=%.1f KB%n",
+                (peak.heapBytes() - baseline.heapBytes()) / 1024.0 / concurrent,
+                (peak.rssBytes() - baseline.rssBytes()) / 1024.0 / concurrent);
+        System.out.printf("usage records=%d (expected %d)%n", usageRepository.count() - WARMUP_REQUESTS, streams);
+    }
+    
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+    
+    private static int intOption(String[] args, String name, int defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return Integer.parseInt(arg.substring(name.length() + 1));
+            }
+        }
+        return defaultValue;
+    }
+    
+    /**
+     * 본문을 보관하지 않고 첫 바이트 시각과 종료 이벤트만 확인하는 클라이언트 구독자.
+     */
+    private static class StreamSubscriber implements Flow.Subscriber<List<ByteBuffer>> {
+        
+        private final int index;
+        private final long startNanos;
+        private final long[] ttfbNanos;
+        private final AtomicInteger open;
+        private final AtomicInteger peakOpen;
+        private volatile boolean sawDone;
+        private boolean first = true;
+        
+        StreamSubscriber(int index, long startNanos, long[] ttfbNanos, AtomicInteger open, AtomicInteger peakOpen) {
+            this.index = index;
+            this.startNanos = startNanos;
+            this.ttfbNanos = ttfbNanos;
+            this.open = open;
+            this.peakOpen = peakOpen;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            peakOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            subscription.request(Long.MAX_VALUE);
+        }
+        
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                if (first && buffer.hasRemaining()) {
+                    ttfbNanos[index] = System.nanoTime() - startNanos;
+                    first = false;
+                }
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                if (new String(bytes).contains("[DONE]")) {
+                    sawDone = true;
+                }
+            }
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            open.decrementAndGet();
+        }
+        
+        @Override
+        public void onComplete() {
+            open.decrementAndGet();
+        }
+    }
+}
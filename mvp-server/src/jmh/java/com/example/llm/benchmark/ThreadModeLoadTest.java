@@ -0,0 +1,224 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.Team;
+import com.example.llm.repository.ModelRepository;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.support.StubProviderServer;
+import com.example.llm.util.TokenUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 플랫폼 스레드 모드와 가상 스레드 모드의 동시 처리량 비교 부하 테스트.
+ * 느린 업스트림을 흉내내고 동시에 N개의 요청을 보내 최대 동시 처리 요청 수와 요청당 메모리를 측정한다.
+ * <ul>
+ *   <li>blocking: 요청 스레드를 점유한 채 대기하는 동기 호출 (JDBC, 동기 HTTP 클라이언트와 같은 경우)</li>
+ *   <li>gateway: /v1/chat/completions 를 지연 응답하는 스텁 제공자로 전달</li>
+ * </ul>
+ * 가상 스레드 모드는 Java 21 이상에서만 측정된다.
+ * 실행: ./gradlew loadTest -PloadTestArgs="requests=2000 delayMs=500 scenario=all"
+ */
+public final class ThreadModeLoadTest {
+    
+    private ThreadModeLoadTest() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int requests = Integer.parseInt(options.getOrDefault("requests", "2000"));
+        long delayMs = Long.parseLong(options.getOrDefault("delayMs", "500"));
+        String scenario = options.getOrDefault("scenario", "all");
+        
+        List<Boolean> modes = new ArrayList<>(List.of(false));
+        if (Runtime.version().feature() >= 21) {
+            modes.add(true);
+        } else {
+            System.out.printf("Java %d: virtual thread mode requires Java 21+, measuring platform threads only%n",
+                    Runtime.version().feature());
+        }
+        
+        List<Result> results = new ArrayList<>();
+        for (String name : List.of("blocking", "gateway")) {
+            if (!scenario.equals("all") && !scenario.equals(name)) {
+                continue;
+            }
+            for (boolean virtual : modes) {
+                results.add(run(name, virtual, requests, delayMs));
+            }
+        }
+        
+        System.out.printf("%nrequests=%d, upstream delay=%dms%n", requests, delayMs);
+        System.out.printf("%-9s %-8s %10s %10s %9s %10s %12s %12s %8s%n",
+                "scenario", "mode", "elapsed ms", "req/s", "peak in", "threads+", "heap KB/req", "rss KB/req", "errors");
+        for (Result result : results) {
+            System.out.printf("%-9s %-8s %10d %10.1f %9d %10d %12.1f %12.1f %8d%n",
+                    result.scenario, result.virtual ? "virtual" : "platform", result.elapsedMs,
+                    requests * 1000.0 / Math.max(1, result.elapsedMs), result.peakInFlight, result.extraThreads,
+                    result.heapPerRequestKb(), result.rssPerRequestKb(), result.errors);
+        }
+    }
+    
+    private static Result run(String scenario, boolean virtual, int requests, long delayMs) throws Exception {
+        BlockingUpstreamController.reset();
+        try (StubProviderServer provider = new StubProviderServer()) {
+            provider.setDelay(Duration.ofMillis(delayMs));
+            ConfigurableApplicationContext context = BenchmarkApplication.start(
+                    WebApplicationType.SERVLET,
+                    new Class<?>[]{BlockingUpstreamController.class},
+                    "loadtest-" + scenario + "-" + virtual,
+                    "server.port=0",
+                    "spring.threads.virtual.enabled=" + virtual,
+                    "gateway.providers.stub.base-url=" + provider.baseUrl(),
+                    // 스텁 서버의 accept 속도가 아닌 서버 측 동시성을 측정하기 위해 연결 제한시간을 늘린다
+                    "gateway.connect-timeout=60s",
+                    "loadtest.upstream-delay-ms=" + delayMs);
+            try {
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                HttpRequest request = scenario.equals("blocking")
+                        ? blockingRequest(port)
+                        : gatewayRequest(port, context);
+                
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .build();
+                // 워밍업
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                BlockingUpstreamController.reset();
+                provider.reset();
+                provider.setDelay(Duration.ofMillis(delayMs));
+                
+                System.gc();
+                Thread.sleep(200);
+                LoadSampler.Snapshot baseline = LoadSampler.Snapshot.take();
+                LoadSampler sampler = new LoadSampler();
+                sampler.start();
+                
+                long start = System.nanoTime();
+                AtomicInteger errors = new AtomicInteger();
+                CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+                for (int i = 0; i < requests; i++) {
+                    futures[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                            .whenComplete((response, failure) -> {
+                                if (failure != null || response.statusCode() != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            });
+                }
+                CompletableFuture.allOf(futures).exceptionally(e -> null).join();
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                LoadSampler.Snapshot peak = sampler.finish();
+                
+                int peakInFlight = scenario.equals("blocking")
+                        ? BlockingUpstreamController.PEAK_IN_FLIGHT.get()
+                        : provider.getPeakInFlight();
+                return new Result(scenario, virtual, elapsedMs, peakInFlight,
+                        peak.threads() - baseline.threads(),
+                        peak.heapBytes() - baseline.heapBytes(),
+                        peak.rssBytes() - baseline.rssBytes(),
+                        errors.get());
+            } finally {
+                context.close();
+            }
+        }
+    }
+    
+    private static HttpRequest blockingRequest(int port) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/loadtest/blocking"))
+                .timeout(Duration.ofMinutes(5))
+                .GET()
+                .build();
+    }
+    
+    private static HttpRequest gatewayRequest(int port, ConfigurableApplicationContext context) {
+        Team team = context.getBean(TeamRepository.class).save(Team.builder()
+                .name("Load Test Team")
+                .quota(Long.MAX_VALUE / 2)
+                .usage(0L)
+                .build());
+        context.getBean(ModelRepository.class).save(LLMModel.builder()
+                .name("stub-model")
+                .provider("Stub")
+                .costPerToken(0.0001)
+                .isActive(true)
+                .build());
+        String body = """
+                {"model":"stub-model","max_tokens":32,"messages":[{"role":"user","content":"hi"}]}
+                """;
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/v1/chat/completions"))
+                .timeout(Duration.ofMinutes(5))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + context.getBean(TokenUtil.class).generateToken("loadtest", "ADMIN"))
+                .header("X-Team-Id", String.valueOf(team.getId()))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+    
+    /**
+     * 요청 스레드를 점유한 채 업스트림 응답을 기다리는 동기 엔드포인트.
+     */
+    @RestController
+    public static class BlockingUpstreamController {
+        
+        static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+        static final AtomicInteger PEAK_IN_FLIGHT = new AtomicInteger();
+        
+        @Value("${loadtest.upstream-delay-ms:500}")
+        private long delayMs;
+        
+        static void reset() {
+            IN_FLIGHT.set(0);
+            PEAK_IN_FLIGHT.set(0);
+        }
+        
+        @GetMapping("/loadtest/blocking")
+        public String blocking() throws InterruptedException {
+            PEAK_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delayMs);
+                return "ok";
+            } finally {
+                IN_FLIGHT.decrementAndGet();
+            }
+        }
+    }
+    
+    private record Result(String scenario, boolean virtual, long elapsedMs, int peakInFlight, int extraThreads,
+                          long heapDelta, long rssDelta, int errors) {
+        
+        double heapPerRequestKb() {
+            return heapDelta / 1024.0 / Math.max(1, peakInFlight);
+        }
+        
+        double rssPerRequestKb() {
+            return rssDelta / 1024.0 / Math.max(1, peakInFlight);
+        }
+    }
+}
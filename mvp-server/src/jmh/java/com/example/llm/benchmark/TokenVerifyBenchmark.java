@@ -0,0 +1,80 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.util.TokenUtil;
+import com.example.llm.util.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 검증 처리량 비교.
+ * legacyParse는 호출마다 서명 키와 파서를 새로 만드는 기존 방식, parseWithSharedParser는 키/파서 재사용,
+ * verifyCached는 검증된 클레임 캐시 적중 경로다. generateToken은 로그인 시 토큰 발급 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenVerifyBenchmark {
+    
+    private static final String SECRET = "benchmark-secret-key-for-jwt-signing-0123456789";
+    
+    // 캐시에 올라가는 서로 다른 토큰 수 (활성 사용자 수)
+    @Param({"1", "1000"})
+    public int distinctTokens;
+    
+    private TokenUtil tokenUtil;
+    private String[] tokens;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenUtil = new TokenUtil(SECRET, 3_600_000L, 10_000);
+        tokens = new String[distinctTokens];
+        for (int i = 0; i < distinctTokens; i++) {
+            tokens[i] = tokenUtil.generateToken("user-" + i, "ADMIN");
+        }
+    }
+    
+    private String nextToken() {
+        String token = tokens[next];
+        next = (next + 1) % tokens.length;
+        return token;
+    }
+    
+    @Benchmark
+    public Claims legacyParse() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(nextToken())
+                .getBody();
+    }
+    
+    @Benchmark
+    public Claims parseWithSharedParser() {
+        return tokenUtil.getClaimsFromToken(nextToken());
+    }
+    
+    @Benchmark
+    public Optional<VerifiedToken> verifyCached() {
+        return tokenUtil.verify(nextToken());
+    }
+    
+    @Benchmark
+    public boolean validateToken() {
+        return tokenUtil.validateToken(nextToken());
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return tokenUtil.generateToken("user-0", "ADMIN", List.of(1L, 2L));
+    }
+}
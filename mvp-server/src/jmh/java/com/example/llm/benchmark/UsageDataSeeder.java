@@ -0,0 +1,123 @@
+package com.example.llm.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * 벤치마크용 팀/모델/사용 이력 데이터를 JDBC 배치로 적재한다.
+ */
+public final class UsageDataSeeder {
+    
+    private static final int BATCH_SIZE = 5_000;
+    private static final int IN_DATABASE_CHUNK_SIZE = 200_000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final SplittableRandom random = new SplittableRandom(42);
+    
+    public UsageDataSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    public List<Long> seedTeams(int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update(
+                    "INSERT INTO teams (name, quota, usage, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                    "bench-team-" + i, 1_000_000_000L, 0L, now, now);
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM teams ORDER BY id", Long.class);
+    }
+    
+    public List<Long> seedModels(int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update(
+                    "INSERT INTO llm_models (name, provider, cost_per_token, input_micros_per_million, " +
+                    "output_micros_per_million, is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    "bench-model-" + i, "bench", 0.00001 * (i + 1), 10_000_000L * (i + 1), 10_000_000L * (i + 1),
+                    true, now, now);
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM llm_models ORDER BY id", Long.class);
+    }
+    
+    /**
+     * 사용 이력을 {@code days}일 구간에 고르게 분포시켜 적재한다.
+     */
+    public void seedUsage(List<Long> teamIds, List<Long> modelIds, int rows, int days) {
+        LocalDateTime start = LocalDateTime.now().minusDays(days);
+        long spanSeconds = days * 86_400L;
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            int tokens = 10 + random.nextInt(4_000);
+            batch.add(new Object[]{
+                    teamIds.get(random.nextInt(teamIds.size())),
+                    modelIds.get(random.nextInt(modelIds.size())),
+                    tokens,
+                    tokens * 10L,
+                    Timestamp.valueOf(start.plusSeconds(random.nextLong(spanSeconds)))
+            });
+            if (batch.size() == BATCH_SIZE) {
+                flush(batch);
+            }
+        }
+        flush(batch);
+    }
+    
+    /**
+     * 천만 행 단위 적재용. JDBC 배치 대신 DB 안에서 한 번의 INSERT ... SELECT로 생성한다.
+     * seedUsage와 같이 팀/모델/시각을 무작위로 고르게 분포시킨다.
+     */
+    public void seedUsageInDatabase(List<Long> teamIds, List<Long> modelIds, int rows, int days) {
+        Timestamp start = Timestamp.valueOf(LocalDateTime.now().minusDays(days));
+        // 숫자 값은 SQL에 직접 넣고, 시작 시각만 파라미터로 바인딩
+        String teamArray = teamIds.stream().map(String::valueOf).collect(Collectors.joining(",", "ARRAY[", "]"));
+        String modelArray = modelIds.stream().map(String::valueOf).collect(Collectors.joining(",", "ARRAY[", "]"));
+        // 한 트랜잭션이 너무 커지지 않도록 나눠서 적재
+        for (int offset = 0; offset < rows; offset += IN_DATABASE_CHUNK_SIZE) {
+            int chunk = Math.min(IN_DATABASE_CHUNK_SIZE, rows - offset);
+            jdbcTemplate.update(
+                    "INSERT INTO usage (id, team_id, model_id, tokens, cost_micros, saved_micros, used_at) " +
+                    "SELECT NEXT VALUE FOR usage_seq, " +
+                    "ARRAY_GET(" + teamArray + ", 1 + CAST(FLOOR(RAND() * " + teamIds.size() + ") AS INT)), " +
+                    "ARRAY_GET(" + modelArray + ", 1 + CAST(FLOOR(RAND() * " + modelIds.size() + ") AS INT)), " +
+                    "tokens, tokens * 10, 0, " +
+                    "DATEADD(SECOND, CAST(FLOOR(RAND() * " + days * 86_400L + ") AS BIGINT), CAST(? AS TIMESTAMP)) " +
+                    "FROM (SELECT 10 + CAST(FLOOR(RAND() * 4000) AS INT) AS tokens FROM SYSTEM_RANGE(1, " + chunk + "))",
+                    start);
+        }
+    }
+    
+    /**
+     * 적재된 usage로 시간/일 단위 집계를 팀별 INSERT ... SELECT로 채운다 (대량 데이터용 재계산).
+     */
+    public void rebuildRollupsInDatabase(List<Long> teamIds) {
+        jdbcTemplate.update("DELETE FROM usage_rollups");
+        for (Long teamId : teamIds) {
+            for (String granularity : List.of("HOUR", "DAY")) {
+                jdbcTemplate.update(
+                        "INSERT INTO usage_rollups (granularity, bucket_start, team_id, model_id, tokens, cost_micros, saved_micros, request_count) " +
+                        "SELECT ?, DATE_TRUNC(" + granularity + ", used_at) AS bucket_start, team_id, model_id, " +
+                        "SUM(tokens), SUM(cost_micros), SUM(saved_micros), COUNT(*) FROM usage WHERE team_id = ? " +
+                        "GROUP BY bucket_start, team_id, model_id",
+                        granularity, teamId);
+            }
+        }
+    }
+    
+    private void flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO usage (id, team_id, model_id, tokens, cost_micros, saved_micros, used_at) " +
+                "VALUES (NEXT VALUE FOR usage_seq, ?, ?, ?, ?, 0, ?)",
+                batch);
+        batch.clear();
+    }
+}
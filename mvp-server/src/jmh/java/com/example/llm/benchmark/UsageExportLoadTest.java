@@ -0,0 +1,125 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.util.TokenUtil;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 사용 이력 내보내기 부하 테스트.
+ * usage N행을 /api/usage/export로 끝까지 내려받는 동안 서버 힙 최댓값을 기록한다.
+ * 힙 최댓값은 회수 전 쓰레기를 포함하므로, 작은 고정 힙(예: -Xmx128m)에서 행 수를 늘려도 끝까지 내려받는지로 확인한다.
+ * 적재가 오래 걸리므로 DB 파일(java.io.tmpdir/llm-bench)을 행 수별로 재사용한다.
+ * 실행: ./gradlew exportLoadTest -PloadTestArgs="rows=1000000 format=csv gzip=false"
+ */
+public final class UsageExportLoadTest {
+    
+    private UsageExportLoadTest() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int rows = intOption(args, "rows", 1_000_000);
+        String format = option(args, "format", "csv");
+        boolean gzip = Boolean.parseBoolean(option(args, "gzip", "false"));
+        
+        Path database = Path.of(System.getProperty("java.io.tmpdir"), "llm-bench", "usage-export-" + rows);
+        ConfigurableApplicationContext context = BenchmarkApplication.start(
+                WebApplicationType.SERVLET,
+                new Class<?>[0],
+                "usage-export",
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:file:" + database.toAbsolutePath());
+        try {
+            seed(context.getBean(JdbcTemplate.class), rows);
+            run(context, rows, format, gzip);
+        } finally {
+            context.close();
+        }
+    }
+    
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        Long existingRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM usage", Long.class);
+        if (existingRows != null && existingRows == rows) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM usage_rollups");
+        jdbcTemplate.update("DELETE FROM usage");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM llm_models");
+        UsageDataSeeder seeder = new UsageDataSeeder(jdbcTemplate);
+        List<Long> teamIds = seeder.seedTeams(300);
+        List<Long> modelIds = seeder.seedModels(4);
+        seeder.seedUsageInDatabase(teamIds, modelIds, rows, 90);
+    }
+    
+    private static void run(ConfigurableApplicationContext context, int rows, String format, boolean gzip)
+            throws Exception {
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port
+                        + "/api/usage/export?format=" + format + "&gzip=" + gzip))
+                .timeout(Duration.ofHours(1))
+                .header("Authorization", "Bearer " + context.getBean(TokenUtil.class).generateToken("loadtest", "ADMIN"))
+                .GET()
+                .build();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        
+        System.gc();
+        Thread.sleep(200);
+        LoadSampler.Snapshot baseline = LoadSampler.Snapshot.take();
+        LoadSampler sampler = new LoadSampler();
+        sampler.start();
+        
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        long bytes = 0;
+        long lines = 0;
+        try (InputStream body = gzip ? new GZIPInputStream(response.body(), 64 * 1024) : response.body()) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = body.read(buffer)) > 0) {
+                bytes += read;
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+            }
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        LoadSampler.Snapshot peak = sampler.finish();
+        
+        long exportedRows = "csv".equalsIgnoreCase(format) ? lines - 1 : lines;
+        System.out.printf("%nrows=%d, format=%s, gzip=%s, status=%d, exported=%d%n",
+                rows, format, gzip, response.statusCode(), exportedRows);
+        System.out.printf("elapsed=%dms, rows/s=%.0f, body=%.1f MB (uncompressed)%n",
+                elapsedMs, exportedRows * 1000.0 / elapsedMs, bytes / 1024.0 / 1024.0);
+        System.out.printf("heap: baseline=%.1f MB, peak=%.1f MB, max=%.1f MB%n",
+                baseline.heapBytes() / 1024.0 / 1024.0, peak.heapBytes() / 1024.0 / 1024.0,
+                Runtime.getRuntime().maxMemory() / 1024.0 / 1024.0);
+    }
+    
+    private static int intOption(String[] args, String name, int defaultValue) {
+        return Integer.parseInt(option(args, name, String.valueOf(defaultValue)));
+    }
+    
+    private static String option(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return arg.substring(name.length() + 1);
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.llm.benchmark;
+
+import com.example.llm.dto.request.TimeseriesBucket;
+import com.example.llm.dto.request.UsageRecordRequest;
+import com.example.llm.repository.UsageRepository;
+import com.example.llm.service.UsageRollupService;
+import com.example.llm.util.Micros;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 90일 구간 팀 사용량 차트 한 번의 지연시간과 응답 크기.
+ * rawRange는 기존 findByTeamIdAndDateRange로 원본 행을 모두 내려주는 방식, timeseries*는 집계 테이블 기반 시계열 API다.
+ * 천만 행 적재와 집계 재계산이 오래 걸리므로 DB 파일(java.io.tmpdir/llm-bench)을 포크 사이에 재사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UsageTimeseriesBenchmark {
+    
+    @Param({"10000000"})
+    public int usageRows;
+    
+    @Param({"300"})
+    public int teams;
+    
+    private ConfigurableApplicationContext context;
+    private UsageRepository usageRepository;
+    private UsageRollupService usageRollupService;
+    private ObjectMapper objectMapper;
+    private Long teamId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path database = Path.of(System.getProperty("java.io.tmpdir"), "llm-bench", "usage-timeseries-" + usageRows);
+        context = BenchmarkApplication.start("usage-timeseries",
+                "spring.datasource.url=jdbc:h2:file:" + database.toAbsolutePath() + ";CACHE_SIZE=262144");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long existingRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM usage", Long.class);
+        if (existingRows == null || existingRows < usageRows) {
+            jdbcTemplate.update("DELETE FROM usage_rollups");
+            jdbcTemplate.update("DELETE FROM usage");
+            jdbcTemplate.update("DELETE FROM teams");
+            jdbcTemplate.update("DELETE FROM llm_models");
+            UsageDataSeeder seeder = new UsageDataSeeder(jdbcTemplate);
+            List<Long> teamIds = seeder.seedTeams(teams);
+            List<Long> modelIds = seeder.seedModels(4);
+            seeder.seedUsageInDatabase(teamIds, modelIds, usageRows, 90);
+            seeder.rebuildRollupsInDatabase(teamIds);
+        }
+        usageRepository = context.getBean(UsageRepository.class);
+        usageRollupService = context.getBean(UsageRollupService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        
+        teamId = jdbcTemplate.queryForObject("SELECT MIN(team_id) FROM usage", Long.class);
+        from = jdbcTemplate.queryForObject("SELECT MIN(used_at) FROM usage", Timestamp.class).toLocalDateTime();
+        to = jdbcTemplate.queryForObject("SELECT MAX(used_at) FROM usage", Timestamp.class).toLocalDateTime()
+                .plusSeconds(1);
+        
+        System.out.printf("%nresponse bytes: raw=%d, hour=%d, day=%d, week=%d%n",
+                rawRange().length, timeseriesHour().length, timeseriesDay().length, timeseriesWeek().length);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public byte[] rawRange() throws Exception {
+        List<UsageRecordRequest> rows = usageRepository.findByTeamIdAndDateRange(teamId, from, to).stream()
+                .map(usage -> UsageRecordRequest.builder()
+                        .teamId(usage.getTeam().getId())
+                        .modelId(usage.getModel().getId())
+                        .tokens(usage.getTokens())
+                        .cost(Micros.toUnits(usage.getCostMicros()))
+                        .usedAt(usage.getUsedAt())
+                        .build())
+                .toList();
+        return objectMapper.writeValueAsBytes(rows);
+    }
+    
+    @Benchmark
+    public byte[] timeseriesHour() throws Exception {
+        return timeseries(TimeseriesBucket.HOUR);
+    }
+    
+    @Benchmark
+    public byte[] timeseriesDay() throws Exception {
+        return timeseries(TimeseriesBucket.DAY);
+    }
+    
+    @Benchmark
+    public byte[] timeseriesWeek() throws Exception {
+        return timeseries(TimeseriesBucket.WEEK);
+    }
+    
+    private byte[] timeseries(TimeseriesBucket bucket) throws Exception {
+        return objectMapper.writeValueAsBytes(usageRollupService.getTimeseries(teamId, null, from, to, bucket));
+    }
+}
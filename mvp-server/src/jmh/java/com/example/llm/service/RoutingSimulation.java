@@ -0,0 +1,268 @@
+package com.example.llm.service;
+
+import com.example.llm.benchmark.BenchmarkApplication;
+import com.example.llm.config.RoutingProperties;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.Team;
+import com.example.llm.repository.ModelRepository;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.util.Micros;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모델 라우팅 시뮬레이션. 같은 클래스의 모델 3개(저가/중간/고가)에 대한 합성 요청 기록을 시뮬레이션 시각으로 재생해
+ * 한 모델을 고정해 부르는 방식과 ModelRouter의 비용, 지연시간(p50/p99), 실패 건수를 비교한다.
+ * 기록 중간에 저가 모델의 장애 구간을 넣어 장애 대체와 오류율 감쇠도 함께 확인한다.
+ * 라우터에 시뮬레이션 시계를 넘기기 위해 서비스와 같은 패키지에 둔다.
+ * 실행: ./gradlew routingSimulation -PloadTestArgs="requests=100000 rate=50 seed=42"
+ */
+public final class RoutingSimulation {
+    
+    private static final String MODEL_CLASS = "chat";
+    
+    private static final String[] NAMES = {"sim-economy", "sim-standard", "sim-premium"};
+    private static final long[] INPUT_PRICES = {150_000L, 2_500_000L, 15_000_000L};
+    private static final long[] OUTPUT_PRICES = {600_000L, 10_000_000L, 60_000_000L};
+    private static final double[] MEDIAN_LATENCY_MS = {900, 400, 250};
+    private static final double[] BASE_ERROR_RATE = {0.01, 0.01, 0.005};
+    
+    // 저가 모델 장애 구간 (기록 전체 대비 위치)과 그 동안의 오류율
+    private static final double OUTAGE_START = 0.30;
+    private static final double OUTAGE_END = 0.45;
+    private static final double OUTAGE_ERROR_RATE = 0.6;
+    
+    // 제공자 오류 응답까지 걸리는 시간
+    private static final double FAILURE_LATENCY_MS = 200;
+    
+    private static final double LATENCY_SIGMA = 0.35;
+    
+    private RoutingSimulation() {
+    }
+    
+    public static void main(String[] args) {
+        int requests = intOption(args, "requests", 100_000);
+        int rate = intOption(args, "rate", 50);
+        long seed = intOption(args, "seed", 42);
+        
+        ConfigurableApplicationContext context = BenchmarkApplication.start("routing-simulation");
+        try {
+            run(context, new Trace(requests, rate, seed));
+        } finally {
+            context.close();
+        }
+    }
+    
+    private static void run(ConfigurableApplicationContext context, Trace trace) {
+        ModelRepository modelRepository = context.getBean(ModelRepository.class);
+        for (int m = 0; m < NAMES.length; m++) {
+            modelRepository.save(LLMModel.builder()
+                    .name(NAMES[m])
+                    .provider("OpenAI")
+                    .modelClass(MODEL_CLASS)
+                    .costPerToken(0.0001)
+                    .inputMicrosPerMillion(INPUT_PRICES[m])
+                    .outputMicrosPerMillion(OUTPUT_PRICES[m])
+                    .isActive(true)
+                    .build());
+        }
+        ModelRegistry modelRegistry = context.getBean(ModelRegistry.class);
+        modelRegistry.invalidateAll();
+        LLMModel[] models = new LLMModel[NAMES.length];
+        for (int m = 0; m < NAMES.length; m++) {
+            models[m] = modelRegistry.findActiveByName(NAMES[m]).orElseThrow();
+        }
+        
+        System.out.printf("%nrequests=%d, rate=%d/s, simulated=%ds, %s outage at %.0f%%~%.0f%% of the trace (error rate %.0f%%)%n",
+                trace.size(), trace.rate, TimeUnit.NANOSECONDS.toSeconds(trace.arrivalNanos[trace.size() - 1]),
+                NAMES[0], OUTAGE_START * 100, OUTAGE_END * 100, OUTAGE_ERROR_RATE * 100);
+        System.out.printf("%-18s %14s %8s %9s %9s %8s %10s  %s%n",
+                "strategy", "cost", "saved", "p50 ms", "p99 ms", "failed", "failovers", "served economy/standard/premium");
+        
+        Result pinnedPremium = replayPinned(trace, models, 2);
+        Result pinnedEconomy = replayPinned(trace, models, 0);
+        Result routed = replayRouted(context, trace, models);
+        pinnedPremium.print("pinned premium", pinnedPremium);
+        pinnedEconomy.print("pinned economy", pinnedPremium);
+        routed.print("router", pinnedPremium);
+    }
+    
+    // 현재처럼 정확한 모델 이름 하나로만 요청하는 경우 (장애 대체 없음)
+    private static Result replayPinned(Trace trace, LLMModel[] models, int m) {
+        ModelPricing pricing = ModelPricing.of(models[m]);
+        Result result = new Result(trace.size());
+        for (int i = 0; i < trace.size(); i++) {
+            if (trace.fails(m, i)) {
+                result.fail(i, FAILURE_LATENCY_MS);
+            } else {
+                result.serve(i, m, trace.latencyMs[m][i], pricing.costMicros(trace.inputTokens[i], trace.outputTokens[i]));
+            }
+        }
+        return result;
+    }
+    
+    private static Result replayRouted(ConfigurableApplicationContext context, Trace trace, LLMModel[] models) {
+        // 기록 전체 토큰보다 조금 많은 할당량을 주어 뒤로 갈수록 비용 가중치가 커지게 한다
+        long totalTokens = 0;
+        for (int i = 0; i < trace.size(); i++) {
+            totalTokens += trace.inputTokens[i] + trace.outputTokens[i];
+        }
+        Team team = context.getBean(TeamRepository.class).save(Team.builder()
+                .name("Routing Simulation Team")
+                .quota(totalTokens + totalTokens / 10)
+                .usage(0L)
+                .build());
+        QuotaEnforcer quotaEnforcer = context.getBean(QuotaEnforcer.class);
+        long[] clock = {0L};
+        ModelRouter router = new ModelRouter(context.getBean(ModelRegistry.class), quotaEnforcer,
+                context.getBean(RoutingProperties.class), () -> clock[0]);
+        ModelPricing[] pricing = Arrays.stream(models).map(ModelPricing::of).toArray(ModelPricing[]::new);
+        
+        Result result = new Result(trace.size());
+        for (int i = 0; i < trace.size(); i++) {
+            clock[0] = trace.arrivalNanos[i];
+            List<LLMModel> candidates = router.route(team.getId(), MODEL_CLASS);
+            double elapsedMs = 0;
+            boolean served = false;
+            for (int attempt = 0; attempt < candidates.size() && !served; attempt++) {
+                LLMModel model = candidates.get(attempt);
+                int m = indexOf(models, model);
+                clock[0] = trace.arrivalNanos[i] + millisToNanos(elapsedMs);
+                if (attempt > 0) {
+                    result.failovers++;
+                }
+                if (trace.fails(m, i)) {
+                    elapsedMs += FAILURE_LATENCY_MS;
+                    router.recordFailure(model);
+                    continue;
+                }
+                double latencyMs = trace.latencyMs[m][i];
+                elapsedMs += latencyMs;
+                router.recordSuccess(model, millisToNanos(latencyMs));
+                long tokens = trace.inputTokens[i] + trace.outputTokens[i];
+                quotaEnforcer.reserve(team.getId(), tokens);
+                quotaEnforcer.commit(team.getId(), tokens, tokens);
+                result.serve(i, m, elapsedMs, pricing[m].costMicros(trace.inputTokens[i], trace.outputTokens[i]));
+                served = true;
+            }
+            if (!served) {
+                result.fail(i, elapsedMs);
+            }
+        }
+        return result;
+    }
+    
+    private static int indexOf(LLMModel[] models, LLMModel model) {
+        for (int m = 0; m < models.length; m++) {
+            if (models[m].getId().equals(model.getId())) {
+                return m;
+            }
+        }
+        throw new IllegalStateException("Unknown model " + model.getName());
+    }
+    
+    private static long millisToNanos(double millis) {
+        return (long) (millis * 1_000_000);
+    }
+    
+    private static int intOption(String[] args, String name, int defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return Integer.parseInt(arg.substring(name.length() + 1));
+            }
+        }
+        return defaultValue;
+    }
+    
+    /**
+     * 요청마다 도착 시각, 토큰 수, 모델별 지연시간과 실패 여부를 미리 뽑아 두어 모든 전략이 같은 기록을 재생하게 한다.
+     */
+    private static final class Trace {
+        
+        private final int rate;
+        private final long[] arrivalNanos;
+        private final long[] inputTokens;
+        private final long[] outputTokens;
+        private final double[][] latencyMs;
+        private final double[][] failureDraws;
+        
+        private Trace(int requests, int rate, long seed) {
+            Random random = new Random(seed);
+            this.rate = rate;
+            arrivalNanos = new long[requests];
+            inputTokens = new long[requests];
+            outputTokens = new long[requests];
+            latencyMs = new double[NAMES.length][requests];
+            failureDraws = new double[NAMES.length][requests];
+            long now = 0;
+            for (int i = 0; i < requests; i++) {
+                // 포아송 도착
+                now += (long) (-Math.log(1 - random.nextDouble()) / rate * 1_000_000_000L);
+                arrivalNanos[i] = now;
+                inputTokens[i] = 200 + random.nextInt(3_000);
+                outputTokens[i] = 50 + random.nextInt(800);
+                for (int m = 0; m < NAMES.length; m++) {
+                    latencyMs[m][i] = MEDIAN_LATENCY_MS[m] * Math.exp(LATENCY_SIGMA * random.nextGaussian());
+                    failureDraws[m][i] = random.nextDouble();
+                }
+            }
+        }
+        
+        private int size() {
+            return arrivalNanos.length;
+        }
+        
+        private boolean fails(int m, int i) {
+            double position = (double) i / size();
+            double errorRate = m == 0 && position >= OUTAGE_START && position < OUTAGE_END
+                    ? OUTAGE_ERROR_RATE
+                    : BASE_ERROR_RATE[m];
+            return failureDraws[m][i] < errorRate;
+        }
+    }
+    
+    private static final class Result {
+        
+        private final double[] latencyMs;
+        private final int[] served = new int[NAMES.length];
+        private long costMicros;
+        private int failed;
+        private int failovers;
+        
+        private Result(int requests) {
+            latencyMs = new double[requests];
+        }
+        
+        private void serve(int i, int m, double elapsedMs, long cost) {
+            latencyMs[i] = elapsedMs;
+            served[m]++;
+            costMicros += cost;
+        }
+        
+        private void fail(int i, double elapsedMs) {
+            latencyMs[i] = elapsedMs;
+            failed++;
+        }
+        
+        private void print(String strategy, Result baseline) {
+            double[] sorted = latencyMs.clone();
+            Arrays.sort(sorted);
+            double saved = baseline.costMicros == 0 ? 0 : 100.0 * (baseline.costMicros - costMicros) / baseline.costMicros;
+            System.out.printf("%-18s %14.2f %7.1f%% %9.1f %9.1f %8d %10d  %d/%d/%d%n",
+                    strategy, Micros.toUnits(costMicros), saved, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    failed, failovers, served[0], served[1], served[2]);
+        }
+        
+        private static double percentile(double[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.llm.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway")
+public class GatewayProperties {
+    
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    
+    // 스트리밍이 아닌 요청은 전체 응답, 스트리밍 요청은 응답 헤더까지의 제한시간
+    private Duration requestTimeout = Duration.ofSeconds(120);
+    
+    // 스트리밍 응답 전체의 제한시간
+    private Duration streamTimeout = Duration.ofMinutes(10);
+    
+    // 스트리밍 이벤트 하나의 최대 크기 (스트림당 메모리 상한)
+    private int maxStreamEventBytes = 1024 * 1024;
+    
+    // max_tokens가 없는 요청에 대해 미리 예약할 토큰 수
+    private long defaultReserveTokens = 1024;
+    
+    // 제공자별 동시 호출 상한 (bulkhead). 스트리밍 호출은 스트림이 끝날 때까지 자리를 차지한다
+    private int maxConcurrentCalls = 256;
+    
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    
+    private Coalescing coalescing = new Coalescing();
+    
+    private Batching batching = new Batching();
+    
+    // key: LLMModel.provider (소문자)
+    private Map<String, Provider> providers = new HashMap<>();
+    
+    @Data
+    public static class Provider {
+        private String baseUrl;
+        
+        // 없으면 gateway.max-concurrent-calls
+        private Integer maxConcurrentCalls;
+    }
+    
+    /**
+     * 제공자별 회로 차단기. windowSize번마다 새로 세는 호출 창에 minimumCalls번 이상이 쌓였을 때
+     * 오류율이나 느린 호출 비율이 임계값 이상이면 openDuration 동안 호출을 막고, 그 뒤 halfOpenCalls번의 시험 호출로 복구를 판단한다.
+     */
+    @Data
+    public static class CircuitBreaker {
+        private int windowSize = 50;
+        private int minimumCalls = 20;
+        private double failureRateThreshold = 0.5;
+        
+        // 응답(스트리밍은 응답 헤더)까지 이 시간보다 오래 걸린 호출은 느린 호출로 센다
+        private Duration slowCallThreshold = Duration.ofSeconds(30);
+        private double slowCallRateThreshold = 0.8;
+        
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 3;
+    }
+    
+    /**
+     * 같은 모델에 같은 요청이 동시에 들어오면 제공자 호출 하나를 함께 기다린다.
+     * 스트리밍 요청은 이미 보낸 이벤트가 maxStreamReplayBytes 이하인 동안만 뒤늦게 합류할 수 있다.
+     * 합류한 클라이언트로의 전송은 플랫폼 스레드 모드에서 followerSenderThreads개 스레드가 나눠 맡는다.
+     */
+    @Data
+    public static class Coalescing {
+        private boolean enabled = true;
+        private int maxStreamReplayBytes = 1024 * 1024;
+        private int followerSenderThreads = 16;
+    }
+    
+    /**
+     * 같은 모델·같은 파라미터의 작은 /embeddings 요청을 모아 제공자 호출 하나로 보낸다.
+     * 요청 간격이 짧으면 maxWindow에서 간격을 뺀 만큼(요청이 잦을수록 maxWindow에 가깝게) 기다리고, 간격이 maxWindow보다 길면 기다리지 않고 바로 보낸다.
+     */
+    @Data
+    public static class Batching {
+        private boolean enabled = true;
+        private Duration maxWindow = Duration.ofMillis(5);
+        
+        // 호출 하나에 담을 최대 입력 수. 입력이 이보다 많은 요청은 모으지 않고 따로 보낸다
+        private int maxBatchSize = 64;
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.llm.config;
 
 import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.RateLimitExceededException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -19,7 +21,12 @@ public class GlobalExceptionHandler {
     
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
-        log.error("Business exception occurred: {}", ex.getMessage());
+        // 의도해서 던진 오류이므로 어느 쪽이든 예외 객체 없이 메시지만 남긴다(스택 트레이스 없음). 클라이언트 오류(4xx)는 WARN으로 낮춘다
+        if (ex.getErrorCode().getStatus() >= 500) {
+            log.error("Business exception occurred: {}", ex.getMessage());
+        } else {
+            log.warn("Business exception occurred: {} {}", ex.getErrorCode(), ex.getMessage());
+        }
         
         ErrorResponse response = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
@@ -33,6 +40,15 @@ public class GlobalExceptionHandler {
                 .body(response);
     }
     
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex) {
+        ResponseEntity<ErrorResponse> response = handleBusinessException(ex);
+        return ResponseEntity
+                .status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleValidationException(
             MethodArgumentNotValidException ex) {
@@ -0,0 +1,31 @@
+package com.example.llm.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "response-cache")
+public class ResponseCacheProperties {
+    
+    // 힙에 두는 응답 본문의 총 크기
+    private long maxHeapBytes = 64L * 1024 * 1024;
+    
+    // 큰 응답을 힙 밖(direct buffer)에 두는 층의 총 크기. 0이면 큰 응답은 캐시하지 않는다
+    private long maxOffHeapBytes = 256L * 1024 * 1024;
+    
+    // 본문이 이보다 크면 힙 밖 층에 둔다
+    private int offHeapThresholdBytes = 16 * 1024;
+    
+    // 본문이 이보다 큰 응답은 캐시하지 않는다
+    private int maxEntryBytes = 4 * 1024 * 1024;
+    
+    // 저장 후 이 시간이 지나면 다시 제공자를 호출한다
+    private Duration ttl = Duration.ofHours(1);
+    
+    // 캐시 적중 요청에 청구하는 비용 비율 (0이면 무료, 1이면 제공자 호출과 같은 비용)
+    private double hitCostRatio = 0.0;
+}
@@ -0,0 +1,28 @@
+package com.example.llm.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "routing")
+public class RoutingProperties {
+    
+    // 지연시간/오류율 EWMA에서 새 관측값의 비중
+    private double ewmaAlpha = 0.2;
+    
+    // 할당량이 충분한 팀의 비용 가중치 (0~1, 나머지는 지연시간). 남은 할당량이 줄수록 1에 가까워진다
+    private double costWeight = 0.5;
+    
+    // 오류율 1.0이 점수에 더하는 값
+    private double errorPenalty = 10.0;
+    
+    // 오류율이 이보다 높은 모델은 다른 후보가 모두 실패했을 때만 시도한다
+    private double maxErrorRate = 0.5;
+    
+    // 요청이 없는 동안 오류율이 절반으로 줄어드는 시간 (장애가 끝난 모델을 다시 시도하도록)
+    private Duration errorHalfLife = Duration.ofSeconds(30);
+}
@@ -0,0 +1,40 @@
+package com.example.llm.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 실행되는 SQL 중 일부만 기록하는 Hibernate StatementInspector.
+ * show-sql처럼 모든 문장을 출력하지 않고, sql.sampled 로거가 DEBUG일 때만 logging.sql.sample-rate 비율로 기록한다.
+ * 로거 레벨은 /actuator/loggers/sql.sampled로 재시작 없이 켜고 끌 수 있다.
+ */
+@Slf4j(topic = "sql.sampled")
+@Component
+public class SampledSqlLogger implements StatementInspector, HibernatePropertiesCustomizer {
+    
+    private final double sampleRate;
+    
+    public SampledSqlLogger(@Value("${logging.sql.sample-rate:0.01}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.debug("{}", sql);
+        }
+        return sql;
+    }
+    
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.llm.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 요청 처리 스레드 모드 설정.
+ * spring.threads.virtual.enabled=true 이고 Java 21 이상에서 실행하면 Tomcat 요청 처리, @Async/@Scheduled,
+ * MVC 비동기 처리가 가상 스레드로 전환된다(Spring Boot 자동 구성). 게이트웨이 제공자 호출과 합류한 스트리밍 클라이언트로의 전송도
+ * 같은 모드를 따른다.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+    
+    public static final String GATEWAY_EXECUTOR = "gatewayExecutor";
+    public static final String SSE_FOLLOWER_EXECUTOR = "sseFollowerExecutor";
+    
+    @Bean(GATEWAY_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor gatewayExecutor() {
+        return new VirtualThreadTaskExecutor("gateway-");
+    }
+    
+    @Bean(SSE_FOLLOWER_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualSseFollowerExecutor() {
+        return new VirtualThreadTaskExecutor("sse-follower-");
+    }
+    
+    // 플랫폼 스레드는 수를 제한하고 남는 전송은 대기열에 쌓는다. 컨텍스트가 닫히면 함께 종료된다
+    @Bean(SSE_FOLLOWER_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor platformSseFollowerExecutor(GatewayProperties gatewayProperties) {
+        int threads = gatewayProperties.getCoalescing().getFollowerSenderThreads();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("sse-follower-");
+        executor.setDaemon(true);
+        return executor;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Request execution mode: virtual threads");
+        } else if (requested) {
+            log.warn("Virtual threads requested but Java {} does not support them; using platform threads",
+                    Runtime.version().feature());
+        } else {
+            log.info("Request execution mode: platform threads");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.llm.controller;
+
+import com.example.llm.security.TeamAccessPolicy;
+import com.example.llm.service.GatewayService;
+import com.example.llm.util.VerifiedToken;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/v1")
+@RequiredArgsConstructor
+@Tag(name = "게이트웨이", description = "OpenAI 호환 LLM 프록시 API")
+public class GatewayController {
+    
+    private final GatewayService gatewayService;
+    private final TeamAccessPolicy teamAccessPolicy;
+    
+    @PostMapping("/chat/completions")
+    @Operation(summary = "채팅 완성", description = "등록된 모델의 제공자로 요청을 전달하고 팀 할당량과 사용 이력을 반영합니다. "
+            + "stream=true 이면 제공자의 SSE 청크를 도착하는 대로 전달합니다")
+    public CompletableFuture<?> chatCompletions(
+            @AuthenticationPrincipal VerifiedToken principal,
+            @RequestHeader("X-Team-Id") Long teamId,
+            @RequestBody ObjectNode request) {
+        teamAccessPolicy.checkAccess(principal, teamId);
+        if (request.path("stream").asBoolean(false)) {
+            return gatewayService.streamChatCompletions(teamId, request);
+        }
+        return gatewayService.chatCompletions(teamId, request);
+    }
+    
+    @PostMapping("/embeddings")
+    @Operation(summary = "임베딩", description = "같은 모델·파라미터의 요청을 잠깐 모아 제공자 호출 하나로 보내고 "
+            + "이 요청의 입력에 해당하는 결과와 사용량만 돌려줍니다")
+    public CompletableFuture<?> embeddings(
+            @AuthenticationPrincipal VerifiedToken principal,
+            @RequestHeader("X-Team-Id") Long teamId,
+            @RequestBody ObjectNode request) {
+        teamAccessPolicy.checkAccess(principal, teamId);
+        return gatewayService.embeddings(teamId, request);
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.llm.controller;
 
 import com.example.llm.dto.request.ModelCreateRequest;
+import com.example.llm.dto.request.PageCursor;
+import com.example.llm.dto.response.CursorPageResponse;
+import com.example.llm.dto.response.ModelRegistryStatsResponse;
 import com.example.llm.dto.response.ModelResponse;
 import com.example.llm.service.ModelService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -34,6 +37,15 @@ public class ModelController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/page")
+    @Operation(summary = "모델 목록 페이지 조회", description = "모델 목록을 id 순으로 cursor 기반 페이지 단위로 조회합니다. 응답의 nextCursor를 다음 요청의 cursor로 넘깁니다")
+    public ResponseEntity<CursorPageResponse<ModelResponse>> getModelPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        CursorPageResponse<ModelResponse> response = modelService.getModelPage(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/active")
     @Operation(summary = "활성 모델 조회", description = "활성화된 모델 목록을 조회합니다")
     public ResponseEntity<List<ModelResponse>> getActiveModels() {
@@ -41,6 +53,13 @@ public class ModelController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/registry/stats")
+    @Operation(summary = "모델 레지스트리 캐시 통계", description = "모델 메타데이터 캐시의 적중/미스 횟수와 적중률을 조회합니다")
+    public ResponseEntity<ModelRegistryStatsResponse> getRegistryStats() {
+        ModelRegistryStatsResponse response = modelService.getRegistryStats();
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "모델 상세 조회", description = "특정 모델의 상세 정보를 조회합니다")
     public ResponseEntity<ModelResponse> getModelById(@PathVariable Long id) {
@@ -1,8 +1,10 @@
 package com.example.llm.controller;
 
+import com.example.llm.dto.request.PageCursor;
 import com.example.llm.dto.request.QuotaSetRequest;
 import com.example.llm.dto.request.TeamCreateRequest;
 import com.example.llm.dto.request.TeamUpdateRequest;
+import com.example.llm.dto.response.CursorPageResponse;
 import com.example.llm.dto.response.TeamResponse;
 import com.example.llm.service.TeamService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -36,6 +38,15 @@ public class TeamController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/page")
+    @Operation(summary = "팀 목록 페이지 조회", description = "팀 목록을 id 순으로 cursor 기반 페이지 단위로 조회합니다. 응답의 nextCursor를 다음 요청의 cursor로 넘깁니다")
+    public ResponseEntity<CursorPageResponse<TeamResponse>> getTeamPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        CursorPageResponse<TeamResponse> response = teamService.getTeamPage(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "팀 상세 조회", description = "특정 팀의 상세 정보를 조회합니다")
     public ResponseEntity<TeamResponse> getTeamById(@PathVariable Long id) {
@@ -0,0 +1,134 @@
+package com.example.llm.controller;
+
+import com.example.llm.dto.request.PageCursor;
+import com.example.llm.dto.request.TimeseriesBucket;
+import com.example.llm.dto.request.UsageBatchRequest;
+import com.example.llm.dto.request.UsageExportFormat;
+import com.example.llm.dto.response.CursorPageResponse;
+import com.example.llm.dto.response.RollupConsistencyResponse;
+import com.example.llm.dto.response.RollupRebuildResponse;
+import com.example.llm.dto.response.UsageBatchResponse;
+import com.example.llm.dto.response.ResponseCacheStatsResponse;
+import com.example.llm.dto.response.UsageIngestionStatsResponse;
+import com.example.llm.dto.response.UsageRecordResponse;
+import com.example.llm.dto.response.UsageSummaryResponse;
+import com.example.llm.dto.response.UsageTimeseriesResponse;
+import com.example.llm.service.ResponseCache;
+import com.example.llm.service.UsageExportService;
+import com.example.llm.service.UsageHistoryService;
+import com.example.llm.service.UsageIngestionService;
+import com.example.llm.service.UsageRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/usage")
+@RequiredArgsConstructor
+@Tag(name = "사용량", description = "사용량 집계 조회 및 관리 API")
+public class UsageController {
+    
+    private final UsageRollupService usageRollupService;
+    private final UsageIngestionService usageIngestionService;
+    private final UsageHistoryService usageHistoryService;
+    private final UsageExportService usageExportService;
+    private final ResponseCache responseCache;
+    
+    @PostMapping("/batch")
+    @Operation(summary = "사용 이력 일괄 수집", description = "사용 이력을 대기열에 넣고 비동기로 일괄 저장합니다. 대기열이 가득 차면 503을 반환합니다")
+    public ResponseEntity<UsageBatchResponse> ingestBatch(@Valid @RequestBody UsageBatchRequest request) {
+        UsageBatchResponse response = usageIngestionService.submit(request.getRecords());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+    
+    @GetMapping("/ingestion/stats")
+    @Operation(summary = "수집 상태 조회", description = "대기열 깊이와 flush 지연시간 등 수집 파이프라인 상태를 조회합니다")
+    public ResponseEntity<UsageIngestionStatsResponse> getIngestionStats() {
+        UsageIngestionStatsResponse response = usageIngestionService.getStats();
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/response-cache/stats")
+    @Operation(summary = "응답 캐시 상태 조회", description = "게이트웨이 응답 캐시의 적중률, 절감한 응답 크기, 층별 저장 크기를 조회합니다")
+    public ResponseEntity<ResponseCacheStatsResponse> getResponseCacheStats() {
+        ResponseCacheStatsResponse response = responseCache.getStats();
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/teams/{teamId}/records")
+    @Operation(summary = "팀 사용 이력 조회", description = "팀의 사용 이력 원본을 최신순으로 cursor 기반 페이지 단위로 조회합니다. 응답의 nextCursor를 다음 요청의 cursor로 넘깁니다")
+    public ResponseEntity<CursorPageResponse<UsageRecordResponse>> getTeamUsageRecords(
+            @PathVariable Long teamId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        CursorPageResponse<UsageRecordResponse> response = usageHistoryService.getTeamUsagePage(teamId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "사용 이력 내보내기", description = "사용 이력 원본을 CSV 또는 NDJSON으로 스트리밍합니다. teamId/from/to는 선택이며 to는 포함하지 않습니다. "
+            + "gzip=true이면 gzip으로 압축한 파일(.gz)로 내려줍니다")
+    public ResponseEntity<StreamingResponseBody> exportUsage(
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        UsageExportFormat exportFormat = UsageExportFormat.from(format);
+        StreamingResponseBody body = usageExportService.export(teamId, from, to, exportFormat, gzip);
+        String filename = "usage-export." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+    
+    @GetMapping("/teams/{teamId}/summary")
+    @Operation(summary = "팀 사용량 요약", description = "기간 내 팀의 요청 수, 토큰, 비용 합계를 집계 테이블에서 조회합니다")
+    public ResponseEntity<UsageSummaryResponse> getTeamUsageSummary(
+            @PathVariable Long teamId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        UsageSummaryResponse response = usageRollupService.getTeamUsageSummary(teamId, from, to);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/timeseries")
+    @Operation(summary = "사용량 시계열", description = "기간 내 팀(선택적으로 모델) 사용량을 hour/day/week 버킷별로 집계 테이블에서 조회합니다. "
+            + "to는 포함하지 않으며 사용 이력이 없는 버킷은 생략합니다")
+    public ResponseEntity<UsageTimeseriesResponse> getTimeseries(
+            @RequestParam Long teamId,
+            @RequestParam(required = false) Long modelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "hour") String bucket) {
+        UsageTimeseriesResponse response = usageRollupService.getTimeseries(
+                teamId, modelId, from, to, TimeseriesBucket.from(bucket));
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/rollups/rebuild")
+    @Operation(summary = "집계 재계산", description = "원본 사용 이력으로부터 집계 테이블을 청크 단위로 다시 계산합니다")
+    public ResponseEntity<RollupRebuildResponse> rebuildRollups() {
+        RollupRebuildResponse response = usageRollupService.rebuild();
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/rollups/consistency")
+    @Operation(summary = "집계 정합성 검사", description = "원본 사용 이력과 집계 테이블의 팀별 합계를 비교합니다")
+    public ResponseEntity<RollupConsistencyResponse> checkRollupConsistency() {
+        RollupConsistencyResponse response = usageRollupService.checkConsistency();
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.llm.dto.request;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,11 +24,46 @@ public class ModelCreateRequest {
     @NotBlank(message = "제공자는 필수입니다")
     private String provider;
     
+    // 논리 모델 클래스. 지정하면 게이트웨이에서 클래스 이름으로 라우팅할 수 있다
+    private String modelClass;
+    
     @NotNull(message = "토큰당 비용은 필수입니다")
     @Positive(message = "토큰당 비용은 양수여야 합니다")
     private Double costPerToken;
     
+    // 100만 토큰당 입력/출력 단가(micro). 지정하지 않으면 costPerToken으로 채운다
+    @PositiveOrZero(message = "입력 단가는 0 이상이어야 합니다")
+    private Long inputMicrosPerMillion;
+    
+    @PositiveOrZero(message = "출력 단가는 0 이상이어야 합니다")
+    private Long outputMicrosPerMillion;
+    
+    private List<@Valid PriceTier> priceTiers;
+    
+    // 모든 팀이 공유하는 분당 요청/토큰 한도. 지정하지 않으면 제한하지 않는다
+    @Positive(message = "분당 요청 한도는 양수여야 합니다")
+    private Long requestsPerMinute;
+    
+    @Positive(message = "분당 토큰 한도는 양수여야 합니다")
+    private Long tokensPerMinute;
+    
     private String apiKey;
     
     private Boolean isActive;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceTier {
+        @NotNull(message = "구간 시작 입력 토큰 수는 필수입니다")
+        @Positive(message = "구간 시작 입력 토큰 수는 양수여야 합니다")
+        private Long minInputTokens;
+        @NotNull(message = "구간 입력 단가는 필수입니다")
+        @PositiveOrZero(message = "구간 입력 단가는 0 이상이어야 합니다")
+        private Long inputMicrosPerMillion;
+        @NotNull(message = "구간 출력 단가는 필수입니다")
+        @PositiveOrZero(message = "구간 출력 단가는 0 이상이어야 합니다")
+        private Long outputMicrosPerMillion;
+    }
 }
\ No newline at end of file
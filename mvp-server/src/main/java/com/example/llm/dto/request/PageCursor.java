@@ -0,0 +1,79 @@
+package com.example.llm.dto.request;
+
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * keyset 페이지네이션 커서. 마지막으로 내려준 행의 정렬 키(id, 필요하면 시각)를 base64url로 감싼 불투명 문자열이다.
+ * 다음 페이지는 정렬 키가 커서보다 뒤인 행을 인덱스에서 바로 찾으므로 OFFSET과 달리 페이지 깊이와 무관하게 비용이 같다.
+ */
+public final class PageCursor {
+    
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+    
+    private static final char SEPARATOR = '_';
+    
+    private final LocalDateTime time;
+    private final long id;
+    
+    private PageCursor(LocalDateTime time, long id) {
+        this.time = time;
+        this.id = id;
+    }
+    
+    public static PageCursor ofId(long id) {
+        return new PageCursor(null, id);
+    }
+    
+    public static PageCursor of(LocalDateTime time, long id) {
+        return new PageCursor(time, id);
+    }
+    
+    /**
+     * 커서 문자열을 해석한다. 비어 있으면 첫 페이지를 뜻하므로 null을 반환한다.
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return ofId(Long.parseLong(value));
+            }
+            return of(LocalDateTime.parse(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "cursor 형식이 올바르지 않습니다");
+        }
+    }
+    
+    public static int checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "size는 1 이상 " + MAX_SIZE + " 이하여야 합니다");
+        }
+        return size;
+    }
+    
+    public String encode() {
+        String value = time == null ? Long.toString(id) : time.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDateTime getTime() {
+        if (time == null) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "cursor 형식이 올바르지 않습니다");
+        }
+        return time;
+    }
+    
+    public long getId() {
+        return id;
+    }
+}
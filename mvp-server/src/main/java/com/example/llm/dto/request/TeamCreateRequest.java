@@ -2,6 +2,7 @@ package com.example.llm.dto.request;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,4 +19,14 @@ public class TeamCreateRequest {
     
     @NotNull(message = "할당량은 필수입니다")
     private Long quota;
+    
+    // 분당 요청/토큰 한도. 지정하지 않으면 제한하지 않는다
+    @Positive(message = "분당 요청 한도는 양수여야 합니다")
+    private Long requestsPerMinute;
+    
+    @Positive(message = "분당 토큰 한도는 양수여야 합니다")
+    private Long tokensPerMinute;
+    
+    // 같은 요청에 캐시한 응답을 돌려줄지 여부. 지정하지 않으면 사용하지 않는다
+    private Boolean responseCacheEnabled;
 }
\ No newline at end of file
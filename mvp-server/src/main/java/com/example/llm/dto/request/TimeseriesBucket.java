@@ -0,0 +1,51 @@
+package com.example.llm.dto.request;
+
+import com.example.llm.entity.RollupGranularity;
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * 사용량 시계열의 버킷 크기와 조회에 사용할 집계 테이블 단위.
+ * 주 단위는 일 단위 집계를 월요일 시작 주로 합산한다.
+ */
+public enum TimeseriesBucket {
+    
+    HOUR(RollupGranularity.HOUR, Duration.ofHours(1)),
+    DAY(RollupGranularity.DAY, Duration.ofDays(1)),
+    WEEK(RollupGranularity.DAY, Duration.ofDays(7));
+    
+    private final RollupGranularity source;
+    private final Duration length;
+    
+    TimeseriesBucket(RollupGranularity source, Duration length) {
+        this.source = source;
+        this.length = length;
+    }
+    
+    public static TimeseriesBucket from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "bucket은 hour, day, week 중 하나여야 합니다");
+        }
+    }
+    
+    public RollupGranularity getSource() {
+        return source;
+    }
+    
+    public Duration getLength() {
+        return length;
+    }
+    
+    public LocalDateTime truncate(LocalDateTime time) {
+        LocalDateTime truncated = source.truncate(time);
+        return this == WEEK ? truncated.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : truncated;
+    }
+}
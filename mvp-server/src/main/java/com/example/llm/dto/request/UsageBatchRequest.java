@@ -0,0 +1,22 @@
+package com.example.llm.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsageBatchRequest {
+    
+    @NotEmpty(message = "사용 이력은 1건 이상이어야 합니다")
+    @Size(max = 10000, message = "한 번에 최대 10000건까지 전송할 수 있습니다")
+    private List<@Valid UsageRecordRequest> records;
+}
@@ -0,0 +1,39 @@
+package com.example.llm.dto.request;
+
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+
+import java.util.Locale;
+
+/**
+ * 사용 이력 내보내기 형식. NDJSON은 한 줄에 JSON 객체 하나씩 기록한다.
+ */
+public enum UsageExportFormat {
+    
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+    
+    private final String contentType;
+    private final String extension;
+    
+    UsageExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+    
+    public static UsageExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "format은 csv, ndjson 중 하나여야 합니다");
+        }
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.llm.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsageRecordRequest {
+    
+    @NotNull(message = "팀 ID는 필수입니다")
+    private Long teamId;
+    
+    @NotNull(message = "모델 ID는 필수입니다")
+    private Long modelId;
+    
+    @NotNull(message = "토큰 수는 필수입니다")
+    @PositiveOrZero(message = "토큰 수는 0 이상이어야 합니다")
+    private Integer tokens;
+    
+    // 입력/출력 토큰 구분. 비용을 보내지 않으면 모델 단가표로 계산한다
+    @PositiveOrZero(message = "입력 토큰 수는 0 이상이어야 합니다")
+    private Integer inputTokens;
+    
+    @PositiveOrZero(message = "출력 토큰 수는 0 이상이어야 합니다")
+    private Integer outputTokens;
+    
+    // 비용을 직접 보내는 기존 클라이언트 호환용. 지정하면 단가표 계산보다 우선한다
+    @PositiveOrZero(message = "비용은 0 이상이어야 합니다")
+    private Double cost;
+    
+    // 캐시한 응답을 돌려준 요청. 비용을 보내지 않으면 단가표 비용에 response-cache.hit-cost-ratio를 곱해 청구한다
+    private Boolean cacheHit;
+    
+    private LocalDateTime usedAt;
+    
+    /**
+     * 입력 토큰 수. 입력만 빠지면 전체 토큰에서 출력을 뺀 값이고, 둘 다 없으면 전체 토큰을 입력으로 본다.
+     */
+    public long resolvedInputTokens() {
+        if (inputTokens != null) {
+            return inputTokens;
+        }
+        return outputTokens != null ? (long) tokens - outputTokens : tokens;
+    }
+    
+    /**
+     * 출력 토큰 수. 출력만 빠지면 전체 토큰에서 입력을 뺀 값이다.
+     */
+    public long resolvedOutputTokens() {
+        if (outputTokens != null) {
+            return outputTokens;
+        }
+        return inputTokens != null ? (long) tokens - inputTokens : 0L;
+    }
+    
+    // 입력/출력 토큰을 보냈다면 합이 전체 토큰 수와 같아야 한다
+    @JsonIgnore
+    @AssertTrue(message = "입력/출력 토큰 수의 합은 전체 토큰 수와 같아야 합니다")
+    public boolean isTokenSplitValid() {
+        if (tokens == null || (inputTokens == null && outputTokens == null)) {
+            return true;
+        }
+        long input = resolvedInputTokens();
+        long output = resolvedOutputTokens();
+        return input >= 0 && output >= 0 && input + output == tokens;
+    }
+}
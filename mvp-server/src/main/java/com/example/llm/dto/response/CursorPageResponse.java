@@ -0,0 +1,41 @@
+package com.example.llm.dto.response;
+
+import com.example.llm.dto.request.PageCursor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    
+    private List<T> items;
+    
+    private Integer size;
+    
+    private Boolean hasNext;
+    
+    // 다음 페이지 요청에 그대로 넘기는 값 (마지막 페이지면 null)
+    private String nextCursor;
+    
+    /**
+     * size + 1건까지 조회한 결과로 페이지를 만든다. 초과분 한 건은 다음 페이지 존재 여부 판단에만 쓰고 버린다.
+     */
+    public static <E, T> CursorPageResponse<T> of(List<E> rows, int size,
+                                                  Function<E, T> mapper, Function<E, PageCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        return CursorPageResponse.<T>builder()
+                .items(page.stream().map(mapper).toList())
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+}
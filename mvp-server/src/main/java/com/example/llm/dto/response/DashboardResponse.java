@@ -21,6 +21,9 @@ public class DashboardResponse {
     
     private Double totalCost;
     
+    // 응답 캐시 적중으로 청구하지 않은 비용
+    private Double totalCacheSavings;
+    
     private Integer totalModels;
     
     private Integer activeModels;
@@ -38,5 +41,8 @@ public class DashboardResponse {
         private Long usage;
         private Double usagePercentage;
         private Integer modelCount;
+        private Long totalTokens;
+        private Double totalCost;
+        private Double cacheSavings;
     }
 }
\ No newline at end of file
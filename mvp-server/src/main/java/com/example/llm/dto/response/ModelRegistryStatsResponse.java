@@ -0,0 +1,27 @@
+package com.example.llm.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelRegistryStatsResponse {
+    
+    private Long hitCount;
+    
+    private Long missCount;
+    
+    private Double hitRate;
+    
+    private Long loadCount;
+    
+    private Double averageLoadMillis;
+    
+    private Long evictionCount;
+    
+    private Long cachedEntries;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -19,11 +20,33 @@ public class ModelResponse {
     
     private String provider;
     
+    private String modelClass;
+    
     private Double costPerToken;
     
+    private Long inputMicrosPerMillion;
+    
+    private Long outputMicrosPerMillion;
+    
+    private List<PriceTier> priceTiers;
+    
+    private Long requestsPerMinute;
+    
+    private Long tokensPerMinute;
+    
     private Boolean isActive;
     
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceTier {
+        private Long minInputTokens;
+        private Long inputMicrosPerMillion;
+        private Long outputMicrosPerMillion;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.example.llm.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResponseCacheStatsResponse {
+    
+    private Long hitCount;
+    
+    private Long missCount;
+    
+    private Double hitRate;
+    
+    // 캐시 적중으로 제공자에서 받지 않은 응답 본문 크기
+    private Long bytesSaved;
+    
+    private Long evictionCount;
+    
+    private Long heapEntries;
+    
+    private Long heapBytes;
+    
+    private Long offHeapEntries;
+    
+    private Long offHeapBytes;
+}
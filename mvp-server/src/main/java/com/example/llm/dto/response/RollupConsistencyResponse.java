@@ -0,0 +1,37 @@
+package com.example.llm.dto.response;
+
+import com.example.llm.entity.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupConsistencyResponse {
+    
+    private Boolean consistent;
+    
+    private Integer checkedTeams;
+    
+    private List<TeamMismatch> mismatches;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TeamMismatch {
+        private RollupGranularity granularity;
+        private Long teamId;
+        private Long rawRequestCount;
+        private Long rollupRequestCount;
+        private Long rawTokens;
+        private Long rollupTokens;
+        private Double rawCost;
+        private Double rollupCost;
+    }
+}
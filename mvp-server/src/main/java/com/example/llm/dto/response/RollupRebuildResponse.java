@@ -0,0 +1,21 @@
+package com.example.llm.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupRebuildResponse {
+    
+    private Long processedRows;
+    
+    private Integer chunks;
+    
+    private Long rollupRows;
+    
+    private Long elapsedMillis;
+}
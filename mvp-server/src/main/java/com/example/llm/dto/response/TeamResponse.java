@@ -21,6 +21,12 @@ public class TeamResponse {
     
     private Long usage;
     
+    private Long requestsPerMinute;
+    
+    private Long tokensPerMinute;
+    
+    private Boolean responseCacheEnabled;
+    
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
@@ -0,0 +1,17 @@
+package com.example.llm.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsageBatchResponse {
+    
+    private Integer accepted;
+    
+    private Integer queueDepth;
+}
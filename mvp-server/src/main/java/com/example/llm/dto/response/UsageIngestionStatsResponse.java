@@ -0,0 +1,33 @@
+package com.example.llm.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsageIngestionStatsResponse {
+    
+    private Integer queueDepth;
+    
+    private Integer queueCapacity;
+    
+    private Long acceptedRecords;
+    
+    private Long rejectedRecords;
+    
+    private Long persistedRecords;
+    
+    private Long failedRecords;
+    
+    private Long flushCount;
+    
+    private Double averageFlushMillis;
+    
+    private Double lastFlushMillis;
+    
+    private Double maxFlushMillis;
+}
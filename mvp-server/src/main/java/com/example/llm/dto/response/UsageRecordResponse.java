@@ -0,0 +1,27 @@
+package com.example.llm.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsageRecordResponse {
+    
+    private Long id;
+    
+    private Long teamId;
+    
+    private Long modelId;
+    
+    private Integer tokens;
+    
+    private Double cost;
+    
+    private LocalDateTime usedAt;
+}
@@ -0,0 +1,27 @@
+package com.example.llm.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsageSummaryResponse {
+    
+    private Long teamId;
+    
+    private LocalDateTime from;
+    
+    private LocalDateTime to;
+    
+    private Long requestCount;
+    
+    private Long totalTokens;
+    
+    private Double totalCost;
+}
@@ -0,0 +1,39 @@
+package com.example.llm.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsageTimeseriesResponse {
+    
+    private Long teamId;
+    
+    private Long modelId;
+    
+    private String bucket;
+    
+    private LocalDateTime from;
+    
+    private LocalDateTime to;
+    
+    private List<Point> points;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private LocalDateTime bucketStart;
+        private Long requestCount;
+        private Long totalTokens;
+        private Double totalCost;
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.llm.entity;
 
+import com.example.llm.util.Micros;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -28,9 +30,36 @@ public class LLMModel {
     @Column(nullable = false)
     private String provider;
     
+    // 논리 모델 클래스 (예: chat-small). 게이트웨이는 클래스로 요청하면 같은 클래스의 활성 모델 중에서 고른다
+    @Column(name = "model_class")
+    private String modelClass;
+    
     @Column(nullable = false)
     private Double costPerToken;
     
+    // 100만 토큰당 단가(micro). 지정하지 않고 저장하면 costPerToken으로 채운다
+    @Column(name = "input_micros_per_million", nullable = false)
+    private Long inputMicrosPerMillion;
+    
+    @Column(name = "output_micros_per_million", nullable = false)
+    private Long outputMicrosPerMillion;
+    
+    // 구간 수가 몇 개뿐이고 단가 계산에 항상 필요하므로 함께 읽는다.
+    // 목록·페이지 조회에서 모델마다 SELECT가 나가지 않도록 최대 100개 모델의 구간을 IN 조회 한 번으로 읽는다
+    @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
+    @CollectionTable(name = "llm_model_price_tiers", joinColumns = @JoinColumn(name = "model_id"))
+    @OrderBy("minInputTokens")
+    @Builder.Default
+    private List<ModelPriceTier> priceTiers = new ArrayList<>();
+    
+    // 모든 팀이 공유하는 분당 요청/토큰 한도(제공자 용량). null이면 제한하지 않는다
+    @Column(name = "requests_per_minute")
+    private Long requestsPerMinute;
+    
+    @Column(name = "tokens_per_minute")
+    private Long tokensPerMinute;
+    
     private String apiKey;
     
     @Column(name = "is_active", nullable = false)
@@ -50,10 +79,21 @@ public class LLMModel {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        fillDefaultPrices();
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        fillDefaultPrices();
+    }
+    
+    private void fillDefaultPrices() {
+        if (inputMicrosPerMillion == null) {
+            inputMicrosPerMillion = Micros.perMillionTokens(costPerToken);
+        }
+        if (outputMicrosPerMillion == null) {
+            outputMicrosPerMillion = Micros.perMillionTokens(costPerToken);
+        }
     }
 }
\ No newline at end of file
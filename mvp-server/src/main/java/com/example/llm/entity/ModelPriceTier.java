@@ -0,0 +1,28 @@
+package com.example.llm.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 입력 토큰 수 구간별 단가. 요청의 입력 토큰이 minInputTokens 이상이면 요청 전체에 이 구간의 단가를 적용한다.
+ */
+@Embeddable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelPriceTier {
+    
+    @Column(name = "min_input_tokens", nullable = false)
+    private Long minInputTokens;
+    
+    @Column(name = "input_micros_per_million", nullable = false)
+    private Long inputMicrosPerMillion;
+    
+    @Column(name = "output_micros_per_million", nullable = false)
+    private Long outputMicrosPerMillion;
+}
@@ -5,13 +5,16 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+// usage는 QuotaEnforcer가 UPDATE 문으로만 증가시키므로, 이름/할당량 수정 시 읽어 둔 usage로 덮어쓰지 않도록 변경된 컬럼만 갱신한다
 @Entity
 @Table(name = "teams")
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,6 +34,18 @@ public class Team {
     @Column(nullable = false)
     private Long usage;
     
+    // 분당 요청/토큰 한도. null이면 제한하지 않는다 (RateLimiter)
+    @Column(name = "requests_per_minute")
+    private Long requestsPerMinute;
+    
+    @Column(name = "tokens_per_minute")
+    private Long tokensPerMinute;
+    
+    // 게이트웨이 응답 캐시 사용 여부 (ResponseCache)
+    @Column(name = "response_cache_enabled", nullable = false)
+    @Builder.Default
+    private Boolean responseCacheEnabled = false;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
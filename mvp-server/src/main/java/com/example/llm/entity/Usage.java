@@ -9,15 +9,19 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "usage")
+@Table(name = "usage",
+        indexes = @Index(name = "idx_usage_team_used_at", columnList = "team_id, used_at"))
+@EntityListeners(UsageRollupListener.class)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Usage {
     
+    // IDENTITY는 Hibernate JDBC 배치 insert를 비활성화하므로 시퀀스(pooled)를 사용한다
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usage_seq")
+    @SequenceGenerator(name = "usage_seq", sequenceName = "usage_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -31,8 +35,13 @@ public class Usage {
     @Column(nullable = false)
     private Integer tokens;
     
-    @Column(nullable = false)
-    private Double cost;
+    // 비용(micro). 합산 시 오차가 없도록 고정소수점 정수로 저장한다
+    @Column(name = "cost_micros", nullable = false)
+    private long costMicros;
+    
+    // 응답 캐시 적중으로 청구하지 않은 비용(micro). 캐시 적중이 아니면 0
+    @Column(name = "saved_micros", nullable = false)
+    private long savedMicros;
     
     @Column(name = "used_at", nullable = false)
     private LocalDateTime usedAt;
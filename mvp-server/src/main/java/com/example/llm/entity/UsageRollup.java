@@ -0,0 +1,51 @@
+package com.example.llm.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "usage_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_usage_rollups_bucket",
+                columnNames = {"granularity", "bucket_start", "team_id", "model_id"}),
+        indexes = @Index(name = "idx_usage_rollups_team", columnList = "team_id, granularity, bucket_start"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsageRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private RollupGranularity granularity;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+    
+    @Column(name = "model_id", nullable = false)
+    private Long modelId;
+    
+    @Column(nullable = false)
+    private Long tokens;
+    
+    @Column(name = "cost_micros", nullable = false)
+    private Long costMicros;
+    
+    @Column(name = "saved_micros", nullable = false)
+    private Long savedMicros;
+    
+    @Column(name = "request_count", nullable = false)
+    private Long requestCount;
+}
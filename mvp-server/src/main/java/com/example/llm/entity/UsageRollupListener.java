@@ -0,0 +1,34 @@
+package com.example.llm.entity;
+
+import com.example.llm.service.UsageRollupService;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+
+/**
+ * Usage 저장/삭제 시 집계 테이블(usage_rollups)에 반영할 변화량을 등록한다.
+ * 실제 반영은 트랜잭션 커밋 직전에 한 번에 수행된다.
+ */
+public class UsageRollupListener {
+    
+    private final ObjectProvider<UsageRollupService> usageRollupService;
+    
+    public UsageRollupListener(ObjectProvider<UsageRollupService> usageRollupService) {
+        this.usageRollupService = usageRollupService;
+    }
+    
+    @PrePersist
+    public void onPersist(Usage usage) {
+        if (usage.getUsedAt() == null) {
+            usage.setUsedAt(LocalDateTime.now());
+        }
+        usageRollupService.getObject().recordOnCommit(usage, 1);
+    }
+    
+    @PreRemove
+    public void onRemove(Usage usage) {
+        usageRollupService.getObject().recordOnCommit(usage, -1);
+    }
+}
@@ -11,6 +11,8 @@ public enum ErrorCode {
     INVALID_CREDENTIALS(401, "아이디 또는 비밀번호가 올바르지 않습니다"),
     UNAUTHORIZED(401, "인증이 필요합니다"),
     INVALID_TOKEN(401, "유효하지 않은 토큰입니다"),
+    TEAM_ACCESS_DENIED(403, "해당 팀에 대한 접근 권한이 없습니다"),
+    ACCESS_DENIED(403, "접근 권한이 없습니다"),
     
     // Resource not found errors
     NOT_FOUND(404, "리소스를 찾을 수 없습니다"),
@@ -22,9 +24,17 @@ public enum ErrorCode {
     TEAM_NAME_DUPLICATE(400, "이미 존재하는 팀 이름입니다"),
     QUOTA_EXCEEDED(400, "할당량을 초과했습니다"),
     INVALID_INPUT(400, "잘못된 입력입니다"),
+    RATE_LIMIT_EXCEEDED(429, "요청 속도 한도를 초과했습니다"),
+    
+    // Gateway errors
+    PROVIDER_UNAVAILABLE(502, "모델 제공자에 연결할 수 없습니다"),
+    PROVIDER_CIRCUIT_OPEN(503, "모델 제공자 오류가 많아 호출을 일시 중단했습니다"),
+    PROVIDER_BUSY(503, "모델 제공자 동시 호출 한도를 초과했습니다"),
     
     // Server errors
-    INTERNAL_SERVER_ERROR(500, "서버 오류가 발생했습니다");
+    INTERNAL_SERVER_ERROR(500, "서버 오류가 발생했습니다"),
+    INGESTION_QUEUE_FULL(503, "사용량 수집 대기열이 가득 찼습니다"),
+    PROVIDER_NOT_CONFIGURED(500, "모델 제공자 설정이 없습니다");
     
     private final int status;
     private final String message;
@@ -0,0 +1,17 @@
+package com.example.llm.exception;
+
+import lombok.Getter;
+
+/**
+ * 분당 요청/토큰 한도 초과. 다시 시도할 수 있을 때까지의 시간(초)을 Retry-After 헤더로 내보낸다.
+ */
+@Getter
+public class RateLimitExceededException extends BusinessException {
+    
+    private final long retryAfterSeconds;
+    
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(ErrorCode.RATE_LIMIT_EXCEEDED, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.llm.gateway;
+
+import com.example.llm.config.GatewayProperties;
+import com.example.llm.config.ThreadingConfig;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * 모델 제공자 API를 호출하는 비동기 HTTP 클라이언트.
+ * JDK HttpClient는 연결을 재사용(keep-alive 풀)하며 응답을 기다리는 동안 요청 스레드를 점유하지 않는다.
+ */
+@Component
+public class ProviderClient {
+    
+    private final GatewayProperties properties;
+    private final HttpClient httpClient;
+    
+    public ProviderClient(GatewayProperties properties,
+                          @Qualifier(ThreadingConfig.GATEWAY_EXECUTOR) ObjectProvider<Executor> gatewayExecutor) {
+        this.properties = properties;
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout());
+        // 가상 스레드 모드에서는 응답 후처리도 가상 스레드에서 실행 (기본값은 캐시드 스레드 풀)
+        gatewayExecutor.ifAvailable(builder::executor);
+        this.httpClient = builder.build();
+    }
+    
+    public CompletableFuture<ProviderResponse> post(LLMModel model, String path, byte[] body) {
+        return httpClient.sendAsync(buildRequest(model, path, body), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> new ProviderResponse(
+                        response.statusCode(),
+                        contentType(response),
+                        response.body()));
+    }
+    
+    /**
+     * 응답 헤더를 받는 시점에 완료된다. 본문은 구독자가 요청(demand)한 만큼만 읽히므로 전체를 메모리에 올리지 않는다.
+     */
+    public CompletableFuture<HttpResponse<Flow.Publisher<List<ByteBuffer>>>> stream(LLMModel model, String path,
+                                                                                   byte[] body) {
+        return httpClient.sendAsync(buildRequest(model, path, body), HttpResponse.BodyHandlers.ofPublisher());
+    }
+    
+    public static String contentType(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Type").orElse("application/json");
+    }
+    
+    private HttpRequest buildRequest(LLMModel model, String path, byte[] body) {
+        return HttpRequest.newBuilder(resolveUri(model, path))
+                .timeout(properties.getRequestTimeout())
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + (model.getApiKey() != null ? model.getApiKey() : ""))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+    
+    private URI resolveUri(LLMModel model, String path) {
+        GatewayProperties.Provider provider = properties.getProviders()
+                .get(model.getProvider().toLowerCase(Locale.ROOT));
+        if (provider == null || provider.getBaseUrl() == null) {
+            throw new BusinessException(ErrorCode.PROVIDER_NOT_CONFIGURED);
+        }
+        return URI.create(provider.getBaseUrl() + path);
+    }
+}
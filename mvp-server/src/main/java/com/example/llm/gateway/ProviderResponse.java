@@ -0,0 +1,19 @@
+package com.example.llm.gateway;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProviderResponse {
+    
+    private final int status;
+    
+    private final String contentType;
+    
+    private final byte[] body;
+    
+    public boolean isSuccessful() {
+        return status >= 200 && status < 300;
+    }
+}
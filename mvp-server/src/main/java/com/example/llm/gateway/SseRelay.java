@@ -0,0 +1,401 @@
+package com.example.llm.gateway;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * 제공자의 SSE 응답을 이벤트 단위로 클라이언트에 그대로 전달한다.
+ * 이벤트 하나를 클라이언트에 쓴 뒤에야 다음 청크를 요청(request(1))하므로 스트림당 메모리는 이벤트 하나 크기로 제한된다.
+ * 스트림이 끝나거나 끊기면 누적한 토큰 수로 onFinish가 정확히 한 번 호출된다.
+ *
+ * maxReplayBytes를 주면 같은 요청을 보낸 다른 클라이언트가 {@link #join}으로 합류할 수 있다.
+ * 합류한 클라이언트에는 이미 보낸 이벤트를 먼저 다시 보내고 이후 이벤트를 함께 보낸다.
+ * 보낸 이벤트가 maxReplayBytes를 넘으면 다시 보낼 이벤트를 버리고 더 이상 합류를 받지 않는다.
+ * 합류한 클라이언트에는 제공자 스트림을 읽는 스레드가 아닌 별도 스레드에서 보낸다. 클라이언트마다 보내지 못한 이벤트를
+ * maxReplayBytes까지만 쌓고, 그보다 뒤처진 클라이언트는 끊어 느린 클라이언트 하나가 스트림 전체를 붙잡지 않게 한다.
+ * 제공자 스트림은 모든 클라이언트가 떠났을 때만 취소한다.
+ */
+@Slf4j
+public class SseRelay extends SseEmitter implements Flow.Subscriber<List<ByteBuffer>> {
+    
+    private static final String DATA_FIELD = "data:";
+    private static final String DONE = "[DONE]";
+    
+    private final Flow.Publisher<List<ByteBuffer>> upstream;
+    private final ObjectMapper objectMapper;
+    private final StreamUsageCounter usageCounter;
+    private final int maxEventBytes;
+    private final int maxReplayBytes;
+    // 합류한 클라이언트에 이벤트를 쓰는 실행기. 보낼 이벤트가 있는 동안에만 스레드를 쓴다
+    private final Executor followerSender;
+    private final LongConsumer onFinish;
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+    private final StringBuilder data = new StringBuilder();
+    private volatile Flow.Subscription subscription;
+    
+    // 아래 필드는 fanout으로 보호한다
+    private final Object fanout = new Object();
+    private final List<Follower> followers = new ArrayList<>();
+    private List<String> replay;
+    private long replayBytes;
+    private boolean attached = true;
+    
+    public SseRelay(long timeoutMillis, Flow.Publisher<List<ByteBuffer>> upstream, ObjectMapper objectMapper,
+                    StreamUsageCounter usageCounter, int maxEventBytes, LongConsumer onFinish) {
+        // 다시 보낼 이벤트가 없으면 합류를 받지 않으므로 followerSender를 쓰지 않는다
+        this(timeoutMillis, upstream, objectMapper, usageCounter, maxEventBytes, 0, Runnable::run, onFinish);
+    }
+    
+    public SseRelay(long timeoutMillis, Flow.Publisher<List<ByteBuffer>> upstream, ObjectMapper objectMapper,
+                    StreamUsageCounter usageCounter, int maxEventBytes, int maxReplayBytes, Executor followerSender,
+                    LongConsumer onFinish) {
+        super(timeoutMillis);
+        this.upstream = upstream;
+        this.objectMapper = objectMapper;
+        this.usageCounter = usageCounter;
+        this.maxEventBytes = maxEventBytes;
+        this.maxReplayBytes = maxReplayBytes;
+        this.followerSender = followerSender;
+        this.onFinish = onFinish;
+        this.replay = maxReplayBytes > 0 ? new ArrayList<>() : null;
+        onTimeout(this::detach);
+        onError(e -> detach());
+        onCompletion(this::detach);
+    }
+    
+    /**
+     * 같은 스트림을 emitter로도 보낸다. 이미 끝났거나 다시 보낼 이벤트를 버린 스트림이면 false.
+     * onFinish는 스트림이 끝나거나 emitter의 연결이 끊길 때 그때까지 누적한 토큰 수로 한 번 호출된다.
+     */
+    public boolean join(SseEmitter emitter, LongConsumer onFinish) {
+        Follower follower = new Follower(emitter, onFinish);
+        List<String> replayed;
+        synchronized (fanout) {
+            if (replay == null) {
+                return false;
+            }
+            // 이후 이벤트가 다시 보낼 이벤트 뒤에 오도록 목록 복사와 등록을 같은 잠금 안에서 한다
+            replayed = new ArrayList<>(replay);
+            followers.add(follower);
+        }
+        emitter.onTimeout(() -> leave(follower));
+        emitter.onError(e -> leave(follower));
+        emitter.onCompletion(() -> leave(follower));
+        follower.replay(replayed);
+        return true;
+    }
+    
+    // 제공자가 usage 청크를 보내면 실제 입력 토큰, 아니면 요청으로 추정한 값
+    public long getPromptTokens() {
+        return usageCounter.getPromptTokens();
+    }
+    
+    @Override
+    protected void extendResponse(ServerHttpResponse outputMessage) {
+        super.extendResponse(outputMessage);
+        // 응답이 준비된 뒤에 구독을 시작해 초기화 전 send가 내부 대기열에 쌓이지 않도록 한다
+        upstream.subscribe(this);
+    }
+    
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (finished.get()) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(1);
+    }
+    
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+        try {
+            for (ByteBuffer buffer : buffers) {
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b == '\n') {
+                        processLine();
+                    } else if (b != '\r') {
+                        if (line.size() >= maxEventBytes) {
+                            throw new IOException("SSE event exceeds " + maxEventBytes + " bytes");
+                        }
+                        line.write(b);
+                    }
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료 또는 이벤트 크기 초과
+            log.debug("Stopping SSE relay: {}", e.getMessage());
+            cancelUpstream();
+            completeWithError(e);
+            return;
+        }
+        if (!finished.get()) {
+            subscription.request(1);
+        }
+    }
+    
+    @Override
+    public void onError(Throwable throwable) {
+        log.warn("Provider stream failed: {}", throwable.getMessage());
+        finish();
+        complete();
+    }
+    
+    @Override
+    public void onComplete() {
+        try {
+            processLine();
+            dispatchEvent();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Client disconnected before end of stream: {}", e.getMessage());
+        }
+        finish();
+        complete();
+    }
+    
+    private void processLine() throws IOException {
+        String value = line.toString(StandardCharsets.UTF_8);
+        line.reset();
+        if (value.isEmpty()) {
+            dispatchEvent();
+        } else if (value.startsWith(DATA_FIELD)) {
+            if (!data.isEmpty()) {
+                data.append('\n');
+            }
+            int start = value.startsWith(" ", DATA_FIELD.length()) ? DATA_FIELD.length() + 1 : DATA_FIELD.length();
+            data.append(value, start, value.length());
+            if (data.length() > maxEventBytes) {
+                throw new IOException("SSE event exceeds " + maxEventBytes + " bytes");
+            }
+        }
+        // event:, id:, 주석(:) 필드는 전달하지 않는다
+    }
+    
+    private void dispatchEvent() throws IOException {
+        if (data.isEmpty()) {
+            return;
+        }
+        String payload = data.toString();
+        data.setLength(0);
+        if (!DONE.equals(payload)) {
+            try {
+                usageCounter.onChunk(objectMapper.readTree(payload));
+            } catch (JsonProcessingException e) {
+                // JSON이 아닌 이벤트는 집계 없이 전달만 한다
+            }
+        }
+        if (!broadcast(payload)) {
+            return;
+        }
+        try {
+            send(event().data(payload));
+        } catch (IOException | IllegalStateException e) {
+            // 합류한 클라이언트가 남아 있으면 이 클라이언트만 떠나고 스트림은 계속 받는다
+            if (!hasFollowers()) {
+                throw e;
+            }
+            detach();
+            completeWithError(e);
+        }
+    }
+    
+    // 합류한 클라이언트의 대기열에 이벤트를 넣고, 요청한 클라이언트가 아직 연결되어 있는지 반환한다
+    private boolean broadcast(String payload) {
+        List<Follower> targets;
+        boolean self;
+        synchronized (fanout) {
+            if (replay != null) {
+                replayBytes += payload.length();
+                if (replayBytes > maxReplayBytes) {
+                    replay = null;
+                } else {
+                    replay.add(payload);
+                }
+            }
+            targets = followers.isEmpty() ? List.of() : new ArrayList<>(followers);
+            self = attached;
+        }
+        for (Follower follower : targets) {
+            if (!follower.offer(payload)) {
+                log.debug("Dropping SSE follower that fell more than {} bytes behind", maxReplayBytes);
+                leave(follower);
+                follower.emitter.completeWithError(new IOException("SSE follower fell behind"));
+            }
+        }
+        return self;
+    }
+    
+    private boolean hasFollowers() {
+        synchronized (fanout) {
+            return !followers.isEmpty();
+        }
+    }
+    
+    // 요청한 클라이언트가 떠났다. 합류한 클라이언트도 없으면 제공자 스트림을 취소한다
+    private void detach() {
+        boolean cancel;
+        synchronized (fanout) {
+            attached = false;
+            cancel = followers.isEmpty();
+        }
+        if (cancel) {
+            cancelUpstream();
+        }
+    }
+    
+    private void leave(Follower follower) {
+        boolean cancel;
+        synchronized (fanout) {
+            cancel = followers.remove(follower) && followers.isEmpty() && !attached;
+        }
+        follower.finish(usageCounter.getTotalTokens());
+        if (cancel) {
+            cancelUpstream();
+        }
+    }
+    
+    private void cancelUpstream() {
+        Flow.Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+        finish();
+    }
+    
+    private void finish() {
+        if (finished.compareAndSet(false, true)) {
+            List<Follower> remaining;
+            synchronized (fanout) {
+                replay = null;
+                remaining = new ArrayList<>(followers);
+                followers.clear();
+            }
+            long totalTokens = usageCounter.getTotalTokens();
+            onFinish.accept(totalTokens);
+            for (Follower follower : remaining) {
+                follower.finish(totalTokens);
+                follower.completeWhenDrained();
+            }
+        }
+    }
+    
+    /**
+     * 합류한 클라이언트 하나. 보낼 이벤트를 자기 대기열에 쌓고 followerSender에서 차례로 보낸다.
+     */
+    private final class Follower {
+        
+        private final SseEmitter emitter;
+        private final LongConsumer onFinish;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        
+        // 아래 필드는 this로 보호한다
+        private final ArrayDeque<String> pending = new ArrayDeque<>();
+        private long pendingBytes;
+        private boolean draining;
+        private boolean completeWhenDrained;
+        private boolean closed;
+        
+        private Follower(SseEmitter emitter, LongConsumer onFinish) {
+            this.emitter = emitter;
+            this.onFinish = onFinish;
+        }
+        
+        // 다시 보낼 이벤트는 maxReplayBytes 이하이므로 대기열 상한에 걸리지 않는다
+        private void replay(List<String> payloads) {
+            synchronized (this) {
+                for (String payload : payloads) {
+                    pending.add(payload);
+                    pendingBytes += payload.length();
+                }
+            }
+            schedule();
+        }
+        
+        // 보내지 못한 이벤트가 maxReplayBytes를 넘으면 false
+        private boolean offer(String payload) {
+            synchronized (this) {
+                if (closed) {
+                    return true;
+                }
+                if (pendingBytes + payload.length() > maxReplayBytes) {
+                    closed = true;
+                    pending.clear();
+                    return false;
+                }
+                pending.add(payload);
+                pendingBytes += payload.length();
+            }
+            schedule();
+            return true;
+        }
+        
+        private void completeWhenDrained() {
+            synchronized (this) {
+                completeWhenDrained = true;
+            }
+            schedule();
+        }
+        
+        private void schedule() {
+            synchronized (this) {
+                if (draining || closed) {
+                    return;
+                }
+                draining = true;
+            }
+            followerSender.execute(this::drain);
+        }
+        
+        private void drain() {
+            while (true) {
+                String payload;
+                synchronized (this) {
+                    payload = closed ? null : pending.poll();
+                    if (payload == null) {
+                        draining = false;
+                        if (!closed && completeWhenDrained) {
+                            closed = true;
+                            emitter.complete();
+                        }
+                        return;
+                    }
+                    pendingBytes -= payload.length();
+                }
+                try {
+                    emitter.send(event().data(payload));
+                } catch (IOException | IllegalStateException e) {
+                    synchronized (this) {
+                        closed = true;
+                        draining = false;
+                        pending.clear();
+                    }
+                    leave(this);
+                    return;
+                }
+            }
+        }
+        
+        private void finish(long totalTokens) {
+            if (finished.compareAndSet(false, true)) {
+                onFinish.accept(totalTokens);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.llm.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 스트리밍 청크를 받을 때마다 토큰 수를 누적한다.
+ * 제공자가 마지막 청크에 usage를 보내면 그 값을 우선하고, 없으면 프롬프트 추정치 + 내용이 있는 청크 수로 계산한다.
+ */
+public class StreamUsageCounter {
+    
+    // 문자 수 기반 토큰 추정 (영문 기준 약 4자당 1토큰)
+    private static final int CHARS_PER_TOKEN = 4;
+    
+    private final long promptTokensEstimate;
+    private volatile long completionChunks;
+    private volatile long reportedTotalTokens = -1;
+    private volatile long reportedPromptTokens = -1;
+    
+    public StreamUsageCounter(long promptTokensEstimate) {
+        this.promptTokensEstimate = promptTokensEstimate;
+    }
+    
+    public static long estimatePromptTokens(JsonNode request) {
+        long chars = 0;
+        for (JsonNode message : request.path("messages")) {
+            chars += message.path("content").asText("").length();
+        }
+        return (chars + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+    
+    // 구독자 신호는 순차적으로 전달되므로 단일 스레드에서만 호출된다
+    public void onChunk(JsonNode chunk) {
+        JsonNode totalTokens = chunk.path("usage").path("total_tokens");
+        if (totalTokens.isNumber()) {
+            reportedTotalTokens = totalTokens.asLong();
+        }
+        JsonNode promptTokens = chunk.path("usage").path("prompt_tokens");
+        if (promptTokens.isNumber()) {
+            reportedPromptTokens = promptTokens.asLong();
+        }
+        long contentChunks = 0;
+        for (JsonNode choice : chunk.path("choices")) {
+            if (!choice.path("delta").path("content").asText("").isEmpty()) {
+                contentChunks++;
+            }
+        }
+        if (contentChunks > 0) {
+            completionChunks += contentChunks;
+        }
+    }
+    
+    public long getTotalTokens() {
+        long reported = reportedTotalTokens;
+        return reported >= 0 ? reported : promptTokensEstimate + completionChunks;
+    }
+    
+    // 입력 토큰 수. 제공자가 보고한 값이 없으면 프롬프트 추정치를 사용한다
+    public long getPromptTokens() {
+        long reported = reportedPromptTokens;
+        return reported >= 0 ? reported : promptTokensEstimate;
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.llm.repository;
 
 import com.example.llm.entity.LLMModel;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ModelRepository extends JpaRepository<LLMModel, Long> {
@@ -12,4 +16,12 @@ public interface ModelRepository extends JpaRepository<LLMModel, Long> {
     List<LLMModel> findByProvider(String provider);
     
     List<LLMModel> findByIsActiveTrue();
-}
\ No newline at end of file
+    
+    long countByIsActiveTrue();
+    
+    Optional<LLMModel> findFirstByNameAndIsActiveTrue(String name);
+    
+    // keyset 페이지 조회 (OFFSET 없이 PK 인덱스에서 afterId 다음 행부터 읽음)
+    @Query("SELECT m FROM LLMModel m WHERE m.id > :afterId ORDER BY m.id")
+    List<LLMModel> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
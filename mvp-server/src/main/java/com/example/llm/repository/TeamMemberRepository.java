@@ -2,6 +2,8 @@ package com.example.llm.repository;
 
 import com.example.llm.entity.TeamMember;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,7 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
     List<TeamMember> findByTeamId(Long teamId);
     
     void deleteByTeamId(Long teamId);
+    
+    @Query("SELECT tm.team.id FROM TeamMember tm WHERE tm.user.id = :userId")
+    List<Long> findTeamIdsByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
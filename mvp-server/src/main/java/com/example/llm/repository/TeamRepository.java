@@ -1,11 +1,21 @@
 package com.example.llm.repository;
 
 import com.example.llm.entity.Team;
+import com.example.llm.repository.projection.TeamQuotaSummary;
+import com.example.llm.repository.projection.TeamRateLimit;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
@@ -14,4 +24,43 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     
     @Query("SELECT t FROM Team t WHERE t.quota > t.usage")
     List<Team> findTeamsWithAvailableQuota();
-}
\ No newline at end of file
+    
+    @Query("SELECT new com.example.llm.repository.projection.TeamQuotaSummary(t.id, t.name, t.quota, t.usage) " +
+           "FROM Team t ORDER BY t.id")
+    List<TeamQuotaSummary> findAllQuotaSummaries();
+    
+    // keyset 페이지 조회 (OFFSET 없이 PK 인덱스에서 afterId 다음 행부터 읽음)
+    @Query("SELECT t FROM Team t WHERE t.id > :afterId ORDER BY t.id")
+    List<Team> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.example.llm.repository.projection.TeamQuotaSummary(t.id, t.name, t.quota, t.usage) " +
+           "FROM Team t WHERE t.id = :id")
+    Optional<TeamQuotaSummary> findQuotaSummaryById(@Param("id") Long id);
+    
+    @Query("SELECT new com.example.llm.repository.projection.TeamRateLimit(t.id, t.requestsPerMinute, t.tokensPerMinute) " +
+           "FROM Team t WHERE t.id = :id")
+    Optional<TeamRateLimit> findRateLimitById(@Param("id") Long id);
+    
+    @Query("SELECT t.responseCacheEnabled FROM Team t WHERE t.id = :id")
+    Optional<Boolean> findResponseCacheEnabledById(@Param("id") Long id);
+    
+    // 사용량 집계 갱신(공유 잠금)과 팀 집계 재계산(배타 잠금)을 팀 행 잠금으로 직렬화한다. 같은 DB를 쓰는 모든 인스턴스에 적용된다
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT t FROM Team t WHERE t.id IN :ids ORDER BY t.id")
+    List<Team> lockForRollupUpdate(@Param("ids") Collection<Long> ids);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Team t WHERE t.id = :id")
+    Optional<Team> lockForRollupRebuild(@Param("id") Long id);
+    
+    // 사용량 증가는 엔티티를 읽지 않고 한 문장으로 처리한다 (동시 증가가 서로 덮어쓰지 않도록)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Team t SET t.usage = t.usage + :delta WHERE t.id = :id AND t.usage + :delta <= t.quota")
+    int addUsageWithinQuota(@Param("id") Long id, @Param("delta") long delta);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Team t SET t.usage = t.usage + :delta WHERE t.id = :id")
+    int addUsage(@Param("id") Long id, @Param("delta") long delta);
+}
@@ -1,6 +1,9 @@
 package com.example.llm.repository;
 
 import com.example.llm.entity.Usage;
+import com.example.llm.repository.projection.TeamUsageAggregate;
+import com.example.llm.repository.projection.UsageRollupSource;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,4 +21,35 @@ public interface UsageRepository extends JpaRepository<Usage, Long> {
     List<Usage> findByTeamIdAndDateRange(@Param("teamId") Long teamId,
                                          @Param("startDate") LocalDateTime startDate,
                                          @Param("endDate") LocalDateTime endDate);
-}
\ No newline at end of file
+    
+    @Query("SELECT new com.example.llm.repository.projection.TeamUsageAggregate(" +
+           "u.team.id, COUNT(u), COALESCE(SUM(u.tokens), 0L), COALESCE(SUM(u.costMicros), 0L)) " +
+           "FROM Usage u GROUP BY u.team.id")
+    List<TeamUsageAggregate> aggregateByTeam();
+    
+    @Query("SELECT DISTINCT u.team.id FROM Usage u")
+    List<Long> findTeamIds();
+    
+    @Query("SELECT new com.example.llm.repository.projection.UsageRollupSource(" +
+           "u.id, u.team.id, u.model.id, u.tokens, u.costMicros, u.savedMicros, u.usedAt) " +
+           "FROM Usage u WHERE u.team.id = :teamId AND u.id > :afterId ORDER BY u.id")
+    List<UsageRollupSource> findTeamRollupSourcesAfter(@Param("teamId") Long teamId,
+                                                       @Param("afterId") Long afterId,
+                                                       Pageable pageable);
+    
+    // 팀 사용 이력 keyset 페이지 (최신순). (team_id, used_at) 인덱스를 역순으로 읽으며 같은 시각은 id로 구분한다
+    @Query("SELECT new com.example.llm.repository.projection.UsageRollupSource(" +
+           "u.id, u.team.id, u.model.id, u.tokens, u.costMicros, u.savedMicros, u.usedAt) " +
+           "FROM Usage u WHERE u.team.id = :teamId ORDER BY u.usedAt DESC, u.id DESC")
+    List<UsageRollupSource> findTeamPage(@Param("teamId") Long teamId, Pageable pageable);
+    
+    @Query("SELECT new com.example.llm.repository.projection.UsageRollupSource(" +
+           "u.id, u.team.id, u.model.id, u.tokens, u.costMicros, u.savedMicros, u.usedAt) " +
+           "FROM Usage u WHERE u.team.id = :teamId " +
+           "AND (u.usedAt < :usedAt OR (u.usedAt = :usedAt AND u.id < :id)) " +
+           "ORDER BY u.usedAt DESC, u.id DESC")
+    List<UsageRollupSource> findTeamPageBefore(@Param("teamId") Long teamId,
+                                               @Param("usedAt") LocalDateTime usedAt,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+}
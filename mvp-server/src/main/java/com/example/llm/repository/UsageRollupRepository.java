@@ -0,0 +1,68 @@
+package com.example.llm.repository;
+
+import com.example.llm.entity.RollupGranularity;
+import com.example.llm.entity.UsageRollup;
+import com.example.llm.repository.projection.TeamUsageAggregate;
+import com.example.llm.repository.projection.UsageBucketAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UsageRollupRepository extends JpaRepository<UsageRollup, Long>, UsageRollupUpsert {
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UsageRollup r WHERE r.requestCount <= 0")
+    int deleteEmptyBuckets();
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UsageRollup r WHERE r.teamId = :teamId")
+    int deleteByTeamId(@Param("teamId") Long teamId);
+    
+    @Query("SELECT DISTINCT r.teamId FROM UsageRollup r")
+    List<Long> findTeamIds();
+    
+    @Query("SELECT new com.example.llm.repository.projection.TeamUsageAggregate(" +
+           "r.teamId, SUM(r.requestCount), SUM(r.tokens), SUM(r.costMicros), SUM(r.savedMicros)) " +
+           "FROM UsageRollup r WHERE r.granularity = :granularity GROUP BY r.teamId")
+    List<TeamUsageAggregate> aggregateByTeam(@Param("granularity") RollupGranularity granularity);
+    
+    @Query("SELECT new com.example.llm.repository.projection.TeamUsageAggregate(" +
+           "r.teamId, COALESCE(SUM(r.requestCount), 0L), COALESCE(SUM(r.tokens), 0L), COALESCE(SUM(r.costMicros), 0L)) " +
+           "FROM UsageRollup r WHERE r.teamId = :teamId AND r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to GROUP BY r.teamId")
+    Optional<TeamUsageAggregate> aggregateTeamRange(@Param("teamId") Long teamId,
+                                                @Param("granularity") RollupGranularity granularity,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+    
+    @Query("SELECT new com.example.llm.repository.projection.UsageBucketAggregate(" +
+           "r.bucketStart, SUM(r.requestCount), SUM(r.tokens), SUM(r.costMicros)) " +
+           "FROM UsageRollup r WHERE r.teamId = :teamId AND r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<UsageBucketAggregate> aggregateTeamBuckets(@Param("teamId") Long teamId,
+                                                    @Param("granularity") RollupGranularity granularity,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
+    
+    @Query("SELECT new com.example.llm.repository.projection.UsageBucketAggregate(" +
+           "r.bucketStart, SUM(r.requestCount), SUM(r.tokens), SUM(r.costMicros)) " +
+           "FROM UsageRollup r WHERE r.teamId = :teamId AND r.modelId = :modelId " +
+           "AND r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<UsageBucketAggregate> aggregateTeamModelBuckets(@Param("teamId") Long teamId,
+                                                         @Param("modelId") Long modelId,
+                                                         @Param("granularity") RollupGranularity granularity,
+                                                         @Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to);
+}
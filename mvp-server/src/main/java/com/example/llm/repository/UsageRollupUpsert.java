@@ -0,0 +1,19 @@
+package com.example.llm.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 집계 행에 변화량을 더하고, 행이 없으면 만든다.
+ * 표준 SQL에는 upsert가 없으므로 구현({@link UsageRollupUpsertImpl})이 데이터베이스마다 원자적인 upsert 문을 고른다.
+ */
+public interface UsageRollupUpsert {
+    
+    int upsertIncrement(String granularity,
+                        LocalDateTime bucketStart,
+                        Long teamId,
+                        Long modelId,
+                        long tokens,
+                        long costMicros,
+                        long savedMicros,
+                        long requestCount);
+}
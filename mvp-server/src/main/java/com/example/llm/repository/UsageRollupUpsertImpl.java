@@ -0,0 +1,68 @@
+package com.example.llm.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * {@link UsageRollupUpsert}의 데이터베이스별 구현. 시작할 때 연결된 데이터베이스를 보고 문장을 하나 고르며,
+ * 지원하지 않는 데이터베이스면 애플리케이션을 띄우지 않는다. 같은 키에 동시에 upsert해도 행 하나에 누적된다.
+ * JdbcTemplate은 JPA 트랜잭션과 같은 커넥션을 쓰므로 호출한 트랜잭션과 함께 커밋·롤백된다.
+ */
+class UsageRollupUpsertImpl implements UsageRollupUpsert {
+    
+    private static final String COLUMNS =
+            "(granularity, bucket_start, team_id, model_id, tokens, cost_micros, saved_micros, request_count)";
+    
+    private static final String H2 = "MERGE INTO usage_rollups r " +
+            "USING (VALUES (CAST(? AS VARCHAR(8)), CAST(? AS TIMESTAMP), CAST(? AS BIGINT), CAST(? AS BIGINT), " +
+            "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT))) AS s" + COLUMNS + " " +
+            "ON r.granularity = s.granularity AND r.bucket_start = s.bucket_start " +
+            "AND r.team_id = s.team_id AND r.model_id = s.model_id " +
+            "WHEN MATCHED THEN UPDATE SET tokens = r.tokens + s.tokens, cost_micros = r.cost_micros + s.cost_micros, " +
+            "saved_micros = r.saved_micros + s.saved_micros, request_count = r.request_count + s.request_count " +
+            "WHEN NOT MATCHED THEN INSERT " + COLUMNS + " " +
+            "VALUES (s.granularity, s.bucket_start, s.team_id, s.model_id, s.tokens, s.cost_micros, s.saved_micros, " +
+            "s.request_count)";
+    
+    private static final String POSTGRESQL = "INSERT INTO usage_rollups " + COLUMNS + " " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (granularity, bucket_start, team_id, model_id) DO UPDATE SET " +
+            "tokens = usage_rollups.tokens + EXCLUDED.tokens, " +
+            "cost_micros = usage_rollups.cost_micros + EXCLUDED.cost_micros, " +
+            "saved_micros = usage_rollups.saved_micros + EXCLUDED.saved_micros, " +
+            "request_count = usage_rollups.request_count + EXCLUDED.request_count";
+    
+    private static final String MYSQL = "INSERT INTO usage_rollups " + COLUMNS + " " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE tokens = tokens + VALUES(tokens), cost_micros = cost_micros + VALUES(cost_micros), " +
+            "saved_micros = saved_micros + VALUES(saved_micros), request_count = request_count + VALUES(request_count)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    private final String sql;
+    
+    UsageRollupUpsertImpl(DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        String database = JdbcUtils.commonDatabaseName(
+                JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        this.sql = switch (database) {
+            case "H2" -> H2;
+            case "PostgreSQL" -> POSTGRESQL;
+            case "MySQL", "MariaDB" -> MYSQL;
+            default -> throw new IllegalStateException("Usage rollups do not support database: " + database);
+        };
+    }
+    
+    @Override
+    public int upsertIncrement(String granularity, LocalDateTime bucketStart, Long teamId, Long modelId,
+                               long tokens, long costMicros, long savedMicros, long requestCount) {
+        return jdbcTemplate.update(sql, granularity, Timestamp.valueOf(bucketStart), teamId, modelId,
+                tokens, costMicros, savedMicros, requestCount);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.llm.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TeamQuotaSummary {
+    
+    private final Long id;
+    
+    private final String name;
+    
+    private final Long quota;
+    
+    private final Long usage;
+}
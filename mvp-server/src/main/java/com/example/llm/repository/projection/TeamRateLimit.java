@@ -0,0 +1,15 @@
+package com.example.llm.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TeamRateLimit {
+    
+    private final Long id;
+    
+    private final Long requestsPerMinute;
+    
+    private final Long tokensPerMinute;
+}
@@ -0,0 +1,24 @@
+package com.example.llm.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TeamUsageAggregate {
+    
+    private final Long teamId;
+    
+    private final Long requestCount;
+    
+    private final Long totalTokens;
+    
+    private final Long totalCostMicros;
+    
+    // 응답 캐시 적중으로 절감한 비용. 원본 usage에서 집계할 때는 0
+    private final Long totalSavedMicros;
+    
+    public TeamUsageAggregate(Long teamId, Long requestCount, Long totalTokens, Long totalCostMicros) {
+        this(teamId, requestCount, totalTokens, totalCostMicros, 0L);
+    }
+}
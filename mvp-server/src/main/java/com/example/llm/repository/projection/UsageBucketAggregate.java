@@ -0,0 +1,19 @@
+package com.example.llm.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class UsageBucketAggregate {
+    
+    private final LocalDateTime bucketStart;
+    
+    private final Long requestCount;
+    
+    private final Long totalTokens;
+    
+    private final Long totalCostMicros;
+}
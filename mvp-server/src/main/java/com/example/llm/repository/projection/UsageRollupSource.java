@@ -0,0 +1,25 @@
+package com.example.llm.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class UsageRollupSource {
+    
+    private final Long id;
+    
+    private final Long teamId;
+    
+    private final Long modelId;
+    
+    private final Integer tokens;
+    
+    private final Long costMicros;
+    
+    private final Long savedMicros;
+    
+    private final LocalDateTime usedAt;
+}
@@ -0,0 +1,57 @@
+package com.example.llm.security;
+
+import com.example.llm.util.TokenUtil;
+import com.example.llm.util.VerifiedToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authorization: Bearer 토큰을 검증해 SecurityContext를 구성한다.
+ * principal은 검증된 클레임({@link VerifiedToken})만으로 만들며 DB를 조회하지 않는다.
+ * 토큰이 없거나 유효하지 않으면 인증 없이 다음 필터로 넘기고, 접근 여부는 인가 규칙이 판단한다.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    private final TokenUtil tokenUtil;
+    // 비동기 디스패치(게이트웨이 응답)에서도 같은 인증 정보를 쓰도록 요청 속성에 저장
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+    
+    public JwtAuthenticationFilter(TokenUtil tokenUtil) {
+        this.tokenUtil = tokenUtil;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            tokenUtil.verify(authorization.substring(BEARER_PREFIX.length()))
+                    .ifPresent(token -> authenticate(token, request, response));
+        }
+        filterChain.doFilter(request, response);
+    }
+    
+    private void authenticate(VerifiedToken token, HttpServletRequest request, HttpServletResponse response) {
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                token, null, List.of(new SimpleGrantedAuthority("ROLE_" + token.getRole())));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        securityContextRepository.saveContext(context, request, response);
+    }
+}
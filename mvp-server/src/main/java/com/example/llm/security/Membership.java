@@ -0,0 +1,19 @@
+package com.example.llm.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+@Getter
+@AllArgsConstructor
+public class Membership {
+    
+    private final Long userId;
+    
+    private final String username;
+    
+    private final String role;
+    
+    private final Set<Long> teamIds;
+}
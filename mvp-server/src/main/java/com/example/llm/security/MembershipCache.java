@@ -0,0 +1,58 @@
+package com.example.llm.security;
+
+import com.example.llm.repository.TeamMemberRepository;
+import com.example.llm.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 사용자/팀 소속 정보의 짧은 TTL 캐시.
+ * 토큰 클레임은 발급 시점의 정보이므로, 탈퇴·소속 변경이 토큰 만료 전에 반영되어야 하는 검사에만 사용한다.
+ * 정보가 바뀌어도 최대 TTL 동안은 이전 값이 보일 수 있다.
+ */
+@Component
+public class MembershipCache {
+    
+    private final UserRepository userRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final LoadingCache<String, Optional<Membership>> memberships;
+    
+    public MembershipCache(UserRepository userRepository,
+                           TeamMemberRepository teamMemberRepository,
+                           @Value("${security.membership-cache.ttl:30s}") Duration ttl,
+                           @Value("${security.membership-cache.maximum-size:10000}") long maximumSize) {
+        this.userRepository = userRepository;
+        this.teamMemberRepository = teamMemberRepository;
+        this.memberships = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build(this::load);
+    }
+    
+    public Optional<Membership> get(String username) {
+        return memberships.get(username);
+    }
+    
+    public void invalidate(String username) {
+        memberships.invalidate(username);
+    }
+    
+    public void invalidateAll() {
+        memberships.invalidateAll();
+    }
+    
+    private Optional<Membership> load(String username) {
+        return userRepository.findByUsername(username)
+                .map(user -> new Membership(
+                        user.getId(),
+                        user.getUsername(),
+                        user.getRole(),
+                        Set.copyOf(teamMemberRepository.findTeamIdsByUserId(user.getId()))));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.llm.security;
+
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.exception.UnauthorizedException;
+import com.example.llm.util.VerifiedToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 팀 단위 요청(게이트웨이 X-Team-Id)의 접근 권한 검사.
+ * ADMIN은 모든 팀에 접근할 수 있고, 그 외에는 토큰의 teamIds 클레임에 포함된 팀만 허용한다.
+ * security.membership-check.enabled=true 이면 소속 캐시로 한 번 더 확인해 소속 해제를 TTL 안에 반영한다.
+ */
+@Component
+public class TeamAccessPolicy {
+    
+    private static final String ADMIN_ROLE = "ADMIN";
+    
+    private final MembershipCache membershipCache;
+    private final boolean verifyMembership;
+    
+    public TeamAccessPolicy(MembershipCache membershipCache,
+                            @Value("${security.membership-check.enabled:true}") boolean verifyMembership) {
+        this.membershipCache = membershipCache;
+        this.verifyMembership = verifyMembership;
+    }
+    
+    public void checkAccess(VerifiedToken principal, Long teamId) {
+        if (principal == null) {
+            throw new UnauthorizedException(ErrorCode.UNAUTHORIZED);
+        }
+        if (ADMIN_ROLE.equals(principal.getRole())) {
+            return;
+        }
+        if (!principal.getTeamIds().contains(teamId)) {
+            throw new BusinessException(ErrorCode.TEAM_ACCESS_DENIED);
+        }
+        if (verifyMembership && !membershipCache.get(principal.getUsername())
+                .map(membership -> membership.getTeamIds().contains(teamId))
+                .orElse(false)) {
+            throw new BusinessException(ErrorCode.TEAM_ACCESS_DENIED);
+        }
+    }
+}
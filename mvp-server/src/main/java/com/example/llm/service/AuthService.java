@@ -5,8 +5,12 @@ import com.example.llm.dto.response.LoginResponse;
 import com.example.llm.entity.User;
 import com.example.llm.exception.ErrorCode;
 import com.example.llm.exception.UnauthorizedException;
+import com.example.llm.repository.TeamMemberRepository;
 import com.example.llm.repository.UserRepository;
+import com.example.llm.security.Membership;
+import com.example.llm.security.MembershipCache;
 import com.example.llm.util.TokenUtil;
+import com.example.llm.util.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -15,7 +19,12 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class AuthService {
     
+    // 로그인으로 자동 생성한 사용자는 소속 팀에만 접근할 수 있다. ADMIN은 DB에서 직접 지정한다
+    private static final String DEFAULT_ROLE = "USER";
+    
     private final UserRepository userRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final MembershipCache membershipCache;
     private final TokenUtil tokenUtil;
     private final PasswordEncoder passwordEncoder;
     
@@ -30,13 +39,14 @@ public class AuthService {
                             .username(request.getUsername())
                             .password(passwordEncoder.encode(request.getPassword()))
                             .email(request.getUsername() + "@example.com")
-                            .role("ADMIN")
+                            .role(DEFAULT_ROLE)
                             .build();
                     return userRepository.save(newUser);
                 });
         
-        // 토큰 생성
-        String token = tokenUtil.generateToken(user.getUsername(), user.getRole());
+        // 토큰 생성 (소속 팀은 클레임으로 넣어 요청마다 DB를 조회하지 않도록 함)
+        String token = tokenUtil.generateToken(user.getUsername(), user.getRole(),
+                teamMemberRepository.findTeamIdsByUserId(user.getId()));
         
         return LoginResponse.builder()
                 .token(token)
@@ -46,15 +56,18 @@ public class AuthService {
     }
     
     public LoginResponse getCurrentUser(String token) {
-        validateToken(token);
-        String username = getUsernameFromToken(token);
-        User user = userRepository.findByUsername(username)
+        // 검증과 사용자명 추출을 한 번의 파싱으로 처리
+        String username = tokenUtil.verify(token)
+                .map(VerifiedToken::getUsername)
+                .orElseThrow(() -> new UnauthorizedException(ErrorCode.INVALID_TOKEN));
+        // 탈퇴한 사용자는 거부해야 하므로 TTL 캐시로 존재 여부 확인
+        Membership membership = membershipCache.get(username)
                 .orElseThrow(() -> new UnauthorizedException(ErrorCode.UNAUTHORIZED));
         
         return LoginResponse.builder()
                 .token(token)
-                .username(user.getUsername())
-                .role(user.getRole())
+                .username(membership.getUsername())
+                .role(membership.getRole())
                 .build();
     }
     
@@ -0,0 +1,54 @@
+package com.example.llm.service;
+
+import com.example.llm.config.ResponseCacheProperties;
+import com.example.llm.dto.request.UsageRecordRequest;
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.exception.ResourceNotFoundException;
+import com.example.llm.util.Micros;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용 이력의 비용을 micro 단위 long으로 계산한다.
+ * 단가표는 ModelRegistry가 캐시한 {@link ModelPricing}을 사용하므로 계산 경로에서 DB 조회나 객체 할당이 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CostEngine {
+    
+    private final ModelRegistry modelRegistry;
+    private final ResponseCacheProperties responseCacheProperties;
+    
+    public long costMicros(Long modelId, long inputTokens, long outputTokens) {
+        return modelRegistry.findPricing(modelId)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.MODEL_NOT_FOUND))
+                .costMicros(inputTokens, outputTokens);
+    }
+    
+    /**
+     * 호출자가 비용을 보내면 그 값을 micro로 변환해 사용한다(기존 클라이언트 호환).
+     * 비용이 없으면 단가표로 계산한다. 입력/출력 중 하나만 보내면 나머지는 전체 토큰에서 뺀 값으로,
+     * 둘 다 없으면 전체 토큰을 입력으로 본다. 합이 전체 토큰 수와 맞지 않으면 INVALID_INPUT.
+     */
+    public long costMicros(UsageRecordRequest record) {
+        if (record.getCost() != null) {
+            return Micros.fromUnits(record.getCost());
+        }
+        if (!record.isTokenSplitValid()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "입력/출력 토큰 수의 합은 전체 토큰 수와 같아야 합니다");
+        }
+        return costMicros(record.getModelId(), record.resolvedInputTokens(), record.resolvedOutputTokens());
+    }
+    
+    /**
+     * 캐시 적중 이력에서 청구하지 않는 비용. 호출자가 비용을 직접 보낸 이력은 그 값을 그대로 청구한다.
+     */
+    public long savedMicros(UsageRecordRequest record, long costMicros) {
+        if (!Boolean.TRUE.equals(record.getCacheHit()) || record.getCost() != null) {
+            return 0L;
+        }
+        double ratio = Math.min(1.0, Math.max(0.0, responseCacheProperties.getHitCostRatio()));
+        return costMicros - Math.round(costMicros * ratio);
+    }
+}
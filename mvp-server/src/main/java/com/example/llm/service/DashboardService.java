@@ -1,18 +1,21 @@
 package com.example.llm.service;
 
 import com.example.llm.dto.response.DashboardResponse;
-import com.example.llm.entity.Team;
-import com.example.llm.entity.Usage;
+import com.example.llm.entity.RollupGranularity;
 import com.example.llm.repository.ModelRepository;
 import com.example.llm.repository.TeamRepository;
-import com.example.llm.repository.UsageRepository;
+import com.example.llm.repository.UsageRollupRepository;
+import com.example.llm.repository.projection.TeamQuotaSummary;
+import com.example.llm.repository.projection.TeamUsageAggregate;
+import com.example.llm.util.Micros;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @Transactional(readOnly = true)
@@ -21,51 +24,60 @@ public class DashboardService {
     
     private final TeamRepository teamRepository;
     private final ModelRepository modelRepository;
-    private final UsageRepository usageRepository;
+    private final UsageRollupRepository usageRollupRepository;
     
     public DashboardResponse getDashboard() {
-        List<Team> teams = teamRepository.findAll();
-        
-        // 기본 통계
-        Integer totalTeams = teams.size();
-        Long totalQuota = teams.stream().mapToLong(Team::getQuota).sum();
-        Long totalUsage = teams.stream().mapToLong(Team::getUsage).sum();
+        List<TeamQuotaSummary> teams = teamRepository.findAllQuotaSummaries();
         
         // 모델 통계
         Integer totalModels = (int) modelRepository.count();
-        Integer activeModels = modelRepository.findByIsActiveTrue().size();
+        Integer activeModels = (int) modelRepository.countByIsActiveTrue();
         
-        // 비용 계산
-        List<Usage> allUsages = usageRepository.findAll();
-        Double totalCost = allUsages.stream().mapToDouble(Usage::getCost).sum();
+        // 팀별 사용량 집계 (원본 usage 대신 일 단위 집계 테이블 사용)
+        Map<Long, TeamUsageAggregate> aggregatesByTeam = new HashMap<>();
+        for (TeamUsageAggregate aggregate : usageRollupRepository.aggregateByTeam(RollupGranularity.DAY)) {
+            aggregatesByTeam.put(aggregate.getTeamId(), aggregate);
+        }
         
-        // 팀별 사용 요약
-        List<DashboardResponse.TeamUsageSummary> teamUsageSummaries = teams.stream()
-                .map(team -> {
-                    Long teamId = team.getId();
-                    List<Usage> teamUsages = usageRepository.findByTeamId(teamId);
-                    
-                    return DashboardResponse.TeamUsageSummary.builder()
-                            .teamId(teamId)
-                            .teamName(team.getName())
-                            .quota(team.getQuota())
-                            .usage(team.getUsage())
-                            .usagePercentage(team.getQuota() > 0 
-                                    ? (team.getUsage() * 100.0 / team.getQuota()) 
-                                    : 0.0)
-                            .modelCount(teamUsages.size())
-                            .build();
-                })
-                .collect(Collectors.toList());
+        // 기본 통계 및 팀별 사용 요약 (비용은 micro 단위로 합산하고 응답에 넣을 때만 변환)
+        long totalQuota = 0L;
+        long totalUsage = 0L;
+        long totalCostMicros = 0L;
+        long totalSavedMicros = 0L;
+        List<DashboardResponse.TeamUsageSummary> teamUsageSummaries = new ArrayList<>(teams.size());
+        for (TeamQuotaSummary team : teams) {
+            totalQuota += team.getQuota();
+            totalUsage += team.getUsage();
+            
+            TeamUsageAggregate aggregate = aggregatesByTeam.get(team.getId());
+            if (aggregate != null) {
+                totalCostMicros += aggregate.getTotalCostMicros();
+                totalSavedMicros += aggregate.getTotalSavedMicros();
+            }
+            teamUsageSummaries.add(DashboardResponse.TeamUsageSummary.builder()
+                    .teamId(team.getId())
+                    .teamName(team.getName())
+                    .quota(team.getQuota())
+                    .usage(team.getUsage())
+                    .usagePercentage(team.getQuota() > 0 
+                            ? (team.getUsage() * 100.0 / team.getQuota()) 
+                            : 0.0)
+                    .modelCount(aggregate != null ? aggregate.getRequestCount().intValue() : 0)
+                    .totalTokens(aggregate != null ? aggregate.getTotalTokens() : 0L)
+                    .totalCost(Micros.toUnits(aggregate != null ? aggregate.getTotalCostMicros() : 0L))
+                    .cacheSavings(Micros.toUnits(aggregate != null ? aggregate.getTotalSavedMicros() : 0L))
+                    .build());
+        }
         
         return DashboardResponse.builder()
-                .totalTeams(totalTeams)
+                .totalTeams(teams.size())
                 .totalQuota(totalQuota)
                 .totalUsage(totalUsage)
-                .totalCost(totalCost)
+                .totalCost(Micros.toUnits(totalCostMicros))
+                .totalCacheSavings(Micros.toUnits(totalSavedMicros))
                 .totalModels(totalModels)
                 .activeModels(activeModels)
                 .teamUsageSummaries(teamUsageSummaries)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,346 @@
+package com.example.llm.service;
+
+import com.example.llm.config.GatewayProperties;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.gateway.ProviderResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 같은 모델·같은 파라미터의 /embeddings 요청을 잠깐 모아 input 배열 하나로 제공자에 보내고,
+ * 응답의 data를 요청별 입력 구간으로 나눠 돌려준다 (micro-batching).
+ * 대기 시간은 모델·파라미터별 최근 요청 간격(EWMA)으로 정한다. 간격이 maxWindow 이상이면(한가할 때) 기다려도 모일 요청이 없으므로 바로 보내고,
+ * 그보다 짧으면 maxWindow에서 간격을 뺀 만큼 기다린다. 요청이 드물수록 짧게, 붐빌수록 maxWindow에 가깝게 기다리며,
+ * 입력이 maxBatchSize만큼 모이면 기다리지 않고 바로 보낸다.
+ * 응답의 usage는 요청별 입력 문자 수 비율로 나누며, 나눈 값의 합은 제공자가 보고한 값과 같다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmbeddingBatcher implements MeterBinder {
+    
+    // 토큰 추정 (영문 기준 약 4자당 1토큰)
+    private static final int CHARS_PER_TOKEN = 4;
+    
+    // 요청 간격 EWMA에서 새 간격의 가중치
+    private static final double ALPHA = 0.2;
+    
+    private final GatewayProperties gatewayProperties;
+    private final ObjectMapper objectMapper;
+    
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "embedding-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // 키는 모델과 파라미터 조합이라 수가 적으므로 비어도 지우지 않는다
+    private final Map<Key, Queue> queues = new ConcurrentHashMap<>();
+    
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedRequests = new LongAdder();
+    
+    /**
+     * 요청을 배치에 넣고 이 요청의 입력에 해당하는 응답을 돌려준다.
+     * 문자열 입력이 아니거나 입력이 maxBatchSize 이상인 요청, 합치기를 끈 경우에는 sender로 그대로 보낸다.
+     * sender는 배치의 첫 요청 것을 쓰며, 같은 모델로 보내는 함수여야 한다.
+     */
+    public CompletableFuture<ProviderResponse> submit(LLMModel model, ObjectNode request,
+                                                      Function<ObjectNode, CompletableFuture<ProviderResponse>> sender) {
+        GatewayProperties.Batching batching = gatewayProperties.getBatching();
+        List<String> inputs = batching.isEnabled() ? textInputs(request.path("input")) : null;
+        if (inputs == null || inputs.size() >= batching.getMaxBatchSize()) {
+            return sender.apply(request);
+        }
+        ObjectNode parameters = parameters(request);
+        Queue queue = queues.computeIfAbsent(new Key(model.getId(), RequestHash.of(parameters)), key -> new Queue());
+        Pending pending = new Pending(request, parameters, inputs, sender, new CompletableFuture<>());
+        queue.add(pending, batching);
+        return pending.result();
+    }
+    
+    /**
+     * 할당량 예약에 쓰는 입력 토큰 추정치 (문자열은 문자 수, 토큰 배열은 원소 수 기준).
+     */
+    public static long estimateTokens(JsonNode request) {
+        JsonNode input = request.path("input");
+        if (input.isTextual()) {
+            return Math.max(1, (input.asText().length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN);
+        }
+        long tokens = 0;
+        for (JsonNode item : input) {
+            if (item.isTextual()) {
+                // 입력마다 따로 토큰화되므로 입력별로 올림한다
+                tokens += (item.asText().length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+            } else if (item.isArray()) {
+                tokens += item.size();
+            } else {
+                tokens++;
+            }
+        }
+        return Math.max(1, tokens);
+    }
+    
+    /**
+     * 요청 간격 EWMA로 정한 대기 시간. 간격을 모르거나 maxWindow 이상이면 0이다.
+     * 기다리는 동안 모일 것으로 기대하는 요청 수(대기 시간 / 간격)가 적을수록 대기로 늘어나는 지연에 비해 얻는 것이 적으므로 짧게 기다린다.
+     */
+    static long windowNanos(double intervalNanos, long maxWindowNanos) {
+        if (intervalNanos < 0 || intervalNanos >= maxWindowNanos) {
+            return 0;
+        }
+        return maxWindowNanos - (long) intervalNanos;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("llm.gateway.batches", batches, LongAdder::sum)
+                .description("Upstream embedding calls sent by the batcher")
+                .register(registry);
+        FunctionCounter.builder("llm.gateway.batched.requests", batchedRequests, LongAdder::sum)
+                .description("Embedding requests sent through the batcher")
+                .register(registry);
+    }
+    
+    // 이미 예약한 대기는 종료 중에도 실행되어 모은 요청을 보낸다
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+    
+    // 문자열 또는 문자열 배열 입력만 모은다. 토큰 배열 입력은 null
+    private static List<String> textInputs(JsonNode input) {
+        if (input.isTextual()) {
+            return List.of(input.asText());
+        }
+        if (!input.isArray() || input.isEmpty()) {
+            return null;
+        }
+        List<String> texts = new ArrayList<>(input.size());
+        for (JsonNode item : input) {
+            if (!item.isTextual()) {
+                return null;
+            }
+            texts.add(item.asText());
+        }
+        return texts;
+    }
+    
+    // 입력과 최종 사용자 식별자(user)를 뺀 파라미터. 이 값이 같은 요청끼리만 모은다
+    private ObjectNode parameters(ObjectNode request) {
+        ObjectNode parameters = objectMapper.createObjectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = request.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!field.getKey().equals("input") && !field.getKey().equals("user")) {
+                parameters.set(field.getKey(), field.getValue());
+            }
+        }
+        return parameters;
+    }
+    
+    private void dispatch(List<Pending> batch) {
+        batches.increment();
+        batchedRequests.add(batch.size());
+        Pending first = batch.get(0);
+        if (batch.size() == 1) {
+            send(first, first.request()).whenComplete((response, failure) -> {
+                if (failure != null) {
+                    first.result().completeExceptionally(failure);
+                } else {
+                    first.result().complete(response);
+                }
+            });
+            return;
+        }
+        ObjectNode body = first.parameters().deepCopy();
+        ArrayNode input = body.putArray("input");
+        batch.forEach(pending -> pending.inputs().forEach(input::add));
+        send(first, body).whenComplete((response, failure) -> {
+            if (failure != null) {
+                batch.forEach(pending -> pending.result().completeExceptionally(failure));
+            } else {
+                split(batch, response);
+            }
+        });
+    }
+    
+    private static CompletableFuture<ProviderResponse> send(Pending pending, ObjectNode body) {
+        try {
+            return pending.sender().apply(body);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    // 오류 응답은 모든 요청에 그대로, 성공 응답은 요청마다 자기 입력 구간의 data와 나눈 usage로 돌려준다
+    private void split(List<Pending> batch, ProviderResponse response) {
+        if (!response.isSuccessful()) {
+            batch.forEach(pending -> pending.result().complete(response));
+            return;
+        }
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(response.getBody());
+        } catch (IOException e) {
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        }
+        long totalWeight = batch.stream().mapToLong(Pending::weight).sum();
+        int offset = 0;
+        long weightOffset = 0;
+        for (Pending pending : batch) {
+            try {
+                ObjectNode part = part(root, offset, pending.inputs().size(), weightOffset,
+                        weightOffset + pending.weight(), totalWeight);
+                pending.result().complete(new ProviderResponse(response.getStatus(), response.getContentType(),
+                        objectMapper.writeValueAsBytes(part)));
+            } catch (IOException | RuntimeException e) {
+                pending.result().completeExceptionally(e);
+            }
+            offset += pending.inputs().size();
+            weightOffset += pending.weight();
+        }
+    }
+    
+    private ObjectNode part(JsonNode root, int from, int count, long weightFrom, long weightTo, long totalWeight) {
+        ObjectNode part = objectMapper.createObjectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = root.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            switch (field.getKey()) {
+                case "data" -> {
+                    ArrayNode data = part.putArray("data");
+                    int position = 0;
+                    for (JsonNode item : field.getValue()) {
+                        int index = item.path("index").asInt(position++);
+                        if (index >= from && index < from + count && item.isObject()) {
+                            ObjectNode copy = data.addObject();
+                            copy.setAll((ObjectNode) item);
+                            copy.put("index", index - from);
+                        }
+                    }
+                }
+                case "usage" -> {
+                    ObjectNode usage = part.putObject("usage");
+                    field.getValue().fields().forEachRemaining(counter -> {
+                        if (counter.getValue().isIntegralNumber()) {
+                            // 누적 비율을 내림해 나누면 요청별 몫의 합이 전체와 같다
+                            long total = counter.getValue().asLong();
+                            usage.put(counter.getKey(),
+                                    total * weightTo / totalWeight - total * weightFrom / totalWeight);
+                        }
+                    });
+                }
+                default -> part.set(field.getKey(), field.getValue());
+            }
+        }
+        return part;
+    }
+    
+    /**
+     * 모델·파라미터 하나의 대기 중인 배치와 요청 간격 통계.
+     */
+    private final class Queue {
+        
+        private List<Pending> pending = new ArrayList<>();
+        private int inputs;
+        private ScheduledFuture<?> timer;
+        private long lastArrivalNanos;
+        private double intervalNanos = -1;
+        
+        void add(Pending request, GatewayProperties.Batching batching) {
+            long maxWindowNanos = batching.getMaxWindow().toNanos();
+            int maxBatchSize = batching.getMaxBatchSize();
+            List<List<Pending>> ready = new ArrayList<>(2);
+            synchronized (this) {
+                long now = System.nanoTime();
+                if (lastArrivalNanos != 0) {
+                    // 한가한 구간의 긴 간격 하나가 EWMA를 오래 끌어올리지 않도록 maxWindow의 2배로 자른다
+                    double gap = Math.min(now - lastArrivalNanos, 2 * maxWindowNanos);
+                    intervalNanos = intervalNanos < 0 ? gap : intervalNanos + ALPHA * (gap - intervalNanos);
+                }
+                lastArrivalNanos = now;
+                
+                if (!pending.isEmpty() && inputs + request.inputs().size() > maxBatchSize) {
+                    ready.add(drain());
+                }
+                pending.add(request);
+                inputs += request.inputs().size();
+                if (inputs >= maxBatchSize) {
+                    ready.add(drain());
+                } else if (pending.size() == 1) {
+                    long windowNanos = windowNanos(intervalNanos, maxWindowNanos);
+                    if (windowNanos == 0) {
+                        ready.add(drain());
+                    } else {
+                        List<Pending> scheduled = pending;
+                        timer = scheduler.schedule(() -> flush(scheduled), windowNanos, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+            ready.forEach(EmbeddingBatcher.this::dispatch);
+        }
+        
+        private void flush(List<Pending> scheduled) {
+            List<Pending> batch;
+            synchronized (this) {
+                // 이미 꽉 차서 보낸 배치의 대기는 무시한다
+                if (pending != scheduled) {
+                    return;
+                }
+                batch = drain();
+            }
+            dispatch(batch);
+        }
+        
+        private List<Pending> drain() {
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            List<Pending> batch = pending;
+            pending = new ArrayList<>();
+            inputs = 0;
+            return batch;
+        }
+    }
+    
+    private record Pending(ObjectNode request, ObjectNode parameters, List<String> inputs,
+                           Function<ObjectNode, CompletableFuture<ProviderResponse>> sender,
+                           CompletableFuture<ProviderResponse> result) {
+        
+        // usage를 나누는 비율. 빈 문자열 입력도 몫이 0이 되지 않도록 입력마다 1을 더한다
+        long weight() {
+            long chars = 0;
+            for (String input : inputs) {
+                chars += input.length() + 1;
+            }
+            return chars;
+        }
+    }
+    
+    private record Key(Long modelId, RequestHash parameters) {
+    }
+}
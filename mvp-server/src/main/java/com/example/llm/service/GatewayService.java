@@ -0,0 +1,507 @@
+package com.example.llm.service;
+
+import com.example.llm.config.GatewayProperties;
+import com.example.llm.config.ThreadingConfig;
+import com.example.llm.dto.request.UsageRecordRequest;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.gateway.ProviderClient;
+import com.example.llm.gateway.ProviderResponse;
+import com.example.llm.gateway.SseRelay;
+import com.example.llm.gateway.StreamUsageCounter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * OpenAI 호환 요청을 등록된 모델의 제공자로 전달한다.
+ * 속도 제한(RateLimiter) → 할당량 예약 → 제공자 호출 → 실제 토큰으로 확정 → 사용 이력 기록 순서로 처리한다.
+ * model에 모델 클래스를 지정하면 ModelRouter가 고른 모델로 보내고, 제공자 오류가 나면 다음 후보 모델로 다시 보낸다.
+ * 제공자 호출은 ProviderGuard의 자리를 얻어야 하며, 회로가 열렸거나 동시 호출이 상한인 후보는 호출하지 않고 건너뛴다.
+ * 응답 캐시를 켠 팀의 스트리밍이 아닌 요청은 ResponseCache를 먼저 확인하고, 적중하면 제공자를 호출하지 않고 바로 응답하되,
+ * 원래 토큰 수에 적중 비용 비율(response-cache.hit-cost-ratio)을 곱한 만큼 팀 할당량과 팀 RPM/TPM에 반영한다.
+ * 같은 요청이 이미 제공자를 호출하고 있으면 RequestCoalescer로 그 응답을 함께 받는다.
+ * 임베딩 요청은 EmbeddingBatcher로 같은 모델의 다른 요청과 모아 보낸다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GatewayService {
+    
+    private static final String CHAT_COMPLETIONS_PATH = "/chat/completions";
+    private static final String EMBEDDINGS_PATH = "/embeddings";
+    
+    private final ModelRegistry modelRegistry;
+    private final QuotaEnforcer quotaEnforcer;
+    private final RateLimiter rateLimiter;
+    private final ModelRouter modelRouter;
+    private final ProviderGuard providerGuard;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final UsageIngestionService usageIngestionService;
+    private final ProviderClient providerClient;
+    private final GatewayProperties gatewayProperties;
+    private final ObjectMapper objectMapper;
+    
+    @Qualifier(ThreadingConfig.SSE_FOLLOWER_EXECUTOR)
+    private final Executor sseFollowerExecutor;
+    
+    public CompletableFuture<ResponseEntity<byte[]>> chatCompletions(Long teamId, ObjectNode request) {
+        List<LLMModel> candidates = resolveModels(teamId, request);
+        ResponseCache.Fingerprint fingerprint = responseCache.fingerprint(teamId, request);
+        if (fingerprint != null) {
+            Optional<ResponseCache.Hit> hit = responseCache.find(fingerprint, candidates);
+            if (hit.isPresent()) {
+                return CompletableFuture.completedFuture(serveCached(teamId, hit.get()));
+            }
+        }
+        long reservedTokens = reserveTokens(teamId, candidates.get(0), request);
+        Consumer<RequestCoalescer.Completed> onSettled = completed -> {
+            if (fingerprint != null) {
+                responseCache.put(fingerprint, completed.model(), completed.response().getBody(),
+                        completed.response().getContentType(), completed.totalTokens(), completed.promptTokens());
+            }
+        };
+        RequestCoalescer.Flight<RequestCoalescer.Completed> flight = requestCoalescer.call(request);
+        if (flight == null) {
+            return post(teamId, request, candidates, 0, reservedTokens, onSettled);
+        }
+        if (!flight.isLeader()) {
+            return follow(teamId, request, candidates, reservedTokens, onSettled, flight);
+        }
+        CompletableFuture<ResponseEntity<byte[]>> response;
+        try {
+            response = post(teamId, request, candidates, 0, reservedTokens, onSettled.andThen(flight::publish));
+        } catch (RuntimeException e) {
+            flight.close();
+            throw e;
+        }
+        return response.whenComplete((result, failure) -> flight.close());
+    }
+    
+    // 같은 요청의 제공자 호출이 끝나기를 기다려 응답을 함께 받는다. 그 호출이 실패하면 직접 호출한다
+    private CompletableFuture<ResponseEntity<byte[]>> follow(Long teamId, ObjectNode request, List<LLMModel> candidates,
+                                                             long reservedTokens,
+                                                             Consumer<RequestCoalescer.Completed> onSettled,
+                                                             RequestCoalescer.Flight<RequestCoalescer.Completed> flight) {
+        return flight.result().thenCompose(completed -> {
+            if (completed == null) {
+                return post(teamId, request, candidates, 0, reservedTokens, onSettled);
+            }
+            // 예약은 첫 후보 모델로 했으므로 분당 한도도 그 모델에서 보정한다
+            quotaEnforcer.commit(teamId, reservedTokens, completed.totalTokens());
+            rateLimiter.settle(teamId, candidates.get(0), reservedTokens, completed.totalTokens());
+            recordUsage(teamId, completed.model(), completed.totalTokens(), completed.promptTokens(), false);
+            onSettled.accept(completed);
+            ProviderResponse response = completed.response();
+            return CompletableFuture.completedFuture(ResponseEntity.status(response.getStatus())
+                    .header(HttpHeaders.CONTENT_TYPE, response.getContentType())
+                    .body(response.getBody()));
+        });
+    }
+    
+    private CompletableFuture<ResponseEntity<byte[]>> post(Long teamId, ObjectNode request, List<LLMModel> candidates,
+                                                           int attempt, long reservedTokens,
+                                                           Consumer<RequestCoalescer.Completed> onSettled) {
+        LLMModel model = candidates.get(attempt);
+        ProviderGuard.Permit permit;
+        try {
+            permit = providerGuard.acquire(model);
+        } catch (BusinessException e) {
+            int next = failover(candidates, attempt, reservedTokens);
+            if (next >= 0) {
+                return post(teamId, request, candidates, next, reservedTokens, onSettled);
+            }
+            throw releaseOnFailure(teamId, model, reservedTokens, e);
+        }
+        long startNanos = System.nanoTime();
+        CompletableFuture<ProviderResponse> upstream;
+        try {
+            upstream = providerClient.post(model, CHAT_COMPLETIONS_PATH, requestBody(request, model));
+        } catch (JsonProcessingException | RuntimeException e) {
+            permit.cancel();
+            throw releaseOnFailure(teamId, model, reservedTokens, e);
+        }
+        
+        return upstream.handle((response, failure) -> {
+            boolean providerError = failure != null || isProviderError(response.getStatus());
+            permit.complete(providerError);
+            recordOutcome(model, providerError, startNanos);
+            if (providerError) {
+                int next = failover(candidates, attempt, reservedTokens);
+                if (next >= 0) {
+                    return post(teamId, request, candidates, next, reservedTokens, onSettled);
+                }
+            }
+            if (failure != null) {
+                throw providerUnavailable(teamId, model, reservedTokens, failure);
+            }
+            if (!response.isSuccessful()) {
+                releaseAfterCall(teamId, model, reservedTokens);
+            } else {
+                settle(teamId, model, reservedTokens, response, onSettled);
+            }
+            return CompletableFuture.completedFuture(ResponseEntity.status(response.getStatus())
+                    .header(HttpHeaders.CONTENT_TYPE, response.getContentType())
+                    .body(response.getBody()));
+        }).thenCompose(Function.identity());
+    }
+    
+    /**
+     * stream=true 요청. 제공자가 성공 응답 헤더를 보내면 {@link SseRelay}로, 오류 응답이면 상태 코드와 본문을 그대로 반환한다.
+     * 토큰은 청크마다 누적하고 스트림이 끝날 때 할당량 확정과 사용 이력 기록을 한다.
+     * 다른 모델로의 장애 대체는 응답 헤더를 받기 전까지만 한다.
+     * 회로 차단기에는 응답 헤더까지의 결과를 반영하고, 제공자의 동시 호출 자리는 스트림이 끝날 때 돌려준다.
+     * 같은 요청의 스트림이 진행 중이면 그 스트림에 합류해 이미 보낸 이벤트부터 함께 받는다.
+     */
+    public CompletableFuture<Object> streamChatCompletions(Long teamId, ObjectNode request) {
+        List<LLMModel> candidates = resolveModels(teamId, request);
+        long reservedTokens = reserveTokens(teamId, candidates.get(0), request);
+        // OpenAI 호환 제공자가 마지막 청크에 정확한 usage를 포함하도록 요청
+        if (!request.has("stream_options")) {
+            request.putObject("stream_options").put("include_usage", true);
+        }
+        StreamUsageCounter usageCounter = new StreamUsageCounter(StreamUsageCounter.estimatePromptTokens(request));
+        RequestCoalescer.Flight<RequestCoalescer.SharedStream> flight = requestCoalescer.stream(request);
+        if (flight == null) {
+            return stream(teamId, request, candidates, 0, reservedTokens, usageCounter, null);
+        }
+        if (!flight.isLeader()) {
+            return followStream(teamId, request, candidates, reservedTokens, usageCounter, flight);
+        }
+        CompletableFuture<Object> response;
+        try {
+            response = stream(teamId, request, candidates, 0, reservedTokens, usageCounter, flight);
+        } catch (RuntimeException e) {
+            flight.close();
+            throw e;
+        }
+        // 스트림을 열었으면 스트림이 끝날 때 닫는다
+        return response.whenComplete((result, failure) -> {
+            if (!(result instanceof SseRelay)) {
+                flight.close();
+            }
+        });
+    }
+    
+    private CompletableFuture<Object> followStream(Long teamId, ObjectNode request, List<LLMModel> candidates,
+                                                   long reservedTokens, StreamUsageCounter usageCounter,
+                                                   RequestCoalescer.Flight<RequestCoalescer.SharedStream> flight) {
+        return flight.result().thenCompose(shared -> {
+            if (shared != null) {
+                SseEmitter emitter = new SseEmitter(gatewayProperties.getStreamTimeout().toMillis());
+                boolean joined = shared.relay().join(emitter, totalTokens -> {
+                    quotaEnforcer.commit(teamId, reservedTokens, totalTokens);
+                    rateLimiter.settle(teamId, candidates.get(0), reservedTokens, totalTokens);
+                    recordUsage(teamId, shared.model(), totalTokens, shared.relay().getPromptTokens(), false);
+                });
+                if (joined) {
+                    return CompletableFuture.<Object>completedFuture(emitter);
+                }
+                // 이미 끝났거나 너무 길어 합류할 수 없는 스트림은 목록에서 빼고 직접 호출한다
+                flight.close();
+            }
+            return stream(teamId, request, candidates, 0, reservedTokens, usageCounter, null);
+        });
+    }
+    
+    private CompletableFuture<Object> stream(Long teamId, ObjectNode request, List<LLMModel> candidates, int attempt,
+                                             long reservedTokens, StreamUsageCounter usageCounter,
+                                             RequestCoalescer.Flight<RequestCoalescer.SharedStream> flight) {
+        LLMModel model = candidates.get(attempt);
+        ProviderGuard.Permit permit;
+        try {
+            permit = providerGuard.acquire(model);
+        } catch (BusinessException e) {
+            int next = failover(candidates, attempt, reservedTokens);
+            if (next >= 0) {
+                return stream(teamId, request, candidates, next, reservedTokens, usageCounter, flight);
+            }
+            throw releaseOnFailure(teamId, model, reservedTokens, e);
+        }
+        long startNanos = System.nanoTime();
+        CompletableFuture<HttpResponse<Flow.Publisher<List<ByteBuffer>>>> upstream;
+        try {
+            upstream = providerClient.stream(model, CHAT_COMPLETIONS_PATH, requestBody(request, model));
+        } catch (JsonProcessingException | RuntimeException e) {
+            permit.cancel();
+            throw releaseOnFailure(teamId, model, reservedTokens, e);
+        }
+        
+        return upstream.handle((response, failure) -> {
+            boolean providerError = failure != null || isProviderError(response.statusCode());
+            permit.record(providerError);
+            recordOutcome(model, providerError, startNanos);
+            if (providerError) {
+                permit.release();
+                int next = failover(candidates, attempt, reservedTokens);
+                if (next >= 0) {
+                    if (response != null) {
+                        response.body().subscribe(HttpResponse.BodySubscribers.discarding());
+                    }
+                    return stream(teamId, request, candidates, next, reservedTokens, usageCounter, flight);
+                }
+            }
+            if (failure != null) {
+                throw providerUnavailable(teamId, model, reservedTokens, failure);
+            }
+            if (response.statusCode() / 100 != 2) {
+                permit.release();
+                releaseAfterCall(teamId, model, reservedTokens);
+                return readErrorResponse(response);
+            }
+            SseRelay relay = new SseRelay(
+                    gatewayProperties.getStreamTimeout().toMillis(),
+                    response.body(),
+                    objectMapper,
+                    usageCounter,
+                    gatewayProperties.getMaxStreamEventBytes(),
+                    flight != null ? gatewayProperties.getCoalescing().getMaxStreamReplayBytes() : 0,
+                    sseFollowerExecutor,
+                    totalTokens -> {
+                        if (flight != null) {
+                            flight.close();
+                        }
+                        permit.release();
+                        quotaEnforcer.commit(teamId, reservedTokens, totalTokens);
+                        rateLimiter.settle(teamId, model, reservedTokens, totalTokens);
+                        recordUsage(teamId, model, totalTokens, usageCounter.getPromptTokens(), false);
+                    });
+            if (flight != null) {
+                flight.publish(new RequestCoalescer.SharedStream(model, relay));
+            }
+            return CompletableFuture.<Object>completedFuture(relay);
+        }).thenCompose(Function.identity());
+    }
+    
+    /**
+     * 임베딩 요청. 같은 모델·파라미터의 요청과 모아 제공자 호출 하나로 보내고 이 요청의 입력에 해당하는 결과만 돌려준다.
+     * 할당량은 입력 길이로 추정해 예약하고, 제공자가 보고한 usage 중 이 요청의 몫으로 확정한다.
+     * 모델마다 벡터 공간이 다르므로 모델 클래스를 지정해도 라우팅된 첫 모델로만 보내고 다른 모델로 대체하지 않는다.
+     */
+    public CompletableFuture<ResponseEntity<byte[]>> embeddings(Long teamId, ObjectNode request) {
+        LLMModel model = resolveModels(teamId, request).get(0);
+        long reservedTokens = reserveTokens(teamId, model, EmbeddingBatcher.estimateTokens(request));
+        CompletableFuture<ProviderResponse> upstream;
+        try {
+            upstream = embeddingBatcher.submit(model, request, body -> callProvider(model, EMBEDDINGS_PATH, body));
+        } catch (RuntimeException e) {
+            throw releaseOnFailure(teamId, model, reservedTokens, e);
+        }
+        return upstream.handle((response, failure) -> {
+            if (failure != null) {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure;
+                // 회로 차단기나 동시 호출 상한에 막혀 제공자를 호출하지 않았다
+                if (cause instanceof BusinessException e) {
+                    throw new CompletionException(releaseOnFailure(teamId, model, reservedTokens, e));
+                }
+                throw providerUnavailable(teamId, model, reservedTokens, cause);
+            }
+            if (!response.isSuccessful()) {
+                releaseAfterCall(teamId, model, reservedTokens);
+            } else {
+                settle(teamId, model, reservedTokens, response, completed -> { });
+            }
+            return ResponseEntity.status(response.getStatus())
+                    .header(HttpHeaders.CONTENT_TYPE, response.getContentType())
+                    .body(response.getBody());
+        });
+    }
+    
+    // 제공자 호출 한 번. 배치로 보내는 호출도 ProviderGuard의 자리 하나와 회로 차단기 결과 하나로 센다
+    private CompletableFuture<ProviderResponse> callProvider(LLMModel model, String path, ObjectNode body) {
+        ProviderGuard.Permit permit;
+        try {
+            permit = providerGuard.acquire(model);
+        } catch (BusinessException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long startNanos = System.nanoTime();
+        CompletableFuture<ProviderResponse> upstream;
+        try {
+            upstream = providerClient.post(model, path, requestBody(body, model));
+        } catch (JsonProcessingException | RuntimeException e) {
+            permit.cancel();
+            return CompletableFuture.failedFuture(e);
+        }
+        return upstream.whenComplete((response, failure) -> {
+            boolean providerError = failure != null || isProviderError(response.getStatus());
+            permit.complete(providerError);
+            recordOutcome(model, providerError, startNanos);
+        });
+    }
+    
+    // 활성 모델 이름이면 그 모델만, 아니면 모델 클래스로 보고 ModelRouter가 정한 순서의 후보 목록을 반환한다
+    private List<LLMModel> resolveModels(Long teamId, ObjectNode request) {
+        String modelName = request.path("model").asText(null);
+        if (modelName == null || modelName.isBlank()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "model은 필수입니다");
+        }
+        Optional<LLMModel> model = modelRegistry.findActiveByName(modelName);
+        if (model.isPresent()) {
+            return List.of(model.get());
+        }
+        return modelRouter.route(teamId, modelName);
+    }
+    
+    // 라우팅된 요청은 제공자가 알아듣도록 실제 모델 이름으로 바꿔 보낸다
+    private byte[] requestBody(ObjectNode request, LLMModel model) throws JsonProcessingException {
+        request.put("model", model.getName());
+        return objectMapper.writeValueAsBytes(request);
+    }
+    
+    // 연결 실패, 5xx, 제공자 측 속도 제한(429)은 다른 모델로 대체할 수 있는 오류로 본다
+    private static boolean isProviderError(int status) {
+        return status >= 500 || status == 429;
+    }
+    
+    private void recordOutcome(LLMModel model, boolean providerError, long startNanos) {
+        if (providerError) {
+            modelRouter.recordFailure(model);
+        } else {
+            modelRouter.recordSuccess(model, System.nanoTime() - startNanos);
+        }
+    }
+    
+    // 다음 후보로 모델 한도 차감분을 옮긴다. 모델 한도에 막힌 후보는 건너뛰고, 남은 후보가 없으면 -1.
+    // 회로 차단기나 동시 호출 상한에 막힌 후보도 같은 방법으로 다음 후보로 넘긴다
+    private int failover(List<LLMModel> candidates, int attempt, long reservedTokens) {
+        LLMModel from = candidates.get(attempt);
+        for (int next = attempt + 1; next < candidates.size(); next++) {
+            LLMModel to = candidates.get(next);
+            if (rateLimiter.tryTransfer(from, to, reservedTokens)) {
+                modelRouter.recordFailover(from, to);
+                return next;
+            }
+        }
+        return -1;
+    }
+    
+    // TPM 한도도 할당량과 같이 max_tokens로 먼저 차감하고 응답 후 실제 토큰으로 보정한다
+    private long reserveTokens(Long teamId, LLMModel model, ObjectNode request) {
+        long maxTokens = request.path("max_tokens").asLong(gatewayProperties.getDefaultReserveTokens());
+        return reserveTokens(teamId, model, maxTokens);
+    }
+    
+    private long reserveTokens(Long teamId, LLMModel model, long reservedTokens) {
+        rateLimiter.acquire(teamId, model, reservedTokens);
+        try {
+            quotaEnforcer.reserve(teamId, reservedTokens);
+        } catch (RuntimeException e) {
+            rateLimiter.refund(teamId, model, reservedTokens);
+            throw e;
+        }
+        return reservedTokens;
+    }
+    
+    // 제공자를 호출하기 전에 실패했으므로 요청 수까지 모두 되돌린다
+    private RuntimeException releaseOnFailure(Long teamId, LLMModel model, long reservedTokens, Exception e) {
+        quotaEnforcer.release(teamId, reservedTokens);
+        rateLimiter.refund(teamId, model, reservedTokens);
+        return e instanceof BusinessException be ? be : new BusinessException(ErrorCode.INVALID_INPUT);
+    }
+    
+    private CompletionException providerUnavailable(Long teamId, LLMModel model, long reservedTokens,
+                                                    Throwable failure) {
+        releaseAfterCall(teamId, model, reservedTokens);
+        log.warn("Provider call failed for model {}: {}", model.getName(), failure.getMessage());
+        return new CompletionException(new BusinessException(ErrorCode.PROVIDER_UNAVAILABLE));
+    }
+    
+    // 제공자 호출은 일어났으므로 요청 수는 남기고 예약한 토큰만 돌려준다
+    private void releaseAfterCall(Long teamId, LLMModel model, long reservedTokens) {
+        quotaEnforcer.release(teamId, reservedTokens);
+        rateLimiter.settle(teamId, model, reservedTokens, 0L);
+    }
+    
+    private CompletableFuture<Object> readErrorResponse(HttpResponse<Flow.Publisher<List<ByteBuffer>>> response) {
+        HttpResponse.BodySubscriber<byte[]> errorBody = HttpResponse.BodySubscribers.ofByteArray();
+        response.body().subscribe(errorBody);
+        return errorBody.getBody().toCompletableFuture().thenApply(body -> ResponseEntity.status(response.statusCode())
+                .header(HttpHeaders.CONTENT_TYPE, ProviderClient.contentType(response))
+                .body(body));
+    }
+    
+    private void settle(Long teamId, LLMModel model, long reservedTokens, ProviderResponse response,
+                        Consumer<RequestCoalescer.Completed> onSettled) {
+        JsonNode usage = readUsage(response.getBody());
+        // 제공자가 사용량을 주지 않으면 예약한 토큰을 사용량으로, 입력/출력 구분이 없으면 전부 입력으로 본다
+        long totalTokens = usage.path("total_tokens").asLong(reservedTokens);
+        long promptTokens = usage.path("prompt_tokens").asLong(totalTokens);
+        quotaEnforcer.commit(teamId, reservedTokens, totalTokens);
+        rateLimiter.settle(teamId, model, reservedTokens, totalTokens);
+        recordUsage(teamId, model, totalTokens, promptTokens, false);
+        onSettled.accept(new RequestCoalescer.Completed(model, response, totalTokens, promptTokens));
+    }
+    
+    // 제공자를 호출하지 않았어도 팀 한도와 할당량은 똑같이 적용하고, 토큰은 hit-cost-ratio만큼만 청구한다
+    private ResponseEntity<byte[]> serveCached(Long teamId, ResponseCache.Hit hit) {
+        long chargedTokens = responseCache.chargedTokens(hit);
+        quotaEnforcer.reserve(teamId, chargedTokens);
+        try {
+            rateLimiter.acquireTeam(teamId, chargedTokens);
+        } catch (RuntimeException e) {
+            quotaEnforcer.release(teamId, chargedTokens);
+            throw e;
+        }
+        quotaEnforcer.commit(teamId, chargedTokens, chargedTokens);
+        recordUsage(teamId, hit.model(), hit.totalTokens(), hit.promptTokens(), true);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, hit.contentType())
+                .body(hit.body());
+    }
+    
+    private JsonNode readUsage(byte[] responseBody) {
+        try {
+            return objectMapper.readTree(responseBody).path("usage");
+        } catch (IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+    
+    // 비용은 수집 flush 스레드에서 모델 단가표로 계산한다
+    private void recordUsage(Long teamId, LLMModel model, long totalTokens, long promptTokens, boolean cacheHit) {
+        long inputTokens = Math.min(promptTokens, totalTokens);
+        UsageRecordRequest record = UsageRecordRequest.builder()
+                .teamId(teamId)
+                .modelId(model.getId())
+                .tokens((int) totalTokens)
+                .inputTokens((int) inputTokens)
+                .outputTokens((int) (totalTokens - inputTokens))
+                .cacheHit(cacheHit)
+                .usedAt(LocalDateTime.now())
+                .build();
+        try {
+            usageIngestionService.submit(List.of(record));
+        } catch (BusinessException e) {
+            // 응답은 이미 받았으므로 호출자에게 실패를 전파하지 않는다
+            log.error("Usage record dropped for team {} / model {} ({} tokens): {}",
+                    teamId, model.getId(), totalTokens, e.getMessage());
+        }
+    }
+}
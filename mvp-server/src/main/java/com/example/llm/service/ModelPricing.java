@@ -0,0 +1,75 @@
+package com.example.llm.service;
+
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.ModelPriceTier;
+import com.example.llm.util.Micros;
+
+import java.util.List;
+
+/**
+ * 모델 단가표의 불변 사본. 구간 경계와 단가를 long 배열로 들고 있어 비용 계산 시 객체를 할당하지 않는다.
+ * 0번 구간은 모델 기본 단가이고, 이후 구간은 입력 토큰 하한 오름차순이다.
+ * 요청의 입력 토큰 수로 구간을 고르고 입력/출력 토큰 모두 그 구간의 단가로 계산한다.
+ */
+public final class ModelPricing {
+    
+    private static final long HALF_PRICE_UNIT = Micros.TOKENS_PER_PRICE / 2;
+    
+    private final long[] minInputTokens;
+    private final long[] inputMicrosPerMillion;
+    private final long[] outputMicrosPerMillion;
+    
+    private ModelPricing(long[] minInputTokens, long[] inputMicrosPerMillion, long[] outputMicrosPerMillion) {
+        this.minInputTokens = minInputTokens;
+        this.inputMicrosPerMillion = inputMicrosPerMillion;
+        this.outputMicrosPerMillion = outputMicrosPerMillion;
+    }
+    
+    public static ModelPricing flat(long inputMicrosPerMillion, long outputMicrosPerMillion) {
+        return new ModelPricing(new long[]{0L}, new long[]{inputMicrosPerMillion}, new long[]{outputMicrosPerMillion});
+    }
+    
+    public static ModelPricing of(LLMModel model) {
+        List<ModelPriceTier> tiers = model.getPriceTiers().stream()
+                .sorted((a, b) -> Long.compare(a.getMinInputTokens(), b.getMinInputTokens()))
+                .toList();
+        int size = tiers.size() + 1;
+        long[] minInputTokens = new long[size];
+        long[] inputPrices = new long[size];
+        long[] outputPrices = new long[size];
+        inputPrices[0] = model.getInputMicrosPerMillion() != null
+                ? model.getInputMicrosPerMillion() : Micros.perMillionTokens(model.getCostPerToken());
+        outputPrices[0] = model.getOutputMicrosPerMillion() != null
+                ? model.getOutputMicrosPerMillion() : Micros.perMillionTokens(model.getCostPerToken());
+        for (int i = 1; i < size; i++) {
+            ModelPriceTier tier = tiers.get(i - 1);
+            minInputTokens[i] = tier.getMinInputTokens();
+            inputPrices[i] = tier.getInputMicrosPerMillion();
+            outputPrices[i] = tier.getOutputMicrosPerMillion();
+        }
+        return new ModelPricing(minInputTokens, inputPrices, outputPrices);
+    }
+    
+    /**
+     * 요청 한 건의 비용(micro). 입력·출력 비용을 더한 뒤 한 번만 반올림(half-up)한다.
+     * 건별 비용이 정수로 확정되므로 이후 합산은 순서와 관계없이 정확하다.
+     * 토큰 수가 비정상적으로 커서 long 범위를 넘으면 ArithmeticException을 던진다.
+     */
+    public long costMicros(long inputTokens, long outputTokens) {
+        int tier = tierIndex(inputTokens);
+        long scaled = Math.addExact(
+                Math.multiplyExact(inputTokens, inputMicrosPerMillion[tier]),
+                Math.multiplyExact(outputTokens, outputMicrosPerMillion[tier]));
+        return Math.addExact(scaled, HALF_PRICE_UNIT) / Micros.TOKENS_PER_PRICE;
+    }
+    
+    // 구간은 보통 2~3개이므로 이진 탐색 대신 뒤에서부터 선형 탐색한다
+    private int tierIndex(long inputTokens) {
+        for (int i = minInputTokens.length - 1; i > 0; i--) {
+            if (inputTokens >= minInputTokens[i]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.llm.service;
+
+import com.example.llm.dto.response.ModelRegistryStatsResponse;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.ModelPriceTier;
+import com.example.llm.repository.ModelRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 모델 메타데이터의 메모리 캐시 (ID / 활성 모델 이름 / 활성 모델 목록 / 단가표).
+ * 모델 정보는 하루 몇 번 바뀌는 수준이므로 게이트웨이 요청 경로에서는 DB를 조회하지 않는다.
+ * ModelService의 변경 작업이 커밋되면 전체를 무효화하고, 그 밖의 경로(직접 DB 수정 등)는 TTL 안에 반영된다.
+ * 캐시된 모델은 영속성 컨텍스트와 분리된 사본이므로 읽기 전용으로만 사용한다.
+ */
+@Service
+public class ModelRegistry {
+    
+    private static final String ACTIVE_MODELS_KEY = "active";
+    
+    private final LoadingCache<Long, Optional<LLMModel>> modelsById;
+    private final LoadingCache<String, Optional<LLMModel>> activeModelsByName;
+    private final LoadingCache<String, List<LLMModel>> activeModels;
+    private final LoadingCache<Long, Optional<ModelPricing>> pricingById;
+    
+    public ModelRegistry(ModelRepository modelRepository,
+                         @Value("${model-registry.ttl:5m}") Duration ttl,
+                         @Value("${model-registry.maximum-size:10000}") long maximumSize) {
+        this.modelsById = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(id -> modelRepository.findById(id).map(this::detach));
+        this.activeModelsByName = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(name -> modelRepository.findFirstByNameAndIsActiveTrue(name).map(this::detach));
+        this.activeModels = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(1)
+                .recordStats()
+                .build(key -> modelRepository.findByIsActiveTrue().stream().map(this::detach).toList());
+        this.pricingById = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(id -> findById(id).map(ModelPricing::of));
+    }
+    
+    public Optional<LLMModel> findById(Long id) {
+        return modelsById.get(id);
+    }
+    
+    public Optional<LLMModel> findActiveByName(String name) {
+        return activeModelsByName.get(name);
+    }
+    
+    public List<LLMModel> getActiveModels() {
+        return activeModels.get(ACTIVE_MODELS_KEY);
+    }
+    
+    // 비용 계산용 단가표. 캐시 적중 시 객체를 할당하지 않는다
+    public Optional<ModelPricing> findPricing(Long id) {
+        return pricingById.get(id);
+    }
+    
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 캐시 전체를 비운다. 트랜잭션 밖에서 호출되면 즉시 비운다.
+     * 커밋 전에 비우면 다른 요청이 커밋 전 데이터를 다시 적재할 수 있으므로 커밋 이후에 처리한다.
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateAll();
+            }
+        });
+    }
+    
+    public void invalidateAll() {
+        modelsById.invalidateAll();
+        activeModelsByName.invalidateAll();
+        activeModels.invalidateAll();
+        pricingById.invalidateAll();
+    }
+    
+    public ModelRegistryStatsResponse getStats() {
+        CacheStats stats = modelsById.stats()
+                .plus(activeModelsByName.stats())
+                .plus(activeModels.stats())
+                .plus(pricingById.stats());
+        return ModelRegistryStatsResponse.builder()
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .loadCount(stats.loadCount())
+                .averageLoadMillis(stats.averageLoadPenalty() / 1e6)
+                .evictionCount(stats.evictionCount())
+                .cachedEntries(modelsById.estimatedSize() + activeModelsByName.estimatedSize()
+                        + activeModels.estimatedSize() + pricingById.estimatedSize())
+                .build();
+    }
+    
+    // 지연 로딩 연관관계(usages)를 제외한 사본. 단가 구간은 값 객체도 복사한다
+    private LLMModel detach(LLMModel model) {
+        return LLMModel.builder()
+                .id(model.getId())
+                .name(model.getName())
+                .provider(model.getProvider())
+                .modelClass(model.getModelClass())
+                .costPerToken(model.getCostPerToken())
+                .inputMicrosPerMillion(model.getInputMicrosPerMillion())
+                .outputMicrosPerMillion(model.getOutputMicrosPerMillion())
+                .priceTiers(model.getPriceTiers().stream()
+                        .map(tier -> ModelPriceTier.builder()
+                                .minInputTokens(tier.getMinInputTokens())
+                                .inputMicrosPerMillion(tier.getInputMicrosPerMillion())
+                                .outputMicrosPerMillion(tier.getOutputMicrosPerMillion())
+                                .build())
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .requestsPerMinute(model.getRequestsPerMinute())
+                .tokensPerMinute(model.getTokensPerMinute())
+                .apiKey(model.getApiKey())
+                .isActive(model.getIsActive())
+                .createdAt(model.getCreatedAt())
+                .updatedAt(model.getUpdatedAt())
+                .build();
+    }
+}
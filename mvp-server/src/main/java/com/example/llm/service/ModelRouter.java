@@ -0,0 +1,218 @@
+package com.example.llm.service;
+
+import com.example.llm.config.RoutingProperties;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * 논리 모델 클래스(LLMModel.modelClass)로 들어온 요청에 쓸 활성 모델을 고른다.
+ * 후보는 ModelRegistry가 캐시한 활성 모델 목록을 클래스별로 묶은 스냅샷에서 꺼내므로 요청마다 DB를 조회하지 않는다.
+ *
+ * 점수는 (비용 가중치 × 최저가 대비 단가) + (지연시간 가중치 × 최저 지연 대비 EWMA 지연시간) + 오류율 벌점이며 낮을수록 먼저 시도한다.
+ * 비용 가중치는 팀의 남은 할당량이 줄수록 커져 할당량이 적게 남은 팀은 저렴한 모델로 옮겨 간다.
+ * 오류율이 높은 모델은 맨 뒤로 보내고, 오류율은 요청이 없어도 시간이 지나면 줄어들어 장애가 끝난 모델을 다시 시도한다.
+ * 지연시간과 오류율은 모델별 AtomicLong(double 비트)에 CAS로 반영한다.
+ */
+@Slf4j
+@Service
+public class ModelRouter implements MeterBinder {
+    
+    private final ModelRegistry modelRegistry;
+    private final QuotaEnforcer quotaEnforcer;
+    private final RoutingProperties routingProperties;
+    private final LongSupplier nanoClock;
+    
+    private final Map<Long, ModelHealth> health = new ConcurrentHashMap<>();
+    
+    private final LongAdder failovers = new LongAdder();
+    
+    private volatile Snapshot snapshot = new Snapshot(List.of(), Map.of());
+    
+    @Autowired
+    public ModelRouter(ModelRegistry modelRegistry, QuotaEnforcer quotaEnforcer, RoutingProperties routingProperties) {
+        this(modelRegistry, quotaEnforcer, routingProperties, System::nanoTime);
+    }
+    
+    ModelRouter(ModelRegistry modelRegistry, QuotaEnforcer quotaEnforcer, RoutingProperties routingProperties,
+                LongSupplier nanoClock) {
+        this.modelRegistry = modelRegistry;
+        this.quotaEnforcer = quotaEnforcer;
+        this.routingProperties = routingProperties;
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * 클래스에 속한 활성 모델을 시도할 순서대로 반환한다. 첫 번째가 라우팅 대상이고 나머지는 장애 시 대체 후보다.
+     */
+    public List<LLMModel> route(Long teamId, String modelClass) {
+        List<LLMModel> candidates = snapshot().byClass().get(modelClass);
+        if (candidates == null) {
+            throw new ResourceNotFoundException(ErrorCode.MODEL_NOT_FOUND);
+        }
+        if (candidates.size() == 1) {
+            return candidates;
+        }
+        
+        long now = nanoClock.getAsLong();
+        long minPrice = Long.MAX_VALUE;
+        double minLatency = Double.MAX_VALUE;
+        for (LLMModel model : candidates) {
+            minPrice = Math.min(minPrice, price(model));
+            double latency = health(model).latencyNanos();
+            if (!Double.isNaN(latency)) {
+                minLatency = Math.min(minLatency, latency);
+            }
+        }
+        if (minLatency == Double.MAX_VALUE) {
+            minLatency = 1.0;
+        }
+        
+        double costWeight = costWeight(teamId);
+        List<Ranked> ranked = new ArrayList<>(candidates.size());
+        for (LLMModel model : candidates) {
+            ModelHealth modelHealth = health(model);
+            double errorRate = modelHealth.errorRate(now, routingProperties.getErrorHalfLife().toNanos());
+            // 아직 측정하지 않은 모델은 가장 빠른 모델과 같다고 보고 시도해 보게 한다
+            double latency = Double.isNaN(modelHealth.latencyNanos()) ? minLatency : modelHealth.latencyNanos();
+            double score = costWeight * (price(model) + 1.0) / (minPrice + 1.0)
+                    + (1.0 - costWeight) * latency / Math.max(minLatency, 1.0)
+                    + routingProperties.getErrorPenalty() * errorRate;
+            ranked.add(new Ranked(model, errorRate > routingProperties.getMaxErrorRate(), score));
+        }
+        ranked.sort(Comparator.comparing(Ranked::degraded).thenComparingDouble(Ranked::score));
+        return ranked.stream().map(Ranked::model).toList();
+    }
+    
+    public void recordSuccess(LLMModel model, long latencyNanos) {
+        ModelHealth modelHealth = health(model);
+        modelHealth.recordLatency(latencyNanos, routingProperties.getEwmaAlpha());
+        modelHealth.recordOutcome(0.0, nanoClock.getAsLong(), routingProperties);
+    }
+    
+    public void recordFailure(LLMModel model) {
+        health(model).recordOutcome(1.0, nanoClock.getAsLong(), routingProperties);
+    }
+    
+    public void recordFailover(LLMModel from, LLMModel to) {
+        failovers.increment();
+        log.warn("Provider error on model {}, failing over to {}", from.getName(), to.getName());
+    }
+    
+    // 테스트에서 모델 상태를 확인하는 용도
+    double getLatencyMillis(LLMModel model) {
+        return health(model).latencyNanos() / 1_000_000.0;
+    }
+    
+    double getErrorRate(LLMModel model) {
+        return health(model).errorRate(nanoClock.getAsLong(), routingProperties.getErrorHalfLife().toNanos());
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("llm.routing.failovers", failovers, LongAdder::sum)
+                .description("Routed requests retried on another model after a provider error")
+                .register(registry);
+    }
+    
+    // 레지스트리가 같은 목록 인스턴스를 돌려주는 동안(캐시 적중)은 이전 스냅샷을 그대로 쓴다
+    private Snapshot snapshot() {
+        List<LLMModel> activeModels = modelRegistry.getActiveModels();
+        Snapshot current = snapshot;
+        if (current.source() != activeModels) {
+            current = new Snapshot(activeModels, activeModels.stream()
+                    .filter(model -> model.getModelClass() != null)
+                    .collect(Collectors.groupingBy(LLMModel::getModelClass,
+                            Collectors.collectingAndThen(Collectors.toList(), List::copyOf))));
+            snapshot = current;
+        }
+        return current;
+    }
+    
+    private double costWeight(Long teamId) {
+        double base = routingProperties.getCostWeight();
+        return base + (1.0 - base) * (1.0 - quotaEnforcer.getRemainingRatio(teamId));
+    }
+    
+    // 입력과 출력 단가를 같은 비중으로 더한 100만 토큰당 micro 단가
+    private static long price(LLMModel model) {
+        return model.getInputMicrosPerMillion() + model.getOutputMicrosPerMillion();
+    }
+    
+    private ModelHealth health(LLMModel model) {
+        ModelHealth modelHealth = health.get(model.getId());
+        return modelHealth != null ? modelHealth : health.computeIfAbsent(model.getId(), id -> new ModelHealth());
+    }
+    
+    private record Snapshot(List<LLMModel> source, Map<String, List<LLMModel>> byClass) {
+    }
+    
+    private record Ranked(LLMModel model, boolean degraded, double score) {
+    }
+    
+    private static final class ModelHealth {
+        
+        // 성공한 요청의 지연시간 EWMA (나노초, 측정 전에는 NaN)
+        private final AtomicLong latencyBits = new AtomicLong(Double.doubleToRawLongBits(Double.NaN));
+        
+        // 마지막 관측 시점의 오류율 EWMA
+        private final AtomicLong errorRateBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+        
+        private volatile long errorUpdatedAt;
+        
+        private double latencyNanos() {
+            return Double.longBitsToDouble(latencyBits.get());
+        }
+        
+        private double errorRate(long now, long halfLifeNanos) {
+            return decay(Double.longBitsToDouble(errorRateBits.get()), now - errorUpdatedAt, halfLifeNanos);
+        }
+        
+        private void recordLatency(long latencyNanos, double alpha) {
+            long current;
+            long next;
+            do {
+                current = latencyBits.get();
+                double previous = Double.longBitsToDouble(current);
+                next = Double.doubleToRawLongBits(Double.isNaN(previous)
+                        ? latencyNanos
+                        : previous + alpha * (latencyNanos - previous));
+            } while (!latencyBits.weakCompareAndSetVolatile(current, next));
+        }
+        
+        private void recordOutcome(double sample, long now, RoutingProperties properties) {
+            long halfLifeNanos = properties.getErrorHalfLife().toNanos();
+            long current;
+            long next;
+            do {
+                current = errorRateBits.get();
+                double previous = decay(Double.longBitsToDouble(current), now - errorUpdatedAt, halfLifeNanos);
+                next = Double.doubleToRawLongBits(previous + properties.getEwmaAlpha() * (sample - previous));
+            } while (!errorRateBits.weakCompareAndSetVolatile(current, next));
+            errorUpdatedAt = now;
+        }
+        
+        private static double decay(double rate, long elapsedNanos, long halfLifeNanos) {
+            if (rate == 0.0 || elapsedNanos <= 0L || halfLifeNanos <= 0L) {
+                return rate;
+            }
+            return rate * Math.pow(0.5, (double) elapsedNanos / halfLifeNanos);
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package com.example.llm.service;
 
 import com.example.llm.dto.request.ModelCreateRequest;
+import com.example.llm.dto.request.PageCursor;
+import com.example.llm.dto.response.CursorPageResponse;
+import com.example.llm.dto.response.ModelRegistryStatsResponse;
 import com.example.llm.dto.response.ModelResponse;
 import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.ModelPriceTier;
+import com.example.llm.exception.BusinessException;
 import com.example.llm.exception.ErrorCode;
 import com.example.llm.exception.ResourceNotFoundException;
 import com.example.llm.repository.ModelRepository;
+import com.example.llm.util.Micros;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,16 +32,26 @@ import java.util.stream.Collectors;
 public class ModelService {
     
     private final ModelRepository modelRepository;
+    private final ModelRegistry modelRegistry;
+    private final ProviderGuard providerGuard;
     
     public ModelResponse createModel(ModelCreateRequest request) {
         LLMModel model = LLMModel.builder()
                 .name(request.getName())
                 .provider(request.getProvider())
+                .modelClass(request.getModelClass())
                 .costPerToken(request.getCostPerToken())
+                .inputMicrosPerMillion(inputPrice(request))
+                .outputMicrosPerMillion(outputPrice(request))
+                .priceTiers(toPriceTiers(request.getPriceTiers()))
+                .requestsPerMinute(request.getRequestsPerMinute())
+                .tokensPerMinute(request.getTokensPerMinute())
                 .apiKey(request.getApiKey())
                 .isActive(true)
                 .build();
-        return mapToModelResponse(modelRepository.save(model));
+        LLMModel saved = modelRepository.save(model);
+        modelRegistry.invalidateAfterCommit();
+        return mapToModelResponse(saved);
     }
     
     @Transactional(readOnly = true)
@@ -39,15 +62,24 @@ public class ModelService {
     }
     
     @Transactional(readOnly = true)
+    public CursorPageResponse<ModelResponse> getModelPage(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<LLMModel> rows = modelRepository.findPageAfter(after != null ? after.getId() : 0L,
+                PageRequest.of(0, PageCursor.checkSize(size) + 1));
+        return CursorPageResponse.of(rows, size, this::mapToModelResponse, model -> PageCursor.ofId(model.getId()));
+    }
+    
+    // 레지스트리 적중 시 커넥션을 잡지 않도록 트랜잭션을 새로 열지 않음
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ModelResponse> getActiveModels() {
-        return modelRepository.findByIsActiveTrue().stream()
+        return modelRegistry.getActiveModels().stream()
                 .map(this::mapToModelResponse)
                 .collect(Collectors.toList());
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ModelResponse getModelById(Long id) {
-        LLMModel model = modelRepository.findById(id)
+        LLMModel model = modelRegistry.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.MODEL_NOT_FOUND));
         return mapToModelResponse(model);
     }
@@ -55,10 +87,19 @@ public class ModelService {
     public ModelResponse updateModel(Long id, ModelCreateRequest request) {
         LLMModel model = modelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.MODEL_NOT_FOUND));
+        boolean wasActive = Boolean.TRUE.equals(model.getIsActive());
         
         model.setName(request.getName());
         model.setProvider(request.getProvider());
+        model.setModelClass(request.getModelClass());
         model.setCostPerToken(request.getCostPerToken());
+        model.setInputMicrosPerMillion(inputPrice(request));
+        model.setOutputMicrosPerMillion(outputPrice(request));
+        // 요소 컬렉션은 같은 인스턴스를 유지한 채 내용만 바꾼다
+        model.getPriceTiers().clear();
+        model.getPriceTiers().addAll(toPriceTiers(request.getPriceTiers()));
+        model.setRequestsPerMinute(request.getRequestsPerMinute());
+        model.setTokensPerMinute(request.getTokensPerMinute());
         if (request.getApiKey() != null) {
             model.setApiKey(request.getApiKey());
         }
@@ -66,13 +107,19 @@ public class ModelService {
             model.setIsActive(request.getIsActive());
         }
         
-        return mapToModelResponse(modelRepository.save(model));
+        LLMModel saved = modelRepository.save(model);
+        modelRegistry.invalidateAfterCommit();
+        if (!wasActive && Boolean.TRUE.equals(saved.getIsActive())) {
+            activateAfterCommit(saved.getProvider());
+        }
+        return mapToModelResponse(saved);
     }
     
     public void deleteModel(Long id) {
         LLMModel model = modelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.MODEL_NOT_FOUND));
         modelRepository.delete(model);
+        modelRegistry.invalidateAfterCommit();
     }
     
     public ModelResponse toggleModel(Long id) {
@@ -81,7 +128,64 @@ public class ModelService {
         
         model.setIsActive(!model.getIsActive());
         
-        return mapToModelResponse(modelRepository.save(model));
+        LLMModel saved = modelRepository.save(model);
+        modelRegistry.invalidateAfterCommit();
+        if (saved.getIsActive()) {
+            activateAfterCommit(saved.getProvider());
+        }
+        return mapToModelResponse(saved);
+    }
+    
+    // 다시 켠 모델의 제공자 회로가 열려 있으면 대기 시간을 기다리지 않고 시험 호출을 시작한다.
+    // 끌 때는 같은 제공자의 다른 모델이 회로를 함께 쓰므로 상태를 건드리지 않는다.
+    // 롤백된 활성화로 시험 호출이 시작되지 않도록 커밋된 뒤에 알린다
+    private void activateAfterCommit(String provider) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            providerGuard.onModelActivated(provider);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                providerGuard.onModelActivated(provider);
+            }
+        });
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ModelRegistryStatsResponse getRegistryStats() {
+        return modelRegistry.getStats();
+    }
+    
+    private long inputPrice(ModelCreateRequest request) {
+        return request.getInputMicrosPerMillion() != null
+                ? request.getInputMicrosPerMillion()
+                : Micros.perMillionTokens(request.getCostPerToken());
+    }
+    
+    private long outputPrice(ModelCreateRequest request) {
+        return request.getOutputMicrosPerMillion() != null
+                ? request.getOutputMicrosPerMillion()
+                : Micros.perMillionTokens(request.getCostPerToken());
+    }
+    
+    private List<ModelPriceTier> toPriceTiers(List<ModelCreateRequest.PriceTier> tiers) {
+        List<ModelPriceTier> result = new ArrayList<>();
+        if (tiers == null) {
+            return result;
+        }
+        Set<Long> thresholds = new HashSet<>();
+        for (ModelCreateRequest.PriceTier tier : tiers) {
+            if (!thresholds.add(tier.getMinInputTokens())) {
+                throw new BusinessException(ErrorCode.INVALID_INPUT, "단가 구간의 시작 토큰 수가 중복되었습니다");
+            }
+            result.add(ModelPriceTier.builder()
+                    .minInputTokens(tier.getMinInputTokens())
+                    .inputMicrosPerMillion(tier.getInputMicrosPerMillion())
+                    .outputMicrosPerMillion(tier.getOutputMicrosPerMillion())
+                    .build());
+        }
+        return result;
     }
     
     private ModelResponse mapToModelResponse(LLMModel model) {
@@ -89,7 +193,19 @@ public class ModelService {
                 .id(model.getId())
                 .name(model.getName())
                 .provider(model.getProvider())
+                .modelClass(model.getModelClass())
                 .costPerToken(model.getCostPerToken())
+                .inputMicrosPerMillion(model.getInputMicrosPerMillion())
+                .outputMicrosPerMillion(model.getOutputMicrosPerMillion())
+                .priceTiers(model.getPriceTiers().stream()
+                        .map(tier -> ModelResponse.PriceTier.builder()
+                                .minInputTokens(tier.getMinInputTokens())
+                                .inputMicrosPerMillion(tier.getInputMicrosPerMillion())
+                                .outputMicrosPerMillion(tier.getOutputMicrosPerMillion())
+                                .build())
+                        .collect(Collectors.toList()))
+                .requestsPerMinute(model.getRequestsPerMinute())
+                .tokensPerMinute(model.getTokensPerMinute())
                 .isActive(model.getIsActive())
                 .createdAt(model.getCreatedAt())
                 .updatedAt(model.getUpdatedAt())
@@ -0,0 +1,365 @@
+package com.example.llm.service;
+
+import com.example.llm.config.GatewayProperties;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 제공자(LLMModel.provider)별 bulkhead와 회로 차단기.
+ * 느린 제공자 하나가 모든 요청 처리 자원을 붙잡지 않도록 제공자마다 동시 호출 수를 제한하고,
+ * 오류나 느린 호출이 많아지면 회로를 열어 일정 시간 호출하지 않은 뒤 몇 번의 시험 호출(반개방)로 복구를 확인한다.
+ *
+ * 동시 호출 수는 AtomicInteger, 호출 창의 호출/오류/느린 호출 수는 AtomicLong 하나에 묶어 CAS로 갱신하고,
+ * 회로 상태는 불변 객체를 AtomicReference로 바꿔 끼우므로 락을 잡지 않는다.
+ * 상태가 바뀔 때마다 세대(generation)를 올려, 이전 상태에서 시작한 호출의 결과가 새 상태에 섞이지 않게 한다.
+ */
+@Slf4j
+@Service
+public class ProviderGuard {
+    
+    public static final String REJECTED_CALLS = "llm.provider.calls.rejected";
+    
+    public enum CircuitState {
+        CLOSED, OPEN, HALF_OPEN
+    }
+    
+    // 호출 창의 호출/오류/느린 호출 수를 21비트씩 담는다
+    private static final int COUNT_BITS = 21;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    
+    private final GatewayProperties gatewayProperties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    
+    private final Map<String, ProviderState> providers = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public ProviderGuard(GatewayProperties gatewayProperties, MeterRegistry meterRegistry) {
+        this(gatewayProperties, meterRegistry, System::nanoTime);
+    }
+    
+    ProviderGuard(GatewayProperties gatewayProperties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.gatewayProperties = gatewayProperties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * 제공자 호출 전에 자리를 얻는다. 동시 호출이 상한이면 PROVIDER_BUSY, 회로가 열려 있으면 PROVIDER_CIRCUIT_OPEN.
+     * 얻은 Permit에는 호출 결과를 반영(record)하고 자리를 돌려줘야(release) 한다.
+     */
+    public Permit acquire(LLMModel model) {
+        ProviderState state = state(model.getProvider());
+        if (!state.tryEnter()) {
+            state.busy.increment();
+            throw new BusinessException(ErrorCode.PROVIDER_BUSY);
+        }
+        long now = nanoClock.getAsLong();
+        Circuit circuit = state.tryPass(now);
+        if (circuit == null) {
+            state.exit();
+            state.shortCircuited.increment();
+            throw new BusinessException(ErrorCode.PROVIDER_CIRCUIT_OPEN);
+        }
+        return new Permit(state, circuit.generation(), circuit.state() == CircuitState.HALF_OPEN, now);
+    }
+    
+    /**
+     * 관리자가 모델을 다시 활성화하면 열린 회로의 대기 시간을 끝내고 바로 반개방한다.
+     * 닫힌 회로는 그대로 두고, 열린 회로도 닫지 않고 시험 호출로 복구를 확인하게 해 아직 장애 중인 제공자로 요청이 몰리지 않게 한다.
+     */
+    public void onModelActivated(String provider) {
+        ProviderState state = providers.get(key(provider));
+        if (state != null && state.halfOpenNow()) {
+            log.info("Model activated on provider {}, circuit half-opened for probing", provider);
+        }
+    }
+    
+    public CircuitState getState(String provider) {
+        ProviderState state = providers.get(key(provider));
+        return state != null ? state.circuit.get().state() : CircuitState.CLOSED;
+    }
+    
+    // 테스트에서 자리 반환을 확인하는 용도
+    int getInFlight(String provider) {
+        ProviderState state = providers.get(key(provider));
+        return state != null ? state.inFlight.get() : 0;
+    }
+    
+    private ProviderState state(String provider) {
+        String key = key(provider);
+        ProviderState state = providers.get(key);
+        return state != null ? state : providers.computeIfAbsent(key, this::register);
+    }
+    
+    private ProviderState register(String provider) {
+        GatewayProperties.Provider settings = gatewayProperties.getProviders().get(provider);
+        int maxConcurrentCalls = settings != null && settings.getMaxConcurrentCalls() != null
+                ? settings.getMaxConcurrentCalls()
+                : gatewayProperties.getMaxConcurrentCalls();
+        ProviderState state = new ProviderState(provider, maxConcurrentCalls);
+        FunctionCounter.builder(REJECTED_CALLS, state.busy, LongAdder::sum)
+                .description("Provider calls rejected before reaching the provider")
+                .tag("provider", provider)
+                .tag("reason", "bulkhead")
+                .register(meterRegistry);
+        FunctionCounter.builder(REJECTED_CALLS, state.shortCircuited, LongAdder::sum)
+                .description("Provider calls rejected before reaching the provider")
+                .tag("provider", provider)
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        Gauge.builder("llm.provider.calls.active", state.inFlight, AtomicInteger::get)
+                .description("Provider calls in flight, including open streams")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("llm.provider.circuit.state", state.circuit, circuit -> circuit.get().state().ordinal())
+                .description("Circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        return state;
+    }
+    
+    private int halfOpenCalls() {
+        return Math.max(gatewayProperties.getCircuitBreaker().getHalfOpenCalls(), 1);
+    }
+    
+    private static String key(String provider) {
+        return provider.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * 호출 하나가 얻은 자리. 결과 반영과 자리 반환을 따로 할 수 있어, 스트리밍 호출은 응답 헤더로 결과를 반영하고 스트림이 끝날 때 자리를 돌려준다.
+     */
+    public static final class Permit {
+        
+        private final ProviderState state;
+        private final long generation;
+        private final boolean probe;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        private Permit(ProviderState state, long generation, boolean probe, long startNanos) {
+            this.state = state;
+            this.generation = generation;
+            this.probe = probe;
+            this.startNanos = startNanos;
+        }
+        
+        // 호출 결과를 회로에 반영한다. 지연시간은 자리를 얻은 시점부터 잰다
+        public void record(boolean failure) {
+            state.record(this, failure);
+        }
+        
+        // 여러 번 불러도 한 번만 반영한다
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                state.exit();
+            }
+        }
+        
+        public void complete(boolean failure) {
+            record(failure);
+            release();
+        }
+        
+        // 제공자를 호출하지 못한 경우. 결과는 반영하지 않고 시험 호출 기회도 돌려준다
+        public void cancel() {
+            if (probe) {
+                state.returnProbe(generation);
+            }
+            release();
+        }
+    }
+    
+    private record Circuit(CircuitState state, long generation, long openedAt, int probes, int successes) {
+        
+        private Circuit open(long now) {
+            return new Circuit(CircuitState.OPEN, generation + 1, now, 0, 0);
+        }
+        
+        private Circuit halfOpen(int probes) {
+            return new Circuit(CircuitState.HALF_OPEN, generation + 1, openedAt, probes, 0);
+        }
+        
+        private Circuit close() {
+            return new Circuit(CircuitState.CLOSED, generation + 1, 0L, 0, 0);
+        }
+        
+        private Circuit withProbes(int probes) {
+            return new Circuit(state, generation, openedAt, probes, successes);
+        }
+        
+        private Circuit withSuccesses(int successes) {
+            return new Circuit(state, generation, openedAt, probes, successes);
+        }
+    }
+    
+    private final class ProviderState {
+        
+        private final String provider;
+        private final int maxConcurrentCalls;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicReference<Circuit> circuit = new AtomicReference<>(
+                new Circuit(CircuitState.CLOSED, 0L, 0L, 0, 0));
+        
+        // 닫힌 상태에서 windowSize번마다 새로 세는 호출 창 (호출 | 오류 << 21 | 느린 호출 << 42)
+        private final AtomicLong window = new AtomicLong();
+        
+        private final LongAdder busy = new LongAdder();
+        private final LongAdder shortCircuited = new LongAdder();
+        
+        private ProviderState(String provider, int maxConcurrentCalls) {
+            this.provider = provider;
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+        
+        private boolean tryEnter() {
+            int current;
+            do {
+                current = inFlight.get();
+                if (current >= maxConcurrentCalls) {
+                    return false;
+                }
+            } while (!inFlight.weakCompareAndSetVolatile(current, current + 1));
+            return true;
+        }
+        
+        private void exit() {
+            inFlight.decrementAndGet();
+        }
+        
+        // 호출을 허용한 회로 상태를 반환하고, 막히면 null
+        private Circuit tryPass(long now) {
+            GatewayProperties.CircuitBreaker settings = gatewayProperties.getCircuitBreaker();
+            while (true) {
+                Circuit current = circuit.get();
+                switch (current.state()) {
+                    case CLOSED -> {
+                        return current;
+                    }
+                    case OPEN -> {
+                        if (now - current.openedAt() < settings.getOpenDuration().toNanos()) {
+                            return null;
+                        }
+                        if (circuit.compareAndSet(current, current.halfOpen(halfOpenCalls()))) {
+                            log.info("Circuit half-open for provider {}", provider);
+                        }
+                    }
+                    case HALF_OPEN -> {
+                        if (current.probes() == 0) {
+                            return null;
+                        }
+                        Circuit next = current.withProbes(current.probes() - 1);
+                        if (circuit.compareAndSet(current, next)) {
+                            return next;
+                        }
+                    }
+                }
+            }
+        }
+        
+        private void record(Permit permit, boolean failure) {
+            GatewayProperties.CircuitBreaker settings = gatewayProperties.getCircuitBreaker();
+            long now = nanoClock.getAsLong();
+            boolean slow = now - permit.startNanos >= settings.getSlowCallThreshold().toNanos();
+            if (permit.probe) {
+                recordProbe(permit.generation, failure || slow, now);
+                return;
+            }
+            Circuit current = circuit.get();
+            if (current.state() != CircuitState.CLOSED || current.generation() != permit.generation) {
+                return;
+            }
+            if (countInWindow(failure, slow, settings) && circuit.compareAndSet(current, current.open(now))) {
+                window.set(0L);
+                log.warn("Circuit opened for provider {} (failure or slow call rate over threshold)", provider);
+            }
+        }
+        
+        // 시험 호출이 하나라도 실패하거나 느리면 다시 열고, 모두 성공하면 닫는다
+        private void recordProbe(long generation, boolean failed, long now) {
+            while (true) {
+                Circuit current = circuit.get();
+                if (current.state() != CircuitState.HALF_OPEN || current.generation() != generation) {
+                    return;
+                }
+                Circuit next;
+                if (failed) {
+                    next = current.open(now);
+                } else if (current.successes() + 1 >= halfOpenCalls()) {
+                    next = current.close();
+                } else {
+                    next = current.withSuccesses(current.successes() + 1);
+                }
+                if (circuit.compareAndSet(current, next)) {
+                    if (next.state() == CircuitState.OPEN) {
+                        log.warn("Probe failed, circuit re-opened for provider {}", provider);
+                    } else if (next.state() == CircuitState.CLOSED) {
+                        window.set(0L);
+                        log.info("Circuit closed for provider {}", provider);
+                    }
+                    return;
+                }
+            }
+        }
+        
+        // 호출을 창에 더하고 판정 조건을 넘었으면 true
+        private boolean countInWindow(boolean failure, boolean slow, GatewayProperties.CircuitBreaker settings) {
+            long windowSize = Math.min(Math.max(settings.getWindowSize(), 1), COUNT_MASK);
+            long current;
+            long next;
+            long calls;
+            long failures;
+            long slowCalls;
+            do {
+                current = window.get();
+                calls = (current & COUNT_MASK) + 1;
+                failures = (current >>> COUNT_BITS & COUNT_MASK) + (failure ? 1 : 0);
+                slowCalls = (current >>> (2 * COUNT_BITS) & COUNT_MASK) + (slow ? 1 : 0);
+                next = calls >= windowSize ? 0L : calls | failures << COUNT_BITS | slowCalls << (2 * COUNT_BITS);
+            } while (!window.weakCompareAndSetVolatile(current, next));
+            return calls >= settings.getMinimumCalls()
+                    && (failures >= settings.getFailureRateThreshold() * calls
+                    || slowCalls >= settings.getSlowCallRateThreshold() * calls);
+        }
+        
+        private void returnProbe(long generation) {
+            while (true) {
+                Circuit current = circuit.get();
+                if (current.state() != CircuitState.HALF_OPEN || current.generation() != generation
+                        || circuit.compareAndSet(current, current.withProbes(current.probes() + 1))) {
+                    return;
+                }
+            }
+        }
+        
+        private boolean halfOpenNow() {
+            while (true) {
+                Circuit current = circuit.get();
+                if (current.state() != CircuitState.OPEN) {
+                    return false;
+                }
+                if (circuit.compareAndSet(current, current.halfOpen(halfOpenCalls()))) {
+                    return true;
+                }
+            }
+        }
+    }
+}
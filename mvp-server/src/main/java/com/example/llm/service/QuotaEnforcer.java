@@ -0,0 +1,240 @@
+package com.example.llm.service;
+
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.exception.ResourceNotFoundException;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.repository.projection.TeamQuotaSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 팀별 할당량을 메모리의 원자적 카운터로 관리한다.
+ * 요청 경로에서는 DB를 조회하지 않고 reserve → commit/release 순서로 토큰을 차감하며,
+ * 확정된 사용량은 주기적으로 teams.usage에 누적 반영(write-behind)한다.
+ * 거절 횟수는 요청 경로에서 LongAdder로만 세고, 지표(llm.quota.rejections)는 수집 시점에 읽는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuotaEnforcer implements MeterBinder {
+    
+    private final TeamRepository teamRepository;
+    
+    private final Map<Long, TeamQuotaCounter> counters = new ConcurrentHashMap<>();
+    
+    // 삭제된 팀의 거절 횟수도 유지되도록 전체 합계를 따로 센다
+    private final LongAdder totalRejections = new LongAdder();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromDatabase() {
+        counters.clear();
+        for (TeamQuotaSummary team : teamRepository.findAllQuotaSummaries()) {
+            register(team.getId(), team.getQuota(), team.getUsage());
+        }
+        log.info("Quota counters loaded for {} teams", counters.size());
+    }
+    
+    public void register(Long teamId, long quota, long usage) {
+        counters.put(teamId, new TeamQuotaCounter(quota, usage));
+    }
+    
+    public void updateQuota(Long teamId, long quota) {
+        TeamQuotaCounter counter = counters.get(teamId);
+        if (counter != null) {
+            counter.limit = quota;
+        }
+    }
+    
+    public void remove(Long teamId) {
+        counters.remove(teamId);
+    }
+    
+    /**
+     * 할당량 안에서 토큰을 예약한다. 남은 할당량이 부족하면 false를 반환한다.
+     */
+    public boolean tryReserve(Long teamId, long tokens) {
+        TeamQuotaCounter counter = counter(teamId);
+        if (counter.tryAllocate(tokens)) {
+            return true;
+        }
+        counter.rejections.increment();
+        totalRejections.increment();
+        return false;
+    }
+    
+    public void reserve(Long teamId, long tokens) {
+        if (!tryReserve(teamId, tokens)) {
+            throw new BusinessException(ErrorCode.QUOTA_EXCEEDED);
+        }
+    }
+    
+    /**
+     * 예약한 토큰을 실제 사용량으로 확정한다. 실제 사용량이 예약보다 많아도 그대로 반영한다.
+     * 예약 뒤 팀이 삭제되어 카운터가 없으면 기록만 남기고 무시한다.
+     */
+    public void commit(Long teamId, long reservedTokens, long actualTokens) {
+        TeamQuotaCounter counter = counters.get(teamId);
+        if (counter == null) {
+            log.warn("Ignoring commit of {} tokens for team {} without a quota counter", actualTokens, teamId);
+            return;
+        }
+        // catchUpWithDatabase가 committed보다 pendingUsage를 나중에 읽으므로, 겹치면 적게 세지 않고 많게 센다
+        counter.pendingUsage.add(actualTokens);
+        counter.committed.addAndGet(actualTokens);
+        counter.allocated.addAndGet(actualTokens - reservedTokens);
+    }
+    
+    public void release(Long teamId, long reservedTokens) {
+        TeamQuotaCounter counter = counters.get(teamId);
+        if (counter == null) {
+            log.warn("Ignoring release of {} tokens for team {} without a quota counter", reservedTokens, teamId);
+            return;
+        }
+        counter.allocated.addAndGet(-reservedTokens);
+    }
+    
+    public long getAvailable(Long teamId) {
+        TeamQuotaCounter counter = counter(teamId);
+        return Math.max(0L, counter.limit - counter.allocated.get());
+    }
+    
+    // 남은 할당량 비율(0~1). ModelRouter가 할당량이 적게 남은 팀일수록 저렴한 모델을 고르는 데 쓴다
+    public double getRemainingRatio(Long teamId) {
+        TeamQuotaCounter counter = counter(teamId);
+        long limit = counter.limit;
+        if (limit <= 0L) {
+            return 0.0;
+        }
+        return Math.min(1.0, Math.max(0.0, (limit - counter.allocated.get()) / (double) limit));
+    }
+    
+    public long getRejectionCount(Long teamId) {
+        TeamQuotaCounter counter = counters.get(teamId);
+        return counter != null ? counter.rejections.sum() : 0L;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("llm.quota.rejections", totalRejections, LongAdder::sum)
+                .description("Token reservations rejected because the team quota was exhausted")
+                .register(registry);
+        Gauge.builder("llm.quota.teams", counters, Map::size)
+                .description("Teams with an in-memory quota counter")
+                .register(registry);
+    }
+    
+    /**
+     * 주기(quota.sync-interval-ms) 동안 팀별로 모은 확정 사용량을 팀당 UPDATE 한 번으로 반영한다.
+     * 할당량 안이면 조건부 UPDATE 한 문장으로 끝나고, 할당량을 넘는 경우(예약보다 많이 사용했거나
+     * 다른 인스턴스가 먼저 사용한 경우)에도 이미 발생한 사용량이므로 그대로 기록한 뒤 DB 값으로 카운터를 맞춘다.
+     */
+    @Scheduled(fixedDelayString = "${quota.sync-interval-ms:1000}")
+    public void syncToDatabase() {
+        counters.forEach((teamId, counter) -> {
+            long delta = counter.pendingUsage.sumThenReset();
+            if (delta == 0L) {
+                return;
+            }
+            try {
+                if (teamRepository.addUsageWithinQuota(teamId, delta) == 1) {
+                    return;
+                }
+                if (teamRepository.addUsage(teamId, delta) == 0) {
+                    // 삭제된 팀
+                    counters.remove(teamId, counter);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // 다음 주기에 다시 반영한다
+                counter.pendingUsage.add(delta);
+                log.warn("Failed to sync usage for team {}: {}", teamId, e.getMessage());
+                return;
+            }
+            log.warn("Team {} usage exceeded its quota after syncing {} tokens", teamId, delta);
+            catchUpWithDatabase(teamId, counter);
+        });
+    }
+    
+    // 다른 인스턴스의 사용량까지 반영된 DB 값(+ 아직 반영하지 않은 확정분)을 확정 사용량으로 맞춘다.
+    // 진행 중인 예약은 그대로 두므로 allocated는 DB 사용량 + 미반영 확정분 + 진행 중인 예약이 된다
+    private void catchUpWithDatabase(Long teamId, TeamQuotaCounter counter) {
+        try {
+            teamRepository.findQuotaSummaryById(teamId).ifPresent(team -> {
+                long committed = counter.committed.get();
+                long delta = team.getUsage() + counter.pendingUsage.sum() - committed;
+                counter.committed.addAndGet(delta);
+                counter.allocated.addAndGet(delta);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to reload usage for team {}: {}", teamId, e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        syncToDatabase();
+    }
+    
+    private TeamQuotaCounter counter(Long teamId) {
+        TeamQuotaCounter counter = counters.get(teamId);
+        if (counter != null) {
+            return counter;
+        }
+        // 시작 이후 다른 경로로 생성된 팀은 최초 접근 시 DB에서 읽어온다. 조회는 맵 잠금 밖에서 하고,
+        // 동시에 읽은 요청이 있으면 먼저 넣은 카운터를 쓴다
+        TeamQuotaCounter loaded = teamRepository.findQuotaSummaryById(teamId)
+                .map(team -> new TeamQuotaCounter(team.getQuota(), team.getUsage()))
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TEAM_NOT_FOUND));
+        TeamQuotaCounter existing = counters.putIfAbsent(teamId, loaded);
+        return existing != null ? existing : loaded;
+    }
+    
+    private static final class TeamQuotaCounter {
+        
+        private volatile long limit;
+        
+        // 확정 사용량 + 진행 중인 예약량. 예약은 이 값 하나로 원자적으로 검사·차감한다
+        private final AtomicLong allocated;
+        
+        // 확정 사용량. allocated - committed가 진행 중인 예약량이다
+        private final AtomicLong committed;
+        
+        // 아직 DB에 반영되지 않은 확정 사용량
+        private final LongAdder pendingUsage = new LongAdder();
+        
+        private final LongAdder rejections = new LongAdder();
+        
+        private TeamQuotaCounter(long limit, long usage) {
+            this.limit = limit;
+            this.allocated = new AtomicLong(usage);
+            this.committed = new AtomicLong(usage);
+        }
+        
+        private boolean tryAllocate(long tokens) {
+            long current;
+            do {
+                current = allocated.get();
+                // 할당량을 모두 쓴 팀은 0토큰 예약(청구하지 않는 캐시 적중)도 거절한다
+                if (current + tokens > limit || current >= limit) {
+                    return false;
+                }
+            } while (!allocated.weakCompareAndSetVolatile(current, current + tokens));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.llm.service;
+
+import com.example.llm.entity.LLMModel;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.exception.RateLimitExceededException;
+import com.example.llm.exception.ResourceNotFoundException;
+import com.example.llm.repository.TeamRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 팀별, 모델별 분당 요청 수(RPM)와 토큰 수(TPM) 한도를 적용한다.
+ * 할당량(QuotaEnforcer)이 기간 전체의 총량을 막는다면, 여기서는 한 팀이 짧은 시간에 제공자 용량을 독점하지 못하게 한다.
+ * 모델 한도는 그 모델을 쓰는 모든 팀이 함께 나눠 쓴다.
+ *
+ * 버킷은 GCRA(이론적 도착 시각 하나를 AtomicLong으로 두는 토큰 버킷)로 구현해 요청 경로에서 락을 잡지 않는다.
+ * 버킷 크기는 1분 한도이므로 비어 있던 버킷은 한도만큼 한꺼번에 허용하고, 이후에는 한도/60초 속도로 다시 찬다.
+ * TPM은 예약 토큰(max_tokens)으로 먼저 차감하고 응답 후 실제 토큰과의 차이만큼 보정한다.
+ */
+@Service
+public class RateLimiter implements MeterBinder {
+    
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+    
+    private static final Limits UNLIMITED = new Limits(null, null, 0L);
+    
+    private final TeamRepository teamRepository;
+    
+    private final LongSupplier nanoClock;
+    
+    private final Map<Long, Limits> teamLimits = new ConcurrentHashMap<>();
+    
+    private final Map<Long, Limits> modelLimits = new ConcurrentHashMap<>();
+    
+    private final LongAdder teamRejections = new LongAdder();
+    
+    private final LongAdder modelRejections = new LongAdder();
+    
+    @Autowired
+    public RateLimiter(TeamRepository teamRepository) {
+        this(teamRepository, System::nanoTime);
+    }
+    
+    RateLimiter(TeamRepository teamRepository, LongSupplier nanoClock) {
+        this.teamRepository = teamRepository;
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * 팀과 모델 한도를 차례로 확인하고 요청 1건과 토큰을 차감한다.
+     * 모델 한도에서 거절되면 팀 버킷에서 차감한 만큼 되돌린다.
+     */
+    public void acquire(Long teamId, LLMModel model, long tokens) {
+        long now = nanoClock.getAsLong();
+        Limits team = teamLimits(teamId);
+        long waitNanos = team.tryAcquire(tokens, now);
+        if (waitNanos > 0) {
+            teamRejections.increment();
+            throw rejected("팀의 분당 요청/토큰 한도를 초과했습니다", waitNanos);
+        }
+        waitNanos = modelLimits(model).tryAcquire(tokens, now);
+        if (waitNanos > 0) {
+            team.refund(tokens);
+            modelRejections.increment();
+            throw rejected("모델의 분당 요청/토큰 한도를 초과했습니다", waitNanos);
+        }
+    }
+    
+    /**
+     * 팀 한도만 확인하고 요청 1건과 토큰을 차감한다.
+     * 제공자를 호출하지 않는 캐시 적중에 쓰며, 제공자 용량을 나타내는 모델 한도는 건드리지 않는다.
+     */
+    public void acquireTeam(Long teamId, long tokens) {
+        long waitNanos = teamLimits(teamId).tryAcquire(tokens, nanoClock.getAsLong());
+        if (waitNanos > 0) {
+            teamRejections.increment();
+            throw rejected("팀의 분당 요청/토큰 한도를 초과했습니다", waitNanos);
+        }
+    }
+    
+    /**
+     * 제공자를 호출하지 못한 요청의 차감분(요청 1건과 토큰)을 모두 되돌린다.
+     */
+    public void refund(Long teamId, LLMModel model, long tokens) {
+        limitsOrUnlimited(teamLimits.get(teamId)).refund(tokens);
+        limitsOrUnlimited(modelLimits.get(model.getId())).refund(tokens);
+    }
+    
+    /**
+     * 예약 토큰과 실제 토큰의 차이만큼 TPM 버킷을 보정한다. 제공자를 호출한 요청 1건은 그대로 남긴다.
+     */
+    public void settle(Long teamId, LLMModel model, long reservedTokens, long actualTokens) {
+        long delta = actualTokens - reservedTokens;
+        if (delta == 0L) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        limitsOrUnlimited(teamLimits.get(teamId)).adjustTokens(delta, now);
+        limitsOrUnlimited(modelLimits.get(model.getId())).adjustTokens(delta, now);
+    }
+    
+    /**
+     * 장애 대체로 다른 모델에 다시 보낼 때 모델 버킷의 토큰 차감분을 옮긴다. 팀 버킷은 요청 하나로 보고 그대로 둔다.
+     * 실패한 모델에는 호출한 요청 1건만 남기고, 대상 모델의 한도에 막히면 옮기지 않고 false를 반환한다.
+     */
+    public boolean tryTransfer(LLMModel from, LLMModel to, long tokens) {
+        long now = nanoClock.getAsLong();
+        if (modelLimits(to).tryAcquire(tokens, now) > 0) {
+            return false;
+        }
+        limitsOrUnlimited(modelLimits.get(from.getId())).adjustTokens(-tokens, now);
+        return true;
+    }
+    
+    /**
+     * 팀 한도를 바꾼다. 한도가 그대로면 버킷 상태를 유지하고, 바뀌면 가득 찬 버킷으로 새로 시작한다.
+     */
+    public void updateTeamLimits(Long teamId, Long requestsPerMinute, Long tokensPerMinute) {
+        long now = nanoClock.getAsLong();
+        teamLimits.compute(teamId, (id, current) -> renew(current, requestsPerMinute, tokensPerMinute, now));
+    }
+    
+    public void removeTeam(Long teamId) {
+        teamLimits.remove(teamId);
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("llm.ratelimit.rejections", teamRejections, LongAdder::sum)
+                .description("Requests rejected by a per-minute request or token limit")
+                .tag("scope", "team")
+                .register(registry);
+        FunctionCounter.builder("llm.ratelimit.rejections", modelRejections, LongAdder::sum)
+                .description("Requests rejected by a per-minute request or token limit")
+                .tag("scope", "model")
+                .register(registry);
+    }
+    
+    private Limits teamLimits(Long teamId) {
+        Limits limits = teamLimits.get(teamId);
+        if (limits != null) {
+            return limits;
+        }
+        // 시작 이후 한 번도 요청하지 않은 팀은 최초 접근 시 한 번만 DB에서 읽어온다
+        return teamLimits.computeIfAbsent(teamId, id -> teamRepository.findRateLimitById(id)
+                .map(team -> new Limits(team.getRequestsPerMinute(), team.getTokensPerMinute(), nanoClock.getAsLong()))
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TEAM_NOT_FOUND)));
+    }
+    
+    // 모델 한도는 ModelRegistry가 캐시한 모델에서 읽으므로, 모델 수정이 캐시에 반영되면 여기서도 새 한도로 바뀐다
+    private Limits modelLimits(LLMModel model) {
+        Long requestsPerMinute = model.getRequestsPerMinute();
+        Long tokensPerMinute = model.getTokensPerMinute();
+        if (requestsPerMinute == null && tokensPerMinute == null) {
+            return UNLIMITED;
+        }
+        Limits limits = modelLimits.get(model.getId());
+        if (limits != null && limits.matches(requestsPerMinute, tokensPerMinute)) {
+            return limits;
+        }
+        long now = nanoClock.getAsLong();
+        return modelLimits.compute(model.getId(), (id, current) -> renew(current, requestsPerMinute, tokensPerMinute, now));
+    }
+    
+    private static Limits renew(Limits current, Long requestsPerMinute, Long tokensPerMinute, long now) {
+        return current != null && current.matches(requestsPerMinute, tokensPerMinute)
+                ? current
+                : new Limits(requestsPerMinute, tokensPerMinute, now);
+    }
+    
+    private static Limits limitsOrUnlimited(Limits limits) {
+        return limits != null ? limits : UNLIMITED;
+    }
+    
+    private static RateLimitExceededException rejected(String message, long waitNanos) {
+        // 초 단위로 올림해 그 시각에 다시 보내면 허용되도록 한다
+        long retryAfterSeconds = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return new RateLimitExceededException(message, retryAfterSeconds);
+    }
+    
+    // 한 주체(팀 또는 모델)의 RPM/TPM 버킷. 한도가 없는 쪽은 null
+    private static final class Limits {
+        
+        private final Bucket requests;
+        
+        private final Bucket tokens;
+        
+        private Limits(Long requestsPerMinute, Long tokensPerMinute, long now) {
+            this.requests = requestsPerMinute != null ? new Bucket(requestsPerMinute, now) : null;
+            this.tokens = tokensPerMinute != null ? new Bucket(tokensPerMinute, now) : null;
+        }
+        
+        private boolean matches(Long requestsPerMinute, Long tokensPerMinute) {
+            return Objects.equals(requests != null ? requests.limit : null, requestsPerMinute)
+                    && Objects.equals(tokens != null ? tokens.limit : null, tokensPerMinute);
+        }
+        
+        // 허용하면 0, 거절하면 다시 시도할 수 있을 때까지의 나노초
+        private long tryAcquire(long tokenCount, long now) {
+            if (requests != null) {
+                long waitNanos = requests.tryAcquire(1L, now);
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+            }
+            if (tokens != null) {
+                long waitNanos = tokens.tryAcquire(tokenCount, now);
+                if (waitNanos > 0) {
+                    if (requests != null) {
+                        requests.refund(1L);
+                    }
+                    return waitNanos;
+                }
+            }
+            return 0L;
+        }
+        
+        private void refund(long tokenCount) {
+            if (requests != null) {
+                requests.refund(1L);
+            }
+            if (tokens != null) {
+                tokens.refund(tokenCount);
+            }
+        }
+        
+        private void adjustTokens(long delta, long now) {
+            if (tokens == null) {
+                return;
+            }
+            if (delta > 0) {
+                tokens.charge(delta, now);
+            } else {
+                tokens.refund(-delta);
+            }
+        }
+    }
+    
+    /**
+     * GCRA 버킷. 단위 하나를 쓸 때마다 이론적 도착 시각(theoreticalArrival)을 60초/한도만큼 미루고,
+     * 그 시각이 지금으로부터 1분(버킷 크기)을 넘어서면 거절한다.
+     */
+    private static final class Bucket {
+        
+        private final long limit;
+        
+        private final double nanosPerUnit;
+        
+        private final AtomicLong theoreticalArrival;
+        
+        private Bucket(long limit, long now) {
+            this.limit = limit;
+            this.nanosPerUnit = (double) WINDOW_NANOS / limit;
+            // 가득 찬 버킷으로 시작한다. 버킷을 만들기 전에 읽은 시각으로 호출해도 첫 요청을 거절하지 않도록 한 구간 앞에서 시작한다
+            this.theoreticalArrival = new AtomicLong(now - WINDOW_NANOS);
+        }
+        
+        private long tryAcquire(long amount, long now) {
+            long increment = increment(amount);
+            long current;
+            long next;
+            do {
+                current = theoreticalArrival.get();
+                next = Math.max(current, now) + increment;
+                long waitNanos = next - now - WINDOW_NANOS;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+            } while (!theoreticalArrival.weakCompareAndSetVolatile(current, next));
+            return 0L;
+        }
+        
+        // 이미 사용한 양을 한도와 관계없이 반영한다 (예약보다 많이 쓴 토큰)
+        private void charge(long amount, long now) {
+            long increment = increment(amount);
+            long current;
+            do {
+                current = theoreticalArrival.get();
+            } while (!theoreticalArrival.weakCompareAndSetVolatile(current, Math.max(current, now) + increment));
+        }
+        
+        // 되돌린 시각이 지금보다 과거여도 tryAcquire가 지금 시각부터 계산하므로 버킷 크기 이상 쌓이지 않는다
+        private void refund(long amount) {
+            theoreticalArrival.addAndGet(-increment(amount));
+        }
+        
+        // 한도보다 큰 요청은 버킷 전체를 쓰는 것으로 본다 (그렇지 않으면 영원히 허용되지 않는다)
+        private long increment(long amount) {
+            if (amount <= 0L) {
+                return 0L;
+            }
+            return amount >= limit ? WINDOW_NANOS : (long) (amount * nanosPerUnit);
+        }
+    }
+}
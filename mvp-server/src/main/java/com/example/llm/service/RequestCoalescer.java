@@ -0,0 +1,132 @@
+package com.example.llm.service;
+
+import com.example.llm.config.GatewayProperties;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.gateway.ProviderResponse;
+import com.example.llm.gateway.SseRelay;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 같은 모델 이름과 같은 요청 본문({@link RequestHash})의 요청이 동시에 들어오면 제공자 호출 하나를 함께 쓰게 한다 (single-flight).
+ * 먼저 온 요청(leader)만 제공자를 호출하고, 호출이 끝나기 전에 들어온 요청은 그 결과를 기다린다.
+ * 기다린 요청은 각자 자기 팀의 할당량과 분당 한도를 예약하고 같은 토큰 수로 사용 이력을 남기므로 팀별 사용량은 따로 호출한 것과 같다.
+ * leader의 호출이 실패하면 기다리던 요청은 각자 제공자를 호출한다.
+ * 스트리밍 요청은 leader의 {@link SseRelay}에 합류해 같은 이벤트를 받는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class RequestCoalescer implements MeterBinder {
+    
+    private final GatewayProperties gatewayProperties;
+    
+    private final Map<Key, CompletableFuture<Completed>> calls = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<SharedStream>> streams = new ConcurrentHashMap<>();
+    
+    private final LongAdder coalescedCalls = new LongAdder();
+    private final LongAdder coalescedStreams = new LongAdder();
+    
+    /**
+     * 스트리밍이 아닌 요청의 호출 자리. 합치기를 끄면 null.
+     */
+    public Flight<Completed> call(ObjectNode request) {
+        return join(calls, request, false, coalescedCalls);
+    }
+    
+    /**
+     * 스트리밍 요청의 호출 자리. 합치기를 끄면 null.
+     */
+    public Flight<SharedStream> stream(ObjectNode request) {
+        return join(streams, request, true, coalescedStreams);
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("llm.gateway.coalesced", coalescedCalls, LongAdder::sum)
+                .description("Requests that waited for an identical in-flight provider call")
+                .tag("type", "call")
+                .register(registry);
+        FunctionCounter.builder("llm.gateway.coalesced", coalescedStreams, LongAdder::sum)
+                .description("Requests that waited for an identical in-flight provider call")
+                .tag("type", "stream")
+                .register(registry);
+    }
+    
+    private <T> Flight<T> join(Map<Key, CompletableFuture<T>> flights, ObjectNode request, boolean stream,
+                               LongAdder coalesced) {
+        if (!gatewayProperties.getCoalescing().isEnabled()) {
+            return null;
+        }
+        Key key = new Key(request.path("model").asText(), stream, RequestHash.of(request));
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<T> existing = flights.putIfAbsent(key, result);
+        if (existing != null) {
+            coalesced.increment();
+            return new Flight<>(flights, key, existing, false);
+        }
+        return new Flight<>(flights, key, result, true);
+    }
+    
+    /**
+     * 진행 중인 호출 하나. leader는 결과를 알리고(publish) 호출이 끝나면 닫는다(close).
+     * 기다리는 쪽은 result를 기다리며, 결과가 null이면 leader의 호출이 실패한 것이다.
+     */
+    public static final class Flight<T> {
+        
+        private final Map<Key, CompletableFuture<T>> flights;
+        private final Key key;
+        private final CompletableFuture<T> result;
+        private final boolean leader;
+        
+        private Flight(Map<Key, CompletableFuture<T>> flights, Key key, CompletableFuture<T> result, boolean leader) {
+            this.flights = flights;
+            this.key = key;
+            this.result = result;
+            this.leader = leader;
+        }
+        
+        public boolean isLeader() {
+            return leader;
+        }
+        
+        public CompletableFuture<T> result() {
+            return result;
+        }
+        
+        public void publish(T value) {
+            result.complete(value);
+        }
+        
+        // 목록에서 빼 이후 요청이 새로 호출하게 한다. leader가 결과를 알리지 못했으면 기다리던 요청에 실패를 알린다
+        public void close() {
+            flights.remove(key, result);
+            if (leader) {
+                result.complete(null);
+            }
+        }
+    }
+    
+    /**
+     * leader가 받은 성공 응답과 그 사용량.
+     */
+    public record Completed(LLMModel model, ProviderResponse response, long totalTokens, long promptTokens) {
+    }
+    
+    /**
+     * leader가 제공자에서 받고 있는 스트림.
+     */
+    public record SharedStream(LLMModel model, SseRelay relay) {
+    }
+    
+    private record Key(String model, boolean stream, RequestHash hash) {
+    }
+}
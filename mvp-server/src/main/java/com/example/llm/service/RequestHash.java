@@ -0,0 +1,91 @@
+package com.example.llm.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 정규화한 요청 본문의 SHA-256 앞 128비트. 응답 캐시와 요청 합치기에서 같은 요청인지 판단하는 데 쓴다.
+ * 필드 순서와 숫자 표기(1과 1.0)는 무시하고, 응답 내용과 관계없는 최상위 model/stream/stream_options/user 필드는 뺀다.
+ */
+public record RequestHash(long high, long low) {
+    
+    // 제공자가 받는 요청이나 응답 내용에 영향을 주지 않는 최상위 필드
+    private static final Set<String> IGNORED_FIELDS = Set.of("model", "stream", "stream_options", "user");
+    
+    public static RequestHash of(ObjectNode request) {
+        MessageDigest digest = sha256();
+        update(digest, request, true);
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest());
+        return new RequestHash(hash.getLong(), hash.getLong());
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    // 값마다 종류 표시와 길이를 앞에 붙여 서로 다른 구조가 같은 바이트열이 되지 않게 한다
+    private static void update(MessageDigest digest, JsonNode node, boolean root) {
+        switch (node.getNodeType()) {
+            case OBJECT -> {
+                List<String> names = new ArrayList<>(node.size());
+                for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+                    String name = it.next();
+                    if (!root || !IGNORED_FIELDS.contains(name)) {
+                        names.add(name);
+                    }
+                }
+                Collections.sort(names);
+                digest.update((byte) '{');
+                updateLength(digest, names.size());
+                for (String name : names) {
+                    updateText(digest, name);
+                    update(digest, node.get(name), false);
+                }
+            }
+            case ARRAY -> {
+                digest.update((byte) '[');
+                updateLength(digest, node.size());
+                for (JsonNode element : node) {
+                    update(digest, element, false);
+                }
+            }
+            case STRING -> {
+                digest.update((byte) 's');
+                updateText(digest, node.textValue());
+            }
+            case NUMBER -> {
+                digest.update((byte) 'n');
+                updateText(digest, node.decimalValue().stripTrailingZeros().toPlainString());
+            }
+            case BOOLEAN -> digest.update((byte) (node.booleanValue() ? 't' : 'f'));
+            default -> digest.update((byte) 'z');
+        }
+    }
+    
+    private static void updateText(MessageDigest digest, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        updateLength(digest, bytes.length);
+        digest.update(bytes);
+    }
+    
+    private static void updateLength(MessageDigest digest, int length) {
+        digest.update((byte) (length >>> 24));
+        digest.update((byte) (length >>> 16));
+        digest.update((byte) (length >>> 8));
+        digest.update((byte) length);
+    }
+}
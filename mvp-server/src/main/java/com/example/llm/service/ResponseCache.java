@@ -0,0 +1,231 @@
+package com.example.llm.service;
+
+import com.example.llm.config.ResponseCacheProperties;
+import com.example.llm.dto.response.ResponseCacheStatsResponse;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.repository.TeamRepository;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 같은 요청을 다시 보내면 제공자를 호출하지 않고 저장해 둔 응답을 돌려주는 정확 일치 응답 캐시.
+ * 캐시를 켠 팀(Team.responseCacheEnabled)의 스트리밍이 아닌 요청만 대상으로 한다.
+ *
+ * 키는 팀, 모델과 정규화한 요청 본문의 해시({@link RequestHash})이며 팀끼리는 캐시를 나눠 쓰지 않는다.
+ * 본문 크기로 무게를 매긴 Caffeine(W-TinyLFU) 캐시 두 층에 저장한다. 작은 응답은 힙에,
+ * offHeapThresholdBytes보다 큰 응답은 힙 밖 direct buffer에 두어 큰 응답이 GC 대상 힙을 차지하지 않게 한다.
+ */
+@Service
+public class ResponseCache implements MeterBinder {
+    
+    private final TeamRepository teamRepository;
+    private final ResponseCacheProperties properties;
+    
+    private final Cache<Key, Entry> heap;
+    private final Cache<Key, Entry> offHeap;
+    
+    private final Map<Long, Boolean> teamEnabled = new ConcurrentHashMap<>();
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    
+    public ResponseCache(TeamRepository teamRepository, ResponseCacheProperties properties) {
+        this.teamRepository = teamRepository;
+        this.properties = properties;
+        this.heap = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxHeapBytes())
+                .weigher((Key key, Entry entry) -> entry.size())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.offHeap = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxOffHeapBytes())
+                .weigher((Key key, Entry entry) -> entry.size())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+    
+    /**
+     * 요청의 캐시 지문. 팀이 캐시를 켜지 않았으면 null.
+     */
+    public Fingerprint fingerprint(Long teamId, ObjectNode request) {
+        if (!isEnabled(teamId)) {
+            return null;
+        }
+        return new Fingerprint(teamId, RequestHash.of(request));
+    }
+    
+    /**
+     * 후보 모델 순서대로 저장된 응답을 찾는다. 모델 클래스 요청은 어느 후보의 응답이든 돌려준다.
+     */
+    public Optional<Hit> find(Fingerprint fingerprint, List<LLMModel> candidates) {
+        for (LLMModel model : candidates) {
+            Key key = fingerprint.key(model);
+            Entry entry = heap.getIfPresent(key);
+            if (entry == null) {
+                entry = offHeap.getIfPresent(key);
+            }
+            if (entry != null) {
+                hits.increment();
+                bytesSaved.add(entry.size());
+                return Optional.of(new Hit(model, entry.copyBody(), entry.contentType(),
+                        entry.totalTokens(), entry.promptTokens()));
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+    
+    /**
+     * 제공자의 성공 응답을 저장한다. maxEntryBytes보다 큰 응답은 저장하지 않는다.
+     */
+    public void put(Fingerprint fingerprint, LLMModel model, byte[] body, String contentType,
+                    long totalTokens, long promptTokens) {
+        if (body.length > properties.getMaxEntryBytes()) {
+            return;
+        }
+        Key key = fingerprint.key(model);
+        if (body.length <= properties.getOffHeapThresholdBytes()) {
+            heap.put(key, new Entry(ByteBuffer.wrap(body), contentType, totalTokens, promptTokens));
+            offHeap.invalidate(key);
+        } else if (properties.getMaxOffHeapBytes() > 0) {
+            ByteBuffer direct = ByteBuffer.allocateDirect(body.length).put(body).flip();
+            offHeap.put(key, new Entry(direct, contentType, totalTokens, promptTokens));
+            heap.invalidate(key);
+        }
+    }
+    
+    public void updateTeam(Long teamId, Boolean enabled) {
+        teamEnabled.put(teamId, Boolean.TRUE.equals(enabled));
+        if (!Boolean.TRUE.equals(enabled)) {
+            invalidateTeam(teamId);
+        }
+    }
+    
+    public void removeTeam(Long teamId) {
+        teamEnabled.remove(teamId);
+        invalidateTeam(teamId);
+    }
+    
+    public ResponseCacheStatsResponse getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return ResponseCacheStatsResponse.builder()
+                .hitCount(hitCount)
+                .missCount(missCount)
+                .hitRate(requests == 0 ? 0.0 : (double) hitCount / requests)
+                .bytesSaved(bytesSaved.sum())
+                .evictionCount(heap.stats().evictionCount() + offHeap.stats().evictionCount())
+                .heapEntries(heap.estimatedSize())
+                .heapBytes(weightedSize(heap))
+                .offHeapEntries(offHeap.estimatedSize())
+                .offHeapBytes(weightedSize(offHeap))
+                .build();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("llm.response.cache.requests", hits, LongAdder::sum)
+                .description("Cacheable gateway requests by cache lookup result")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("llm.response.cache.requests", misses, LongAdder::sum)
+                .description("Cacheable gateway requests by cache lookup result")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("llm.response.cache.saved", bytesSaved, LongAdder::sum)
+                .description("Response bytes served from the cache instead of the provider")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("llm.response.cache.size", heap, ResponseCache::weightedSize)
+                .description("Cached response bytes")
+                .baseUnit("bytes")
+                .tag("tier", "heap")
+                .register(registry);
+        Gauge.builder("llm.response.cache.size", offHeap, ResponseCache::weightedSize)
+                .description("Cached response bytes")
+                .baseUnit("bytes")
+                .tag("tier", "off_heap")
+                .register(registry);
+    }
+    
+    // 사용 여부는 처음 요청할 때 읽어 두고, 이후 변경은 TeamService가 반영한다. 없는 팀은 캐시를 쓰지 않는다
+    private boolean isEnabled(Long teamId) {
+        Boolean enabled = teamEnabled.get(teamId);
+        if (enabled != null) {
+            return enabled;
+        }
+        Optional<Boolean> loaded = teamRepository.findResponseCacheEnabledById(teamId);
+        if (loaded.isEmpty()) {
+            return false;
+        }
+        Boolean previous = teamEnabled.putIfAbsent(teamId, loaded.get());
+        return previous != null ? previous : loaded.get();
+    }
+    
+    private void invalidateTeam(Long teamId) {
+        heap.asMap().keySet().removeIf(key -> key.teamId().equals(teamId));
+        offHeap.asMap().keySet().removeIf(key -> key.teamId().equals(teamId));
+    }
+    
+    private static long weightedSize(Cache<Key, Entry> cache) {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+    
+    /**
+     * 모델을 뺀 요청 지문. 후보 모델마다 같은 지문으로 키를 만든다.
+     */
+    public record Fingerprint(Long teamId, RequestHash hash) {
+        
+        private Key key(LLMModel model) {
+            return new Key(teamId, model.getId(), hash);
+        }
+    }
+    
+    /**
+     * 캐시 적중에 할당량과 분당 토큰 한도로 청구할 토큰 수. 처음 응답한 사용량에 hitCostRatio를 곱해 올림한다.
+     */
+    public long chargedTokens(Hit hit) {
+        double ratio = Math.min(1.0, Math.max(0.0, properties.getHitCostRatio()));
+        return (long) Math.ceil(hit.totalTokens() * ratio);
+    }
+    
+    /**
+     * 캐시 적중 결과. 토큰 수는 처음 제공자가 응답한 사용량이다.
+     */
+    public record Hit(LLMModel model, byte[] body, String contentType, long totalTokens, long promptTokens) {
+    }
+    
+    private record Key(Long teamId, Long modelId, RequestHash hash) {
+    }
+    
+    private record Entry(ByteBuffer body, String contentType, long totalTokens, long promptTokens) {
+        
+        private int size() {
+            return body.remaining();
+        }
+        
+        // 호출자가 응답 본문을 바꿔도 캐시한 응답은 그대로 남도록 항상 복사본을 돌려준다
+        private byte[] copyBody() {
+            byte[] copy = new byte[body.remaining()];
+            body.duplicate().get(copy);
+            return copy;
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package com.example.llm.service;
 
+import com.example.llm.dto.request.PageCursor;
 import com.example.llm.dto.request.QuotaSetRequest;
 import com.example.llm.dto.request.TeamCreateRequest;
 import com.example.llm.dto.request.TeamUpdateRequest;
+import com.example.llm.dto.response.CursorPageResponse;
 import com.example.llm.dto.response.TeamResponse;
 import com.example.llm.entity.Team;
 import com.example.llm.exception.ErrorCode;
 import com.example.llm.exception.ResourceNotFoundException;
 import com.example.llm.repository.TeamRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -21,14 +26,31 @@ import java.util.stream.Collectors;
 public class TeamService {
     
     private final TeamRepository teamRepository;
+    private final QuotaEnforcer quotaEnforcer;
+    private final RateLimiter rateLimiter;
+    private final ResponseCache responseCache;
     
     public TeamResponse createTeam(TeamCreateRequest request) {
         Team team = Team.builder()
                 .name(request.getName())
                 .quota(request.getQuota())
                 .usage(0L)
+                .requestsPerMinute(request.getRequestsPerMinute())
+                .tokensPerMinute(request.getTokensPerMinute())
+                .responseCacheEnabled(Boolean.TRUE.equals(request.getResponseCacheEnabled()))
                 .build();
         Team savedTeam = teamRepository.save(team);
+        Long id = savedTeam.getId();
+        Long quota = savedTeam.getQuota();
+        Long usage = savedTeam.getUsage();
+        Long requestsPerMinute = savedTeam.getRequestsPerMinute();
+        Long tokensPerMinute = savedTeam.getTokensPerMinute();
+        Boolean responseCacheEnabled = savedTeam.getResponseCacheEnabled();
+        afterCommit(() -> {
+            quotaEnforcer.register(id, quota, usage);
+            rateLimiter.updateTeamLimits(id, requestsPerMinute, tokensPerMinute);
+            responseCache.updateTeam(id, responseCacheEnabled);
+        });
         return mapToTeamResponse(savedTeam);
     }
     
@@ -39,6 +61,14 @@ public class TeamService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TeamResponse> getTeamPage(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<Team> rows = teamRepository.findPageAfter(after != null ? after.getId() : 0L,
+                PageRequest.of(0, PageCursor.checkSize(size) + 1));
+        return CursorPageResponse.of(rows, size, this::mapToTeamResponse, team -> PageCursor.ofId(team.getId()));
+    }
+    
     @Transactional(readOnly = true)
     public TeamResponse getTeamById(Long id) {
         Team team = teamRepository.findById(id)
@@ -52,6 +82,15 @@ public class TeamService {
         
         team.setName(request.getName());
         team.setQuota(request.getQuota());
+        team.setRequestsPerMinute(request.getRequestsPerMinute());
+        team.setTokensPerMinute(request.getTokensPerMinute());
+        team.setResponseCacheEnabled(Boolean.TRUE.equals(request.getResponseCacheEnabled()));
+        Boolean responseCacheEnabled = team.getResponseCacheEnabled();
+        afterCommit(() -> {
+            quotaEnforcer.updateQuota(id, request.getQuota());
+            rateLimiter.updateTeamLimits(id, request.getRequestsPerMinute(), request.getTokensPerMinute());
+            responseCache.updateTeam(id, responseCacheEnabled);
+        });
         
         return mapToTeamResponse(teamRepository.save(team));
     }
@@ -60,6 +99,11 @@ public class TeamService {
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TEAM_NOT_FOUND));
         teamRepository.delete(team);
+        afterCommit(() -> {
+            quotaEnforcer.remove(id);
+            rateLimiter.removeTeam(id);
+            responseCache.removeTeam(id);
+        });
     }
     
     public TeamResponse setQuota(Long id, QuotaSetRequest request) {
@@ -67,16 +111,34 @@ public class TeamService {
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TEAM_NOT_FOUND));
         
         team.setQuota(request.getQuota());
+        afterCommit(() -> quotaEnforcer.updateQuota(id, request.getQuota()));
         
         return mapToTeamResponse(teamRepository.save(team));
     }
     
+    // 메모리의 할당량·속도 제한·캐시 설정은 DB 변경이 커밋된 뒤에만 바꾼다. 롤백되면 이전 상태가 그대로 남는다
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
     private TeamResponse mapToTeamResponse(Team team) {
         return TeamResponse.builder()
                 .id(team.getId())
                 .name(team.getName())
                 .quota(team.getQuota())
                 .usage(team.getUsage())
+                .requestsPerMinute(team.getRequestsPerMinute())
+                .tokensPerMinute(team.getTokensPerMinute())
+                .responseCacheEnabled(team.getResponseCacheEnabled())
                 .createdAt(team.getCreatedAt())
                 .updatedAt(team.getUpdatedAt())
                 .build();
@@ -0,0 +1,222 @@
+package com.example.llm.service;
+
+import com.example.llm.dto.request.UsageExportFormat;
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.util.Micros;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 사용 이력 원본 내보내기 (정산용).
+ * 결과를 목록으로 모으지 않고 JDBC 커서에서 고정 크기(usage.export.fetch-size)씩 읽는 대로 응답에 바로 기록하므로
+ * 내보내는 행 수와 관계없이 힙 사용량이 일정하다.
+ * 커서 기반 fetch는 드라이버에 따라 autocommit이 꺼져 있어야 동작하므로 읽기 전용 트랜잭션 안에서 조회한다.
+ */
+@Slf4j
+@Service
+public class UsageExportService {
+    
+    private static final String CSV_HEADER = "id,team_id,team_name,model_id,model_name,tokens,cost,used_at\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    
+    public UsageExportService(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${usage.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * 조건을 검증하고 응답 스트림에 기록할 본문을 만든다. 조회는 본문이 기록될 때(비동기 스레드) 시작된다.
+     * 팀을 지정하면 사용 시각 순, 지정하지 않으면 id 순으로 기록한다.
+     */
+    public StreamingResponseBody export(Long teamId, LocalDateTime from, LocalDateTime to,
+                                        UsageExportFormat format, boolean gzip) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "from은 to보다 이전이어야 합니다");
+        }
+        
+        StringBuilder sql = new StringBuilder(
+                "SELECT u.id, u.team_id, t.name, u.model_id, m.name, u.tokens, u.cost_micros, u.used_at FROM usage u " +
+                "JOIN teams t ON t.id = u.team_id JOIN llm_models m ON m.id = u.model_id WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (teamId != null) {
+            sql.append(" AND u.team_id = ?");
+            args.add(teamId);
+        }
+        if (from != null) {
+            sql.append(" AND u.used_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND u.used_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(teamId != null ? " ORDER BY u.used_at, u.id" : " ORDER BY u.id");
+        
+        return out -> {
+            long started = System.nanoTime();
+            long rows = write(sql.toString(), args.toArray(), format, gzip, out);
+            log.info("Usage export finished: teamId={}, format={}, gzip={}, rows={}, elapsedMs={}",
+                    teamId, format, gzip, rows, (System.nanoTime() - started) / 1_000_000);
+        };
+    }
+    
+    private long write(String sql, Object[] args, UsageExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(gzipOut != null ? gzipOut : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RowWriter rowWriter = format == UsageExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        
+        long[] rows = {0};
+        try {
+            rowWriter.begin();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, rs -> {
+                try {
+                    rowWriter.write(rs);
+                    rows[0]++;
+                } catch (IOException e) {
+                    // 클라이언트 연결 종료 등 - 커서를 닫고 조회를 중단
+                    throw new UncheckedIOException(e);
+                }
+            }, args));
+            rowWriter.end();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+        return rows[0];
+    }
+    
+    private interface RowWriter {
+        
+        void begin() throws IOException;
+        
+        void write(ResultSet rs) throws SQLException, IOException;
+        
+        void end() throws IOException;
+    }
+    
+    private static final class CsvRowWriter implements RowWriter {
+        
+        private final Writer writer;
+        
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+        
+        @Override
+        public void begin() throws IOException {
+            writer.write(CSV_HEADER);
+        }
+        
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong(1)));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong(2)));
+            writer.write(',');
+            writeText(rs.getString(3));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong(4)));
+            writer.write(',');
+            writeText(rs.getString(5));
+            writer.write(',');
+            writer.write(Integer.toString(rs.getInt(6)));
+            writer.write(',');
+            // micro 정수를 그대로 소수점 6자리로 옮기므로 double 변환 오차가 없다
+            writer.write(BigDecimal.valueOf(rs.getLong(7), 6).stripTrailingZeros().toPlainString());
+            writer.write(',');
+            writer.write(rs.getTimestamp(8).toLocalDateTime().toString());
+            writer.write('\n');
+        }
+        
+        @Override
+        public void end() {
+        }
+        
+        // RFC 4180: 쉼표/따옴표/줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번 쓴다
+        private void writeText(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+    
+    private final class NdjsonRowWriter implements RowWriter {
+        
+        private final JsonGenerator generator;
+        
+        private NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 최상위 값 사이의 기본 구분자(공백) 대신 줄바꿈을 직접 기록한다
+            this.generator.setRootValueSeparator(null);
+        }
+        
+        @Override
+        public void begin() {
+        }
+        
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong(1));
+            generator.writeNumberField("teamId", rs.getLong(2));
+            generator.writeStringField("teamName", rs.getString(3));
+            generator.writeNumberField("modelId", rs.getLong(4));
+            generator.writeStringField("modelName", rs.getString(5));
+            generator.writeNumberField("tokens", rs.getInt(6));
+            generator.writeNumberField("cost", Micros.toUnits(rs.getLong(7)));
+            generator.writeStringField("usedAt", rs.getTimestamp(8).toLocalDateTime().toString());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        
+        @Override
+        public void end() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.llm.service;
+
+import com.example.llm.dto.request.PageCursor;
+import com.example.llm.dto.response.CursorPageResponse;
+import com.example.llm.dto.response.UsageRecordResponse;
+import com.example.llm.repository.UsageRepository;
+import com.example.llm.repository.projection.UsageRollupSource;
+import com.example.llm.util.Micros;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 팀 사용 이력 원본 조회. 이력이 계속 쌓이므로 전체 조회 없이 최신순 keyset 페이지로만 내려준다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class UsageHistoryService {
+    
+    private final UsageRepository usageRepository;
+    
+    public CursorPageResponse<UsageRecordResponse> getTeamUsagePage(Long teamId, String cursor, int size) {
+        PageCursor before = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, PageCursor.checkSize(size) + 1);
+        List<UsageRollupSource> rows = before == null
+                ? usageRepository.findTeamPage(teamId, limit)
+                : usageRepository.findTeamPageBefore(teamId, before.getTime(), before.getId(), limit);
+        return CursorPageResponse.of(rows, size, this::mapToUsageRecordResponse,
+                row -> PageCursor.of(row.getUsedAt(), row.getId()));
+    }
+    
+    private UsageRecordResponse mapToUsageRecordResponse(UsageRollupSource row) {
+        return UsageRecordResponse.builder()
+                .id(row.getId())
+                .teamId(row.getTeamId())
+                .modelId(row.getModelId())
+                .tokens(row.getTokens())
+                .cost(Micros.toUnits(row.getCostMicros()))
+                .usedAt(row.getUsedAt())
+                .build();
+    }
+}
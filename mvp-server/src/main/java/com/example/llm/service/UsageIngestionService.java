@@ -0,0 +1,269 @@
+package com.example.llm.service;
+
+import com.example.llm.dto.request.UsageRecordRequest;
+import com.example.llm.dto.response.UsageBatchResponse;
+import com.example.llm.dto.response.UsageIngestionStatsResponse;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.Team;
+import com.example.llm.entity.Usage;
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 사용 이력을 메모리 대기열에 모았다가 별도 스레드에서 JDBC 배치 insert로 저장한다.
+ * 배치 크기에 도달하거나 flush 간격이 지나면 저장하며, 대기열이 가득 차면 요청을 거절한다.
+ * 저장 건수(llm.usage.writes)와 팀·모델별 토큰 사용량 지표는 요청 경로가 아닌 flush 스레드에서 기록한다.
+ * 비용도 flush 스레드에서 {@link CostEngine}으로 micro 단위로 계산해 저장한다.
+ */
+@Slf4j
+@Service
+public class UsageIngestionService implements SmartLifecycle, MeterBinder {
+    
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final UsageMetrics usageMetrics;
+    private final CostEngine costEngine;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    
+    private final BlockingQueue<UsageRecordRequest> queue;
+    private final Semaphore capacityPermits;
+    
+    private final LongAdder acceptedRecords = new LongAdder();
+    private final LongAdder rejectedRecords = new LongAdder();
+    private final LongAdder persistedRecords = new LongAdder();
+    private final LongAdder failedRecords = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+    
+    private volatile boolean running;
+    private Thread flusher;
+    
+    public UsageIngestionService(EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 UsageMetrics usageMetrics,
+                                 CostEngine costEngine,
+                                 @Value("${usage.ingestion.queue-capacity:100000}") int queueCapacity,
+                                 @Value("${usage.ingestion.batch-size:500}") int batchSize,
+                                 @Value("${usage.ingestion.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.usageMetrics = usageMetrics;
+        this.costEngine = costEngine;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.capacityPermits = new Semaphore(queueCapacity);
+    }
+    
+    /**
+     * 요청 단위로 전부 받거나 전부 거절한다. 대기열에 자리가 없으면 503을 반환해 호출자가 재시도하도록 한다.
+     */
+    public UsageBatchResponse submit(List<UsageRecordRequest> records) {
+        if (!capacityPermits.tryAcquire(records.size())) {
+            rejectedRecords.add(records.size());
+            throw new BusinessException(ErrorCode.INGESTION_QUEUE_FULL);
+        }
+        // 미리 확보한 허가 수만큼만 넣으므로 offer는 실패하지 않는다
+        for (UsageRecordRequest record : records) {
+            queue.offer(record);
+        }
+        acceptedRecords.add(records.size());
+        
+        return UsageBatchResponse.builder()
+                .accepted(records.size())
+                .queueDepth(queue.size())
+                .build();
+    }
+    
+    public UsageIngestionStatsResponse getStats() {
+        long flushes = flushCount.sum();
+        return UsageIngestionStatsResponse.builder()
+                .queueDepth(queue.size())
+                .queueCapacity(queueCapacity)
+                .acceptedRecords(acceptedRecords.sum())
+                .rejectedRecords(rejectedRecords.sum())
+                .persistedRecords(persistedRecords.sum())
+                .failedRecords(failedRecords.sum())
+                .flushCount(flushes)
+                .averageFlushMillis(flushes > 0 ? totalFlushNanos.sum() / 1e6 / flushes : 0.0)
+                .lastFlushMillis(lastFlushNanos / 1e6)
+                .maxFlushMillis(maxFlushNanos.get() / 1e6)
+                .build();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("llm.usage.writes", persistedRecords, LongAdder::sum)
+                .description("Usage records written to the database")
+                .tag("result", "persisted")
+                .register(registry);
+        FunctionCounter.builder("llm.usage.writes", failedRecords, LongAdder::sum)
+                .description("Usage records written to the database")
+                .tag("result", "failed")
+                .register(registry);
+        FunctionCounter.builder("llm.usage.ingestion.rejected", rejectedRecords, LongAdder::sum)
+                .description("Usage records rejected because the ingestion queue was full")
+                .register(registry);
+        Gauge.builder("llm.usage.ingestion.queue.depth", queue, BlockingQueue::size)
+                .description("Usage records waiting to be written")
+                .register(registry);
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlushLoop, "usage-ingestion-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            try {
+                // 대기열에 남은 이력을 모두 저장할 때까지 기다린다
+                flusher.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    private void runFlushLoop() {
+        List<UsageRecordRequest> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // 인터럽트 상태에서는 poll이 바로 예외를 던지므로 기다리지 않고 남은 이력을 모두 저장한 뒤 끝낸다
+                running = false;
+                flushAndRelease(batch);
+                while (queue.drainTo(batch, batchSize) > 0) {
+                    flushAndRelease(batch);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flushAndRelease(batch);
+        }
+    }
+    
+    // 저장이 끝난 뒤에 대기열 자리를 돌려줘야 저장 중인 배치까지 queue-capacity 안에 든다
+    private void flushAndRelease(List<UsageRecordRequest> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            flush(batch);
+        } finally {
+            capacityPermits.release(batch.size());
+            batch.clear();
+        }
+    }
+    
+    private void collect(List<UsageRecordRequest> batch) throws InterruptedException {
+        UsageRecordRequest first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            UsageRecordRequest next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+    
+    private void flush(List<UsageRecordRequest> batch) {
+        long startedAt = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistAll(batch));
+            persistedRecords.add(batch.size());
+            recordTokens(batch);
+        } catch (RuntimeException e) {
+            // 잘못된 팀/모델 ID 등 일부 레코드 때문에 배치 전체가 실패하면 건별로 다시 저장한다
+            log.warn("Usage batch insert failed, retrying {} records one by one: {}", batch.size(), e.getMessage());
+            for (UsageRecordRequest record : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistAll(List.of(record)));
+                    persistedRecords.increment();
+                    usageMetrics.recordTokens(record.getTeamId(), record.getModelId(), record.getTokens());
+                } catch (RuntimeException recordFailure) {
+                    failedRecords.increment();
+                    log.warn("Dropping usage record for team {} / model {}: {}",
+                            record.getTeamId(), record.getModelId(), recordFailure.getMessage());
+                }
+            }
+        }
+        
+        long elapsed = System.nanoTime() - startedAt;
+        flushCount.increment();
+        totalFlushNanos.add(elapsed);
+        lastFlushNanos = elapsed;
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+    }
+    
+    private void recordTokens(List<UsageRecordRequest> records) {
+        for (UsageRecordRequest record : records) {
+            usageMetrics.recordTokens(record.getTeamId(), record.getModelId(), record.getTokens());
+        }
+    }
+    
+    private void persistAll(List<UsageRecordRequest> records) {
+        for (UsageRecordRequest record : records) {
+            long costMicros = costEngine.costMicros(record);
+            long savedMicros = costEngine.savedMicros(record, costMicros);
+            entityManager.persist(Usage.builder()
+                    .team(entityManager.getReference(Team.class, record.getTeamId()))
+                    .model(entityManager.getReference(LLMModel.class, record.getModelId()))
+                    .tokens(record.getTokens())
+                    .costMicros(costMicros - savedMicros)
+                    .savedMicros(savedMicros)
+                    .usedAt(record.getUsedAt())
+                    .build());
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.llm.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 팀·모델별 토큰 사용량 지표(llm.tokens.consumed).
+ * 카운터는 팀/모델 조합마다 처음 기록할 때 한 번만 등록하고, 이후에는 맵 조회와 증가만 하므로 기록 경로에서 객체를 할당하지 않는다.
+ */
+@Component
+public class UsageMetrics {
+    
+    public static final String TOKENS_CONSUMED = "llm.tokens.consumed";
+    
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, Map<Long, Counter>> tokenCounters = new ConcurrentHashMap<>();
+    
+    public UsageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public void recordTokens(Long teamId, Long modelId, long tokens) {
+        Map<Long, Counter> byModel = tokenCounters.get(teamId);
+        Counter counter = byModel != null ? byModel.get(modelId) : null;
+        if (counter == null) {
+            counter = register(teamId, modelId);
+        }
+        counter.increment(tokens);
+    }
+    
+    private Counter register(Long teamId, Long modelId) {
+        return tokenCounters.computeIfAbsent(teamId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(modelId, id -> Counter.builder(TOKENS_CONSUMED)
+                        .description("Tokens consumed per team and model")
+                        .baseUnit("tokens")
+                        .tag("team", String.valueOf(teamId))
+                        .tag("model", String.valueOf(modelId))
+                        .register(meterRegistry));
+    }
+}
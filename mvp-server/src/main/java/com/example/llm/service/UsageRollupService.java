@@ -0,0 +1,370 @@
+package com.example.llm.service;
+
+import com.example.llm.dto.request.TimeseriesBucket;
+import com.example.llm.dto.response.RollupConsistencyResponse;
+import com.example.llm.dto.response.RollupRebuildResponse;
+import com.example.llm.dto.response.UsageSummaryResponse;
+import com.example.llm.dto.response.UsageTimeseriesResponse;
+import com.example.llm.entity.RollupGranularity;
+import com.example.llm.entity.Usage;
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.repository.UsageRepository;
+import com.example.llm.repository.UsageRollupRepository;
+import com.example.llm.repository.projection.TeamUsageAggregate;
+import com.example.llm.repository.projection.UsageBucketAggregate;
+import com.example.llm.repository.projection.UsageRollupSource;
+import com.example.llm.util.Micros;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UsageRollupService {
+    
+    private final UsageRollupRepository usageRollupRepository;
+    private final UsageRepository usageRepository;
+    private final TeamRepository teamRepository;
+    private final PlatformTransactionManager transactionManager;
+    
+    @Value("${usage.rollup.rebuild-chunk-size:10000}")
+    private int rebuildChunkSize;
+    
+    @Value("${usage.timeseries.max-points:10000}")
+    private long timeseriesMaxPoints;
+    
+    /**
+     * 현재 트랜잭션이 커밋되기 직전에 집계 테이블에 반영할 변화량을 등록한다.
+     * 트랜잭션 밖에서 호출되면 즉시 반영한다.
+     */
+    public void recordOnCommit(Usage usage, int sign) {
+        RollupSource source = new RollupSource(
+                usage.getTeam().getId(),
+                usage.getModel().getId(),
+                usage.getTokens(),
+                usage.getCostMicros(),
+                usage.getSavedMicros(),
+                usage.getUsedAt());
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<RollupKey, RollupDelta> deltas = new HashMap<>();
+            accumulate(deltas, source, sign);
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                lockTeams(deltas);
+                applyDeltas(deltas, sign < 0);
+            });
+            return;
+        }
+        
+        PendingRollups pending = (PendingRollups) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingRollups();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new PendingRollupSynchronization(pending));
+        }
+        accumulate(pending.deltas, source, sign);
+        pending.hasDecrements |= sign < 0;
+    }
+    
+    @Transactional
+    public void apply(Collection<UsageRollupSource> sources) {
+        Map<RollupKey, RollupDelta> deltas = new HashMap<>();
+        for (UsageRollupSource source : sources) {
+            accumulate(deltas, new RollupSource(source.getTeamId(), source.getModelId(),
+                    source.getTokens(), source.getCostMicros(), source.getSavedMicros(), source.getUsedAt()), 1);
+        }
+        applyDeltas(deltas, false);
+    }
+    
+    /**
+     * 원본 usage 테이블로부터 집계 테이블을 다시 계산한다.
+     * 팀마다 한 트랜잭션 안에서 팀의 집계 행을 지우고 사용 이력을 id 순서로 {@code rebuildChunkSize}건씩 읽어 다시 쌓으므로,
+     * 조회하는 쪽은 커밋 전까지 이전 집계를 보고 비어 있거나 일부만 쌓인 집계를 보지 않는다.
+     * 재계산은 팀 행을 배타 잠금하고, 집계를 갱신하는 트랜잭션은 커밋할 때까지 팀 행을 공유 잠금하므로 둘은 팀 단위로 직렬화된다.
+     * 따라서 재계산이 읽은 사용 이력은 이미 커밋된 것이고, 읽지 못한 사용 이력은 재계산이 커밋된 뒤 자기 변화량을 더하므로
+     * 어느 쪽도 두 번 집계되지 않는다. 잠금이 DB 행에 있으므로 여러 인스턴스가 같은 DB를 써도 성립한다.
+     */
+    public RollupRebuildResponse rebuild() {
+        long startedAt = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        // 사용 이력이 모두 지워진 팀의 집계 행도 지운다
+        Set<Long> teamIds = new TreeSet<>(usageRepository.findTeamIds());
+        teamIds.addAll(usageRollupRepository.findTeamIds());
+        
+        long processedRows = 0L;
+        int chunks = 0;
+        for (Long teamId : teamIds) {
+            TeamRebuild rebuilt = transactionTemplate.execute(status -> rebuildTeam(teamId));
+            processedRows += rebuilt.rows();
+            chunks += rebuilt.chunks();
+        }
+        
+        long elapsedMillis = System.currentTimeMillis() - startedAt;
+        log.info("Usage rollups rebuilt: {} rows of {} teams in {} chunks ({} ms)",
+                processedRows, teamIds.size(), chunks, elapsedMillis);
+        
+        return RollupRebuildResponse.builder()
+                .processedRows(processedRows)
+                .chunks(chunks)
+                .rollupRows(usageRollupRepository.count())
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+    
+    private TeamRebuild rebuildTeam(Long teamId) {
+        // 팀이 삭제되어 잠글 행이 없으면 남은 집계 행만 지운다
+        teamRepository.lockForRollupRebuild(teamId);
+        usageRollupRepository.deleteByTeamId(teamId);
+        long lastId = 0L;
+        long rows = 0L;
+        int chunks = 0;
+        while (true) {
+            List<UsageRollupSource> chunk = usageRepository.findTeamRollupSourcesAfter(
+                    teamId, lastId, PageRequest.of(0, rebuildChunkSize));
+            if (chunk.isEmpty()) {
+                return new TeamRebuild(rows, chunks);
+            }
+            apply(chunk);
+            lastId = chunk.get(chunk.size() - 1).getId();
+            rows += chunk.size();
+            chunks++;
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public RollupConsistencyResponse checkConsistency() {
+        Map<Long, TeamUsageAggregate> raw = usageRepository.aggregateByTeam().stream()
+                .collect(Collectors.toMap(TeamUsageAggregate::getTeamId, Function.identity()));
+        
+        List<RollupConsistencyResponse.TeamMismatch> mismatches = new ArrayList<>();
+        Set<Long> checkedTeams = new HashSet<>(raw.keySet());
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            Map<Long, TeamUsageAggregate> rollup = usageRollupRepository.aggregateByTeam(granularity).stream()
+                    .collect(Collectors.toMap(TeamUsageAggregate::getTeamId, Function.identity()));
+            checkedTeams.addAll(rollup.keySet());
+            
+            Set<Long> teamIds = new HashSet<>(raw.keySet());
+            teamIds.addAll(rollup.keySet());
+            for (Long teamId : teamIds) {
+                TeamUsageAggregate expected = raw.get(teamId);
+                TeamUsageAggregate actual = rollup.get(teamId);
+                if (!matches(expected, actual)) {
+                    mismatches.add(RollupConsistencyResponse.TeamMismatch.builder()
+                            .granularity(granularity)
+                            .teamId(teamId)
+                            .rawRequestCount(expected != null ? expected.getRequestCount() : 0L)
+                            .rollupRequestCount(actual != null ? actual.getRequestCount() : 0L)
+                            .rawTokens(expected != null ? expected.getTotalTokens() : 0L)
+                            .rollupTokens(actual != null ? actual.getTotalTokens() : 0L)
+                            .rawCost(Micros.toUnits(expected != null ? expected.getTotalCostMicros() : 0L))
+                            .rollupCost(Micros.toUnits(actual != null ? actual.getTotalCostMicros() : 0L))
+                            .build());
+                }
+            }
+        }
+        
+        return RollupConsistencyResponse.builder()
+                .consistent(mismatches.isEmpty())
+                .checkedTeams(checkedTeams.size())
+                .mismatches(mismatches)
+                .build();
+    }
+    
+    @Transactional(readOnly = true)
+    public UsageSummaryResponse getTeamUsageSummary(Long teamId, LocalDateTime from, LocalDateTime to) {
+        // 시간 단위 집계를 사용하므로 from은 해당 시각이 속한 버킷부터 포함된다
+        LocalDateTime bucketFrom = RollupGranularity.HOUR.truncate(from);
+        TeamUsageAggregate aggregate = usageRollupRepository
+                .aggregateTeamRange(teamId, RollupGranularity.HOUR, bucketFrom, to)
+                .orElse(new TeamUsageAggregate(teamId, 0L, 0L, 0L));
+        
+        return UsageSummaryResponse.builder()
+                .teamId(teamId)
+                .from(bucketFrom)
+                .to(to)
+                .requestCount(aggregate.getRequestCount())
+                .totalTokens(aggregate.getTotalTokens())
+                .totalCost(Micros.toUnits(aggregate.getTotalCostMicros()))
+                .build();
+    }
+    
+    /**
+     * 기간 내 팀(선택적으로 모델) 사용량을 버킷별로 합산한 시계열.
+     * 원본 usage 대신 집계 테이블을 읽으므로 조회 비용과 응답 크기는 버킷 수에만 비례한다.
+     * 사용 이력이 없는 버킷은 응답에 포함하지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public UsageTimeseriesResponse getTimeseries(Long teamId, Long modelId, LocalDateTime from, LocalDateTime to,
+                                                 TimeseriesBucket bucket) {
+        LocalDateTime bucketFrom = bucket.truncate(from);
+        if (!bucketFrom.isBefore(to)) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "from은 to보다 이전이어야 합니다");
+        }
+        long bucketCount = Duration.between(bucketFrom, to).dividedBy(bucket.getLength()) + 1;
+        if (bucketCount > timeseriesMaxPoints) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    "조회 구간이 너무 깁니다 (최대 " + timeseriesMaxPoints + "개 버킷)");
+        }
+        
+        List<UsageBucketAggregate> aggregates = modelId == null
+                ? usageRollupRepository.aggregateTeamBuckets(teamId, bucket.getSource(), bucketFrom, to)
+                : usageRollupRepository.aggregateTeamModelBuckets(teamId, modelId, bucket.getSource(), bucketFrom, to);
+        
+        // 집계 단위가 버킷보다 작으면(주 단위) 버킷 시작 시각으로 다시 합산. 정렬된 입력이므로 연속 구간만 합친다
+        // 비용은 micro 단위로 합산한 뒤 응답에 넣을 때만 변환한다
+        List<UsageTimeseriesResponse.Point> points = new ArrayList<>();
+        UsageTimeseriesResponse.Point current = null;
+        long currentCostMicros = 0L;
+        for (UsageBucketAggregate aggregate : aggregates) {
+            LocalDateTime bucketStart = bucket.truncate(aggregate.getBucketStart());
+            if (current != null && current.getBucketStart().equals(bucketStart)) {
+                currentCostMicros += aggregate.getTotalCostMicros();
+                current.setRequestCount(current.getRequestCount() + aggregate.getRequestCount());
+                current.setTotalTokens(current.getTotalTokens() + aggregate.getTotalTokens());
+                current.setTotalCost(Micros.toUnits(currentCostMicros));
+                continue;
+            }
+            currentCostMicros = aggregate.getTotalCostMicros();
+            current = UsageTimeseriesResponse.Point.builder()
+                    .bucketStart(bucketStart)
+                    .requestCount(aggregate.getRequestCount())
+                    .totalTokens(aggregate.getTotalTokens())
+                    .totalCost(Micros.toUnits(currentCostMicros))
+                    .build();
+            points.add(current);
+        }
+        
+        return UsageTimeseriesResponse.builder()
+                .teamId(teamId)
+                .modelId(modelId)
+                .bucket(bucket.name().toLowerCase(Locale.ROOT))
+                .from(bucketFrom)
+                .to(to)
+                .points(points)
+                .build();
+    }
+    
+    private boolean matches(TeamUsageAggregate expected, TeamUsageAggregate actual) {
+        long expectedCount = expected != null ? expected.getRequestCount() : 0L;
+        long actualCount = actual != null ? actual.getRequestCount() : 0L;
+        long expectedTokens = expected != null ? expected.getTotalTokens() : 0L;
+        long actualTokens = actual != null ? actual.getTotalTokens() : 0L;
+        long expectedCost = expected != null ? expected.getTotalCostMicros() : 0L;
+        long actualCost = actual != null ? actual.getTotalCostMicros() : 0L;
+        return expectedCount == actualCount
+                && expectedTokens == actualTokens
+                && expectedCost == actualCost;
+    }
+    
+    private void accumulate(Map<RollupKey, RollupDelta> deltas, RollupSource source, int sign) {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            RollupKey key = new RollupKey(granularity, granularity.truncate(source.usedAt),
+                    source.teamId, source.modelId);
+            deltas.computeIfAbsent(key, k -> new RollupDelta()).add(source, sign);
+        }
+    }
+    
+    // 재계산과 겹치지 않도록 변화량이 있는 팀 행을 커밋까지 공유 잠금한다. 교착을 피하려고 id 순서로 잠근다
+    private void lockTeams(Map<RollupKey, RollupDelta> deltas) {
+        Set<Long> teamIds = new TreeSet<>();
+        for (RollupKey key : deltas.keySet()) {
+            teamIds.add(key.teamId);
+        }
+        teamRepository.lockForRollupUpdate(teamIds);
+    }
+    
+    private void applyDeltas(Map<RollupKey, RollupDelta> deltas, boolean hasDecrements) {
+        for (Map.Entry<RollupKey, RollupDelta> entry : deltas.entrySet()) {
+            RollupKey key = entry.getKey();
+            RollupDelta delta = entry.getValue();
+            usageRollupRepository.upsertIncrement(key.granularity.name(), key.bucketStart,
+                    key.teamId, key.modelId, delta.tokens, delta.costMicros, delta.savedMicros, delta.requestCount);
+        }
+        if (hasDecrements) {
+            usageRollupRepository.deleteEmptyBuckets();
+        }
+    }
+    
+    private record RollupSource(Long teamId, Long modelId, Integer tokens, long costMicros, long savedMicros,
+                                LocalDateTime usedAt) {
+    }
+    
+    private record RollupKey(RollupGranularity granularity, LocalDateTime bucketStart, Long teamId, Long modelId) {
+    }
+    
+    private record TeamRebuild(long rows, int chunks) {
+    }
+    
+    private static final class RollupDelta {
+        private long tokens;
+        private long costMicros;
+        private long savedMicros;
+        private long requestCount;
+        
+        void add(RollupSource source, int sign) {
+            tokens += (long) sign * Objects.requireNonNullElse(source.tokens(), 0);
+            costMicros += sign * source.costMicros();
+            savedMicros += sign * source.savedMicros();
+            requestCount += sign;
+        }
+    }
+    
+    private static final class PendingRollups {
+        private Map<RollupKey, RollupDelta> deltas = new HashMap<>();
+        private boolean hasDecrements;
+    }
+    
+    private final class PendingRollupSynchronization implements TransactionSynchronization {
+        
+        private final PendingRollups pending;
+        
+        PendingRollupSynchronization(PendingRollups pending) {
+            this.pending = pending;
+        }
+        
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // 아직 flush되지 않은 Usage의 콜백이 모두 등록되도록 먼저 flush한다
+            usageRepository.flush();
+            while (!pending.deltas.isEmpty()) {
+                Map<RollupKey, RollupDelta> deltas = pending.deltas;
+                boolean hasDecrements = pending.hasDecrements;
+                pending.deltas = new HashMap<>();
+                pending.hasDecrements = false;
+                lockTeams(deltas);
+                applyDeltas(deltas, hasDecrements);
+            }
+        }
+        
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(UsageRollupService.this);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.llm.util;
+
+/**
+ * 금액 고정소수점 변환. 비용과 단가는 통화 단위의 100만분의 1(micro)을 long으로 저장한다.
+ * 단가는 "100만 토큰당 micro"이므로 토큰 수 × 단가를 100만으로 나누면 바로 micro 단위 비용이 된다.
+ * double 변환은 API 입출력 경계에서만 사용하고 계산과 합산은 모두 long으로 한다.
+ */
+public final class Micros {
+    
+    public static final long PER_UNIT = 1_000_000L;
+    
+    public static final long TOKENS_PER_PRICE = 1_000_000L;
+    
+    private Micros() {
+    }
+    
+    public static long fromUnits(double units) {
+        return Math.round(units * PER_UNIT);
+    }
+    
+    public static double toUnits(long micros) {
+        return micros / (double) PER_UNIT;
+    }
+    
+    // 토큰당 단가(통화 단위) → 100만 토큰당 micro. 0.00003 → 30_000_000
+    public static long perMillionTokens(double costPerToken) {
+        return Math.round(costPerToken * PER_UNIT * TOKENS_PER_PRICE);
+    }
+    
+    public static double perToken(long microsPerMillionTokens) {
+        return microsPerMillionTokens / ((double) PER_UNIT * TOKENS_PER_PRICE);
+    }
+}
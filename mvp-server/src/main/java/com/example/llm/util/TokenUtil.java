@@ -1,59 +1,221 @@
 package com.example.llm.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * JWT 발급/검증.
+ * 서명 키와 파서는 시작 시 한 번 만들어 재사용하고(둘 다 스레드 안전), 검증에 성공한 토큰의 클레임은
+ * 토큰 해시를 키로 토큰 만료 시각까지 캐시한다. 검증에 실패한 토큰은 캐시하지 않는다.
+ * 검증 실패 횟수는 사유별(expired/invalid)로 세어 llm.auth.token.failures 지표로 노출한다.
+ */
 @Component
-public class TokenUtil {
+public class TokenUtil implements MeterBinder {
     
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final String TEAM_IDS_CLAIM = "teamIds";
     
-    @Value("${jwt.expiration}")
-    private Long jwtExpiration;
+    private final Long jwtExpiration;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Clock clock;
+    private final MessageDigest digestPrototype;
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
     
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    private final LongAdder expiredTokens = new LongAdder();
+    private final LongAdder invalidTokens = new LongAdder();
+    
+    @Autowired
+    public TokenUtil(@Value("${jwt.secret}") String jwtSecret,
+                     @Value("${jwt.expiration}") Long jwtExpiration,
+                     @Value("${jwt.claims-cache.maximum-size:10000}") long claimsCacheSize) {
+        this(jwtSecret, jwtExpiration, claimsCacheSize, Clock.systemUTC());
+    }
+    
+    TokenUtil(String jwtSecret, Long jwtExpiration, long claimsCacheSize, Clock clock) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.clock = clock;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+        try {
+            this.digestPrototype = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new UntilTokenExpiry(clock))
+                .ticker(() -> clock.millis() * 1_000_000L)
+                .build();
     }
     
     public String generateToken(String username, String role) {
-        Date now = new Date();
+        return generateToken(username, role, List.of());
+    }
+    
+    public String generateToken(String username, String role, Collection<Long> teamIds) {
+        Date now = Date.from(clock.instant());
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
         
         return Jwts.builder()
                 .setSubject(username)
                 .claim("role", role)
+                .claim(TEAM_IDS_CLAIM, teamIds)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
     public Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+    
+    /**
+     * 토큰을 검증하고 클레임을 반환한다. 같은 토큰은 만료 전까지 서명 검증 없이 캐시에서 반환한다.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        ByteBuffer key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            Claims claims = getClaimsFromToken(token);
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    teamIds(claims),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+            verifiedTokens.put(key, verified);
+            return Optional.of(verified);
+        } catch (ExpiredJwtException e) {
+            expiredTokens.increment();
+            return Optional.empty();
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidTokens.increment();
+            return Optional.empty();
+        }
+    }
+    
+    private static Set<Long> teamIds(Claims claims) {
+        Object value = claims.get(TEAM_IDS_CLAIM);
+        if (!(value instanceof Collection<?> ids)) {
+            return Set.of();
+        }
+        Set<Long> teamIds = new HashSet<>();
+        for (Object id : ids) {
+            if (id instanceof Number number) {
+                teamIds.add(number.longValue());
+            }
+        }
+        return Set.copyOf(teamIds);
     }
     
     public String getUsernameFromToken(String token) {
-        return getClaimsFromToken(token).getSubject();
+        return verify(token)
+                .map(VerifiedToken::getUsername)
+                .orElseGet(() -> getClaimsFromToken(token).getSubject());
     }
     
     public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+    
+    public long getCachedTokenCount() {
+        verifiedTokens.cleanUp();
+        return verifiedTokens.estimatedSize();
+    }
+    
+    public long getValidationFailureCount() {
+        return expiredTokens.sum() + invalidTokens.sum();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("llm.auth.token.failures", expiredTokens, LongAdder::sum)
+                .description("JWT validation failures")
+                .tag("reason", "expired")
+                .register(registry);
+        FunctionCounter.builder("llm.auth.token.failures", invalidTokens, LongAdder::sum)
+                .description("JWT validation failures")
+                .tag("reason", "invalid")
+                .register(registry);
+    }
+    
+    // 토큰 원문 대신 SHA-256 해시를 키로 써서 캐시에 bearer 토큰을 남기지 않는다
+    private ByteBuffer hash(String token) {
+        MessageDigest digest;
         try {
-            getClaimsFromToken(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            digest = (MessageDigest) digestPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8))).asReadOnlyBuffer();
+    }
+    
+    private static class UntilTokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+        
+        // exp 클레임이 없는 토큰의 최대 캐시 시간
+        private static final Duration MAX_TTL = Duration.ofMinutes(5);
+        
+        private final Clock clock;
+        
+        UntilTokenExpiry(Clock clock) {
+            this.clock = clock;
+        }
+        
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+            if (value.getExpiresAt() == null) {
+                return MAX_TTL.toNanos();
+            }
+            Duration remaining = Duration.between(clock.instant(), value.getExpiresAt());
+            return Math.max(0, Math.min(remaining.toNanos(), Long.MAX_VALUE / 2));
+        }
+        
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
-}
\ No newline at end of file
+}
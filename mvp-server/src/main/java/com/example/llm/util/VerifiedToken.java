@@ -0,0 +1,23 @@
+package com.example.llm.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * 서명과 만료 검증을 통과한 토큰의 클레임. 캐시에서 여러 요청이 공유하므로 불변으로 둔다.
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+    
+    private final String username;
+    
+    private final String role;
+    
+    private final Set<Long> teamIds;
+    
+    private final Instant expiresAt;
+}
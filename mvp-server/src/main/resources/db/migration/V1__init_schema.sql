@@ -0,0 +1,72 @@
+-- 초기 스키마 (엔티티 매핑과 같은 구조, 이후 변경은 새 버전 파일로 추가)
+
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE teams (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    quota      BIGINT       NOT NULL,
+    usage      BIGINT       NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE team_members (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    team_id    BIGINT       NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    role       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_team_members_team FOREIGN KEY (team_id) REFERENCES teams (id),
+    CONSTRAINT fk_team_members_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE llm_models (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(255)     NOT NULL,
+    provider       VARCHAR(255)     NOT NULL,
+    cost_per_token DOUBLE PRECISION NOT NULL,
+    api_key        VARCHAR(255),
+    is_active      BOOLEAN          NOT NULL,
+    created_at     TIMESTAMP(6)     NOT NULL,
+    updated_at     TIMESTAMP(6)
+);
+
+-- Usage는 JDBC 배치 insert를 위해 시퀀스(allocationSize = 50)로 id를 발급한다
+CREATE SEQUENCE usage_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE usage (
+    id       BIGINT           NOT NULL PRIMARY KEY,
+    team_id  BIGINT           NOT NULL,
+    model_id BIGINT           NOT NULL,
+    tokens   INTEGER          NOT NULL,
+    cost     DOUBLE PRECISION NOT NULL,
+    used_at  TIMESTAMP(6)     NOT NULL,
+    CONSTRAINT fk_usage_team FOREIGN KEY (team_id) REFERENCES teams (id),
+    CONSTRAINT fk_usage_model FOREIGN KEY (model_id) REFERENCES llm_models (id)
+);
+
+CREATE INDEX idx_usage_team_used_at ON usage (team_id, used_at);
+
+CREATE TABLE usage_rollups (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    granularity   VARCHAR(8)       NOT NULL,
+    bucket_start  TIMESTAMP(6)     NOT NULL,
+    team_id       BIGINT           NOT NULL,
+    model_id      BIGINT           NOT NULL,
+    tokens        BIGINT           NOT NULL,
+    cost          DOUBLE PRECISION NOT NULL,
+    request_count BIGINT           NOT NULL,
+    CONSTRAINT uk_usage_rollups_bucket UNIQUE (granularity, bucket_start, team_id, model_id)
+);
+
+CREATE INDEX idx_usage_rollups_team ON usage_rollups (team_id, granularity, bucket_start);
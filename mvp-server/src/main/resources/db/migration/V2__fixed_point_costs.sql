@@ -0,0 +1,32 @@
+-- 단가와 비용을 micro(통화 단위의 100만분의 1) 고정소수점 정수로 저장한다
+-- 단가는 100만 토큰당 micro, 비용은 micro 단위
+
+ALTER TABLE llm_models ADD COLUMN input_micros_per_million BIGINT;
+ALTER TABLE llm_models ADD COLUMN output_micros_per_million BIGINT;
+UPDATE llm_models
+SET input_micros_per_million  = ROUND(cost_per_token * 1000000000000),
+    output_micros_per_million = ROUND(cost_per_token * 1000000000000);
+ALTER TABLE llm_models ALTER COLUMN input_micros_per_million SET NOT NULL;
+ALTER TABLE llm_models ALTER COLUMN output_micros_per_million SET NOT NULL;
+
+CREATE TABLE llm_model_price_tiers (
+    model_id                  BIGINT NOT NULL,
+    min_input_tokens          BIGINT NOT NULL,
+    input_micros_per_million  BIGINT NOT NULL,
+    output_micros_per_million BIGINT NOT NULL,
+    CONSTRAINT fk_llm_model_price_tiers_model FOREIGN KEY (model_id) REFERENCES llm_models (id)
+);
+
+CREATE INDEX idx_llm_model_price_tiers_model ON llm_model_price_tiers (model_id);
+
+ALTER TABLE usage ADD COLUMN cost_micros BIGINT;
+UPDATE usage SET cost_micros = ROUND(cost * 1000000);
+ALTER TABLE usage ALTER COLUMN cost_micros SET NOT NULL;
+ALTER TABLE usage DROP COLUMN cost;
+
+-- 집계 행은 이미 합산된 double 값을 반올림하므로 원본과 1 micro 차이가 날 수 있다.
+-- 배포 후 /api/usage/rollups/consistency로 확인하고 필요하면 /api/usage/rollups/rebuild로 재계산한다
+ALTER TABLE usage_rollups ADD COLUMN cost_micros BIGINT;
+UPDATE usage_rollups SET cost_micros = ROUND(cost * 1000000);
+ALTER TABLE usage_rollups ALTER COLUMN cost_micros SET NOT NULL;
+ALTER TABLE usage_rollups DROP COLUMN cost;
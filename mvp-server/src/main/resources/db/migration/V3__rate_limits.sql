@@ -0,0 +1,8 @@
+-- 분당 요청 수(RPM)/토큰 수(TPM) 한도. NULL이면 제한하지 않는다
+-- 팀 한도는 팀별로, 모델 한도는 모든 팀이 공유하는 제공자 용량으로 적용한다
+
+ALTER TABLE teams ADD COLUMN requests_per_minute BIGINT;
+ALTER TABLE teams ADD COLUMN tokens_per_minute BIGINT;
+
+ALTER TABLE llm_models ADD COLUMN requests_per_minute BIGINT;
+ALTER TABLE llm_models ADD COLUMN tokens_per_minute BIGINT;
@@ -0,0 +1,4 @@
+-- 논리 모델 클래스. 게이트웨이 요청의 model이 모델 이름 대신 클래스이면 같은 클래스의 활성 모델 중에서 라우팅한다
+ALTER TABLE llm_models ADD COLUMN model_class VARCHAR(100);
+
+CREATE INDEX idx_llm_models_model_class ON llm_models (model_class);
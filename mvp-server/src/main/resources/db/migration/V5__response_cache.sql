@@ -0,0 +1,6 @@
+-- 게이트웨이 응답 캐시. 팀별로 켜고, 캐시 적중 이력은 할인한 비용과 절감액을 따로 기록한다
+ALTER TABLE teams ADD COLUMN response_cache_enabled BOOLEAN DEFAULT FALSE NOT NULL;
+
+ALTER TABLE usage ADD COLUMN saved_micros BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE usage_rollups ADD COLUMN saved_micros BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,74 @@
+package com.example.llm;
+
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.RollupGranularity;
+import com.example.llm.entity.Team;
+import com.example.llm.entity.Usage;
+import com.example.llm.repository.ModelRepository;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.repository.UsageRepository;
+import com.example.llm.repository.UsageRollupRepository;
+import com.example.llm.repository.projection.TeamUsageAggregate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrationdb;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@DisplayName("Flyway 스키마 마이그레이션 테스트")
+class SchemaMigrationIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ModelRepository modelRepository;
+
+    @Autowired
+    private UsageRepository usageRepository;
+
+    @Autowired
+    private UsageRollupRepository usageRollupRepository;
+
+    @Test
+    @DisplayName("마이그레이션으로 만든 스키마에서 사용 이력 저장과 집계 갱신이 동작")
+    void migratedSchema_SupportsUsageWritesAndRollups() {
+        // Given
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"success\" = TRUE", Integer.class);
+        assertTrue(applied != null && applied >= 1);
+        Team team = teamRepository.save(Team.builder().name("Migrated Team").quota(10000L).usage(0L).build());
+        LLMModel model = modelRepository.save(LLMModel.builder()
+                .name("GPT-4").provider("OpenAI").costPerToken(0.00003).isActive(true).build());
+
+        // When
+        usageRepository.saveAll(List.of(
+                Usage.builder().team(team).model(model).tokens(100).costMicros(3_000L)
+                        .usedAt(LocalDateTime.of(2026, 1, 10, 9, 15)).build(),
+                Usage.builder().team(team).model(model).tokens(200).costMicros(6_000L)
+                        .usedAt(LocalDateTime.of(2026, 1, 10, 9, 45)).build()));
+
+        // Then
+        assertEquals(2, usageRepository.count());
+        List<TeamUsageAggregate> daily = usageRollupRepository.aggregateByTeam(RollupGranularity.DAY);
+        assertEquals(1, daily.size());
+        assertEquals(2L, daily.get(0).getRequestCount());
+        assertEquals(300L, daily.get(0).getTotalTokens());
+        assertEquals(9_000L, daily.get(0).getTotalCostMicros());
+    }
+}
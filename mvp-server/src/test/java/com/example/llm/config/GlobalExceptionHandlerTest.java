@@ -0,0 +1,51 @@
+package com.example.llm.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GlobalExceptionHandler 단위 테스트")
+class GlobalExceptionHandlerTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("클라이언트 오류는 스택 트레이스 없이 WARN으로 기록")
+    void handleBusinessException_ClientError_LogsWarnWithoutStackTrace() {
+        // When
+        handler.handleBusinessException(new BusinessException(ErrorCode.TEAM_NOT_FOUND));
+
+        // Then
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.WARN, event.getLevel());
+        assertNull(event.getThrowableProxy());
+        assertTrue(event.getFormattedMessage().contains("TEAM_NOT_FOUND"));
+    }
+}
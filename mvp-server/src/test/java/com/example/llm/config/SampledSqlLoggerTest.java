@@ -0,0 +1,88 @@
+package com.example.llm.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SampledSqlLogger 단위 테스트")
+class SampledSqlLoggerTest {
+
+    private static final String SQL = "select t.id from teams t where t.id=?";
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("sql.sampled");
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private Level originalLevel;
+
+    @BeforeEach
+    void setUp() {
+        originalLevel = logger.getLevel();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        appender.stop();
+        logger.setLevel(originalLevel);
+    }
+
+    @Test
+    @DisplayName("비율이 0이면 DEBUG여도 기록하지 않음")
+    void inspect_RateZero_LogsNothing() {
+        // Given
+        logger.setLevel(Level.DEBUG);
+        SampledSqlLogger sampledSqlLogger = new SampledSqlLogger(0.0);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            assertEquals(SQL, sampledSqlLogger.inspect(SQL));
+        }
+
+        // Then
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    @DisplayName("비율이 1이면 모든 SQL을 DEBUG로 기록")
+    void inspect_RateOne_LogsEveryStatement() {
+        // Given
+        logger.setLevel(Level.DEBUG);
+        SampledSqlLogger sampledSqlLogger = new SampledSqlLogger(1.0);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            assertEquals(SQL, sampledSqlLogger.inspect(SQL));
+        }
+
+        // Then
+        assertEquals(100, appender.list.size());
+        assertEquals(Level.DEBUG, appender.list.get(0).getLevel());
+        assertEquals(SQL, appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    @DisplayName("로거가 DEBUG보다 높으면 비율이 1이어도 기록하지 않음")
+    void inspect_LevelAboveDebug_LogsNothing() {
+        // Given
+        logger.setLevel(Level.INFO);
+        SampledSqlLogger sampledSqlLogger = new SampledSqlLogger(1.0);
+
+        // When
+        String inspected = sampledSqlLogger.inspect(SQL);
+
+        // Then
+        assertEquals(SQL, inspected);
+        assertTrue(appender.list.isEmpty());
+    }
+}
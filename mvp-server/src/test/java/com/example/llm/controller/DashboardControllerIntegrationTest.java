@@ -102,7 +102,7 @@ class DashboardControllerIntegrationTest {
                 .team(team1)
                 .model(model1)
                 .tokens(1000)
-                .cost(0.1)
+                .costMicros(100_000L)
                 .usedAt(now)
                 .build();
         
@@ -110,7 +110,7 @@ class DashboardControllerIntegrationTest {
                 .team(team2)
                 .model(model1)
                 .tokens(2000)
-                .cost(0.2)
+                .costMicros(200_000L)
                 .usedAt(now)
                 .build();
         
@@ -276,7 +276,7 @@ class DashboardControllerIntegrationTest {
                 .team(team)
                 .model(model)
                 .tokens(1000)
-                .cost(0.1)
+                .costMicros(100_000L)
                 .usedAt(now)
                 .build();
         
@@ -0,0 +1,214 @@
+package com.example.llm.controller;
+
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.Team;
+import com.example.llm.repository.ModelRepository;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.repository.UsageRepository;
+import com.example.llm.repository.UsageRollupRepository;
+import com.example.llm.service.ModelRegistry;
+import com.example.llm.support.StubProviderServer;
+import com.example.llm.util.TokenUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 같은 요청이 한꺼번에 들어올 때 제공자 호출을 합치고, 사용량은 요청한 팀마다 따로 기록하는지 확인한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@DisplayName("Gateway 요청 합치기 통합 테스트")
+class GatewayCoalescingIntegrationTest {
+
+    private static final StubProviderServer provider = startProvider();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ModelRepository modelRepository;
+
+    @Autowired
+    private ModelRegistry modelRegistry;
+
+    @Autowired
+    private UsageRepository usageRepository;
+
+    @Autowired
+    private UsageRollupRepository usageRollupRepository;
+
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    private Team first;
+    private Team second;
+    private String adminToken;
+
+    private static StubProviderServer startProvider() {
+        try {
+            return new StubProviderServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void gatewayProperties(DynamicPropertyRegistry registry) {
+        registry.add("gateway.providers.stub.base-url", provider::baseUrl);
+    }
+
+    @AfterAll
+    static void stopProvider() {
+        provider.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        provider.reset();
+        usageRepository.deleteAll();
+        teamRepository.deleteAll();
+        modelRepository.deleteAll();
+        modelRegistry.invalidateAll();
+        usageRollupRepository.deleteAll();
+
+        first = saveTeam("Coalescing Team A");
+        second = saveTeam("Coalescing Team B");
+        modelRepository.save(LLMModel.builder()
+                .name("stub-model")
+                .provider("Stub")
+                .costPerToken(0.001)
+                .isActive(true)
+                .build());
+        adminToken = tokenUtil.generateToken("coalescing-admin", "ADMIN");
+    }
+
+    private Team saveTeam(String name) {
+        return teamRepository.save(Team.builder()
+                .name(name)
+                .quota(1_000_000L)
+                .usage(0L)
+                .build());
+    }
+
+    private MvcResult startChat(Team team, String body) throws Exception {
+        return mockMvc.perform(post("/v1/chat/completions")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("X-Team-Id", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    // 두 팀이 번갈아 같은 요청을 동시에 보낸다
+    private List<MvcResult> burst(int requests, String body) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<MvcResult>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                Team team = i % 2 == 0 ? first : second;
+                futures.add(executor.submit(() -> startChat(team, body)));
+            }
+            List<MvcResult> pending = new ArrayList<>();
+            for (Future<MvcResult> future : futures) {
+                pending.add(future.get());
+            }
+            return pending;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private long teamUsage(Team team) {
+        return teamRepository.findById(team.getId()).orElseThrow().getUsage();
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 같은 요청 1000개는 제공자 호출 몇 번으로 처리하고 팀마다 사용량을 기록")
+    void chatCompletions_IdenticalBurst_CoalescesProviderCalls() throws Exception {
+        // Given
+        provider.respondWith(200, 42);
+        provider.setDelay(Duration.ofMillis(500));
+
+        // When
+        List<MvcResult> pending = burst(1_000, """
+                {"model":"stub-model","max_tokens":100,"messages":[{"role":"user","content":"hi"}]}
+                """);
+
+        // Then
+        for (MvcResult result : pending) {
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.usage.total_tokens").value(42));
+        }
+        assertTrue(provider.getRequestCount() < 50, "provider calls: " + provider.getRequestCount());
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertEquals(1_000, usageRepository.count());
+            assertEquals(500L * 42, teamUsage(first));
+            assertEquals(500L * 42, teamUsage(second));
+        });
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 같은 스트리밍 요청은 제공자 스트림 하나를 함께 받음")
+    void streamChatCompletions_IdenticalBurst_SharesStream() throws Exception {
+        // Given
+        provider.respondWith(200, 57);
+        provider.setStream(5, Duration.ofMillis(100), true);
+
+        // When
+        List<MvcResult> pending = burst(20, """
+                {"model":"stub-model","max_tokens":100,"stream":true,"messages":[{"role":"user","content":"hi"}]}
+                """);
+        List<MvcResult> streams = new ArrayList<>();
+        for (MvcResult result : pending) {
+            streams.add(mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn());
+        }
+
+        // Then
+        for (MvcResult streaming : streams) {
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                    assertTrue(streaming.getResponse().getContentAsString().contains("data:[DONE]")));
+            String content = streaming.getResponse().getContentAsString();
+            assertTrue(content.indexOf("tok0") >= 0 && content.indexOf("tok0") < content.indexOf("tok4"));
+        }
+        assertTrue(provider.getRequestCount() < 20, "provider calls: " + provider.getRequestCount());
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertEquals(20, usageRepository.count());
+            assertEquals(10L * 57, teamUsage(first));
+            assertEquals(10L * 57, teamUsage(second));
+        });
+    }
+}
@@ -0,0 +1,575 @@
+package com.example.llm.controller;
+
+import com.example.llm.config.GatewayProperties;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.Team;
+import com.example.llm.entity.TeamMember;
+import com.example.llm.entity.Usage;
+import com.example.llm.entity.User;
+import com.example.llm.repository.ModelRepository;
+import com.example.llm.repository.TeamMemberRepository;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.repository.UsageRepository;
+import com.example.llm.repository.UsageRollupRepository;
+import com.example.llm.repository.UserRepository;
+import com.example.llm.security.MembershipCache;
+import com.example.llm.service.ModelRegistry;
+import com.example.llm.support.StubProviderServer;
+import com.example.llm.util.TokenUtil;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+@DisplayName("GatewayController 통합 테스트")
+class GatewayControllerIntegrationTest {
+
+    private static final StubProviderServer provider = startProvider();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ModelRepository modelRepository;
+
+    @Autowired
+    private ModelRegistry modelRegistry;
+
+    @Autowired
+    private UsageRepository usageRepository;
+
+    @Autowired
+    private UsageRollupRepository usageRollupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private MembershipCache membershipCache;
+
+    @Autowired
+    private GatewayProperties gatewayProperties;
+
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    private Team team;
+    private String adminToken;
+
+    private static StubProviderServer startProvider() {
+        try {
+            return new StubProviderServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void gatewayProperties(DynamicPropertyRegistry registry) {
+        registry.add("gateway.providers.stub.base-url", provider::baseUrl);
+        // 연결이 거부되는 주소
+        registry.add("gateway.providers.offline.base-url", () -> "http://127.0.0.1:1");
+    }
+
+    @AfterAll
+    static void stopProvider() {
+        provider.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        provider.reset();
+        membershipCache.invalidateAll();
+        teamMemberRepository.deleteAll();
+        userRepository.deleteAll();
+        usageRepository.deleteAll();
+        teamRepository.deleteAll();
+        modelRepository.deleteAll();
+        modelRegistry.invalidateAll();
+        usageRollupRepository.deleteAll();
+
+        team = teamRepository.save(Team.builder()
+                .name("Gateway Team")
+                .quota(10000L)
+                .usage(0L)
+                .build());
+        modelRepository.save(LLMModel.builder()
+                .name("stub-model")
+                .provider("Stub")
+                .costPerToken(0.001)
+                .apiKey("sk-test")
+                .isActive(true)
+                .build());
+        modelRepository.save(LLMModel.builder()
+                .name("offline-model")
+                .provider("Offline")
+                .costPerToken(0.001)
+                .isActive(true)
+                .build());
+        adminToken = tokenUtil.generateToken("gateway-admin", "ADMIN");
+    }
+
+    private User saveUser(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .password("encoded")
+                .email(username + "@example.com")
+                .role("USER")
+                .build());
+    }
+
+    private String chatRequest(String model, int maxTokens) {
+        return """
+               {"model":"%s","max_tokens":%d,"messages":[{"role":"user","content":"hi"}]}
+               """.formatted(model, maxTokens);
+    }
+
+    private String streamRequest(String model) {
+        return """
+               {"model":"%s","max_tokens":100,"stream":true,"messages":[{"role":"user","content":"hi"}]}
+               """.formatted(model);
+    }
+
+    private MvcResult startChat(String body) throws Exception {
+        return startChat(body, adminToken);
+    }
+
+    private MvcResult startChat(String body, String token) throws Exception {
+        return mockMvc.perform(post("/v1/chat/completions")
+                        .header("Authorization", "Bearer " + token)
+                        .header("X-Team-Id", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private MvcResult startEmbeddings(String input) throws Exception {
+        return mockMvc.perform(post("/v1/embeddings")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("X-Team-Id", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                 {"model":"stub-model","input":"%s"}
+                                 """.formatted(input)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    @Test
+    @DisplayName("제공자 응답을 그대로 전달하고 사용량을 기록")
+    void chatCompletions_Success() throws Exception {
+        // Given
+        provider.respondWith(200, 42);
+        MvcResult pending = startChat(chatRequest("stub-model", 100));
+
+        // When & Then
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("chatcmpl-stub"))
+                .andExpect(jsonPath("$.usage.total_tokens").value(42));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertEquals(1, usageRepository.count());
+            assertEquals(42L, teamRepository.findById(team.getId()).orElseThrow().getUsage());
+        });
+        assertEquals(42, usageRepository.findAll().get(0).getTokens());
+        assertEquals(42_000L, usageRepository.findAll().get(0).getCostMicros());
+    }
+
+    @Test
+    @DisplayName("응답 캐시를 켠 팀의 같은 요청은 제공자를 다시 호출하지 않고 절감액과 함께 기록")
+    void chatCompletions_ResponseCache_ServesRepeatedRequest() throws Exception {
+        // Given
+        team.setResponseCacheEnabled(true);
+        teamRepository.save(team);
+        provider.respondWith(200, 42);
+        mockMvc.perform(asyncDispatch(startChat(chatRequest("stub-model", 100))))
+                .andExpect(status().isOk());
+
+        // When - 필드 순서만 다른 같은 요청
+        MvcResult pending = startChat("""
+                {"messages":[{"role":"user","content":"hi"}],"max_tokens":100,"model":"stub-model"}
+                """);
+
+        // Then
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("chatcmpl-stub"))
+                .andExpect(jsonPath("$.usage.total_tokens").value(42));
+        assertEquals(1, provider.getRequestCount());
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertEquals(2, usageRepository.count());
+            assertEquals(42L, teamRepository.findById(team.getId()).orElseThrow().getUsage());
+        });
+        Usage cached = usageRepository.findAll().stream()
+                .filter(usage -> usage.getSavedMicros() > 0)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(42, cached.getTokens());
+        assertEquals(0L, cached.getCostMicros());
+        assertEquals(42_000L, cached.getSavedMicros());
+    }
+
+    @Test
+    @DisplayName("캐시 적중도 팀의 분당 요청 한도를 차감")
+    void chatCompletions_ResponseCacheHit_CountsAgainstRateLimit() throws Exception {
+        // Given
+        team.setResponseCacheEnabled(true);
+        team.setRequestsPerMinute(1L);
+        team = teamRepository.save(team);
+        provider.respondWith(200, 42);
+        mockMvc.perform(asyncDispatch(startChat(chatRequest("stub-model", 100))))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(post("/v1/chat/completions")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("X-Team-Id", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(chatRequest("stub-model", 100)))
+                .andExpect(status().isTooManyRequests());
+        assertEquals(1, provider.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("할당량을 넘는 요청은 제공자를 호출하지 않고 거부")
+    void chatCompletions_QuotaExceeded() throws Exception {
+        mockMvc.perform(post("/v1/chat/completions")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("X-Team-Id", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(chatRequest("stub-model", 20000)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("할당량을 초과했습니다"));
+
+        assertEquals(0, provider.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("팀의 분당 요청 한도를 넘으면 제공자를 호출하지 않고 429와 Retry-After 반환")
+    void chatCompletions_RateLimited_Returns429() throws Exception {
+        // Given
+        team.setRequestsPerMinute(1L);
+        team = teamRepository.save(team);
+        provider.respondWith(200, 10);
+        mockMvc.perform(asyncDispatch(startChat(chatRequest("stub-model", 100))))
+                .andExpect(status().isOk());
+
+        // When
+        MvcResult rejected = mockMvc.perform(post("/v1/chat/completions")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("X-Team-Id", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(chatRequest("stub-model", 100)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.error").value("RATE_LIMIT_EXCEEDED"))
+                .andReturn();
+
+        // Then
+        long retryAfter = Long.parseLong(rejected.getResponse().getHeader("Retry-After"));
+        assertTrue(retryAfter >= 1 && retryAfter <= 60);
+        assertEquals(1, provider.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("모델 클래스로 요청하면 저렴한 모델부터 시도하고 제공자 오류 시 다음 후보로 대체")
+    void chatCompletions_ModelClass_FailsOverToNextModel() throws Exception {
+        // Given - 연결이 거부되는 저렴한 모델과 정상인 비싼 모델
+        modelRepository.save(LLMModel.builder()
+                .name("routed-offline")
+                .provider("Offline")
+                .modelClass("chat")
+                .costPerToken(0.0001)
+                .isActive(true)
+                .build());
+        LLMModel healthy = modelRepository.save(LLMModel.builder()
+                .name("routed-stub")
+                .provider("Stub")
+                .modelClass("chat")
+                .costPerToken(0.001)
+                .isActive(true)
+                .build());
+        modelRegistry.invalidateAll();
+        provider.respondWith(200, 42);
+        MvcResult pending = startChat(chatRequest("chat", 100));
+
+        // When & Then
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usage.total_tokens").value(42));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals(1, usageRepository.count()));
+        assertEquals(healthy.getId(), usageRepository.findAll().get(0).getModel().getId());
+        assertEquals(1, provider.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 모델은 404")
+    void chatCompletions_UnknownModel() throws Exception {
+        mockMvc.perform(post("/v1/chat/completions")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("X-Team-Id", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(chatRequest("unknown-model", 10)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("제공자 오류 응답은 상태 코드를 유지하고 사용량을 기록하지 않음")
+    void chatCompletions_ProviderError() throws Exception {
+        // Given
+        provider.respondWith(500, 0);
+        MvcResult pending = startChat(chatRequest("stub-model", 100));
+
+        // When & Then
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error.type").value("server_error"));
+
+        assertEquals(0, usageRepository.count());
+    }
+
+    @Test
+    @DisplayName("임베딩 요청은 제공자 결과와 usage로 사용량을 기록")
+    void embeddings_Success() throws Exception {
+        // Given
+        MvcResult pending = startEmbeddings("hello");
+
+        // When & Then
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].embedding[0]").value(5))
+                .andExpect(jsonPath("$.usage.prompt_tokens").value(5));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertEquals(5L, teamRepository.findById(team.getId()).orElseThrow().getUsage()));
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 임베딩 요청은 묶어서 보내고 요청마다 자기 결과와 사용량을 받음")
+    void embeddings_ConcurrentRequests_BatchedUpstream() throws Exception {
+        // Given - 입력 길이를 같게 해 나눈 사용량이 요청마다 같도록 한다
+        Duration maxWindow = gatewayProperties.getBatching().getMaxWindow();
+        gatewayProperties.getBatching().setMaxWindow(Duration.ofMillis(200));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<MvcResult> pending = new ArrayList<>();
+        try {
+            List<Future<MvcResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                String input = "text-%02d".formatted(i);
+                futures.add(executor.submit(() -> startEmbeddings(input)));
+            }
+            for (Future<MvcResult> future : futures) {
+                pending.add(future.get());
+            }
+        } finally {
+            executor.shutdown();
+            gatewayProperties.getBatching().setMaxWindow(maxWindow);
+        }
+
+        // When & Then
+        for (MvcResult result : pending) {
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(1))
+                    .andExpect(jsonPath("$.data[0].index").value(0))
+                    .andExpect(jsonPath("$.data[0].embedding[0]").value(7))
+                    .andExpect(jsonPath("$.usage.total_tokens").value(7));
+        }
+        assertEquals(40, provider.getEmbeddingInputs());
+        assertTrue(provider.getRequestCount() < 40, "provider calls: " + provider.getRequestCount());
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertEquals(40, usageRepository.count());
+            assertEquals(40L * 7, teamRepository.findById(team.getId()).orElseThrow().getUsage());
+        });
+    }
+
+    @Test
+    @DisplayName("스트리밍 응답은 청크 단위로 전달되고 종료 시 제공자 usage로 사용량을 기록")
+    void streamChatCompletions_RelaysChunks() throws Exception {
+        // Given
+        provider.respondWith(200, 57);
+        provider.setStream(5, Duration.ofMillis(10), true);
+        MvcResult pending = startChat(streamRequest("stub-model"));
+
+        // When
+        MvcResult streaming = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertTrue(streaming.getResponse().getContentAsString().contains("data:[DONE]")));
+        String content = streaming.getResponse().getContentAsString();
+        assertTrue(streaming.getResponse().getContentType().startsWith("text/event-stream"));
+        assertTrue(content.contains("tok0") && content.contains("tok4"));
+        assertTrue(content.indexOf("tok0") < content.indexOf("tok4"));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertEquals(1, usageRepository.count());
+            assertEquals(57L, teamRepository.findById(team.getId()).orElseThrow().getUsage());
+        });
+    }
+
+    @Test
+    @DisplayName("제공자가 usage를 보내지 않으면 청크 수로 토큰을 계산")
+    void streamChatCompletions_CountsChunksWithoutUsage() throws Exception {
+        // Given - 프롬프트 "hi" (1토큰 추정) + 내용 청크 7개
+        provider.setStream(7, Duration.ZERO, false);
+        MvcResult pending = startChat(streamRequest("stub-model"));
+
+        // When
+        MvcResult streaming = mockMvc.perform(asyncDispatch(pending)).andReturn();
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertTrue(streaming.getResponse().getContentAsString().contains("data:[DONE]")));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertEquals(8, usageRepository.findAll().stream().mapToInt(usage -> usage.getTokens()).sum()));
+    }
+
+    @Test
+    @DisplayName("스트리밍 요청에 제공자가 오류를 응답하면 상태 코드와 본문을 그대로 전달")
+    void streamChatCompletions_ProviderError() throws Exception {
+        // Given
+        provider.respondWith(500, 0);
+        MvcResult pending = startChat(streamRequest("stub-model"));
+
+        // When & Then
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error.type").value("server_error"));
+
+        assertEquals(0, usageRepository.count());
+    }
+
+    @Test
+    @DisplayName("제공자에 연결할 수 없으면 502")
+    void chatCompletions_ProviderDown_Returns502() throws Exception {
+        MvcResult pending = startChat(chatRequest("offline-model", 100));
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isBadGateway());
+
+        assertEquals(0, usageRepository.count());
+    }
+
+    @Test
+    @DisplayName("토큰 없이 호출하면 401")
+    void chatCompletions_NoToken_Returns401() throws Exception {
+        mockMvc.perform(post("/v1/chat/completions")
+                        .header("X-Team-Id", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(chatRequest("stub-model", 10)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.status").value(401));
+
+        assertEquals(0, provider.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("소속 팀이 클레임에 있는 일반 사용자는 호출 가능")
+    void chatCompletions_Member_Success() throws Exception {
+        // Given
+        User member = saveUser("gateway-member");
+        teamMemberRepository.save(TeamMember.builder().team(team).user(member).role("MEMBER").build());
+        String token = tokenUtil.generateToken("gateway-member", "USER", List.of(team.getId()));
+        provider.respondWith(200, 10);
+
+        // When & Then
+        mockMvc.perform(asyncDispatch(startChat(chatRequest("stub-model", 100), token)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("클레임에 없는 팀으로 호출하면 403")
+    void chatCompletions_OtherTeam_Returns403() throws Exception {
+        saveUser("gateway-outsider");
+        String token = tokenUtil.generateToken("gateway-outsider", "USER", List.of());
+
+        mockMvc.perform(post("/v1/chat/completions")
+                        .header("Authorization", "Bearer " + token)
+                        .header("X-Team-Id", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(chatRequest("stub-model", 10)))
+                .andExpect(status().isForbidden());
+
+        assertEquals(0, provider.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("로그인으로 처음 만든 사용자는 소속되지 않은 팀으로 호출하면 403")
+    void chatCompletions_LoggedInNonMember_Returns403() throws Exception {
+        // Given
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"gateway-newcomer\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.role").value("USER"))
+                .andReturn();
+        String token = JsonPath.read(login.getResponse().getContentAsString(), "$.token");
+
+        // When & Then
+        mockMvc.perform(post("/v1/chat/completions")
+                        .header("Authorization", "Bearer " + token)
+                        .header("X-Team-Id", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(chatRequest("stub-model", 10)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("해당 팀에 대한 접근 권한이 없습니다"));
+        assertEquals(0, provider.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("토큰 발급 후 소속이 해제되면 클레임이 남아 있어도 403")
+    void chatCompletions_MembershipRevoked_Returns403() throws Exception {
+        // Given - 클레임에는 팀이 있지만 실제 소속 정보는 없음
+        saveUser("gateway-former");
+        String token = tokenUtil.generateToken("gateway-former", "USER", List.of(team.getId()));
+
+        // When & Then
+        mockMvc.perform(post("/v1/chat/completions")
+                        .header("Authorization", "Bearer " + token)
+                        .header("X-Team-Id", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(chatRequest("stub-model", 10)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("해당 팀에 대한 접근 권한이 없습니다"));
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.llm.controller;
+
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.Team;
+import com.example.llm.repository.ModelRepository;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.repository.UsageRepository;
+import com.example.llm.repository.UsageRollupRepository;
+import com.example.llm.service.ModelRegistry;
+import com.example.llm.service.ProviderGuard;
+import com.example.llm.service.ProviderGuard.CircuitState;
+import com.example.llm.support.StubProviderServer;
+import com.example.llm.util.TokenUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 오류와 지연을 주입하는 로컬 제공자로 회로 차단기와 bulkhead를 확인한다.
+ * 회로 상태는 컨텍스트 동안 유지되므로 테스트마다 다른 제공자 이름을 쓴다 (모두 같은 로컬 제공자로 연결).
+ * bulkhead 테스트는 같은 요청을 동시에 보내므로 요청 합치기는 끈다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "gateway.circuit-breaker.window-size=4",
+        "gateway.circuit-breaker.minimum-calls=4",
+        "gateway.circuit-breaker.failure-rate-threshold=0.5",
+        "gateway.circuit-breaker.open-duration=1h",
+        "gateway.circuit-breaker.half-open-calls=1",
+        "gateway.providers.slow.max-concurrent-calls=1",
+        "gateway.coalescing.enabled=false"
+})
+@DisplayName("Gateway 장애 격리 통합 테스트")
+class GatewayResilienceIntegrationTest {
+
+    private static final StubProviderServer provider = startProvider();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ModelRepository modelRepository;
+
+    @Autowired
+    private ModelRegistry modelRegistry;
+
+    @Autowired
+    private UsageRepository usageRepository;
+
+    @Autowired
+    private UsageRollupRepository usageRollupRepository;
+
+    @Autowired
+    private ProviderGuard providerGuard;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    private Team team;
+    private String adminToken;
+
+    private static StubProviderServer startProvider() {
+        try {
+            return new StubProviderServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void gatewayProperties(DynamicPropertyRegistry registry) {
+        for (String name : new String[]{"flaky", "toggled", "tripped", "healthy", "slow"}) {
+            registry.add("gateway.providers." + name + ".base-url", provider::baseUrl);
+        }
+    }
+
+    @AfterAll
+    static void stopProvider() {
+        provider.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        provider.reset();
+        usageRepository.deleteAll();
+        teamRepository.deleteAll();
+        modelRepository.deleteAll();
+        modelRegistry.invalidateAll();
+        usageRollupRepository.deleteAll();
+
+        team = teamRepository.save(Team.builder()
+                .name("Resilience Team")
+                .quota(100000L)
+                .usage(0L)
+                .build());
+        adminToken = tokenUtil.generateToken("resilience-admin", "ADMIN");
+    }
+
+    private LLMModel saveModel(String name, String provider, String modelClass, double costPerToken) {
+        LLMModel model = modelRepository.save(LLMModel.builder()
+                .name(name)
+                .provider(provider)
+                .modelClass(modelClass)
+                .costPerToken(costPerToken)
+                .isActive(true)
+                .build());
+        modelRegistry.invalidateAll();
+        return model;
+    }
+
+    private ResultActions chat(String model) throws Exception {
+        return mockMvc.perform(post("/v1/chat/completions")
+                .header("Authorization", "Bearer " + adminToken)
+                .header("X-Team-Id", team.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                         {"model":"%s","max_tokens":100,"messages":[{"role":"user","content":"hi"}]}
+                         """.formatted(model)));
+    }
+
+    // 제공자 오류 응답 4번으로 회로를 연다
+    private void trip(String model) throws Exception {
+        provider.failNext(4, 503);
+        for (int i = 0; i < 4; i++) {
+            MvcResult pending = chat(model).andExpect(request().asyncStarted()).andReturn();
+            mockMvc.perform(asyncDispatch(pending)).andExpect(status().isServiceUnavailable());
+        }
+    }
+
+    @Test
+    @DisplayName("제공자 오류가 이어지면 회로를 열고 제공자를 호출하지 않고 503")
+    void chatCompletions_CircuitOpen_ShortCircuits() throws Exception {
+        // Given
+        saveModel("flaky-model", "Flaky", null, 0.001);
+        trip("flaky-model");
+
+        // When & Then
+        chat("flaky-model")
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("PROVIDER_CIRCUIT_OPEN"));
+
+        assertEquals(4, provider.getRequestCount());
+        assertEquals(CircuitState.OPEN, providerGuard.getState("Flaky"));
+        assertEquals(1.0, meterRegistry.get(ProviderGuard.REJECTED_CALLS)
+                .tag("provider", "flaky")
+                .tag("reason", "circuit_open")
+                .functionCounter()
+                .count());
+    }
+
+    @Test
+    @DisplayName("모델을 다시 활성화하면 대기 없이 시험 호출을 보내고 성공하면 회로를 닫음")
+    void toggleModel_Reactivated_ProbesProvider() throws Exception {
+        // Given
+        LLMModel model = saveModel("toggled-model", "Toggled", null, 0.001);
+        trip("toggled-model");
+        mockMvc.perform(patch("/api/models/" + model.getId() + "/toggle")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isActive").value(false));
+        assertEquals(CircuitState.OPEN, providerGuard.getState("Toggled"));
+
+        // When
+        mockMvc.perform(patch("/api/models/" + model.getId() + "/toggle")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isActive").value(true));
+
+        // Then
+        assertEquals(CircuitState.HALF_OPEN, providerGuard.getState("Toggled"));
+        MvcResult pending = chat("toggled-model").andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk());
+        assertEquals(CircuitState.CLOSED, providerGuard.getState("Toggled"));
+        assertEquals(5, provider.getRequestCount());
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals(1, usageRepository.count()));
+    }
+
+    @Test
+    @DisplayName("모델 클래스 요청은 회로가 열린 제공자의 모델을 건너뛰고 다음 후보로 보냄")
+    void chatCompletions_ModelClass_SkipsOpenCircuit() throws Exception {
+        // Given - 같은 제공자의 다른 모델로 회로를 열어 라우터는 저렴한 모델을 먼저 고르게 한다
+        saveModel("tripped-direct", "Tripped", null, 0.001);
+        saveModel("tripped-model", "Tripped", "resilient", 0.0001);
+        LLMModel healthy = saveModel("healthy-model", "Healthy", "resilient", 0.001);
+        trip("tripped-direct");
+
+        // When
+        MvcResult pending = chat("resilient").andExpect(request().asyncStarted()).andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk());
+        assertEquals(5, provider.getRequestCount());
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals(1, usageRepository.count()));
+        assertEquals(healthy.getId(), usageRepository.findAll().get(0).getModel().getId());
+    }
+
+    @Test
+    @DisplayName("동시 호출이 상한인 제공자는 느린 호출이 끝날 때까지 503으로 거절")
+    void chatCompletions_Bulkhead_RejectsWhileSlowCallInFlight() throws Exception {
+        // Given
+        saveModel("slow-model", "Slow", null, 0.001);
+        provider.setDelay(Duration.ofMillis(500));
+        MvcResult slow = chat("slow-model").andExpect(request().asyncStarted()).andReturn();
+
+        // When & Then
+        chat("slow-model")
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("PROVIDER_BUSY"));
+        mockMvc.perform(asyncDispatch(slow)).andExpect(status().isOk());
+        assertEquals(1, provider.getRequestCount());
+
+        provider.setDelay(Duration.ZERO);
+        MvcResult next = chat("slow-model").andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(next)).andExpect(status().isOk());
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals(2, usageRepository.count()));
+    }
+}
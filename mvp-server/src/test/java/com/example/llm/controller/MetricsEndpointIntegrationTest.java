@@ -0,0 +1,65 @@
+package com.example.llm.controller;
+
+import com.example.llm.util.TokenUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestPropertySource(locations = "classpath:application-test.properties")
+@DisplayName("지표 수집 엔드포인트 통합 테스트")
+class MetricsEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    @Test
+    @DisplayName("Prometheus 지표 - 토큰 없이 조회해도 엔드포인트 히스토그램과 도메인 지표 노출")
+    void prometheus_WithoutToken_ExposesMetrics() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/teams")).andExpect(status().isOk());
+
+        // When
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertTrue(body.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(body.contains("uri=\"/api/teams\""));
+        assertTrue(body.contains("llm_quota_rejections_total"));
+        assertTrue(body.contains("llm_usage_writes_total{"));
+        assertTrue(body.contains("llm_auth_token_failures_total{"));
+        assertTrue(body.contains("llm_usage_ingestion_queue_depth"));
+    }
+
+    @Test
+    @DisplayName("로그 레벨 엔드포인트 - 토큰이 없으면 401, ADMIN이 아니면 403")
+    void loggers_NotAdmin_Rejected() throws Exception {
+        mockMvc.perform(get("/actuator/loggers"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/loggers")
+                        .header("Authorization", "Bearer " + tokenUtil.generateToken("user1", "USER")))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("ACCESS_DENIED"));
+
+        mockMvc.perform(get("/actuator/loggers")
+                        .header("Authorization", "Bearer " + tokenUtil.generateToken("admin", "ADMIN")))
+                .andExpect(status().isOk());
+    }
+}
@@ -3,9 +3,14 @@ package com.example.llm.controller;
 import com.example.llm.dto.request.ModelCreateRequest;
 import com.example.llm.dto.response.ModelResponse;
 import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.ModelPriceTier;
 import com.example.llm.repository.ModelRepository;
+import com.example.llm.service.ModelRegistry;
 import com.example.llm.util.TokenUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +21,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,14 +43,21 @@ class ModelControllerIntegrationTest {
     @Autowired
     private ModelRepository modelRepository;
 
+    @Autowired
+    private ModelRegistry modelRegistry;
+
     @Autowired
     private TokenUtil tokenUtil;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private String authToken;
 
     @BeforeEach
     void setUp() {
         modelRepository.deleteAll();
+        modelRegistry.invalidateAll();
         authToken = "Bearer " + tokenUtil.generateToken("testuser", "ADMIN");
     }
 
@@ -160,6 +175,68 @@ class ModelControllerIntegrationTest {
                 .andExpect(jsonPath("$.size()").value(0));
     }
 
+    @Test
+    @DisplayName("모델 페이지 조회 - 다음 커서로 이어서 조회")
+    void getModelPage_Success() throws Exception {
+        // Given
+        for (int i = 1; i <= 3; i++) {
+            modelRepository.save(LLMModel.builder().name("model-" + i).provider("OpenAI")
+                    .costPerToken(0.0001).isActive(true).build());
+        }
+
+        // When & Then
+        String body = mockMvc.perform(get("/api/models/page")
+                        .header("Authorization", authToken)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].name").value("model-1"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/models/page")
+                        .header("Authorization", authToken)
+                        .param("cursor", cursor)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("model-3"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("모델 페이지 조회 - 가격 구간을 모델마다 따로 조회하지 않음")
+    void getModelPage_LoadsPriceTiersInOneQuery() throws Exception {
+        // Given
+        for (int i = 1; i <= 10; i++) {
+            modelRepository.save(LLMModel.builder().name("model-" + i).provider("OpenAI")
+                    .costPerToken(0.0001).isActive(true)
+                    .priceTiers(new ArrayList<>(List.of(ModelPriceTier.builder()
+                            .minInputTokens(0L).inputMicrosPerMillion(1_000_000L).outputMicrosPerMillion(2_000_000L)
+                            .build())))
+                    .build());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // When
+        try {
+            mockMvc.perform(get("/api/models/page")
+                            .header("Authorization", authToken)
+                            .param("size", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()").value(10));
+
+            // Then - 모델 페이지 조회와 가격 구간 조회
+            assertEquals(2, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
     @DisplayName("활성 모델 목록 조회 - 성공")
     void getActiveModels_Success() throws Exception {
@@ -338,6 +415,48 @@ class ModelControllerIntegrationTest {
         assertTrue(updatedModel.getIsActive());
     }
 
+    @Test
+    @DisplayName("모델 활성/비활성 토글 - 캐시된 활성 모델 목록에 즉시 반영")
+    void toggleModel_InvalidatesRegistry() throws Exception {
+        // Given - 활성 목록과 상세 조회를 한 번씩 호출해 레지스트리에 적재
+        LLMModel savedModel = modelRepository.save(LLMModel.builder().name("GPT-4").provider("OpenAI")
+                .costPerToken(0.0001).isActive(true).build());
+        mockMvc.perform(get("/api/models/active").header("Authorization", authToken))
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/api/models/" + savedModel.getId()).header("Authorization", authToken))
+                .andExpect(jsonPath("$.isActive").value(true));
+
+        // When
+        mockMvc.perform(patch("/api/models/" + savedModel.getId() + "/toggle")
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/models/active").header("Authorization", authToken))
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/models/" + savedModel.getId()).header("Authorization", authToken))
+                .andExpect(jsonPath("$.isActive").value(false));
+    }
+
+    @Test
+    @DisplayName("모델 레지스트리 통계 조회 - 반복 조회는 캐시 적중")
+    void getRegistryStats_Success() throws Exception {
+        // Given
+        LLMModel savedModel = modelRepository.save(LLMModel.builder().name("GPT-4").provider("OpenAI")
+                .costPerToken(0.0001).isActive(true).build());
+        long hitsBefore = modelRegistry.getStats().getHitCount();
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/models/" + savedModel.getId()).header("Authorization", authToken))
+                    .andExpect(status().isOk());
+        }
+
+        // When & Then
+        mockMvc.perform(get("/api/models/registry/stats").header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount").value(hitsBefore + 2))
+                .andExpect(jsonPath("$.cachedEntries").value(1));
+    }
+
     @Test
     @DisplayName("모델 활성/비활성 토글 - 존재하지 않는 모델")
     void toggleModel_NotFound() throws Exception {
@@ -7,6 +7,7 @@ import com.example.llm.dto.response.TeamResponse;
 import com.example.llm.entity.Team;
 import com.example.llm.repository.TeamRepository;
 import com.example.llm.util.TokenUtil;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +19,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -136,6 +140,51 @@ class TeamControllerIntegrationTest {
                 .andExpect(jsonPath("$.size()").value(0));
     }
 
+    @Test
+    @DisplayName("팀 페이지 조회 - 커서를 따라가면 모든 팀을 id 순으로 한 번씩 조회")
+    void getTeamPage_WalksAllPages() throws Exception {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            teamRepository.save(Team.builder().name("Team " + i).quota(10000L).usage(0L).build());
+        }
+
+        // When
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/teams/page").header("Authorization", authToken).param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            page.get("items").forEach(item -> names.add(item.get("name").asText()));
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertEquals(3, pages);
+        assertEquals(List.of("Team 1", "Team 2", "Team 3", "Team 4", "Team 5"), names);
+    }
+
+    @Test
+    @DisplayName("팀 페이지 조회 - 잘못된 커서나 size는 400 에러")
+    void getTeamPage_InvalidParameters_Returns400() throws Exception {
+        mockMvc.perform(get("/api/teams/page")
+                        .header("Authorization", authToken)
+                        .param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/teams/page")
+                        .header("Authorization", authToken)
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("팀 ID로 조회 - 성공")
     void getTeamById_Success() throws Exception {
@@ -0,0 +1,600 @@
+package com.example.llm.controller;
+
+import com.example.llm.dto.request.UsageBatchRequest;
+import com.example.llm.dto.request.UsageRecordRequest;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.ModelPriceTier;
+import com.example.llm.entity.Team;
+import com.example.llm.entity.Usage;
+import com.example.llm.repository.ModelRepository;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.repository.UsageRepository;
+import com.example.llm.repository.UsageRollupRepository;
+import com.example.llm.util.Micros;
+import com.example.llm.util.TokenUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+@DisplayName("UsageController 통합 테스트")
+class UsageControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ModelRepository modelRepository;
+
+    @Autowired
+    private UsageRepository usageRepository;
+
+    @Autowired
+    private UsageRollupRepository usageRollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    private String authToken;
+    private Team team;
+    private LLMModel model;
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        teamRepository.deleteAll();
+        modelRepository.deleteAll();
+        usageRepository.deleteAll();
+        usageRollupRepository.deleteAll();
+        authToken = "Bearer " + tokenUtil.generateToken("testuser", "ADMIN");
+
+        team = teamRepository.save(Team.builder()
+                .name("AI Research Team")
+                .quota(10000L)
+                .usage(0L)
+                .build());
+        model = modelRepository.save(LLMModel.builder()
+                .name("GPT-4")
+                .provider("OpenAI")
+                .costPerToken(0.0001)
+                .isActive(true)
+                .build());
+        baseTime = LocalDateTime.of(2026, 1, 10, 9, 0);
+    }
+
+    private void saveUsage(int tokens, double cost, LocalDateTime usedAt) {
+        usageRepository.save(Usage.builder()
+                .team(team)
+                .model(model)
+                .tokens(tokens)
+                .costMicros(Micros.fromUnits(cost))
+                .usedAt(usedAt)
+                .build());
+    }
+
+    @Test
+    @DisplayName("사용 이력 저장 시 시간/일 단위 집계가 갱신됨")
+    void saveUsage_UpdatesRollups() throws Exception {
+        // Given
+        saveUsage(1000, 0.1, baseTime.plusMinutes(5));
+        saveUsage(500, 0.05, baseTime.plusMinutes(40));
+        saveUsage(200, 0.02, baseTime.plusHours(2));
+
+        // Then - 시간 단위 2개 + 일 단위 1개
+        assertEquals(3, usageRollupRepository.count());
+
+        mockMvc.perform(get("/api/usage/teams/{teamId}/summary", team.getId())
+                        .header("Authorization", authToken)
+                        .param("from", "2026-01-10T09:00:00")
+                        .param("to", "2026-01-10T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requestCount").value(2))
+                .andExpect(jsonPath("$.totalTokens").value(1500));
+    }
+
+    @Test
+    @DisplayName("대시보드는 집계 테이블 기준으로 팀별 사용량을 계산")
+    void dashboard_ReadsRollups() throws Exception {
+        // Given
+        saveUsage(1000, 0.1, baseTime);
+        saveUsage(3000, 0.3, baseTime.plusDays(1));
+
+        // When & Then
+        mockMvc.perform(get("/api/dashboard")
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teamUsageSummaries[0].modelCount").value(2))
+                .andExpect(jsonPath("$.teamUsageSummaries[0].totalTokens").value(4000));
+    }
+
+    @Test
+    @DisplayName("팀 삭제 시 집계에서도 사용량이 차감됨")
+    void deleteTeam_RemovesRollups() {
+        // Given
+        saveUsage(1000, 0.1, baseTime);
+
+        // When
+        teamRepository.deleteAll();
+
+        // Then
+        assertEquals(0, usageRollupRepository.count());
+    }
+
+    @Test
+    @DisplayName("정합성 검사 - 집계를 거치지 않은 사용 이력 감지 후 재계산으로 복구")
+    void consistencyCheck_DetectsDriftAndRebuildRepairs() throws Exception {
+        // Given
+        saveUsage(1000, 0.1, baseTime);
+        jdbcTemplate.update(
+                "INSERT INTO usage (id, team_id, model_id, tokens, cost_micros, saved_micros, used_at) " +
+                "VALUES (NEXT VALUE FOR usage_seq, ?, ?, ?, ?, 0, ?)",
+                team.getId(), model.getId(), 400, 40_000L, Timestamp.valueOf(baseTime.plusHours(1)));
+
+        mockMvc.perform(get("/api/usage/rollups/consistency")
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistent").value(false))
+                .andExpect(jsonPath("$.mismatches.length()").value(2));
+
+        // When
+        mockMvc.perform(post("/api/usage/rollups/rebuild")
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processedRows").value(2))
+                .andExpect(jsonPath("$.rollupRows").value(3));
+
+        // Then
+        mockMvc.perform(get("/api/usage/rollups/consistency")
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistent").value(true))
+                .andExpect(jsonPath("$.checkedTeams").value(1));
+    }
+
+    @Test
+    @DisplayName("재계산 중에 저장된 사용 이력도 집계에 한 번만 반영됨")
+    void rebuild_ConcurrentWrites_CountedOnce() throws Exception {
+        // Given
+        for (int i = 0; i < 200; i++) {
+            saveUsage(10, 0.001, baseTime.plusMinutes(i));
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            int i = 0;
+            while (writing.get()) {
+                saveUsage(10, 0.001, baseTime.plusMinutes(i++ % 300));
+            }
+        });
+        writer.start();
+
+        // When
+        try {
+            for (int i = 0; i < 5; i++) {
+                mockMvc.perform(post("/api/usage/rollups/rebuild")
+                                .header("Authorization", authToken))
+                        .andExpect(status().isOk());
+            }
+        } finally {
+            writing.set(false);
+            writer.join();
+        }
+
+        // Then
+        mockMvc.perform(get("/api/usage/rollups/consistency")
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistent").value(true));
+    }
+
+    @Test
+    @DisplayName("사용 이력 일괄 수집 - 비동기 배치 저장 후 집계 반영")
+    void ingestBatch_PersistsAsynchronously() throws Exception {
+        // Given
+        List<UsageRecordRequest> records = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            records.add(UsageRecordRequest.builder()
+                    .teamId(team.getId())
+                    .modelId(model.getId())
+                    .tokens(10)
+                    .cost(0.001)
+                    .usedAt(baseTime.plusSeconds(i))
+                    .build());
+        }
+        UsageBatchRequest request = UsageBatchRequest.builder().records(records).build();
+
+        // When
+        mockMvc.perform(post("/api/usage/batch")
+                        .header("Authorization", authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(1200));
+
+        // Then
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> usageRepository.count() == 1200);
+        mockMvc.perform(get("/api/usage/teams/{teamId}/summary", team.getId())
+                        .header("Authorization", authToken)
+                        .param("from", "2026-01-10T09:00:00")
+                        .param("to", "2026-01-10T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requestCount").value(1200))
+                .andExpect(jsonPath("$.totalTokens").value(12000))
+                .andExpect(jsonPath("$.totalCost").value(1.2));
+        mockMvc.perform(get("/api/usage/ingestion/stats")
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.queueDepth").value(0))
+                .andExpect(jsonPath("$.flushCount").isNumber());
+    }
+
+    @Test
+    @DisplayName("사용 이력 일괄 수집 - 비용이 없으면 입력/출력 단가와 구간 단가로 계산")
+    void ingestBatch_ComputesCostFromPriceTable() throws Exception {
+        // Given
+        LLMModel tieredModel = modelRepository.save(LLMModel.builder()
+                .name("Tiered")
+                .provider("Google")
+                .costPerToken(0.0000025)
+                .inputMicrosPerMillion(2_500_000L)
+                .outputMicrosPerMillion(10_000_000L)
+                .priceTiers(new ArrayList<>(List.of(ModelPriceTier.builder()
+                        .minInputTokens(200_000L)
+                        .inputMicrosPerMillion(5_000_000L)
+                        .outputMicrosPerMillion(15_000_000L)
+                        .build())))
+                .isActive(true)
+                .build());
+        UsageBatchRequest request = UsageBatchRequest.builder()
+                .records(List.of(
+                        UsageRecordRequest.builder().teamId(team.getId()).modelId(tieredModel.getId())
+                                .tokens(1_500).inputTokens(1_000).outputTokens(500).usedAt(baseTime).build(),
+                        UsageRecordRequest.builder().teamId(team.getId()).modelId(tieredModel.getId())
+                                .tokens(301_000).inputTokens(300_000).outputTokens(1_000).usedAt(baseTime).build()))
+                .build();
+
+        // When
+        mockMvc.perform(post("/api/usage/batch")
+                        .header("Authorization", authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted());
+
+        // Then
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> usageRepository.count() == 2);
+        // 기본 구간 7,500 micro + 20만 토큰 이상 구간 1,515,000 micro
+        assertEquals(1_522_500L, usageRepository.findAll().stream().mapToLong(Usage::getCostMicros).sum());
+        mockMvc.perform(get("/api/usage/teams/{teamId}/summary", team.getId())
+                        .header("Authorization", authToken)
+                        .param("from", "2026-01-10T09:00:00")
+                        .param("to", "2026-01-10T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCost").value(1.5225));
+    }
+
+    @Test
+    @DisplayName("사용 이력 일괄 수집 - 존재하지 않는 팀의 레코드만 제외하고 저장")
+    void ingestBatch_DropsInvalidRecords() throws Exception {
+        // Given
+        UsageBatchRequest request = UsageBatchRequest.builder()
+                .records(List.of(
+                        UsageRecordRequest.builder().teamId(team.getId()).modelId(model.getId())
+                                .tokens(100).cost(0.01).usedAt(baseTime).build(),
+                        UsageRecordRequest.builder().teamId(999999L).modelId(model.getId())
+                                .tokens(100).cost(0.01).usedAt(baseTime).build()))
+                .build();
+
+        // When
+        mockMvc.perform(post("/api/usage/batch")
+                        .header("Authorization", authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted());
+
+        // Then
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> usageRepository.count() == 1);
+        assertEquals(100, usageRepository.findAll().get(0).getTokens());
+    }
+
+    @Test
+    @DisplayName("사용 이력 일괄 수집 - 필수 값 누락 시 400 에러")
+    void ingestBatch_InvalidRecord_Returns400() throws Exception {
+        // Given
+        UsageBatchRequest request = UsageBatchRequest.builder()
+                .records(List.of(UsageRecordRequest.builder().teamId(team.getId()).tokens(10).build()))
+                .build();
+
+        // When & Then
+        mockMvc.perform(post("/api/usage/batch")
+                        .header("Authorization", authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("사용 이력 일괄 수집 - 입력/출력 토큰 합이 전체 토큰 수를 넘으면 400 에러")
+    void ingestBatch_TokenSplitExceedsTotal_Returns400() throws Exception {
+        // Given
+        UsageBatchRequest request = UsageBatchRequest.builder()
+                .records(List.of(UsageRecordRequest.builder().teamId(team.getId()).modelId(model.getId())
+                        .tokens(100).inputTokens(80).outputTokens(40).build()))
+                .build();
+
+        // When & Then
+        mockMvc.perform(post("/api/usage/batch")
+                        .header("Authorization", authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("사용 이력 조회 - 최신순 페이지, 같은 시각의 이력도 누락/중복 없이 조회")
+    void getTeamUsageRecords_WalksAllPages() throws Exception {
+        // Given - 같은 시각 2건 포함
+        saveUsage(100, 0.01, baseTime);
+        saveUsage(200, 0.02, baseTime.plusHours(1));
+        saveUsage(300, 0.03, baseTime.plusHours(1));
+        saveUsage(400, 0.04, baseTime.plusHours(2));
+        saveUsage(500, 0.05, baseTime.plusHours(3));
+
+        // When
+        List<Integer> tokens = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/usage/teams/" + team.getId() + "/records")
+                    .header("Authorization", authToken)
+                    .param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            var page = objectMapper.readTree(body);
+            page.get("items").forEach(item -> tokens.add(item.get("tokens").asInt()));
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        // Then
+        assertEquals(5, tokens.size());
+        assertEquals(500, tokens.get(0));
+        assertEquals(400, tokens.get(1));
+        assertTrue(tokens.subList(2, 4).containsAll(List.of(200, 300)));
+        assertEquals(100, tokens.get(4));
+    }
+
+    @Test
+    @DisplayName("사용 이력 내보내기 - CSV, 팀/기간 조건과 사용 시각 순서")
+    void exportUsage_Csv() throws Exception {
+        // Given
+        Team otherTeam = teamRepository.save(Team.builder().name("Other, Team").quota(10000L).usage(0L).build());
+        saveUsage(200, 0.02, baseTime.plusHours(1));
+        saveUsage(100, 0.0001, baseTime);
+        saveUsage(300, 0.03, baseTime.plusDays(1));
+        usageRepository.save(Usage.builder().team(otherTeam).model(model).tokens(999).costMicros(100_000L)
+                .usedAt(baseTime).build());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/usage/export")
+                        .header("Authorization", authToken)
+                        .param("teamId", team.getId().toString())
+                        .param("from", "2026-01-10T00:00:00")
+                        .param("to", "2026-01-11T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"usage-export.csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,team_id,team_name,model_id,model_name,tokens,cost,used_at", lines[0]);
+        assertTrue(lines[1].endsWith(",AI Research Team," + model.getId() + ",GPT-4,100,0.0001,2026-01-10T09:00"));
+        assertTrue(lines[2].contains(",200,0.02,2026-01-10T10:00"));
+    }
+
+    @Test
+    @DisplayName("사용 이력 내보내기 - gzip으로 압축한 NDJSON, 이름의 특수문자 이스케이프")
+    void exportUsage_GzipNdjson() throws Exception {
+        // Given
+        Team quotedTeam = teamRepository.save(Team.builder().name("Team \"A\", B").quota(10000L).usage(0L).build());
+        usageRepository.save(Usage.builder().team(quotedTeam).model(model).tokens(10).costMicros(1_000L)
+                .usedAt(baseTime).build());
+        saveUsage(20, 0.002, baseTime);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/usage/export")
+                        .header("Authorization", authToken)
+                        .param("format", "ndjson")
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] compressed = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        String body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(body.endsWith("\n"));
+        var first = objectMapper.readTree(lines[0]);
+        assertEquals("Team \"A\", B", first.get("teamName").asText());
+        assertEquals(10, first.get("tokens").asInt());
+        assertEquals("2026-01-10T09:00", first.get("usedAt").asText());
+        assertEquals(20, objectMapper.readTree(lines[1]).get("tokens").asInt());
+    }
+
+    @Test
+    @DisplayName("사용 이력 내보내기 - 잘못된 형식 또는 기간은 스트리밍 전에 400 에러")
+    void exportUsage_InvalidParameters_Returns400() throws Exception {
+        mockMvc.perform(get("/api/usage/export")
+                        .header("Authorization", authToken)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/usage/export")
+                        .header("Authorization", authToken)
+                        .param("from", "2026-01-11T00:00:00")
+                        .param("to", "2026-01-10T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("시계열 조회 - 시간 단위 버킷으로 합산하고 빈 버킷은 생략")
+    void getTimeseries_HourBuckets() throws Exception {
+        // Given
+        saveUsage(1000, 0.1, baseTime.plusMinutes(5));
+        saveUsage(500, 0.05, baseTime.plusMinutes(40));
+        saveUsage(200, 0.02, baseTime.plusHours(2));
+        saveUsage(700, 0.07, baseTime.plusHours(5));
+
+        // When & Then - to(12:00)는 포함하지 않음
+        mockMvc.perform(get("/api/usage/timeseries")
+                        .header("Authorization", authToken)
+                        .param("teamId", team.getId().toString())
+                        .param("from", "2026-01-10T08:30:00")
+                        .param("to", "2026-01-10T12:00:00")
+                        .param("bucket", "hour"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bucket").value("hour"))
+                .andExpect(jsonPath("$.from").value("2026-01-10T08:00:00"))
+                .andExpect(jsonPath("$.points.length()").value(2))
+                .andExpect(jsonPath("$.points[0].bucketStart").value("2026-01-10T09:00:00"))
+                .andExpect(jsonPath("$.points[0].requestCount").value(2))
+                .andExpect(jsonPath("$.points[0].totalTokens").value(1500))
+                .andExpect(jsonPath("$.points[1].bucketStart").value("2026-01-10T11:00:00"))
+                .andExpect(jsonPath("$.points[1].totalTokens").value(200));
+    }
+
+    @Test
+    @DisplayName("시계열 조회 - 주 단위는 월요일 시작 주로 일 단위 집계를 합산")
+    void getTimeseries_WeekBuckets() throws Exception {
+        // Given - 2026-01-10(토), 01-11(일), 01-12(월)
+        saveUsage(1000, 0.1, baseTime);
+        saveUsage(2000, 0.2, baseTime.plusDays(1));
+        saveUsage(4000, 0.4, baseTime.plusDays(2));
+
+        // When & Then
+        mockMvc.perform(get("/api/usage/timeseries")
+                        .header("Authorization", authToken)
+                        .param("teamId", team.getId().toString())
+                        .param("from", "2026-01-01T00:00:00")
+                        .param("to", "2026-02-01T00:00:00")
+                        .param("bucket", "week"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points.length()").value(2))
+                .andExpect(jsonPath("$.points[0].bucketStart").value("2026-01-05T00:00:00"))
+                .andExpect(jsonPath("$.points[0].requestCount").value(2))
+                .andExpect(jsonPath("$.points[0].totalTokens").value(3000))
+                .andExpect(jsonPath("$.points[1].bucketStart").value("2026-01-12T00:00:00"))
+                .andExpect(jsonPath("$.points[1].totalTokens").value(4000));
+    }
+
+    @Test
+    @DisplayName("시계열 조회 - modelId를 지정하면 해당 모델 사용량만 집계")
+    void getTimeseries_FilterByModel() throws Exception {
+        // Given
+        LLMModel otherModel = modelRepository.save(LLMModel.builder()
+                .name("Claude")
+                .provider("Anthropic")
+                .costPerToken(0.0002)
+                .isActive(true)
+                .build());
+        saveUsage(1000, 0.1, baseTime);
+        usageRepository.save(Usage.builder()
+                .team(team)
+                .model(otherModel)
+                .tokens(300)
+                .costMicros(60_000L)
+                .usedAt(baseTime.plusMinutes(10))
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/usage/timeseries")
+                        .header("Authorization", authToken)
+                        .param("teamId", team.getId().toString())
+                        .param("modelId", otherModel.getId().toString())
+                        .param("from", "2026-01-10T00:00:00")
+                        .param("to", "2026-01-11T00:00:00")
+                        .param("bucket", "day"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.modelId").value(otherModel.getId()))
+                .andExpect(jsonPath("$.points.length()").value(1))
+                .andExpect(jsonPath("$.points[0].totalTokens").value(300));
+    }
+
+    @Test
+    @DisplayName("시계열 조회 - 잘못된 bucket 또는 기간은 400 에러")
+    void getTimeseries_InvalidParameters_Returns400() throws Exception {
+        mockMvc.perform(get("/api/usage/timeseries")
+                        .header("Authorization", authToken)
+                        .param("teamId", team.getId().toString())
+                        .param("from", "2026-01-10T00:00:00")
+                        .param("to", "2026-01-11T00:00:00")
+                        .param("bucket", "minute"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/usage/timeseries")
+                        .header("Authorization", authToken)
+                        .param("teamId", team.getId().toString())
+                        .param("from", "2026-01-11T00:00:00")
+                        .param("to", "2026-01-10T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/usage/timeseries")
+                        .header("Authorization", authToken)
+                        .param("teamId", team.getId().toString())
+                        .param("from", "2020-01-01T00:00:00")
+                        .param("to", "2026-01-01T00:00:00")
+                        .param("bucket", "hour"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.llm.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("SseRelay 단위 테스트")
+class SseRelayTest {
+
+    // 보낸 이벤트 수를 세고, 열릴 때까지 send에서 멈출 수 있는 클라이언트
+    private static final class Client extends SseEmitter {
+
+        private final CountDownLatch gate;
+        private final AtomicInteger sent = new AtomicInteger();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile boolean failed;
+
+        private Client(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            sent.incrementAndGet();
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failed = true;
+            completed.countDown();
+        }
+    }
+
+    private final List<Long> finishedTokens = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService followerSender = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        followerSender.shutdownNow();
+    }
+
+    private SseRelay relay(int maxReplayBytes) {
+        @SuppressWarnings("unchecked")
+        Flow.Publisher<List<ByteBuffer>> upstream = mock(Flow.Publisher.class);
+        SseRelay relay = new SseRelay(0L, upstream, new ObjectMapper(), new StreamUsageCounter(0L),
+                1024, maxReplayBytes, followerSender, finishedTokens::add);
+        relay.onSubscribe(mock(Flow.Subscription.class));
+        return relay;
+    }
+
+    private static List<ByteBuffer> event(String payload) {
+        return List.of(ByteBuffer.wrap(("data: " + payload + "\n\n").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("합류한 클라이언트가 send에서 멈춰도 제공자 스트림은 계속 읽고 다른 클라이언트에 보냄")
+    void onNext_StalledFollower_DoesNotBlockOthers() throws Exception {
+        // Given
+        SseRelay relay = relay(1024);
+        CountDownLatch stalled = new CountDownLatch(1);
+        Client slow = new Client(stalled);
+        Client fast = new Client(new CountDownLatch(0));
+        assertTrue(relay.join(slow, tokens -> { }));
+        assertTrue(relay.join(fast, tokens -> { }));
+
+        // When - 제공자 스레드에서 이벤트를 넣는 동안 slow는 첫 send에서 멈춰 있음
+        for (int i = 0; i < 5; i++) {
+            relay.onNext(event("chunk" + i));
+        }
+        relay.onNext(event("[DONE]"));
+        relay.onComplete();
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> fast.completed.getCount() == 0);
+        assertEquals(6, fast.sent.get());
+        assertEquals(1, slow.completed.getCount());
+
+        stalled.countDown();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(6, slow.sent.get());
+        assertFalse(slow.failed);
+    }
+
+    @Test
+    @DisplayName("보내지 못한 이벤트가 maxReplayBytes를 넘은 클라이언트는 끊고 사용량을 한 번만 넘김")
+    void onNext_FollowerFallsBehind_IsDropped() throws Exception {
+        // Given
+        SseRelay relay = relay(32);
+        CountDownLatch stalled = new CountDownLatch(1);
+        Client slow = new Client(stalled);
+        List<Long> slowTokens = new CopyOnWriteArrayList<>();
+        assertTrue(relay.join(slow, slowTokens::add));
+
+        // When - 첫 이벤트를 보내는 중이든 아니든 10바이트 이벤트 다섯 개면 대기열이 32바이트를 넘음
+        for (int i = 0; i < 5; i++) {
+            relay.onNext(event("0123456789"));
+        }
+
+        // Then
+        assertTrue(slow.failed);
+        assertEquals(0, slow.completed.getCount());
+        assertEquals(1, slowTokens.size());
+        stalled.countDown();
+        relay.onComplete();
+        assertEquals(1, slowTokens.size());
+        assertEquals(1, finishedTokens.size());
+    }
+}
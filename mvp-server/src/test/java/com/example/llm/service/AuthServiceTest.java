@@ -5,18 +5,26 @@ import com.example.llm.dto.response.LoginResponse;
 import com.example.llm.entity.User;
 import com.example.llm.exception.ErrorCode;
 import com.example.llm.exception.UnauthorizedException;
+import com.example.llm.repository.TeamMemberRepository;
 import com.example.llm.repository.UserRepository;
+import com.example.llm.security.Membership;
+import com.example.llm.security.MembershipCache;
 import com.example.llm.util.TokenUtil;
+import com.example.llm.util.VerifiedToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,6 +38,12 @@ class AuthServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TeamMemberRepository teamMemberRepository;
+
+    @Mock
+    private MembershipCache membershipCache;
+
     @Mock
     private TokenUtil tokenUtil;
 
@@ -64,7 +78,9 @@ class AuthServiceTest {
         // Given
         when(userRepository.findByUsername(loginRequest.getUsername()))
                 .thenReturn(Optional.of(testUser));
-        when(tokenUtil.generateToken(testUser.getUsername(), testUser.getRole()))
+        when(teamMemberRepository.findTeamIdsByUserId(testUser.getId()))
+                .thenReturn(List.of(1L, 2L));
+        when(tokenUtil.generateToken(testUser.getUsername(), testUser.getRole(), List.of(1L, 2L)))
                 .thenReturn("test-token");
 
         // When
@@ -87,18 +103,26 @@ class AuthServiceTest {
         when(passwordEncoder.encode(loginRequest.getPassword()))
                 .thenReturn("encodedPassword");
         when(userRepository.save(any(User.class)))
-                .thenReturn(testUser);
-        when(tokenUtil.generateToken(testUser.getUsername(), testUser.getRole()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(teamMemberRepository.findTeamIdsByUserId(any()))
+                .thenReturn(List.of());
+        when(tokenUtil.generateToken(testUser.getUsername(), "USER", List.of()))
                 .thenReturn("test-token");
 
         // When
         LoginResponse response = authService.login(loginRequest);
 
-        // Then
+        // Then - 자동 생성한 사용자는 관리자가 아님
         assertNotNull(response);
         assertEquals("test-token", response.getToken());
-        assertEquals("ADMIN", response.getRole());
-        verify(userRepository, times(1)).save(any(User.class));
+        assertEquals("USER", response.getRole());
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository, times(1)).save(saved.capture());
+        assertEquals("USER", saved.getValue().getRole());
+    }
+
+    private VerifiedToken verifiedToken(String username) {
+        return new VerifiedToken(username, "ADMIN", Set.of(), Instant.now().plusSeconds(3600));
     }
 
     @Test
@@ -106,10 +130,9 @@ class AuthServiceTest {
     void getCurrentUser_ValidToken_ReturnsUser() {
         // Given
         String token = "valid-token";
-        when(tokenUtil.validateToken(token)).thenReturn(true);
-        when(tokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
+        when(tokenUtil.verify(token)).thenReturn(Optional.of(verifiedToken("testuser")));
+        when(membershipCache.get("testuser"))
+                .thenReturn(Optional.of(new Membership(1L, "testuser", "ADMIN", Set.of(1L))));
 
         // When
         LoginResponse response = authService.getCurrentUser(token);
@@ -125,7 +148,7 @@ class AuthServiceTest {
     void getCurrentUser_InvalidToken_ThrowsUnauthorizedException() {
         // Given
         String invalidToken = "invalid-token";
-        when(tokenUtil.validateToken(invalidToken)).thenReturn(false);
+        when(tokenUtil.verify(invalidToken)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(UnauthorizedException.class, () -> 
@@ -138,9 +161,8 @@ class AuthServiceTest {
     void getCurrentUser_UserNotFound_ThrowsUnauthorizedException() {
         // Given
         String token = "valid-token";
-        when(tokenUtil.validateToken(token)).thenReturn(true);
-        when(tokenUtil.getUsernameFromToken(token)).thenReturn("nonexistent");
-        when(userRepository.findByUsername("nonexistent"))
+        when(tokenUtil.verify(token)).thenReturn(Optional.of(verifiedToken("nonexistent")));
+        when(membershipCache.get("nonexistent"))
                 .thenReturn(Optional.empty());
 
         // When & Then
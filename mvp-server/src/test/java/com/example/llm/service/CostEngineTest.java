@@ -0,0 +1,153 @@
+package com.example.llm.service;
+
+import com.example.llm.config.ResponseCacheProperties;
+import com.example.llm.dto.request.UsageRecordRequest;
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CostEngine 단위 테스트")
+class CostEngineTest {
+
+    @Mock
+    private ModelRegistry modelRegistry;
+
+    @Spy
+    private ResponseCacheProperties responseCacheProperties = new ResponseCacheProperties();
+
+    @InjectMocks
+    private CostEngine costEngine;
+
+    @Test
+    @DisplayName("입력/출력 토큰을 보내면 모델 단가표로 계산")
+    void costMicros_UsesModelPricing() {
+        // Given
+        when(modelRegistry.findPricing(1L)).thenReturn(Optional.of(ModelPricing.flat(2_500_000L, 10_000_000L)));
+        UsageRecordRequest record = UsageRecordRequest.builder()
+                .teamId(1L).modelId(1L).tokens(1_500).inputTokens(1_000).outputTokens(500).build();
+
+        // When & Then
+        assertEquals(7_500L, costEngine.costMicros(record));
+    }
+
+    @Test
+    @DisplayName("입력/출력 구분이 없으면 전체 토큰을 입력으로 계산")
+    void costMicros_WithoutSplit_TreatsTokensAsInput() {
+        // Given
+        when(modelRegistry.findPricing(1L)).thenReturn(Optional.of(ModelPricing.flat(2_500_000L, 10_000_000L)));
+        UsageRecordRequest record = UsageRecordRequest.builder().teamId(1L).modelId(1L).tokens(1_000).build();
+
+        // When & Then
+        assertEquals(2_500L, costEngine.costMicros(record));
+    }
+
+    @Test
+    @DisplayName("입력 토큰만 보내면 나머지 토큰을 출력으로 계산")
+    void costMicros_InputOnly_BillsRemainderAsOutput() {
+        // Given
+        when(modelRegistry.findPricing(1L)).thenReturn(Optional.of(ModelPricing.flat(2_500_000L, 10_000_000L)));
+        UsageRecordRequest record = UsageRecordRequest.builder()
+                .teamId(1L).modelId(1L).tokens(1_500).inputTokens(1_000).build();
+
+        // When & Then - 입력 1000 * 2.5 + 출력 500 * 10
+        assertEquals(7_500L, costEngine.costMicros(record));
+    }
+
+    @Test
+    @DisplayName("출력 토큰만 보내면 나머지 토큰을 입력으로 계산")
+    void costMicros_OutputOnly_BillsRemainderAsInput() {
+        // Given
+        when(modelRegistry.findPricing(1L)).thenReturn(Optional.of(ModelPricing.flat(2_500_000L, 10_000_000L)));
+        UsageRecordRequest record = UsageRecordRequest.builder()
+                .teamId(1L).modelId(1L).tokens(1_500).outputTokens(500).build();
+
+        // When & Then
+        assertEquals(7_500L, costEngine.costMicros(record));
+    }
+
+    @Test
+    @DisplayName("입력/출력 토큰 합이 전체 토큰 수와 다르면 INVALID_INPUT")
+    void costMicros_InconsistentSplit_Throws() {
+        // Given
+        UsageRecordRequest overflow = UsageRecordRequest.builder()
+                .teamId(1L).modelId(1L).tokens(1_000).inputTokens(1_200).build();
+        UsageRecordRequest mismatch = UsageRecordRequest.builder()
+                .teamId(1L).modelId(1L).tokens(1_500).inputTokens(1_000).outputTokens(100).build();
+
+        // When
+        BusinessException overflowException = assertThrows(BusinessException.class,
+                () -> costEngine.costMicros(overflow));
+        BusinessException mismatchException = assertThrows(BusinessException.class,
+                () -> costEngine.costMicros(mismatch));
+
+        // Then
+        assertEquals(ErrorCode.INVALID_INPUT, overflowException.getErrorCode());
+        assertEquals(ErrorCode.INVALID_INPUT, mismatchException.getErrorCode());
+        verifyNoInteractions(modelRegistry);
+    }
+
+    @Test
+    @DisplayName("비용을 직접 보내면 단가표를 조회하지 않고 micro로 변환")
+    void costMicros_ExplicitCost_SkipsPricing() {
+        // Given
+        UsageRecordRequest record = UsageRecordRequest.builder()
+                .teamId(1L).modelId(1L).tokens(10).cost(0.001).build();
+
+        // When & Then
+        assertEquals(1_000L, costEngine.costMicros(record));
+        verifyNoInteractions(modelRegistry);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 모델은 MODEL_NOT_FOUND")
+    void costMicros_UnknownModel_Throws() {
+        // Given
+        when(modelRegistry.findPricing(99L)).thenReturn(Optional.empty());
+
+        // When
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> costEngine.costMicros(99L, 10, 10));
+
+        // Then
+        assertEquals(ErrorCode.MODEL_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("캐시 적중 이력은 단가표 비용에 적중 비용 비율을 곱한 나머지를 절감액으로 계산")
+    void savedMicros_CacheHit_AppliesHitCostRatio() {
+        // Given
+        responseCacheProperties.setHitCostRatio(0.1);
+        UsageRecordRequest hit = UsageRecordRequest.builder()
+                .teamId(1L).modelId(1L).tokens(1_000).cacheHit(true).build();
+        UsageRecordRequest miss = UsageRecordRequest.builder()
+                .teamId(1L).modelId(1L).tokens(1_000).build();
+
+        // When & Then
+        assertEquals(9_000L, costEngine.savedMicros(hit, 10_000L));
+        assertEquals(0L, costEngine.savedMicros(miss, 10_000L));
+    }
+
+    @Test
+    @DisplayName("비용을 직접 보낸 캐시 적중 이력은 그 비용을 그대로 청구")
+    void savedMicros_ExplicitCost_ChargesAsSent() {
+        // Given
+        UsageRecordRequest record = UsageRecordRequest.builder()
+                .teamId(1L).modelId(1L).tokens(10).cost(0.001).cacheHit(true).build();
+
+        // When & Then
+        assertEquals(0L, costEngine.savedMicros(record, 1_000L));
+    }
+}
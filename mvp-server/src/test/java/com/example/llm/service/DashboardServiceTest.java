@@ -1,12 +1,12 @@
 package com.example.llm.service;
 
 import com.example.llm.dto.response.DashboardResponse;
-import com.example.llm.entity.LLMModel;
-import com.example.llm.entity.Team;
-import com.example.llm.entity.Usage;
+import com.example.llm.entity.RollupGranularity;
 import com.example.llm.repository.ModelRepository;
 import com.example.llm.repository.TeamRepository;
-import com.example.llm.repository.UsageRepository;
+import com.example.llm.repository.UsageRollupRepository;
+import com.example.llm.repository.projection.TeamQuotaSummary;
+import com.example.llm.repository.projection.TeamUsageAggregate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,12 +15,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("DashboardService 단위 테스트")
@@ -33,89 +34,33 @@ class DashboardServiceTest {
     private ModelRepository modelRepository;
 
     @Mock
-    private UsageRepository usageRepository;
+    private UsageRollupRepository usageRollupRepository;
 
     @InjectMocks
     private DashboardService dashboardService;
 
-    private Team testTeam1;
-    private Team testTeam2;
-    private LLMModel testModel1;
-    private LLMModel testModel2;
-    private Usage usage1;
-    private Usage usage2;
+    private TeamQuotaSummary testTeam1;
+    private TeamQuotaSummary testTeam2;
+    private TeamUsageAggregate team1Usage;
+    private TeamUsageAggregate team2Usage;
 
     @BeforeEach
     void setUp() {
-        LocalDateTime now = LocalDateTime.now();
-        
-        testTeam1 = Team.builder()
-                .id(1L)
-                .name("AI Research Team")
-                .quota(10000L)
-                .usage(5000L)
-                .createdAt(now)
-                .updatedAt(now)
-                .build();
-
-        testTeam2 = Team.builder()
-                .id(2L)
-                .name("Data Science Team")
-                .quota(20000L)
-                .usage(10000L)
-                .createdAt(now)
-                .updatedAt(now)
-                .build();
-
-        testModel1 = LLMModel.builder()
-                .id(1L)
-                .name("GPT-4")
-                .provider("OpenAI")
-                .costPerToken(0.0001)
-                .isActive(true)
-                .createdAt(now)
-                .updatedAt(now)
-                .build();
-
-        testModel2 = LLMModel.builder()
-                .id(2L)
-                .name("Claude-2")
-                .provider("Anthropic")
-                .costPerToken(0.00008)
-                .isActive(false)
-                .createdAt(now)
-                .updatedAt(now)
-                .build();
-
-        usage1 = Usage.builder()
-                .id(1L)
-                .team(testTeam1)
-                .model(testModel1)
-                .tokens(1000)
-                .cost(0.1)
-                .usedAt(now)
-                .build();
-
-        usage2 = Usage.builder()
-                .id(2L)
-                .team(testTeam2)
-                .model(testModel1)
-                .tokens(2000)
-                .cost(0.2)
-                .usedAt(now)
-                .build();
+        testTeam1 = new TeamQuotaSummary(1L, "AI Research Team", 10000L, 5000L);
+        testTeam2 = new TeamQuotaSummary(2L, "Data Science Team", 20000L, 10000L);
+
+        team1Usage = new TeamUsageAggregate(1L, 1L, 1000L, 100_000L);
+        team2Usage = new TeamUsageAggregate(2L, 1L, 2000L, 200_000L);
     }
 
     @Test
     @DisplayName("대시보드 데이터 조회 - 성공 (데이터 존재)")
     void getDashboard_Success() {
         // Given
-        when(teamRepository.findAll()).thenReturn(Arrays.asList(testTeam1, testTeam2));
+        when(teamRepository.findAllQuotaSummaries()).thenReturn(Arrays.asList(testTeam1, testTeam2));
         when(modelRepository.count()).thenReturn(2L);
-        when(modelRepository.findByIsActiveTrue()).thenReturn(Arrays.asList(testModel1));
-        when(usageRepository.findAll()).thenReturn(Arrays.asList(usage1, usage2));
-        when(usageRepository.findByTeamId(1L)).thenReturn(Arrays.asList(usage1));
-        when(usageRepository.findByTeamId(2L)).thenReturn(Arrays.asList(usage2));
+        when(modelRepository.countByIsActiveTrue()).thenReturn(1L);
+        when(usageRollupRepository.aggregateByTeam(RollupGranularity.DAY)).thenReturn(Arrays.asList(team1Usage, team2Usage));
 
         // When
         DashboardResponse response = dashboardService.getDashboard();
@@ -136,10 +81,10 @@ class DashboardServiceTest {
     @DisplayName("대시보드 데이터 조회 - 빈 데이터")
     void getDashboard_EmptyData() {
         // Given
-        when(teamRepository.findAll()).thenReturn(Collections.emptyList());
+        when(teamRepository.findAllQuotaSummaries()).thenReturn(Collections.emptyList());
         when(modelRepository.count()).thenReturn(0L);
-        when(modelRepository.findByIsActiveTrue()).thenReturn(Collections.emptyList());
-        when(usageRepository.findAll()).thenReturn(Collections.emptyList());
+        when(modelRepository.countByIsActiveTrue()).thenReturn(0L);
+        when(usageRollupRepository.aggregateByTeam(RollupGranularity.DAY)).thenReturn(Collections.emptyList());
 
         // When
         DashboardResponse response = dashboardService.getDashboard();
@@ -159,11 +104,10 @@ class DashboardServiceTest {
     @DisplayName("대시보드 데이터 조회 - 팀별 사용량 비율 계산")
     void getDashboard_CalculatesUsagePercentage() {
         // Given
-        when(teamRepository.findAll()).thenReturn(Arrays.asList(testTeam1));
+        when(teamRepository.findAllQuotaSummaries()).thenReturn(Arrays.asList(testTeam1));
         when(modelRepository.count()).thenReturn(1L);
-        when(modelRepository.findByIsActiveTrue()).thenReturn(Arrays.asList(testModel1));
-        when(usageRepository.findAll()).thenReturn(Arrays.asList(usage1));
-        when(usageRepository.findByTeamId(1L)).thenReturn(Arrays.asList(usage1));
+        when(modelRepository.countByIsActiveTrue()).thenReturn(1L);
+        when(usageRollupRepository.aggregateByTeam(RollupGranularity.DAY)).thenReturn(Arrays.asList(team1Usage));
 
         // When
         DashboardResponse response = dashboardService.getDashboard();
@@ -184,12 +128,11 @@ class DashboardServiceTest {
     @DisplayName("대시보드 데이터 조회 - 할당량이 0인 경우")
     void getDashboard_QuotaZero() {
         // Given
-        testTeam1.setQuota(0L);
-        when(teamRepository.findAll()).thenReturn(Arrays.asList(testTeam1));
+        TeamQuotaSummary zeroQuotaTeam = new TeamQuotaSummary(1L, "AI Research Team", 0L, 5000L);
+        when(teamRepository.findAllQuotaSummaries()).thenReturn(Arrays.asList(zeroQuotaTeam));
         when(modelRepository.count()).thenReturn(1L);
-        when(modelRepository.findByIsActiveTrue()).thenReturn(Arrays.asList(testModel1));
-        when(usageRepository.findAll()).thenReturn(Arrays.asList(usage1));
-        when(usageRepository.findByTeamId(1L)).thenReturn(Arrays.asList(usage1));
+        when(modelRepository.countByIsActiveTrue()).thenReturn(1L);
+        when(usageRollupRepository.aggregateByTeam(RollupGranularity.DAY)).thenReturn(Arrays.asList(team1Usage));
 
         // When
         DashboardResponse response = dashboardService.getDashboard();
@@ -208,20 +151,12 @@ class DashboardServiceTest {
     @DisplayName("대시보드 데이터 조회 - 총 비용 계산")
     void getDashboard_CalculatesTotalCost() {
         // Given
-        Usage usage3 = Usage.builder()
-                .id(3L)
-                .team(testTeam1)
-                .model(testModel2)
-                .tokens(500)
-                .cost(0.05)
-                .usedAt(LocalDateTime.now())
-                .build();
-
-        when(teamRepository.findAll()).thenReturn(Arrays.asList(testTeam1));
+        TeamUsageAggregate team1TwoModels = new TeamUsageAggregate(1L, 2L, 1500L, 150_000L);
+
+        when(teamRepository.findAllQuotaSummaries()).thenReturn(Arrays.asList(testTeam1));
         when(modelRepository.count()).thenReturn(2L);
-        when(modelRepository.findByIsActiveTrue()).thenReturn(Arrays.asList(testModel1, testModel2));
-        when(usageRepository.findAll()).thenReturn(Arrays.asList(usage1, usage3));
-        when(usageRepository.findByTeamId(1L)).thenReturn(Arrays.asList(usage1, usage3));
+        when(modelRepository.countByIsActiveTrue()).thenReturn(2L);
+        when(usageRollupRepository.aggregateByTeam(RollupGranularity.DAY)).thenReturn(Arrays.asList(team1TwoModels));
 
         // When
         DashboardResponse response = dashboardService.getDashboard();
@@ -229,18 +164,39 @@ class DashboardServiceTest {
         // Then
         assertNotNull(response);
         assertEquals(0.15, response.getTotalCost(), 0.001); // 0.1 + 0.05
+        assertEquals(1500L, response.getTeamUsageSummaries().get(0).getTotalTokens());
+    }
+
+    @Test
+    @DisplayName("대시보드 데이터 조회 - 총 비용은 micro 단위로 합산해 오차가 없음")
+    void getDashboard_SumsCostWithoutDrift() {
+        // Given (double로 0.1을 열 번 더하면 0.9999999999999999)
+        List<TeamQuotaSummary> teams = new ArrayList<>();
+        List<TeamUsageAggregate> aggregates = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            teams.add(new TeamQuotaSummary(id, "Team " + id, 10000L, 0L));
+            aggregates.add(new TeamUsageAggregate(id, 1L, 100L, 100_000L));
+        }
+        when(teamRepository.findAllQuotaSummaries()).thenReturn(teams);
+        when(modelRepository.count()).thenReturn(1L);
+        when(modelRepository.countByIsActiveTrue()).thenReturn(1L);
+        when(usageRollupRepository.aggregateByTeam(RollupGranularity.DAY)).thenReturn(aggregates);
+
+        // When
+        DashboardResponse response = dashboardService.getDashboard();
+
+        // Then
+        assertEquals(1.0, response.getTotalCost());
     }
 
     @Test
     @DisplayName("대시보드 데이터 조회 - 팀별 모델 사용 수 계산")
     void getDashboard_CalculatesModelCountPerTeam() {
         // Given
-        when(teamRepository.findAll()).thenReturn(Arrays.asList(testTeam1, testTeam2));
+        when(teamRepository.findAllQuotaSummaries()).thenReturn(Arrays.asList(testTeam1, testTeam2));
         when(modelRepository.count()).thenReturn(2L);
-        when(modelRepository.findByIsActiveTrue()).thenReturn(Arrays.asList(testModel1, testModel2));
-        when(usageRepository.findAll()).thenReturn(Arrays.asList(usage1, usage2));
-        when(usageRepository.findByTeamId(1L)).thenReturn(Arrays.asList(usage1));
-        when(usageRepository.findByTeamId(2L)).thenReturn(Arrays.asList(usage2));
+        when(modelRepository.countByIsActiveTrue()).thenReturn(2L);
+        when(usageRollupRepository.aggregateByTeam(RollupGranularity.DAY)).thenReturn(Arrays.asList(team1Usage, team2Usage));
 
         // When
         DashboardResponse response = dashboardService.getDashboard();
@@ -255,4 +211,60 @@ class DashboardServiceTest {
         DashboardResponse.TeamUsageSummary summary2 = response.getTeamUsageSummaries().get(1);
         assertEquals(1, summary2.getModelCount());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("대시보드 데이터 조회 - 사용 이력이 없는 팀")
+    void getDashboard_TeamWithoutUsage() {
+        // Given
+        when(teamRepository.findAllQuotaSummaries()).thenReturn(Arrays.asList(testTeam1, testTeam2));
+        when(modelRepository.count()).thenReturn(1L);
+        when(modelRepository.countByIsActiveTrue()).thenReturn(1L);
+        when(usageRollupRepository.aggregateByTeam(RollupGranularity.DAY)).thenReturn(Arrays.asList(team2Usage));
+
+        // When
+        DashboardResponse response = dashboardService.getDashboard();
+
+        // Then
+        DashboardResponse.TeamUsageSummary summary1 = response.getTeamUsageSummaries().get(0);
+        assertEquals(0, summary1.getModelCount());
+        assertEquals(0L, summary1.getTotalTokens());
+        assertEquals(0.0, summary1.getTotalCost(), 0.001);
+        assertEquals(0.2, response.getTotalCost(), 0.001);
+    }
+
+    @Test
+    @DisplayName("대시보드 데이터 조회 - 삭제된 팀의 집계는 총 비용에서 제외")
+    void getDashboard_IgnoresRollupsOfUnknownTeams() {
+        // Given
+        TeamUsageAggregate deletedTeamUsage = new TeamUsageAggregate(99L, 3L, 3000L, 300_000L);
+        when(teamRepository.findAllQuotaSummaries()).thenReturn(Arrays.asList(testTeam1));
+        when(modelRepository.count()).thenReturn(1L);
+        when(modelRepository.countByIsActiveTrue()).thenReturn(1L);
+        when(usageRollupRepository.aggregateByTeam(RollupGranularity.DAY)).thenReturn(Arrays.asList(team1Usage, deletedTeamUsage));
+
+        // When
+        DashboardResponse response = dashboardService.getDashboard();
+
+        // Then
+        assertEquals(1, response.getTeamUsageSummaries().size());
+        assertEquals(0.1, response.getTotalCost(), 0.001);
+    }
+
+    @Test
+    @DisplayName("대시보드 데이터 조회 - 일 단위 집계 테이블만 조회")
+    void getDashboard_ReadsDailyRollupsOnly() {
+        // Given
+        when(teamRepository.findAllQuotaSummaries()).thenReturn(Arrays.asList(testTeam1, testTeam2));
+        when(modelRepository.count()).thenReturn(1L);
+        when(modelRepository.countByIsActiveTrue()).thenReturn(1L);
+        when(usageRollupRepository.aggregateByTeam(RollupGranularity.DAY)).thenReturn(Arrays.asList(team1Usage, team2Usage));
+
+        // When
+        dashboardService.getDashboard();
+
+        // Then
+        verify(usageRollupRepository, times(1)).aggregateByTeam(RollupGranularity.DAY);
+        verify(usageRollupRepository, never()).aggregateByTeam(RollupGranularity.HOUR);
+        verify(teamRepository, never()).findAll();
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.llm.service;
+
+import com.example.llm.config.GatewayProperties;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.gateway.ProviderResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EmbeddingBatcher 단위 테스트")
+class EmbeddingBatcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private GatewayProperties properties;
+
+    private EmbeddingBatcher embeddingBatcher;
+
+    private LLMModel model;
+
+    // 제공자로 보낸 본문과 그 응답을 직접 완료할 future
+    private final List<ObjectNode> sent = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<ProviderResponse>> upstream = new CopyOnWriteArrayList<>();
+
+    private final Function<ObjectNode, CompletableFuture<ProviderResponse>> sender = body -> {
+        CompletableFuture<ProviderResponse> response = new CompletableFuture<>();
+        sent.add(body);
+        upstream.add(response);
+        return response;
+    };
+
+    @BeforeEach
+    void setUp() {
+        properties = new GatewayProperties();
+        properties.getBatching().setMaxWindow(Duration.ofSeconds(10));
+        properties.getBatching().setMaxBatchSize(4);
+        embeddingBatcher = new EmbeddingBatcher(properties, objectMapper);
+        model = LLMModel.builder().id(1L).name("embed").provider("OpenAI").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        embeddingBatcher.shutdown();
+    }
+
+    private ObjectNode request(String json) throws Exception {
+        return (ObjectNode) objectMapper.readTree(json);
+    }
+
+    private CompletableFuture<ProviderResponse> submit(String json) throws Exception {
+        return embeddingBatcher.submit(model, request(json), sender);
+    }
+
+    // 입력마다 [배치 안 위치] 벡터를 주는 제공자 응답
+    private ProviderResponse embeddings(int inputs, int promptTokens) throws Exception {
+        ObjectNode response = objectMapper.createObjectNode().put("object", "list").put("model", "embed");
+        ArrayNode data = response.putArray("data");
+        for (int i = 0; i < inputs; i++) {
+            data.addObject().put("object", "embedding").put("index", i).putArray("embedding").add(i);
+        }
+        response.putObject("usage").put("prompt_tokens", promptTokens).put("total_tokens", promptTokens);
+        return new ProviderResponse(200, "application/json", objectMapper.writeValueAsBytes(response));
+    }
+
+    private JsonNode body(CompletableFuture<ProviderResponse> result) throws Exception {
+        return objectMapper.readTree(result.join().getBody());
+    }
+
+    @Test
+    @DisplayName("요청이 이어지면 입력을 모아 한 번에 보내고 응답을 요청별 입력 구간과 사용량으로 나눔")
+    void submit_Burst_SendsOneBatchAndSplits() throws Exception {
+        // Given - 첫 요청은 요청 간격을 모르므로 바로 보냄
+        submit("{\"model\":\"embed\",\"input\":\"aa\"}");
+        assertEquals(1, sent.size());
+
+        // When - 입력이 4개가 되면 바로 보냄
+        CompletableFuture<ProviderResponse> first = submit("{\"model\":\"embed\",\"input\":[\"bb\",\"cc\"],\"user\":\"u1\"}");
+        CompletableFuture<ProviderResponse> second = submit("{\"model\":\"embed\",\"input\":\"dd\"}");
+        assertEquals(1, sent.size());
+        CompletableFuture<ProviderResponse> third = submit("{\"model\":\"embed\",\"input\":[\"ee\"]}");
+
+        // Then
+        assertEquals(2, sent.size());
+        assertEquals("[\"bb\",\"cc\",\"dd\",\"ee\"]", sent.get(1).get("input").toString());
+        assertFalse(sent.get(1).has("user"));
+
+        upstream.get(1).complete(embeddings(4, 8));
+        JsonNode firstBody = body(first);
+        assertEquals(2, firstBody.get("data").size());
+        assertEquals(1, firstBody.get("data").get(1).get("index").asInt());
+        assertEquals(1, firstBody.get("data").get(1).get("embedding").get(0).asInt());
+        JsonNode secondBody = body(second);
+        assertEquals(0, secondBody.get("data").get(0).get("index").asInt());
+        assertEquals(2, secondBody.get("data").get(0).get("embedding").get(0).asInt());
+        assertEquals(3, body(third).get("data").get(0).get("embedding").get(0).asInt());
+        // 입력 문자 수(+1) 비율 6:3:3로 나눈 사용량
+        assertEquals(4, firstBody.get("usage").get("prompt_tokens").asInt());
+        assertEquals(2, secondBody.get("usage").get("total_tokens").asInt());
+        assertEquals(2, body(third).get("usage").get("total_tokens").asInt());
+    }
+
+    @Test
+    @DisplayName("대기 시간이 지나면 모인 요청만 보냄")
+    void submit_WindowExpires_SendsPartialBatch() throws Exception {
+        // Given
+        properties.getBatching().setMaxWindow(Duration.ofMillis(200));
+        submit("{\"model\":\"embed\",\"input\":\"aa\"}");
+
+        // When
+        CompletableFuture<ProviderResponse> waiting = submit("{\"model\":\"embed\",\"input\":\"bb\"}");
+
+        // Then
+        assertEquals(1, sent.size());
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals(2, sent.size()));
+        assertEquals("bb", sent.get(1).get("input").asText());
+        ProviderResponse response = embeddings(1, 2);
+        upstream.get(1).complete(response);
+        assertSame(response, waiting.join());
+    }
+
+    @Test
+    @DisplayName("요청 간격이 대기 시간보다 길면 기다리지 않고 바로 보냄")
+    void submit_SparseRequests_SendsImmediately() throws Exception {
+        // Given
+        properties.getBatching().setMaxWindow(Duration.ofMillis(1));
+        submit("{\"model\":\"embed\",\"input\":\"aa\"}");
+        Thread.sleep(20);
+
+        // When
+        submit("{\"model\":\"embed\",\"input\":\"bb\"}");
+
+        // Then
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    @DisplayName("요청이 드물수록 대기 시간을 줄여 모인 요청을 maxWindow보다 일찍 보냄")
+    void submit_SlowerRequests_ShortenWindow() throws Exception {
+        // Given - 간격 1.5초면 대기 시간은 2초 - 1.5초
+        properties.getBatching().setMaxWindow(Duration.ofSeconds(2));
+        submit("{\"model\":\"embed\",\"input\":\"aa\"}");
+        Thread.sleep(1500);
+        long start = System.nanoTime();
+
+        // When
+        submit("{\"model\":\"embed\",\"input\":\"bb\"}");
+
+        // Then
+        assertEquals(1, sent.size());
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals(2, sent.size()));
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(1500).toNanos());
+    }
+
+    @Test
+    @DisplayName("대기 시간은 요청 간격이 짧을수록 maxWindow에 가깝고 간격이 maxWindow 이상이면 0")
+    void windowNanos_GrowsWithArrivalRate() {
+        long maxWindow = Duration.ofMillis(5).toNanos();
+
+        assertEquals(0, EmbeddingBatcher.windowNanos(-1, maxWindow));
+        assertEquals(0, EmbeddingBatcher.windowNanos(maxWindow, maxWindow));
+        assertEquals(0, EmbeddingBatcher.windowNanos(2.0 * maxWindow, maxWindow));
+        assertEquals(Duration.ofMillis(1).toNanos(), EmbeddingBatcher.windowNanos(Duration.ofMillis(4).toNanos(), maxWindow));
+        assertEquals(Duration.ofMillis(4).toNanos(), EmbeddingBatcher.windowNanos(Duration.ofMillis(1).toNanos(), maxWindow));
+        assertEquals(maxWindow, EmbeddingBatcher.windowNanos(0, maxWindow));
+    }
+
+    @Test
+    @DisplayName("파라미터가 다른 요청이나 토큰 배열 입력은 모으지 않음")
+    void submit_IncompatibleRequests_SentSeparately() throws Exception {
+        // Given
+        submit("{\"model\":\"embed\",\"input\":\"aa\",\"dimensions\":8}");
+        submit("{\"model\":\"embed\",\"input\":\"bb\",\"dimensions\":8}");
+
+        // When
+        submit("{\"model\":\"embed\",\"input\":\"cc\",\"dimensions\":16}");
+        submit("{\"model\":\"embed\",\"input\":[[1,2,3]],\"dimensions\":8}");
+
+        // Then - 첫 요청, 다른 dimensions의 첫 요청, 토큰 배열 요청만 보냈고 "bb"는 대기 중
+        assertEquals(3, sent.size());
+        assertEquals(16, sent.get(1).get("dimensions").asInt());
+        assertEquals("[[1,2,3]]", sent.get(2).get("input").toString());
+    }
+
+    @Test
+    @DisplayName("배치 호출이 오류 응답을 받으면 모든 요청에 같은 응답을 돌려줌")
+    void submit_BatchError_ReturnsErrorToAll() throws Exception {
+        // Given
+        submit("{\"model\":\"embed\",\"input\":\"aa\"}");
+        CompletableFuture<ProviderResponse> first = submit("{\"model\":\"embed\",\"input\":[\"bb\",\"cc\"]}");
+        CompletableFuture<ProviderResponse> second = submit("{\"model\":\"embed\",\"input\":[\"dd\",\"ee\"]}");
+
+        // When
+        ProviderResponse error = new ProviderResponse(503, "application/json",
+                "{\"error\":{\"message\":\"busy\"}}".getBytes(StandardCharsets.UTF_8));
+        upstream.get(1).complete(error);
+
+        // Then
+        assertSame(error, first.join());
+        assertSame(error, second.join());
+    }
+
+    @Test
+    @DisplayName("입력 길이로 토큰을 추정")
+    void estimateTokens_CountsCharactersAndTokenArrays() throws Exception {
+        assertEquals(2L, EmbeddingBatcher.estimateTokens(request("{\"input\":\"hello\"}")));
+        assertEquals(3L, EmbeddingBatcher.estimateTokens(request("{\"input\":[\"hello\",\"abc\"]}")));
+        assertEquals(5L, EmbeddingBatcher.estimateTokens(request("{\"input\":[[1,2,3],[4,5]]}")));
+        assertEquals(1L, EmbeddingBatcher.estimateTokens(request("{\"input\":\"\"}")));
+    }
+}
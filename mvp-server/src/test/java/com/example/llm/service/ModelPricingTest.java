@@ -0,0 +1,142 @@
+package com.example.llm.service;
+
+import com.example.llm.entity.LLMModel;
+import com.example.llm.entity.ModelPriceTier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ModelPricing 단위 테스트")
+class ModelPricingTest {
+
+    private static final long RECORDS = 100_000_000L;
+
+    // 100만 토큰당 입력 2.5 / 출력 10, 입력 20만 토큰 이상이면 입력 5 / 출력 15
+    private final ModelPricing tiered = ModelPricing.of(LLMModel.builder()
+            .costPerToken(0.0000025)
+            .inputMicrosPerMillion(2_500_000L)
+            .outputMicrosPerMillion(10_000_000L)
+            .priceTiers(new ArrayList<>(List.of(ModelPriceTier.builder()
+                    .minInputTokens(200_000L)
+                    .inputMicrosPerMillion(5_000_000L)
+                    .outputMicrosPerMillion(15_000_000L)
+                    .build())))
+            .build());
+
+    @Test
+    @DisplayName("입력/출력 단가를 따로 적용")
+    void costMicros_SeparateInputAndOutputPrices() {
+        // When & Then
+        assertEquals(7_500L, tiered.costMicros(1_000, 500));
+        assertEquals(10_000L, tiered.costMicros(0, 1_000));
+        assertEquals(0L, tiered.costMicros(0, 0));
+    }
+
+    @Test
+    @DisplayName("입력 토큰 수가 구간 하한 이상이면 요청 전체에 해당 구간 단가 적용")
+    void costMicros_SelectsTierByInputTokens() {
+        // When & Then
+        assertEquals(500_998L, tiered.costMicros(199_999, 100)); // 499,997.5 + 1,000 → 500,998
+        assertEquals(1_000_000L + 1_500L, tiered.costMicros(200_000, 100));
+    }
+
+    @Test
+    @DisplayName("건별 비용은 입력과 출력을 더한 뒤 한 번만 반올림(half-up)")
+    void costMicros_RoundsHalfUpOnce() {
+        // Given
+        ModelPricing pricing = ModelPricing.flat(1_500_000L, 1_000_000L);
+
+        // When & Then
+        assertEquals(2L, pricing.costMicros(1, 0)); // 1.5 → 2
+        assertEquals(3L, pricing.costMicros(1, 1)); // 2.5 → 3
+        assertEquals(1L, ModelPricing.flat(1_499_999L, 0L).costMicros(1, 0)); // 1.499999 → 1
+    }
+
+    @Test
+    @DisplayName("단가를 지정하지 않은 모델은 토큰당 비용으로 입력/출력 단가를 채움")
+    void of_FallsBackToCostPerToken() {
+        // Given
+        ModelPricing pricing = ModelPricing.of(LLMModel.builder().costPerToken(0.00003).build());
+
+        // When & Then
+        assertEquals(30L, pricing.costMicros(1, 0));
+        assertEquals(3_000L, pricing.costMicros(40, 60));
+    }
+
+    @Test
+    @DisplayName("long 범위를 넘는 비용은 조용히 넘치지 않고 예외")
+    void costMicros_Overflow_Throws() {
+        // Given
+        ModelPricing pricing = ModelPricing.flat(Long.MAX_VALUE / 2, 0L);
+
+        // When & Then
+        assertThrows(ArithmeticException.class, () -> pricing.costMicros(3, 0));
+    }
+
+    @Test
+    @DisplayName("1억 건 합산 - micro 정수 합계가 BigDecimal로 계산한 기대값과 정확히 일치")
+    void costMicros_ExactSumOver100MillionRecords() {
+        // Given: 서로 다른 요청 모양 10,000개를 만 번씩 반복 (구간 경계 양쪽 포함)
+        int shapes = 10_000;
+        long[] inputTokens = new long[shapes];
+        long[] outputTokens = new long[shapes];
+        long seed = 42L;
+        for (int i = 0; i < shapes; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            inputTokens[i] = (seed >>> 33) % 400_000L;
+            outputTokens[i] = (seed >>> 17) % 8_192L;
+        }
+        BigDecimal expectedPerCycle = BigDecimal.ZERO;
+        for (int i = 0; i < shapes; i++) {
+            expectedPerCycle = expectedPerCycle.add(expectedCost(inputTokens[i], outputTokens[i]));
+        }
+        BigDecimal expected = expectedPerCycle.multiply(BigDecimal.valueOf(RECORDS / shapes));
+
+        // When
+        long totalMicros = 0L;
+        for (long n = 0; n < RECORDS; n++) {
+            int i = (int) (n % shapes);
+            totalMicros += tiered.costMicros(inputTokens[i], outputTokens[i]);
+        }
+
+        // Then
+        assertEquals(expected.longValueExact(), totalMicros);
+    }
+
+    @Test
+    @DisplayName("1억 건 합산 - 0.1씩 더해도 micro 합계는 정확히 1,000만")
+    void costMicros_NoDriftOnLargeTotals() {
+        // Given: 건당 0.1 (100,000 micro)
+        ModelPricing pricing = ModelPricing.flat(100_000_000L, 0L);
+        long costMicros = pricing.costMicros(1_000, 0);
+
+        // When
+        long totalMicros = 0L;
+        double totalDouble = 0.0;
+        for (long n = 0; n < RECORDS; n++) {
+            totalMicros += costMicros;
+            totalDouble += 0.1;
+        }
+
+        // Then
+        assertEquals(100_000L, costMicros);
+        assertEquals(10_000_000_000_000L, totalMicros);
+        assertNotEquals(10_000_000.0, totalDouble); // 기존 double 합산은 오차가 누적된다
+    }
+
+    // 기대값은 BigDecimal로 독립 계산: 구간 선택 후 (입력 × 단가 + 출력 × 단가) / 100만을 HALF_UP 반올림
+    private BigDecimal expectedCost(long input, long output) {
+        boolean upper = input >= 200_000L;
+        BigDecimal inputPrice = BigDecimal.valueOf(upper ? 5_000_000L : 2_500_000L);
+        BigDecimal outputPrice = BigDecimal.valueOf(upper ? 15_000_000L : 10_000_000L);
+        return BigDecimal.valueOf(input).multiply(inputPrice)
+                .add(BigDecimal.valueOf(output).multiply(outputPrice))
+                .divide(BigDecimal.valueOf(1_000_000L), 0, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.llm.service;
+
+import com.example.llm.dto.response.ModelRegistryStatsResponse;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.repository.ModelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ModelRegistry 단위 테스트")
+class ModelRegistryTest {
+
+    @Mock
+    private ModelRepository modelRepository;
+
+    private ModelRegistry modelRegistry;
+    private LLMModel testModel;
+
+    @BeforeEach
+    void setUp() {
+        modelRegistry = new ModelRegistry(modelRepository, Duration.ofMinutes(5), 100);
+        testModel = LLMModel.builder()
+                .id(1L)
+                .name("GPT-4")
+                .provider("OpenAI")
+                .costPerToken(0.0001)
+                .apiKey("sk-test-key")
+                .isActive(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("이름 조회 - 두 번째 조회부터 저장소를 호출하지 않음")
+    void findActiveByName_SecondLookupHitsCache() {
+        // Given
+        when(modelRepository.findFirstByNameAndIsActiveTrue("GPT-4")).thenReturn(Optional.of(testModel));
+
+        // When
+        LLMModel first = modelRegistry.findActiveByName("GPT-4").orElseThrow();
+        LLMModel second = modelRegistry.findActiveByName("GPT-4").orElseThrow();
+
+        // Then
+        assertSame(first, second);
+        assertEquals("sk-test-key", first.getApiKey());
+        verify(modelRepository, times(1)).findFirstByNameAndIsActiveTrue("GPT-4");
+    }
+
+    @Test
+    @DisplayName("캐시된 모델은 엔티티와 분리된 사본")
+    void findById_ReturnsDetachedCopy() {
+        // Given
+        when(modelRepository.findById(1L)).thenReturn(Optional.of(testModel));
+
+        // When
+        LLMModel cached = modelRegistry.findById(1L).orElseThrow();
+
+        // Then
+        assertNotSame(testModel, cached);
+        assertEquals(testModel.getName(), cached.getName());
+        assertTrue(cached.getUsages().isEmpty());
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 모델도 캐시해 반복 조회 시 DB를 다시 조회하지 않음")
+    void findActiveByName_CachesMissingModel() {
+        // Given
+        when(modelRepository.findFirstByNameAndIsActiveTrue("unknown")).thenReturn(Optional.empty());
+
+        // When
+        modelRegistry.findActiveByName("unknown");
+        Optional<LLMModel> result = modelRegistry.findActiveByName("unknown");
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(modelRepository, times(1)).findFirstByNameAndIsActiveTrue("unknown");
+    }
+
+    @Test
+    @DisplayName("무효화 후에는 저장소에서 다시 적재")
+    void invalidateAll_ReloadsFromRepository() {
+        // Given
+        when(modelRepository.findByIsActiveTrue()).thenReturn(List.of(testModel));
+        assertEquals(1, modelRegistry.getActiveModels().size());
+
+        // When
+        when(modelRepository.findByIsActiveTrue()).thenReturn(List.of());
+        modelRegistry.invalidateAfterCommit();
+
+        // Then - 트랜잭션 밖에서는 즉시 무효화
+        assertTrue(modelRegistry.getActiveModels().isEmpty());
+        verify(modelRepository, times(2)).findByIsActiveTrue();
+    }
+
+    @Test
+    @DisplayName("단가표 - 한 번 만든 뒤 재사용하고 무효화하면 새 단가로 다시 생성")
+    void findPricing_CachesUntilInvalidated() {
+        // Given
+        when(modelRepository.findById(1L)).thenReturn(Optional.of(testModel));
+        ModelPricing first = modelRegistry.findPricing(1L).orElseThrow();
+
+        // When
+        ModelPricing second = modelRegistry.findPricing(1L).orElseThrow();
+        testModel.setInputMicrosPerMillion(200_000_000L);
+        modelRegistry.invalidateAll();
+        ModelPricing reloaded = modelRegistry.findPricing(1L).orElseThrow();
+
+        // Then
+        assertSame(first, second);
+        assertEquals(100L, first.costMicros(1, 0)); // costPerToken 0.0001 → 100 micro
+        assertEquals(200L, reloaded.costMicros(1, 0));
+        verify(modelRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("통계 - 적중/미스 횟수와 적중률")
+    void getStats_CountsHitsAndMisses() {
+        // Given
+        when(modelRepository.findById(1L)).thenReturn(Optional.of(testModel));
+        modelRegistry.findById(1L);
+        modelRegistry.findById(1L);
+        modelRegistry.findById(1L);
+
+        // When
+        ModelRegistryStatsResponse stats = modelRegistry.getStats();
+
+        // Then
+        assertEquals(2L, stats.getHitCount());
+        assertEquals(1L, stats.getMissCount());
+        assertEquals(2.0 / 3, stats.getHitRate(), 1e-9);
+        assertEquals(1L, stats.getCachedEntries());
+    }
+}
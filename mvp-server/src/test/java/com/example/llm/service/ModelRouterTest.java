@@ -0,0 +1,166 @@
+package com.example.llm.service;
+
+import com.example.llm.config.RoutingProperties;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ModelRouter 단위 테스트")
+class ModelRouterTest {
+
+    @Mock
+    private ModelRegistry modelRegistry;
+
+    @Mock
+    private QuotaEnforcer quotaEnforcer;
+
+    private ModelRouter modelRouter;
+
+    private long now;
+
+    private LLMModel cheap;
+    private LLMModel expensive;
+
+    @BeforeEach
+    void setUp() {
+        now = 0L;
+        modelRouter = new ModelRouter(modelRegistry, quotaEnforcer, new RoutingProperties(), () -> now);
+        cheap = model(1L, "cheap", "chat", 1L);
+        expensive = model(2L, "expensive", "chat", 10L);
+    }
+
+    private LLMModel model(Long id, String name, String modelClass, long microsPerMillion) {
+        return LLMModel.builder()
+                .id(id)
+                .name(name)
+                .provider("OpenAI")
+                .modelClass(modelClass)
+                .costPerToken(0.0001)
+                .inputMicrosPerMillion(microsPerMillion)
+                .outputMicrosPerMillion(microsPerMillion)
+                .isActive(true)
+                .build();
+    }
+
+    private void recordLatency(LLMModel model, long millis) {
+        modelRouter.recordSuccess(model, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("지연시간 측정 전 - 저렴한 모델을 먼저 시도하고 나머지는 대체 후보로 반환")
+    void route_NoObservations_PrefersCheaperModel() {
+        // Given
+        when(modelRegistry.getActiveModels()).thenReturn(List.of(expensive, cheap));
+        when(quotaEnforcer.getRemainingRatio(1L)).thenReturn(1.0);
+
+        // When
+        List<LLMModel> candidates = modelRouter.route(1L, "chat");
+
+        // Then
+        assertEquals(List.of(cheap, expensive), candidates);
+    }
+
+    @Test
+    @DisplayName("할당량이 충분하면 단가 차이가 작은 빠른 모델을, 거의 소진되면 저렴한 모델을 선택")
+    void route_RemainingQuota_ShiftsTowardsCost() {
+        // Given
+        LLMModel slow = model(3L, "slow", "chat", 5L);
+        LLMModel fast = model(4L, "fast", "chat", 6L);
+        when(modelRegistry.getActiveModels()).thenReturn(List.of(slow, fast));
+        recordLatency(slow, 1_000);
+        recordLatency(fast, 100);
+
+        // When & Then
+        when(quotaEnforcer.getRemainingRatio(1L)).thenReturn(1.0);
+        assertEquals(fast, modelRouter.route(1L, "chat").get(0));
+        when(quotaEnforcer.getRemainingRatio(1L)).thenReturn(0.0);
+        assertEquals(slow, modelRouter.route(1L, "chat").get(0));
+    }
+
+    @Test
+    @DisplayName("오류율이 높은 모델은 저렴해도 마지막 후보로 밀림")
+    void route_HighErrorRate_MovesModelLast() {
+        // Given
+        when(modelRegistry.getActiveModels()).thenReturn(List.of(cheap, expensive));
+        when(quotaEnforcer.getRemainingRatio(1L)).thenReturn(1.0);
+        for (int i = 0; i < 5; i++) {
+            modelRouter.recordFailure(cheap);
+        }
+
+        // When
+        List<LLMModel> candidates = modelRouter.route(1L, "chat");
+
+        // Then
+        assertTrue(modelRouter.getErrorRate(cheap) > 0.5);
+        assertEquals(List.of(expensive, cheap), candidates);
+    }
+
+    @Test
+    @DisplayName("요청이 없어도 오류율이 시간에 따라 줄어 장애가 끝난 모델을 다시 선택")
+    void route_ErrorRateDecays_RestoresModel() {
+        // Given
+        when(modelRegistry.getActiveModels()).thenReturn(List.of(cheap, expensive));
+        when(quotaEnforcer.getRemainingRatio(1L)).thenReturn(1.0);
+        for (int i = 0; i < 5; i++) {
+            modelRouter.recordFailure(cheap);
+        }
+
+        // When
+        now += TimeUnit.MINUTES.toNanos(2);
+
+        // Then
+        assertTrue(modelRouter.getErrorRate(cheap) < 0.1);
+        assertEquals(cheap, modelRouter.route(1L, "chat").get(0));
+    }
+
+    @Test
+    @DisplayName("지연시간은 EWMA로 반영")
+    void recordSuccess_UpdatesLatencyEwma() {
+        // When
+        recordLatency(cheap, 100);
+        recordLatency(cheap, 200);
+
+        // Then
+        assertEquals(120.0, modelRouter.getLatencyMillis(cheap), 0.001);
+    }
+
+    @Test
+    @DisplayName("후보가 하나인 클래스는 점수를 계산하지 않음")
+    void route_SingleCandidate_SkipsScoring() {
+        // Given
+        when(modelRegistry.getActiveModels()).thenReturn(List.of(cheap, model(5L, "embed", "embedding", 1L)));
+
+        // When
+        List<LLMModel> candidates = modelRouter.route(1L, "embedding");
+
+        // Then
+        assertEquals(1, candidates.size());
+        assertEquals("embed", candidates.get(0).getName());
+        verifyNoInteractions(quotaEnforcer);
+    }
+
+    @Test
+    @DisplayName("클래스가 없는 모델은 라우팅 대상에서 제외하고 모르는 클래스는 404")
+    void route_UnknownClass_ThrowsException() {
+        // Given
+        when(modelRegistry.getActiveModels()).thenReturn(List.of(model(6L, "plain", null, 1L)));
+
+        // When & Then
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> modelRouter.route(1L, "plain"));
+        assertEquals(ErrorCode.MODEL_NOT_FOUND, exception.getErrorCode());
+    }
+}
@@ -10,10 +10,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -30,7 +32,9 @@ class ModelServiceTest {
     @Mock
     private ModelRepository modelRepository;
 
-    @InjectMocks
+    @Mock
+    private ProviderGuard providerGuard;
+
     private ModelService modelService;
 
     private LLMModel testModel;
@@ -38,6 +42,9 @@ class ModelServiceTest {
 
     @BeforeEach
     void setUp() {
+        // 레지스트리는 목 저장소 위에 실제 캐시로 구성
+        modelService = new ModelService(modelRepository,
+                new ModelRegistry(modelRepository, Duration.ofMinutes(5), 100), providerGuard);
         LocalDateTime now = LocalDateTime.now();
         testModel = LLMModel.builder()
                 .id(1L)
@@ -205,6 +212,41 @@ class ModelServiceTest {
         verify(modelRepository, times(1)).save(any(LLMModel.class));
     }
 
+    @Test
+    @DisplayName("모델 수정 - 비활성 모델을 켜면 커밋 뒤에 제공자 회로에 알림")
+    void updateModel_InactiveToActive_NotifiesGuardAfterCommit() {
+        // Given
+        testModel.setIsActive(false);
+        when(modelRepository.findById(1L)).thenReturn(Optional.of(testModel));
+        when(modelRepository.save(any(LLMModel.class))).thenReturn(testModel);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            modelService.updateModel(1L, createRequest);
+
+            // Then
+            verify(providerGuard, never()).onModelActivated(anyString());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(providerGuard, times(1)).onModelActivated("OpenAI");
+    }
+
+    @Test
+    @DisplayName("모델 수정 - 이미 켜진 모델은 제공자 회로에 알리지 않음")
+    void updateModel_AlreadyActive_DoesNotNotifyGuard() {
+        // Given
+        when(modelRepository.findById(1L)).thenReturn(Optional.of(testModel));
+        when(modelRepository.save(any(LLMModel.class))).thenReturn(testModel);
+
+        // When
+        modelService.updateModel(1L, createRequest);
+
+        // Then
+        verify(providerGuard, never()).onModelActivated(anyString());
+    }
+
     @Test
     @DisplayName("모델 수정 - 존재하지 않는 모델")
     void updateModel_NotFound() {
@@ -265,6 +307,7 @@ class ModelServiceTest {
         assertFalse(response.getIsActive());
         verify(modelRepository, times(1)).findById(1L);
         verify(modelRepository, times(1)).save(any(LLMModel.class));
+        verify(providerGuard, never()).onModelActivated(anyString());
     }
 
     @Test
@@ -283,6 +326,7 @@ class ModelServiceTest {
         assertTrue(response.getIsActive());
         verify(modelRepository, times(1)).findById(1L);
         verify(modelRepository, times(1)).save(any(LLMModel.class));
+        verify(providerGuard, times(1)).onModelActivated("OpenAI");
     }
 
     @Test
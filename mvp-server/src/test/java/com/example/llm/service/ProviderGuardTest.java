@@ -0,0 +1,295 @@
+package com.example.llm.service;
+
+import com.example.llm.config.GatewayProperties;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.service.ProviderGuard.CircuitState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProviderGuard 단위 테스트")
+class ProviderGuardTest {
+
+    private GatewayProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProviderGuard providerGuard;
+
+    private long now;
+
+    private LLMModel model;
+
+    @BeforeEach
+    void setUp() {
+        now = 0L;
+        properties = new GatewayProperties();
+        properties.setMaxConcurrentCalls(3);
+        GatewayProperties.CircuitBreaker circuitBreaker = properties.getCircuitBreaker();
+        circuitBreaker.setWindowSize(10);
+        circuitBreaker.setMinimumCalls(4);
+        circuitBreaker.setFailureRateThreshold(0.5);
+        circuitBreaker.setSlowCallThreshold(Duration.ofSeconds(5));
+        circuitBreaker.setSlowCallRateThreshold(0.5);
+        circuitBreaker.setOpenDuration(Duration.ofSeconds(30));
+        circuitBreaker.setHalfOpenCalls(2);
+        meterRegistry = new SimpleMeterRegistry();
+        providerGuard = new ProviderGuard(properties, meterRegistry, () -> now);
+        model = LLMModel.builder().id(1L).name("gpt").provider("OpenAI").build();
+    }
+
+    private void call(boolean failure) {
+        providerGuard.acquire(model).complete(failure);
+    }
+
+    private void trip() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get(ProviderGuard.REJECTED_CALLS)
+                .tag("provider", "openai")
+                .tag("reason", reason)
+                .functionCounter()
+                .count();
+    }
+
+    @Test
+    @DisplayName("최소 호출 수 전에는 오류가 많아도 회로를 열지 않음")
+    void record_BelowMinimumCalls_StaysClosed() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            call(true);
+        }
+
+        // Then
+        assertEquals(CircuitState.CLOSED, providerGuard.getState("OpenAI"));
+    }
+
+    @Test
+    @DisplayName("오류율이 임계값 이상이면 회로를 열고 호출을 바로 거절")
+    void record_FailureRateOverThreshold_OpensCircuit() {
+        // Given
+        call(false);
+        call(false);
+        call(true);
+
+        // When
+        call(true);
+
+        // Then
+        assertEquals(CircuitState.OPEN, providerGuard.getState("openai"));
+        BusinessException exception = assertThrows(BusinessException.class, () -> providerGuard.acquire(model));
+        assertEquals(ErrorCode.PROVIDER_CIRCUIT_OPEN, exception.getErrorCode());
+        assertEquals(1.0, rejected("circuit_open"));
+        assertEquals(0, providerGuard.getInFlight("openai"));
+    }
+
+    @Test
+    @DisplayName("느린 호출 비율이 임계값 이상이면 성공 응답이어도 회로를 엶")
+    void record_SlowCallRateOverThreshold_OpensCircuit() {
+        // When
+        for (int i = 0; i < 4; i++) {
+            ProviderGuard.Permit permit = providerGuard.acquire(model);
+            now += TimeUnit.SECONDS.toNanos(i % 2 == 0 ? 6 : 1);
+            permit.complete(false);
+        }
+
+        // Then
+        assertEquals(CircuitState.OPEN, providerGuard.getState("openai"));
+    }
+
+    @Test
+    @DisplayName("대기 시간이 지나면 반개방해 정해진 수의 시험 호출만 허용하고 모두 성공하면 닫음")
+    void acquire_AfterOpenDuration_ProbesAndCloses() {
+        // Given
+        trip();
+        now += TimeUnit.SECONDS.toNanos(30);
+
+        // When
+        ProviderGuard.Permit first = providerGuard.acquire(model);
+        ProviderGuard.Permit second = providerGuard.acquire(model);
+
+        // Then
+        assertEquals(CircuitState.HALF_OPEN, providerGuard.getState("openai"));
+        BusinessException exception = assertThrows(BusinessException.class, () -> providerGuard.acquire(model));
+        assertEquals(ErrorCode.PROVIDER_CIRCUIT_OPEN, exception.getErrorCode());
+        first.complete(false);
+        assertEquals(CircuitState.HALF_OPEN, providerGuard.getState("openai"));
+        second.complete(false);
+        assertEquals(CircuitState.CLOSED, providerGuard.getState("openai"));
+        assertDoesNotThrow(() -> call(false));
+    }
+
+    @Test
+    @DisplayName("시험 호출이 실패하면 다시 열고 대기 시간을 새로 시작")
+    void record_ProbeFails_ReopensCircuit() {
+        // Given
+        trip();
+        now += TimeUnit.SECONDS.toNanos(30);
+
+        // When
+        call(true);
+
+        // Then
+        assertEquals(CircuitState.OPEN, providerGuard.getState("openai"));
+        now += TimeUnit.SECONDS.toNanos(29);
+        assertThrows(BusinessException.class, () -> providerGuard.acquire(model));
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertDoesNotThrow(() -> providerGuard.acquire(model));
+    }
+
+    @Test
+    @DisplayName("열리기 전에 시작한 호출의 결과는 반개방 판정에 섞이지 않음")
+    void record_StaleCall_IgnoredAfterTransition() {
+        // Given
+        ProviderGuard.Permit stale = providerGuard.acquire(model);
+        stale.release();
+        trip();
+        now += TimeUnit.SECONDS.toNanos(30);
+        ProviderGuard.Permit probe = providerGuard.acquire(model);
+
+        // When
+        stale.record(true);
+
+        // Then
+        assertEquals(CircuitState.HALF_OPEN, providerGuard.getState("openai"));
+        probe.complete(false);
+        call(false);
+        assertEquals(CircuitState.CLOSED, providerGuard.getState("openai"));
+    }
+
+    @Test
+    @DisplayName("제공자를 호출하지 못한 시험 호출은 기회를 돌려줌")
+    void cancel_Probe_ReturnsProbePermit() {
+        // Given
+        properties.getCircuitBreaker().setHalfOpenCalls(1);
+        trip();
+        now += TimeUnit.SECONDS.toNanos(30);
+        ProviderGuard.Permit probe = providerGuard.acquire(model);
+        assertThrows(BusinessException.class, () -> providerGuard.acquire(model));
+
+        // When
+        probe.cancel();
+
+        // Then
+        assertDoesNotThrow(() -> call(false));
+        assertEquals(CircuitState.CLOSED, providerGuard.getState("openai"));
+    }
+
+    @Test
+    @DisplayName("모델을 다시 활성화하면 열린 회로를 대기 없이 반개방")
+    void onModelActivated_OpenCircuit_HalfOpens() {
+        // Given
+        trip();
+
+        // When
+        providerGuard.onModelActivated("OpenAI");
+
+        // Then
+        assertEquals(CircuitState.HALF_OPEN, providerGuard.getState("openai"));
+        assertDoesNotThrow(() -> call(false));
+    }
+
+    @Test
+    @DisplayName("닫힌 회로는 모델을 다시 활성화해도 그대로 유지")
+    void onModelActivated_ClosedCircuit_Unchanged() {
+        // Given
+        call(true);
+
+        // When
+        providerGuard.onModelActivated("OpenAI");
+        providerGuard.onModelActivated("Unknown");
+
+        // Then
+        assertEquals(CircuitState.CLOSED, providerGuard.getState("openai"));
+        assertEquals(CircuitState.CLOSED, providerGuard.getState("unknown"));
+    }
+
+    @Test
+    @DisplayName("동시 호출이 상한이면 거절하고 자리를 돌려주면 다시 허용")
+    void acquire_ConcurrencyLimit_RejectsUntilReleased() {
+        // Given
+        ProviderGuard.Permit first = providerGuard.acquire(model);
+        providerGuard.acquire(model);
+        providerGuard.acquire(model);
+
+        // When
+        BusinessException exception = assertThrows(BusinessException.class, () -> providerGuard.acquire(model));
+
+        // Then
+        assertEquals(ErrorCode.PROVIDER_BUSY, exception.getErrorCode());
+        assertEquals(1.0, rejected("bulkhead"));
+        first.release();
+        first.release();
+        assertEquals(2, providerGuard.getInFlight("openai"));
+        assertDoesNotThrow(() -> providerGuard.acquire(model));
+    }
+
+    @Test
+    @DisplayName("제공자별 설정이 있으면 그 상한을 쓰고 제공자끼리는 자리를 공유하지 않음")
+    void acquire_ProviderOverride_UsesOwnLimit() {
+        // Given
+        GatewayProperties.Provider anthropic = new GatewayProperties.Provider();
+        anthropic.setMaxConcurrentCalls(1);
+        properties.getProviders().put("anthropic", anthropic);
+        LLMModel claude = LLMModel.builder().id(2L).name("claude").provider("Anthropic").build();
+        providerGuard.acquire(claude);
+
+        // When & Then
+        assertThrows(BusinessException.class, () -> providerGuard.acquire(claude));
+        assertDoesNotThrow(() -> providerGuard.acquire(model));
+    }
+
+    @Test
+    @DisplayName("동시 요청 - 64개 스레드가 경합해도 상한을 넘겨 허용하지 않음")
+    void acquire_Concurrent_NeverExceedsLimit() throws Exception {
+        // Given
+        properties.setMaxConcurrentCalls(8);
+        int threads = 64;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1_000; i++) {
+                    ProviderGuard.Permit permit;
+                    try {
+                        permit = providerGuard.acquire(model);
+                    } catch (BusinessException e) {
+                        continue;
+                    }
+                    peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    active.decrementAndGet();
+                    permit.release();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertTrue(peak.get() <= 8);
+        assertEquals(0, providerGuard.getInFlight("openai"));
+    }
+}
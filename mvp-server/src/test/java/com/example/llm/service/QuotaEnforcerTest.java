@@ -0,0 +1,325 @@
+package com.example.llm.service;
+
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.exception.ResourceNotFoundException;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.repository.projection.TeamQuotaSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QuotaEnforcer 단위 테스트")
+class QuotaEnforcerTest {
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @InjectMocks
+    private QuotaEnforcer quotaEnforcer;
+
+    @BeforeEach
+    void setUp() {
+        quotaEnforcer.register(1L, 1000L, 200L);
+    }
+
+    @Test
+    @DisplayName("예약 - 남은 할당량 안에서는 성공")
+    void reserve_WithinQuota() {
+        // When
+        quotaEnforcer.reserve(1L, 500L);
+
+        // Then
+        assertEquals(300L, quotaEnforcer.getAvailable(1L));
+    }
+
+    @Test
+    @DisplayName("예약 - 할당량 초과 시 예외")
+    void reserve_ExceedsQuota_ThrowsException() {
+        // When
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> quotaEnforcer.reserve(1L, 801L));
+
+        // Then
+        assertEquals(ErrorCode.QUOTA_EXCEEDED, exception.getErrorCode());
+        assertEquals(800L, quotaEnforcer.getAvailable(1L));
+        assertEquals(1L, quotaEnforcer.getRejectionCount(1L));
+    }
+
+    @Test
+    @DisplayName("예약 - 할당량을 모두 쓴 팀은 0토큰 예약도 거절")
+    void reserve_QuotaExhausted_RejectsZeroTokens() {
+        // Given
+        quotaEnforcer.reserve(1L, 0L);
+        quotaEnforcer.reserve(1L, 800L);
+
+        // When & Then
+        assertThrows(BusinessException.class, () -> quotaEnforcer.reserve(1L, 0L));
+        assertEquals(0L, quotaEnforcer.getAvailable(1L));
+    }
+
+    @Test
+    @DisplayName("확정 - 실제 사용량만큼 차감되고 예약과의 차이는 반환")
+    void commit_AdjustsToActualUsage() {
+        // Given
+        quotaEnforcer.reserve(1L, 500L);
+
+        // When
+        quotaEnforcer.commit(1L, 500L, 120L);
+
+        // Then
+        assertEquals(680L, quotaEnforcer.getAvailable(1L));
+    }
+
+    @Test
+    @DisplayName("해제 - 예약한 토큰을 모두 반환")
+    void release_ReturnsReservation() {
+        // Given
+        quotaEnforcer.reserve(1L, 500L);
+
+        // When
+        quotaEnforcer.release(1L, 500L);
+
+        // Then
+        assertEquals(800L, quotaEnforcer.getAvailable(1L));
+    }
+
+    @Test
+    @DisplayName("할당량 변경 - 즉시 반영")
+    void updateQuota_AppliesImmediately() {
+        // When
+        quotaEnforcer.updateQuota(1L, 300L);
+
+        // Then
+        assertEquals(100L, quotaEnforcer.getAvailable(1L));
+        assertFalse(quotaEnforcer.tryReserve(1L, 101L));
+    }
+
+    @Test
+    @DisplayName("동시 예약 - 할당량을 넘겨서 예약되지 않음")
+    void tryReserve_Concurrent_NeverOverAllocates() throws Exception {
+        // Given
+        quotaEnforcer.register(2L, 10_000L, 0L);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1_000; i++) {
+                    if (quotaEnforcer.tryReserve(2L, 7L)) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(10_000 / 7, granted.get());
+        assertEquals(10_000L % 7, quotaEnforcer.getAvailable(2L));
+    }
+
+    @Test
+    @DisplayName("DB 동기화 - 확정 사용량 합계를 한 번에 반영")
+    void syncToDatabase_WritesCommittedDelta() {
+        // Given
+        when(teamRepository.addUsageWithinQuota(1L, 150L)).thenReturn(1);
+        quotaEnforcer.reserve(1L, 100L);
+        quotaEnforcer.commit(1L, 100L, 100L);
+        quotaEnforcer.reserve(1L, 100L);
+        quotaEnforcer.commit(1L, 100L, 50L);
+        quotaEnforcer.reserve(1L, 100L);
+
+        // When
+        quotaEnforcer.syncToDatabase();
+        quotaEnforcer.syncToDatabase();
+
+        // Then
+        verify(teamRepository, times(1)).addUsageWithinQuota(1L, 150L);
+        verify(teamRepository, times(1)).addUsageWithinQuota(anyLong(), anyLong());
+        verify(teamRepository, never()).addUsage(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("DB 동기화 실패 - 다음 주기에 다시 반영")
+    void syncToDatabase_Failure_RetriesNextCycle() {
+        // Given
+        when(teamRepository.addUsageWithinQuota(1L, 100L))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(1);
+        quotaEnforcer.commit(1L, 0L, 100L);
+
+        // When
+        quotaEnforcer.syncToDatabase();
+        quotaEnforcer.syncToDatabase();
+
+        // Then
+        verify(teamRepository, times(2)).addUsageWithinQuota(1L, 100L);
+    }
+
+    @Test
+    @DisplayName("DB 동기화 - 할당량을 넘는 확정분도 기록하고 DB 사용량으로 카운터를 맞춤")
+    void syncToDatabase_OverQuota_RecordsAndCatchesUp() {
+        // Given
+        when(teamRepository.addUsageWithinQuota(1L, 300L)).thenReturn(0);
+        when(teamRepository.addUsage(1L, 300L)).thenReturn(1);
+        // 다른 인스턴스의 사용량까지 합쳐 DB에는 950이 기록됨
+        when(teamRepository.findQuotaSummaryById(1L))
+                .thenReturn(Optional.of(new TeamQuotaSummary(1L, "A", 1000L, 950L)));
+        quotaEnforcer.reserve(1L, 100L);
+        quotaEnforcer.commit(1L, 100L, 300L);
+
+        // When
+        quotaEnforcer.syncToDatabase();
+
+        // Then
+        verify(teamRepository).addUsage(1L, 300L);
+        assertEquals(50L, quotaEnforcer.getAvailable(1L));
+    }
+
+    @Test
+    @DisplayName("DB 동기화 - 카운터를 맞출 때 진행 중인 예약은 유지")
+    void syncToDatabase_OverQuota_KeepsOutstandingReservations() {
+        // Given
+        when(teamRepository.addUsageWithinQuota(1L, 300L)).thenReturn(0);
+        when(teamRepository.addUsage(1L, 300L)).thenReturn(1);
+        when(teamRepository.findQuotaSummaryById(1L))
+                .thenReturn(Optional.of(new TeamQuotaSummary(1L, "A", 1000L, 900L)));
+        quotaEnforcer.reserve(1L, 100L);
+        quotaEnforcer.commit(1L, 100L, 300L);
+        quotaEnforcer.reserve(1L, 30L);
+
+        // When
+        quotaEnforcer.syncToDatabase();
+
+        // Then - DB 사용량 900 + 진행 중인 예약 30
+        assertEquals(70L, quotaEnforcer.getAvailable(1L));
+        quotaEnforcer.release(1L, 30L);
+        assertEquals(100L, quotaEnforcer.getAvailable(1L));
+    }
+
+    @Test
+    @DisplayName("DB 동기화 - 삭제된 팀의 카운터는 제거")
+    void syncToDatabase_DeletedTeam_RemovesCounter() {
+        // Given
+        when(teamRepository.addUsageWithinQuota(1L, 10L)).thenReturn(0);
+        when(teamRepository.addUsage(1L, 10L)).thenReturn(0);
+        quotaEnforcer.commit(1L, 0L, 10L);
+
+        // When
+        quotaEnforcer.syncToDatabase();
+
+        // Then - 다음 접근 시 DB에서 다시 찾으므로 팀 없음
+        assertThrows(ResourceNotFoundException.class, () -> quotaEnforcer.getAvailable(1L));
+    }
+
+    @Test
+    @DisplayName("시작 시 DB에서 카운터 재구성")
+    void loadFromDatabase_RebuildsCounters() {
+        // Given
+        when(teamRepository.findAllQuotaSummaries()).thenReturn(Arrays.asList(
+                new TeamQuotaSummary(10L, "A", 500L, 100L),
+                new TeamQuotaSummary(11L, "B", 800L, 800L)));
+
+        // When
+        quotaEnforcer.loadFromDatabase();
+
+        // Then
+        assertEquals(400L, quotaEnforcer.getAvailable(10L));
+        assertEquals(0L, quotaEnforcer.getAvailable(11L));
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 팀 - 최초 접근 시 DB에서 로드")
+    void reserve_UnknownTeam_LoadsOnce() {
+        // Given
+        when(teamRepository.findQuotaSummaryById(3L))
+                .thenReturn(Optional.of(new TeamQuotaSummary(3L, "C", 100L, 0L)));
+
+        // When
+        quotaEnforcer.reserve(3L, 10L);
+        quotaEnforcer.reserve(3L, 10L);
+
+        // Then
+        assertEquals(80L, quotaEnforcer.getAvailable(3L));
+        verify(teamRepository, times(1)).findQuotaSummaryById(3L);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 팀 - 예외 발생")
+    void reserve_MissingTeam_ThrowsException() {
+        // Given
+        when(teamRepository.findQuotaSummaryById(4L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> quotaEnforcer.reserve(4L, 10L));
+    }
+
+    @Test
+    @DisplayName("카운터가 없는 팀의 확정·해제 - 예외 없이 무시하고 DB를 조회하지 않음")
+    void commitAndRelease_MissingCounter_AreNoOps() {
+        // Given
+        quotaEnforcer.reserve(1L, 100L);
+        quotaEnforcer.remove(1L);
+
+        // When
+        assertDoesNotThrow(() -> quotaEnforcer.commit(1L, 100L, 80L));
+        assertDoesNotThrow(() -> quotaEnforcer.release(1L, 100L));
+        quotaEnforcer.syncToDatabase();
+
+        // Then
+        verifyNoInteractions(teamRepository);
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 팀을 동시에 처음 조회해도 같은 카운터를 씀")
+    void reserve_UnknownTeamConcurrently_SharesOneCounter() throws Exception {
+        // Given - 두 요청이 모두 DB를 읽을 때까지 붙잡아 둠
+        CountDownLatch bothLoading = new CountDownLatch(2);
+        when(teamRepository.findQuotaSummaryById(5L)).thenAnswer(invocation -> {
+            bothLoading.countDown();
+            bothLoading.await(5, TimeUnit.SECONDS);
+            return Optional.of(new TeamQuotaSummary(5L, "E", 100L, 0L));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        try {
+            for (int i = 0; i < 2; i++) {
+                executor.submit(() -> quotaEnforcer.reserve(5L, 10L));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(80L, quotaEnforcer.getAvailable(5L));
+        verify(teamRepository, times(2)).findQuotaSummaryById(5L);
+    }
+}
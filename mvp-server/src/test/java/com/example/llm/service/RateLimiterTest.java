@@ -0,0 +1,265 @@
+package com.example.llm.service;
+
+import com.example.llm.entity.LLMModel;
+import com.example.llm.exception.ErrorCode;
+import com.example.llm.exception.RateLimitExceededException;
+import com.example.llm.exception.ResourceNotFoundException;
+import com.example.llm.repository.TeamRepository;
+import com.example.llm.repository.projection.TeamRateLimit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimiter 단위 테스트")
+class RateLimiterTest {
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    private RateLimiter rateLimiter;
+
+    private long now;
+
+    private LLMModel unlimitedModel;
+
+    @BeforeEach
+    void setUp() {
+        now = 0L;
+        rateLimiter = new RateLimiter(teamRepository, () -> now);
+        unlimitedModel = LLMModel.builder().id(100L).name("unlimited").build();
+    }
+
+    private void advanceSeconds(long seconds) {
+        now += TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    @Test
+    @DisplayName("RPM - 한도까지 허용하고 초과 시 다음 요청까지의 시간과 함께 거절")
+    void acquire_RequestsPerMinute_RejectsWithRetryAfter() {
+        // Given
+        rateLimiter.updateTeamLimits(1L, 3L, null);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(1L, unlimitedModel, 100L);
+        }
+
+        // When
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(1L, unlimitedModel, 100L));
+
+        // Then
+        assertEquals(ErrorCode.RATE_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertEquals(20L, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    @DisplayName("RPM - 시간이 지나면 한도/60초 속도로 다시 허용")
+    void acquire_RequestsPerMinute_Refills() {
+        // Given
+        rateLimiter.updateTeamLimits(1L, 3L, null);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(1L, unlimitedModel, 100L);
+        }
+
+        // When
+        advanceSeconds(20);
+
+        // Then
+        assertDoesNotThrow(() -> rateLimiter.acquire(1L, unlimitedModel, 100L));
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire(1L, unlimitedModel, 100L));
+    }
+
+    @Test
+    @DisplayName("TPM - 실제 사용량이 예약보다 적으면 차이만큼 되돌림")
+    void settle_ReturnsUnusedTokens() {
+        // Given
+        rateLimiter.updateTeamLimits(1L, null, 1_000L);
+        rateLimiter.acquire(1L, unlimitedModel, 800L);
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(1L, unlimitedModel, 300L));
+        assertEquals(6L, exception.getRetryAfterSeconds());
+
+        // When
+        rateLimiter.settle(1L, unlimitedModel, 800L, 100L);
+
+        // Then
+        assertDoesNotThrow(() -> rateLimiter.acquire(1L, unlimitedModel, 300L));
+    }
+
+    @Test
+    @DisplayName("TPM - 한도보다 큰 요청은 버킷이 가득 찼을 때만 허용")
+    void acquire_LargerThanLimit_UsesWholeBucket() {
+        // Given
+        rateLimiter.updateTeamLimits(1L, null, 1_000L);
+
+        // When
+        rateLimiter.acquire(1L, unlimitedModel, 5_000L);
+
+        // Then
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire(1L, unlimitedModel, 1L));
+        advanceSeconds(60);
+        assertDoesNotThrow(() -> rateLimiter.acquire(1L, unlimitedModel, 1L));
+    }
+
+    @Test
+    @DisplayName("모델 한도 - 모든 팀이 공유하고 거절되면 팀 버킷은 되돌림")
+    void acquire_ModelLimit_SharedAcrossTeams() {
+        // Given
+        LLMModel model = LLMModel.builder().id(7L).name("shared").requestsPerMinute(1L).build();
+        rateLimiter.updateTeamLimits(1L, 1L, null);
+        rateLimiter.updateTeamLimits(2L, null, null);
+        rateLimiter.acquire(2L, model, 10L);
+
+        // When
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(1L, model, 10L));
+
+        // Then
+        assertEquals(60L, exception.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> rateLimiter.acquire(1L, unlimitedModel, 10L));
+    }
+
+    @Test
+    @DisplayName("모델 한도 변경 - 캐시에서 읽은 모델의 새 한도로 다시 시작")
+    void acquire_ModelLimitChanged_UsesNewLimit() {
+        // Given
+        rateLimiter.updateTeamLimits(1L, null, null);
+        rateLimiter.acquire(1L, LLMModel.builder().id(7L).requestsPerMinute(1L).build(), 10L);
+
+        // When & Then
+        assertDoesNotThrow(() -> rateLimiter.acquire(1L, LLMModel.builder().id(7L).requestsPerMinute(2L).build(), 10L));
+    }
+
+    @Test
+    @DisplayName("팀 한도만 적용 - 팀 버킷에서만 차감하고 모델 버킷은 그대로 둠")
+    void acquireTeam_ChargesTeamOnly() {
+        // Given
+        LLMModel model = LLMModel.builder().id(7L).name("shared").requestsPerMinute(1L).build();
+        rateLimiter.updateTeamLimits(1L, 1L, null);
+
+        // When
+        rateLimiter.acquireTeam(1L, 10L);
+
+        // Then
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquireTeam(1L, 10L));
+        rateLimiter.updateTeamLimits(2L, null, null);
+        assertDoesNotThrow(() -> rateLimiter.acquire(2L, model, 10L));
+    }
+
+    @Test
+    @DisplayName("환불 - 제공자를 호출하지 못한 요청은 요청 수와 토큰을 모두 되돌림")
+    void refund_RestoresRequestAndTokens() {
+        // Given
+        rateLimiter.updateTeamLimits(1L, 1L, 100L);
+        rateLimiter.acquire(1L, unlimitedModel, 100L);
+
+        // When
+        rateLimiter.refund(1L, unlimitedModel, 100L);
+
+        // Then
+        assertDoesNotThrow(() -> rateLimiter.acquire(1L, unlimitedModel, 100L));
+    }
+
+    @Test
+    @DisplayName("팀 한도 수정 - 같은 한도면 버킷 상태를 유지")
+    void updateTeamLimits_SameLimits_KeepsState() {
+        // Given
+        rateLimiter.updateTeamLimits(1L, 1L, null);
+        rateLimiter.acquire(1L, unlimitedModel, 10L);
+
+        // When
+        rateLimiter.updateTeamLimits(1L, 1L, null);
+
+        // Then
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire(1L, unlimitedModel, 10L));
+        rateLimiter.updateTeamLimits(1L, 2L, null);
+        assertDoesNotThrow(() -> rateLimiter.acquire(1L, unlimitedModel, 10L));
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 팀 - 최초 접근 시 DB에서 한 번만 로드")
+    void acquire_UnknownTeam_LoadsOnce() {
+        // Given
+        when(teamRepository.findRateLimitById(3L)).thenReturn(Optional.of(new TeamRateLimit(3L, 2L, null)));
+
+        // When
+        rateLimiter.acquire(3L, unlimitedModel, 10L);
+        rateLimiter.acquire(3L, unlimitedModel, 10L);
+
+        // Then
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire(3L, unlimitedModel, 10L));
+        verify(teamRepository, times(1)).findRateLimitById(3L);
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 팀 - 로드하는 동안 시계가 흘러도 RPM 1의 첫 요청은 허용")
+    void acquire_UnknownTeamWithOneRpm_AllowsFirstRequest() {
+        // Given - 시각을 읽을 때마다 1ms씩 흐르는 시계
+        rateLimiter = new RateLimiter(teamRepository, () -> now += TimeUnit.MILLISECONDS.toNanos(1));
+        when(teamRepository.findRateLimitById(5L)).thenReturn(Optional.of(new TeamRateLimit(5L, 1L, null)));
+
+        // When
+        rateLimiter.acquire(5L, unlimitedModel, 10L);
+
+        // Then
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire(5L, unlimitedModel, 10L));
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 팀 - 예외 발생")
+    void acquire_MissingTeam_ThrowsException() {
+        // Given
+        when(teamRepository.findRateLimitById(4L)).thenReturn(Optional.empty());
+
+        // When & Then
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> rateLimiter.acquire(4L, unlimitedModel, 10L));
+        assertEquals(ErrorCode.TEAM_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("동시 요청 - 64개 스레드가 경합해도 한도를 넘겨 허용하지 않음")
+    void acquire_Concurrent_NeverExceedsLimit() throws Exception {
+        // Given
+        rateLimiter.updateTeamLimits(1L, 1_000L, null);
+        int threads = 64;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    try {
+                        rateLimiter.acquire(1L, unlimitedModel, 1L);
+                        granted.incrementAndGet();
+                    } catch (RateLimitExceededException e) {
+                        // 거절은 정상 동작
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(1_000, granted.get());
+    }
+}
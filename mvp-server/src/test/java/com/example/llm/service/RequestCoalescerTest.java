@@ -0,0 +1,112 @@
+package com.example.llm.service;
+
+import com.example.llm.config.GatewayProperties;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.gateway.ProviderResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RequestCoalescer 단위 테스트")
+class RequestCoalescerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private GatewayProperties properties;
+
+    private RequestCoalescer requestCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GatewayProperties();
+        requestCoalescer = new RequestCoalescer(properties);
+    }
+
+    private ObjectNode request(String json) throws Exception {
+        return (ObjectNode) objectMapper.readTree(json);
+    }
+
+    private RequestCoalescer.Completed completed() {
+        LLMModel model = LLMModel.builder().id(1L).name("gpt").provider("OpenAI").build();
+        return new RequestCoalescer.Completed(model, new ProviderResponse(200, "application/json", new byte[0]), 42L, 10L);
+    }
+
+    @Test
+    @DisplayName("진행 중인 같은 요청이 있으면 그 호출의 결과를 기다림")
+    void call_SameRequestInFlight_WaitsForLeader() throws Exception {
+        // Given
+        RequestCoalescer.Flight<RequestCoalescer.Completed> leader =
+                requestCoalescer.call(request("{\"model\":\"gpt\",\"max_tokens\":10}"));
+
+        // When
+        RequestCoalescer.Flight<RequestCoalescer.Completed> follower =
+                requestCoalescer.call(request("{\"max_tokens\":10,\"model\":\"gpt\"}"));
+
+        // Then
+        assertTrue(leader.isLeader());
+        assertFalse(follower.isLeader());
+        RequestCoalescer.Completed result = completed();
+        leader.publish(result);
+        leader.close();
+        assertSame(result, follower.result().join());
+    }
+
+    @Test
+    @DisplayName("모델, 본문, 스트리밍 여부가 다르면 따로 호출")
+    void call_DifferentRequest_LeadsOwnCall() throws Exception {
+        // Given
+        requestCoalescer.call(request("{\"model\":\"gpt\",\"max_tokens\":10}"));
+
+        // When & Then
+        assertTrue(requestCoalescer.call(request("{\"model\":\"claude\",\"max_tokens\":10}")).isLeader());
+        assertTrue(requestCoalescer.call(request("{\"model\":\"gpt\",\"max_tokens\":20}")).isLeader());
+        assertTrue(requestCoalescer.stream(request("{\"model\":\"gpt\",\"max_tokens\":10}")).isLeader());
+    }
+
+    @Test
+    @DisplayName("leader가 결과 없이 닫으면 기다리던 요청은 null을 받고 다음 요청은 새로 호출")
+    void close_WithoutResult_FailsFollowers() throws Exception {
+        // Given
+        ObjectNode request = request("{\"model\":\"gpt\"}");
+        RequestCoalescer.Flight<RequestCoalescer.Completed> leader = requestCoalescer.call(request);
+        RequestCoalescer.Flight<RequestCoalescer.Completed> follower = requestCoalescer.call(request);
+
+        // When
+        leader.close();
+
+        // Then
+        assertNull(follower.result().join());
+        assertTrue(requestCoalescer.call(request).isLeader());
+    }
+
+    @Test
+    @DisplayName("합칠 수 없는 호출은 기다리던 쪽에서 목록에서 뺄 수 있음")
+    void close_Follower_EvictsFlight() throws Exception {
+        // Given
+        ObjectNode request = request("{\"model\":\"gpt\",\"stream\":true}");
+        RequestCoalescer.Flight<RequestCoalescer.SharedStream> leader = requestCoalescer.stream(request);
+        RequestCoalescer.Flight<RequestCoalescer.SharedStream> follower = requestCoalescer.stream(request);
+
+        // When
+        follower.close();
+
+        // Then
+        assertFalse(leader.result().isDone());
+        assertTrue(requestCoalescer.stream(request).isLeader());
+    }
+
+    @Test
+    @DisplayName("합치기를 끄면 호출 자리를 만들지 않음")
+    void call_Disabled_ReturnsNull() throws Exception {
+        // Given
+        properties.getCoalescing().setEnabled(false);
+
+        // When & Then
+        assertNull(requestCoalescer.call(request("{\"model\":\"gpt\"}")));
+        assertNull(requestCoalescer.stream(request("{\"model\":\"gpt\"}")));
+    }
+}
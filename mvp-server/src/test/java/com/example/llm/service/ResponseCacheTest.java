@@ -0,0 +1,168 @@
+package com.example.llm.service;
+
+import com.example.llm.config.ResponseCacheProperties;
+import com.example.llm.dto.response.ResponseCacheStatsResponse;
+import com.example.llm.entity.LLMModel;
+import com.example.llm.repository.TeamRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResponseCache 단위 테스트")
+class ResponseCacheTest {
+
+    private static final String CONTENT_TYPE = "application/json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    private ResponseCacheProperties properties;
+
+    private ResponseCache responseCache;
+
+    private LLMModel gpt;
+    private LLMModel claude;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        properties.setOffHeapThresholdBytes(64);
+        properties.setMaxEntryBytes(1_024);
+        responseCache = new ResponseCache(teamRepository, properties);
+        responseCache.updateTeam(1L, true);
+        gpt = LLMModel.builder().id(1L).name("gpt").provider("OpenAI").build();
+        claude = LLMModel.builder().id(2L).name("claude").provider("Anthropic").build();
+    }
+
+    private ObjectNode request(String json) throws Exception {
+        return (ObjectNode) objectMapper.readTree(json);
+    }
+
+    private static byte[] body(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("필드 순서, 숫자 표기, model/user 필드가 달라도 같은 요청으로 봄")
+    void fingerprint_NormalizesRequest() throws Exception {
+        // Given
+        ObjectNode first = request("""
+                {"model":"gpt","temperature":1,"messages":[{"role":"user","content":"hi"}]}
+                """);
+        ObjectNode second = request("""
+                {"messages":[{"content":"hi","role":"user"}],"temperature":1.0,"model":"chat","user":"alice"}
+                """);
+        ObjectNode different = request("""
+                {"model":"gpt","temperature":1,"messages":[{"role":"user","content":"hello"}]}
+                """);
+
+        // When & Then
+        assertEquals(responseCache.fingerprint(1L, first), responseCache.fingerprint(1L, second));
+        assertNotEquals(responseCache.fingerprint(1L, first), responseCache.fingerprint(1L, different));
+    }
+
+    @Test
+    @DisplayName("캐시를 켜지 않은 팀과 없는 팀은 지문을 만들지 않음")
+    void fingerprint_TeamNotEnabled_ReturnsNull() throws Exception {
+        // Given
+        when(teamRepository.findResponseCacheEnabledById(2L)).thenReturn(Optional.of(false));
+        when(teamRepository.findResponseCacheEnabledById(99L)).thenReturn(Optional.empty());
+        ObjectNode request = request("{\"model\":\"gpt\"}");
+
+        // When & Then
+        assertNull(responseCache.fingerprint(2L, request));
+        assertNull(responseCache.fingerprint(2L, request));
+        assertNull(responseCache.fingerprint(99L, request));
+        verify(teamRepository, times(1)).findResponseCacheEnabledById(2L);
+    }
+
+    @Test
+    @DisplayName("저장한 모델의 응답을 후보 순서와 관계없이 찾고 적중률과 절감한 크기를 집계")
+    void find_StoredUnderServingModel_Hits() throws Exception {
+        // Given
+        ResponseCache.Fingerprint fingerprint = responseCache.fingerprint(1L, request("{\"model\":\"chat\"}"));
+        assertTrue(responseCache.find(fingerprint, List.of(gpt, claude)).isEmpty());
+        responseCache.put(fingerprint, claude, body("{\"id\":\"cached\"}"), CONTENT_TYPE, 30L, 10L);
+
+        // When
+        Optional<ResponseCache.Hit> hit = responseCache.find(fingerprint, List.of(gpt, claude));
+
+        // Then
+        assertTrue(hit.isPresent());
+        assertEquals(claude, hit.get().model());
+        assertArrayEquals(body("{\"id\":\"cached\"}"), hit.get().body());
+        assertEquals(30L, hit.get().totalTokens());
+        assertEquals(10L, hit.get().promptTokens());
+        ResponseCacheStatsResponse stats = responseCache.getStats();
+        assertEquals(1L, stats.getHitCount());
+        assertEquals(1L, stats.getMissCount());
+        assertEquals(0.5, stats.getHitRate());
+        assertEquals(15L, stats.getBytesSaved());
+        assertEquals(1L, stats.getHeapEntries());
+    }
+
+    @Test
+    @DisplayName("다른 팀의 같은 요청에는 응답을 돌려주지 않음")
+    void find_OtherTeam_Misses() throws Exception {
+        // Given
+        responseCache.updateTeam(2L, true);
+        ObjectNode request = request("{\"model\":\"gpt\"}");
+        responseCache.put(responseCache.fingerprint(1L, request), gpt, body("{}"), CONTENT_TYPE, 1L, 1L);
+
+        // When & Then
+        assertTrue(responseCache.find(responseCache.fingerprint(2L, request), List.of(gpt)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("기준보다 큰 응답은 힙 밖에 두고, 상한보다 큰 응답은 저장하지 않음")
+    void put_LargeBody_StoresOffHeap() throws Exception {
+        // Given
+        byte[] large = new byte[512];
+        Arrays.fill(large, (byte) 'a');
+        ResponseCache.Fingerprint fingerprint = responseCache.fingerprint(1L, request("{\"n\":1}"));
+        ResponseCache.Fingerprint oversized = responseCache.fingerprint(1L, request("{\"n\":2}"));
+
+        // When
+        responseCache.put(fingerprint, gpt, large, CONTENT_TYPE, 1L, 1L);
+        responseCache.put(oversized, gpt, new byte[2_048], CONTENT_TYPE, 1L, 1L);
+
+        // Then
+        assertArrayEquals(large, responseCache.find(fingerprint, List.of(gpt)).orElseThrow().body());
+        assertTrue(responseCache.find(oversized, List.of(gpt)).isEmpty());
+        ResponseCacheStatsResponse stats = responseCache.getStats();
+        assertEquals(0L, stats.getHeapEntries());
+        assertEquals(1L, stats.getOffHeapEntries());
+    }
+
+    @Test
+    @DisplayName("팀이 캐시를 끄면 저장한 응답을 지우고 지문을 만들지 않음")
+    void updateTeam_Disabled_InvalidatesEntries() throws Exception {
+        // Given
+        ObjectNode request = request("{\"model\":\"gpt\"}");
+        ResponseCache.Fingerprint fingerprint = responseCache.fingerprint(1L, request);
+        responseCache.put(fingerprint, gpt, body("{}"), CONTENT_TYPE, 1L, 1L);
+
+        // When
+        responseCache.updateTeam(1L, false);
+
+        // Then
+        assertNull(responseCache.fingerprint(1L, request));
+        assertTrue(responseCache.find(fingerprint, List.of(gpt)).isEmpty());
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.llm.service;
 
+import com.example.llm.dto.request.PageCursor;
 import com.example.llm.dto.request.QuotaSetRequest;
 import com.example.llm.dto.request.TeamCreateRequest;
 import com.example.llm.dto.request.TeamUpdateRequest;
+import com.example.llm.dto.response.CursorPageResponse;
 import com.example.llm.dto.response.TeamResponse;
 import com.example.llm.entity.Team;
+import com.example.llm.exception.BusinessException;
 import com.example.llm.exception.ErrorCode;
 import com.example.llm.exception.ResourceNotFoundException;
 import com.example.llm.repository.TeamRepository;
@@ -15,6 +18,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -32,6 +38,15 @@ class TeamServiceTest {
     @Mock
     private TeamRepository teamRepository;
 
+    @Mock
+    private QuotaEnforcer quotaEnforcer;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private ResponseCache responseCache;
+
     @InjectMocks
     private TeamService teamService;
 
@@ -59,6 +74,8 @@ class TeamServiceTest {
         updateRequest = TeamUpdateRequest.builder()
                 .name("Updated Team")
                 .quota(30000L)
+                .requestsPerMinute(60L)
+                .tokensPerMinute(90000L)
                 .build();
     }
 
@@ -130,6 +147,54 @@ class TeamServiceTest {
         verify(teamRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("팀 페이지 조회 - size보다 많으면 다음 커서 반환")
+    void getTeamPage_HasNext() {
+        // Given
+        Team team2 = Team.builder().id(2L).name("Team 2").quota(15000L).usage(0L).build();
+        Team team3 = Team.builder().id(3L).name("Team 3").quota(15000L).usage(0L).build();
+        when(teamRepository.findPageAfter(0L, PageRequest.of(0, 3))).thenReturn(List.of(testTeam, team2, team3));
+
+        // When
+        CursorPageResponse<TeamResponse> page = teamService.getTeamPage(null, 2);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertEquals(2, page.getSize());
+        assertTrue(page.getHasNext());
+        assertEquals(2L, PageCursor.decode(page.getNextCursor()).getId());
+    }
+
+    @Test
+    @DisplayName("팀 페이지 조회 - 커서 이후부터 조회하고 마지막 페이지는 커서 없음")
+    void getTeamPage_LastPage() {
+        // Given
+        Team team3 = Team.builder().id(3L).name("Team 3").quota(15000L).usage(0L).build();
+        when(teamRepository.findPageAfter(2L, PageRequest.of(0, 3))).thenReturn(List.of(team3));
+
+        // When
+        CursorPageResponse<TeamResponse> page = teamService.getTeamPage(PageCursor.ofId(2L).encode(), 2);
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertEquals("Team 3", page.getItems().get(0).getName());
+        assertFalse(page.getHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("팀 페이지 조회 - 잘못된 커서나 size는 INVALID_INPUT")
+    void getTeamPage_InvalidInput() {
+        // When & Then
+        BusinessException badCursor = assertThrows(BusinessException.class,
+                () -> teamService.getTeamPage("not-a-cursor", 10));
+        BusinessException badSize = assertThrows(BusinessException.class,
+                () -> teamService.getTeamPage(null, PageCursor.MAX_SIZE + 1));
+        assertEquals(ErrorCode.INVALID_INPUT, badCursor.getErrorCode());
+        assertEquals(ErrorCode.INVALID_INPUT, badSize.getErrorCode());
+        verify(teamRepository, never()).findPageAfter(any(), any());
+    }
+
     @Test
     @DisplayName("팀 ID로 조회 - 성공")
     void getTeamById_Success() {
@@ -167,16 +232,44 @@ class TeamServiceTest {
         // Given
         when(teamRepository.findById(1L)).thenReturn(Optional.of(testTeam));
         when(teamRepository.save(any(Team.class))).thenReturn(testTeam);
+        updateRequest.setResponseCacheEnabled(true);
 
         // When
         TeamResponse response = teamService.updateTeam(1L, updateRequest);
 
         // Then
         assertNotNull(response);
+        assertEquals(60L, response.getRequestsPerMinute());
+        assertEquals(90000L, response.getTokensPerMinute());
+        assertTrue(response.getResponseCacheEnabled());
+        verify(rateLimiter).updateTeamLimits(1L, 60L, 90000L);
+        verify(responseCache).updateTeam(1L, true);
         verify(teamRepository, times(1)).findById(1L);
         verify(teamRepository, times(1)).save(any(Team.class));
     }
 
+    @Test
+    @DisplayName("팀 수정 - 메모리의 할당량과 한도는 트랜잭션 커밋 뒤에 바뀜")
+    void updateTeam_InTransaction_AppliesAfterCommit() {
+        // Given
+        when(teamRepository.findById(1L)).thenReturn(Optional.of(testTeam));
+        when(teamRepository.save(any(Team.class))).thenReturn(testTeam);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            teamService.updateTeam(1L, updateRequest);
+
+            // Then
+            verifyNoInteractions(quotaEnforcer, rateLimiter, responseCache);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(quotaEnforcer).updateQuota(1L, 30000L);
+        verify(rateLimiter).updateTeamLimits(1L, 60L, 90000L);
+        verify(responseCache).updateTeam(1L, false);
+    }
+
     @Test
     @DisplayName("팀 수정 - 존재하지 않는 팀")
     void updateTeam_NotFound() {
@@ -205,6 +298,8 @@ class TeamServiceTest {
         // Then
         verify(teamRepository, times(1)).findById(1L);
         verify(teamRepository, times(1)).delete(any(Team.class));
+        verify(rateLimiter).removeTeam(1L);
+        verify(responseCache).removeTeam(1L);
     }
 
     @Test
@@ -0,0 +1,105 @@
+package com.example.llm.service;
+
+import com.example.llm.dto.request.QuotaSetRequest;
+import com.example.llm.dto.request.TeamCreateRequest;
+import com.example.llm.dto.request.TeamUpdateRequest;
+import com.example.llm.repository.TeamRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "quota.sync-interval-ms=5")
+@DisplayName("팀 사용량 동시 갱신 통합 테스트")
+class TeamUsageConcurrencyIntegrationTest {
+
+    private static final int WORKERS = 32;
+    private static final int REQUESTS_PER_WORKER = 2_000;
+    private static final long TOKENS_PER_REQUEST = 7L;
+
+    @Autowired
+    private QuotaEnforcer quotaEnforcer;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Test
+    @DisplayName("동시 사용량 확정, DB 동기화, 팀 정보 수정이 겹쳐도 teams.usage에 누락 없이 반영")
+    void concurrentCommitsSyncsAndTeamUpdates_NoLostUpdates() throws Exception {
+        // Given
+        Long teamId = teamService.createTeam(TeamCreateRequest.builder()
+                .name("Concurrency Team")
+                .quota(Long.MAX_VALUE / 2)
+                .build()).getId();
+        ExecutorService executor = Executors.newFixedThreadPool(WORKERS + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean committing = new AtomicBoolean(true);
+        List<Future<?>> workers = new ArrayList<>();
+
+        // When
+        for (int w = 0; w < WORKERS; w++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < REQUESTS_PER_WORKER; i++) {
+                    quotaEnforcer.reserve(teamId, 10L);
+                    quotaEnforcer.commit(teamId, 10L, TOKENS_PER_REQUEST);
+                }
+                return null;
+            }));
+        }
+        // 스케줄러와 별도로 동기화를 계속 호출해 동기화끼리도 겹치게 한다
+        Future<?> syncer = executor.submit(() -> {
+            start.await();
+            while (committing.get()) {
+                quotaEnforcer.syncToDatabase();
+            }
+            return null;
+        });
+        // 엔티티를 읽고 저장하는 팀 수정이 동기화된 사용량을 덮어쓰지 않아야 한다
+        Future<?> editor = executor.submit(() -> {
+            start.await();
+            for (int i = 0; committing.get(); i++) {
+                teamService.updateTeam(teamId, TeamUpdateRequest.builder()
+                        .name("Concurrency Team " + i)
+                        .quota(Long.MAX_VALUE / 2)
+                        .build());
+                teamService.setQuota(teamId, QuotaSetRequest.builder().quota(Long.MAX_VALUE / 2).build());
+            }
+            return null;
+        });
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        committing.set(false);
+        syncer.get(10, TimeUnit.SECONDS);
+        editor.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then - 스케줄러가 이미 꺼내 간 사용량은 그 동기화가 끝나야 DB에 보이므로 기다린다
+        long expected = WORKERS * REQUESTS_PER_WORKER * TOKENS_PER_REQUEST;
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            quotaEnforcer.syncToDatabase();
+            assertEquals(expected, teamRepository.findById(teamId).orElseThrow().getUsage());
+        });
+        assertEquals(Long.MAX_VALUE / 2 - expected, quotaEnforcer.getAvailable(teamId));
+    }
+}
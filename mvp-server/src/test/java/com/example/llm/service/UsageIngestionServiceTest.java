@@ -0,0 +1,130 @@
+package com.example.llm.service;
+
+import com.example.llm.dto.request.UsageRecordRequest;
+import com.example.llm.dto.response.UsageBatchResponse;
+import com.example.llm.exception.BusinessException;
+import com.example.llm.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UsageIngestionService 단위 테스트")
+class UsageIngestionServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CostEngine costEngine;
+
+    private UsageIngestionService usageIngestionService;
+
+    @BeforeEach
+    void setUp() {
+        // flush 스레드를 시작하지 않으므로 대기열에 쌓이기만 한다
+        usageIngestionService = new UsageIngestionService(entityManager, transactionManager,
+                new UsageMetrics(new SimpleMeterRegistry()), costEngine, 3, 2, 50);
+    }
+
+    private List<UsageRecordRequest> records(int count) {
+        UsageRecordRequest record = UsageRecordRequest.builder()
+                .teamId(1L)
+                .modelId(1L)
+                .tokens(10)
+                .cost(0.001)
+                .build();
+        return Collections.nCopies(count, record);
+    }
+
+    @Test
+    @DisplayName("일괄 수집 - 대기열에 여유가 있으면 수락")
+    void submit_Accepted() {
+        // When
+        UsageBatchResponse response = usageIngestionService.submit(records(2));
+
+        // Then
+        assertEquals(2, response.getAccepted());
+        assertEquals(2, response.getQueueDepth());
+        assertEquals(2L, usageIngestionService.getStats().getAcceptedRecords());
+    }
+
+    @Test
+    @DisplayName("일괄 수집 - 대기열이 가득 차면 요청 전체를 거절")
+    void submit_QueueFull_RejectsWholeBatch() {
+        // Given
+        usageIngestionService.submit(records(2));
+
+        // When
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> usageIngestionService.submit(records(2)));
+
+        // Then
+        assertEquals(ErrorCode.INGESTION_QUEUE_FULL, exception.getErrorCode());
+        assertEquals(2, usageIngestionService.getStats().getQueueDepth());
+        assertEquals(2L, usageIngestionService.getStats().getRejectedRecords());
+    }
+
+    @Test
+    @DisplayName("일괄 수집 - 대기열 용량을 초과하는 단일 요청은 거절")
+    void submit_LargerThanCapacity_Rejected() {
+        // When & Then
+        assertThrows(BusinessException.class, () -> usageIngestionService.submit(records(4)));
+        assertEquals(0, usageIngestionService.getStats().getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("저장 중인 배치도 대기열 용량에 포함하고, 인터럽트되면 남은 이력을 저장한 뒤 끝냄")
+    void flushLoop_InFlightBatchHoldsCapacity_DrainsOnInterrupt() throws Exception {
+        // Given - 첫 저장이 끝나지 않도록 붙잡는다
+        CountDownLatch flushing = new CountDownLatch(1);
+        AtomicBoolean released = new AtomicBoolean();
+        AtomicReference<Thread> flusher = new AtomicReference<>();
+        doAnswer(invocation -> {
+            flusher.compareAndSet(null, Thread.currentThread());
+            flushing.countDown();
+            while (!released.get()) {
+                Thread.onSpinWait();
+            }
+            return null;
+        }).when(entityManager).flush();
+        usageIngestionService.start();
+        usageIngestionService.submit(records(2));
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+
+        // When & Then - 저장 중인 2건 때문에 2건은 들어갈 자리가 없다
+        assertThrows(BusinessException.class, () -> usageIngestionService.submit(records(2)));
+        usageIngestionService.submit(records(1));
+
+        flusher.get().interrupt();
+        released.set(true);
+
+        flusher.get().join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(flusher.get().isAlive());
+        await().atMost(Duration.ofSeconds(1)).untilAsserted(() -> {
+            assertEquals(0, usageIngestionService.getStats().getQueueDepth());
+            assertEquals(3L, usageIngestionService.getStats().getPersistedRecords());
+        });
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.llm.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 OpenAI 호환 제공자. /chat/completions에 고정 응답을 돌려준다.
+ * /embeddings에는 입력마다 [문자 수, 배치 안 위치] 벡터를 돌려주고 입력 문자 수 합을 usage로 보고한다.
+ * 지연을 주면 응답을 스케줄러에서 보내므로 느린 제공자를 스레드 점유 없이 흉내낼 수 있다.
+ * stream=true 요청에는 SSE 청크를 간격을 두고 보낸 뒤 usage 청크와 [DONE]으로 끝낸다.
+ * failNext로 다음 몇 번의 요청에만 오류를 주입해 장애와 복구를 흉내낼 수 있다.
+ */
+public class StubProviderServer implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ScheduledExecutorService delayScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final AtomicInteger embeddingInputs = new AtomicInteger();
+    private volatile int failureStatus = 500;
+    private volatile int status = 200;
+    private volatile int totalTokens = 30;
+    private volatile Duration delay = Duration.ZERO;
+    private volatile int streamChunks = 5;
+    private volatile Duration streamInterval = Duration.ZERO;
+    private volatile boolean streamUsage = true;
+
+    public StubProviderServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/chat/completions", this::handle);
+        server.createContext("/embeddings", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void respondWith(int status, int totalTokens) {
+        this.status = status;
+        this.totalTokens = totalTokens;
+    }
+
+    /**
+     * 다음 requests번의 요청에 status로 응답하고, 그 뒤로는 respondWith로 정한 응답으로 돌아간다.
+     */
+    public void failNext(int requests, int status) {
+        this.failureStatus = status;
+        failuresLeft.set(requests);
+    }
+
+    public void setDelay(Duration delay) {
+        this.delay = delay;
+    }
+
+    /**
+     * stream=true 요청에 보낼 청크 수와 간격. includeUsage가 false면 마지막 usage 청크를 보내지 않는다.
+     */
+    public void setStream(int chunks, Duration interval, boolean includeUsage) {
+        this.streamChunks = chunks;
+        this.streamInterval = interval;
+        this.streamUsage = includeUsage;
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    // /embeddings 요청으로 받은 입력 수의 합
+    public int getEmbeddingInputs() {
+        return embeddingInputs.get();
+    }
+
+    public void reset() {
+        respondWith(200, 30);
+        delay = Duration.ZERO;
+        setStream(5, Duration.ZERO, true);
+        failuresLeft.set(0);
+        requestCount.set(0);
+        peakInFlight.set(0);
+        embeddingInputs.set(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        int status = failuresLeft.getAndUpdate(left -> Math.max(left - 1, 0)) > 0 ? failureStatus : this.status;
+        if (exchange.getRequestURI().getPath().endsWith("/embeddings")) {
+            byte[] body = status == 200 ? embeddings(request) : null;
+            if (delay.isZero()) {
+                respond(exchange, status, body);
+            } else {
+                schedule(exchange, () -> respond(exchange, status, body), delay.toMillis());
+            }
+        } else if (status == 200 && request.replace(" ", "").contains("\"stream\":true")) {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            schedule(exchange, () -> writeChunk(exchange, 0), delay.toMillis());
+        } else if (delay.isZero()) {
+            respond(exchange, status);
+        } else {
+            schedule(exchange, () -> respond(exchange, status), delay.toMillis());
+        }
+    }
+
+    private void schedule(HttpExchange exchange, IoTask task, long delayMillis) {
+        delayScheduler.schedule(() -> {
+            try {
+                task.run();
+            } catch (IOException e) {
+                // 클라이언트가 연결을 끊은 경우
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private byte[] embeddings(String request) throws IOException {
+        JsonNode input = objectMapper.readTree(request).path("input");
+        ObjectNode response = objectMapper.createObjectNode().put("object", "list").put("model", "stub-embedding");
+        ArrayNode data = response.putArray("data");
+        int chars = 0;
+        int index = 0;
+        for (JsonNode item : input.isArray() ? input : objectMapper.createArrayNode().add(input)) {
+            int length = item.asText().length();
+            chars += length;
+            ObjectNode embedding = data.addObject().put("object", "embedding").put("index", index);
+            embedding.putArray("embedding").add(length).add(index);
+            index++;
+        }
+        embeddingInputs.addAndGet(index);
+        response.putObject("usage").put("prompt_tokens", chars).put("total_tokens", chars);
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    private void respond(HttpExchange exchange, int status) throws IOException {
+        respond(exchange, status, null);
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] successBody) throws IOException {
+        inFlight.decrementAndGet();
+        if (status == 200 && successBody != null) {
+            write(exchange, status, successBody);
+            return;
+        }
+        String body = status == 200
+                ? """
+                  {"id":"chatcmpl-stub","object":"chat.completion","choices":[{"index":0,"message":{"role":"assistant","content":"ok"},"finish_reason":"stop"}],"usage":{"prompt_tokens":10,"completion_tokens":%d,"total_tokens":%d}}
+                  """.formatted(totalTokens - 10, totalTokens)
+                : """
+                  {"error":{"message":"stub error","type":"server_error"}}
+                  """;
+        write(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void write(HttpExchange exchange, int status, byte[] bytes) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void writeChunk(HttpExchange exchange, int index) throws IOException {
+        OutputStream out = exchange.getResponseBody();
+        if (index < streamChunks) {
+            out.write(("data: {\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion.chunk\",\"choices\":[{\"index\":0,"
+                    + "\"delta\":{\"content\":\"tok" + index + " \"}}]}\n\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            schedule(exchange, () -> writeChunk(exchange, index + 1), streamInterval.toMillis());
+            return;
+        }
+        if (streamUsage) {
+            out.write(("data: {\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion.chunk\",\"choices\":[],"
+                    + "\"usage\":{\"prompt_tokens\":10,\"completion_tokens\":" + (totalTokens - 10)
+                    + ",\"total_tokens\":" + totalTokens + "}}\n\n").getBytes(StandardCharsets.UTF_8));
+        }
+        out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        inFlight.decrementAndGet();
+        out.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        delayScheduler.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface IoTask {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.llm.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenUtil 단위 테스트")
+class TokenUtilTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-only-0123456789";
+
+    private MutableClock clock;
+    private TokenUtil tokenUtil;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-10T09:00:00Z"));
+        tokenUtil = new TokenUtil(SECRET, 60_000L, 100, clock);
+    }
+
+    @Test
+    @DisplayName("유효한 토큰은 클레임을 반환하고 두 번째 검증은 캐시에서 반환")
+    void verify_ValidToken_CachesClaims() {
+        // Given
+        String token = tokenUtil.generateToken("testuser", "ADMIN");
+
+        // When
+        Optional<VerifiedToken> first = tokenUtil.verify(token);
+        Optional<VerifiedToken> second = tokenUtil.verify(token);
+
+        // Then
+        assertTrue(first.isPresent());
+        assertEquals("testuser", first.get().getUsername());
+        assertEquals("ADMIN", first.get().getRole());
+        assertSame(first.get(), second.get());
+        assertEquals(1, tokenUtil.getCachedTokenCount());
+    }
+
+    @Test
+    @DisplayName("소속 팀 ID는 teamIds 클레임으로 왕복")
+    void verify_TeamIdsClaim_RoundTrips() {
+        // Given
+        String withTeams = tokenUtil.generateToken("member", "USER", List.of(3L, 7L));
+        String withoutTeams = tokenUtil.generateToken("admin", "ADMIN");
+
+        // When & Then
+        assertEquals(Set.of(3L, 7L), tokenUtil.verify(withTeams).orElseThrow().getTeamIds());
+        assertEquals(Set.of(), tokenUtil.verify(withoutTeams).orElseThrow().getTeamIds());
+    }
+
+    @Test
+    @DisplayName("서명이 변조된 토큰은 거부되고 캐시되지 않음")
+    void verify_TamperedToken_ReturnsEmpty() {
+        // Given
+        String token = tokenUtil.generateToken("testuser", "ADMIN");
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When & Then
+        assertTrue(tokenUtil.verify(tampered).isEmpty());
+        assertFalse(tokenUtil.validateToken("not-a-jwt"));
+        assertFalse(tokenUtil.validateToken(null));
+        assertEquals(0, tokenUtil.getCachedTokenCount());
+    }
+
+    @Test
+    @DisplayName("검증 실패는 사유별(expired/invalid)로 지표에 집계")
+    void verify_Failures_CountedByReason() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        tokenUtil.bindTo(registry);
+        String token = tokenUtil.generateToken("testuser", "ADMIN");
+
+        // When
+        tokenUtil.verify("not-a-jwt");
+        tokenUtil.verify(token);
+        clock.advance(Duration.ofSeconds(61));
+        tokenUtil.verify(token);
+
+        // Then
+        assertEquals(1.0, registry.get("llm.auth.token.failures").tag("reason", "invalid").functionCounter().count());
+        assertEquals(1.0, registry.get("llm.auth.token.failures").tag("reason", "expired").functionCounter().count());
+        assertEquals(2, tokenUtil.getValidationFailureCount());
+    }
+
+    @Test
+    @DisplayName("다른 키로 서명된 토큰은 거부")
+    void verify_OtherKey_ReturnsEmpty() {
+        // Given
+        TokenUtil other = new TokenUtil(SECRET + "-other", 60_000L, 100, clock);
+        String token = other.generateToken("testuser", "ADMIN");
+
+        // When & Then
+        assertTrue(tokenUtil.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("캐시된 토큰도 만료 시각이 지나면 거부")
+    void verify_ExpiredToken_EvictedFromCache() {
+        // Given
+        String token = tokenUtil.generateToken("testuser", "ADMIN");
+        assertTrue(tokenUtil.validateToken(token));
+
+        // When
+        clock.advance(Duration.ofSeconds(61));
+
+        // Then
+        assertFalse(tokenUtil.validateToken(token));
+        assertEquals(0, tokenUtil.getCachedTokenCount());
+    }
+
+    @Test
+    @DisplayName("토큰에서 사용자명 추출")
+    void getUsernameFromToken_ReturnsSubject() {
+        // Given
+        String token = tokenUtil.generateToken("alice", "USER");
+
+        // When & Then
+        assertEquals("alice", tokenUtil.getUsernameFromToken(token));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}